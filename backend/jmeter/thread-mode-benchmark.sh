@@ -0,0 +1,110 @@
+#!/usr/bin/env bash
+#
+# Compares platform threads and virtual threads on the IAM login and profile endpoints.
+# Starts the backend once per mode, runs IAM-Performance-Test.jmx against it and prints
+# throughput and p50/p99 latency per sampler for both runs.
+#
+# Usage: ./thread-mode-benchmark.sh [path/to/backend.jar]
+# Env:   THREADS (500), RAMP_TIME (30), DURATION (180), THINK_TIME (0), WARMUP (60),
+#        PROFILE (dev), PORT (8080), JMETER (jmeter)
+
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+JAR="${1:-$(ls "$SCRIPT_DIR"/../target/traveloka-*.jar 2>/dev/null | grep -v plain | head -n 1)}"
+JMETER="${JMETER:-jmeter}"
+PORT="${PORT:-8080}"
+PROFILE="${PROFILE:-dev}"
+THREADS="${THREADS:-500}"
+RAMP_TIME="${RAMP_TIME:-30}"
+DURATION="${DURATION:-180}"
+THINK_TIME="${THINK_TIME:-0}"
+WARMUP="${WARMUP:-60}"
+RESULTS_DIR="$SCRIPT_DIR/results/thread-mode-$(date +%Y-%m-%d_%H%M%S)"
+
+if [[ -z "$JAR" || ! -f "$JAR" ]]; then
+  echo "Backend jar not found; build it with ./mvnw -DskipTests package or pass its path" >&2
+  exit 1
+fi
+
+mkdir -p "$RESULTS_DIR"
+
+wait_for_health() {
+  for _ in $(seq 1 120); do
+    if curl -fs "http://localhost:$PORT/api/v1/actuator/health" > /dev/null; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Backend did not become healthy on port $PORT" >&2
+  return 1
+}
+
+run_jmeter() {
+  local output="$1" duration="$2"
+  "$JMETER" -n -t "$SCRIPT_DIR/IAM-Performance-Test.jmx" \
+    -JBASE_URL=localhost -JPORT="$PORT" \
+    -JTHREADS="$THREADS" -JRAMP_TIME="$RAMP_TIME" -JDURATION="$duration" -JTHINK_TIME="$THINK_TIME" \
+    -l "$output" > /dev/null
+}
+
+# Prints "label samples throughput p50 p99 errors%" for each sampler in a CSV JTL file
+summarize() {
+  local jtl="$1"
+  tail -n +2 "$jtl" | awk -F, '{ print $3 "," $1 "," $2 "," $8 }' | sort -t, -k1,1 -k3,3n | awk -F, '
+    function flush() {
+      if (label == "") return
+      span = (last - first) / 1000.0
+      p50 = values[int(n * 0.50) > 0 ? int(n * 0.50) : 1]
+      p99 = values[int(n * 0.99) > 0 ? int(n * 0.99) : 1]
+      printf "| %s | %d | %.1f | %d | %d | %.2f |\n", label, n, (span > 0 ? n / span : n), p50, p99, errors * 100.0 / n
+    }
+    $1 != label { flush(); label = $1; n = 0; errors = 0; first = $2; last = $2; delete values }
+    {
+      values[++n] = $3
+      if ($2 < first) first = $2
+      if ($2 > last) last = $2
+      if ($4 != "true") errors++
+    }
+    END { flush() }'
+}
+
+SUMMARY="$RESULTS_DIR/summary.md"
+echo "# Thread mode benchmark ($THREADS users, ${DURATION}s, think time ${THINK_TIME}ms)" > "$SUMMARY"
+
+for mode in platform virtual; do
+  virtual=false
+  [[ "$mode" == "virtual" ]] && virtual=true
+
+  echo "Starting backend with spring.threads.virtual.enabled=$virtual"
+  java -jar "$JAR" \
+    --spring.profiles.active="$PROFILE" \
+    --server.port="$PORT" \
+    --spring.threads.virtual.enabled="$virtual" \
+    > "$RESULTS_DIR/$mode-backend.log" 2>&1 &
+  backend_pid=$!
+  trap 'kill $backend_pid 2>/dev/null || true' EXIT
+
+  wait_for_health
+
+  echo "Warming up for ${WARMUP}s"
+  run_jmeter "$RESULTS_DIR/$mode-warmup.jtl" "$WARMUP"
+
+  echo "Measuring $mode threads for ${DURATION}s"
+  run_jmeter "$RESULTS_DIR/$mode.jtl" "$DURATION"
+
+  kill "$backend_pid"
+  wait "$backend_pid" 2>/dev/null || true
+  trap - EXIT
+
+  {
+    echo
+    echo "## $mode threads"
+    echo
+    echo "| Sampler | Samples | Throughput (req/s) | p50 (ms) | p99 (ms) | Errors % |"
+    echo "|---------|---------|--------------------|----------|----------|----------|"
+    summarize "$RESULTS_DIR/$mode.jtl"
+  } >> "$SUMMARY"
+done
+
+cat "$SUMMARY"
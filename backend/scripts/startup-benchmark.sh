@@ -0,0 +1,105 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-ready of the backend in three modes and reports the slowest beans.
+#   jit  plain executable jar
+#   aot  jar built with -Paot-cds, started with -Dspring.aot.enabled=true
+#   cds  the aot jar extracted and started with a class-data-sharing archive
+# Each mode is started RUNS times; the time is taken from launch until
+# /actuator/health/readiness reports UP, so infrastructure warm-up is included.
+# One extra run with APP_STARTUP_TIMELINE=true prints the per-bean breakdown.
+#
+# Usage: ./startup-benchmark.sh [path/to/backend.jar]
+# Env:   MODES (jit aot cds), RUNS (3), PROFILE (dev), PORT (8080), JAVA_OPTS
+
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+JAR="${1:-$(ls "$SCRIPT_DIR"/../target/traveloka-*.jar 2>/dev/null | grep -v plain | head -n 1)}"
+MODES="${MODES:-jit aot cds}"
+RUNS="${RUNS:-3}"
+PROFILE="${PROFILE:-dev}"
+PORT="${PORT:-8080}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+RESULTS_DIR="$SCRIPT_DIR/results/startup-$(date +%Y-%m-%d_%H%M%S)"
+CDS_DIR="$RESULTS_DIR/cds"
+
+if [[ -z "$JAR" || ! -f "$JAR" ]]; then
+  echo "Backend jar not found; build it with ./mvnw -Paot-cds -DskipTests package or pass its path" >&2
+  exit 1
+fi
+
+mkdir -p "$RESULTS_DIR"
+
+now_ms() {
+  date +%s%3N
+}
+
+# Prints the command line for a mode
+command_for() {
+  case "$1" in
+    jit) echo "java $JAVA_OPTS -jar $JAR" ;;
+    aot) echo "java $JAVA_OPTS -Dspring.aot.enabled=true -jar $JAR" ;;
+    cds) echo "java $JAVA_OPTS -Dspring.aot.enabled=true -XX:SharedArchiveFile=$CDS_DIR/application.jsa -jar $CDS_DIR/app.jar" ;;
+  esac
+}
+
+prepare_cds() {
+  [[ -f "$CDS_DIR/application.jsa" ]] && return 0
+  echo "Creating CDS archive in $CDS_DIR"
+  java -Djarmode=tools -jar "$JAR" extract --destination "$CDS_DIR" > /dev/null
+  java -XX:ArchiveClassesAtExit="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -Dspring.profiles.active="$PROFILE,cds-training" \
+    -jar "$CDS_DIR/app.jar" > "$RESULTS_DIR/cds-training.log" 2>&1
+}
+
+# Starts the backend, waits for readiness and prints the elapsed milliseconds
+measure() {
+  local mode="$1" log="$2" extra="${3:-}"
+  local started pid
+  started=$(now_ms)
+  # shellcheck disable=SC2046
+  env $extra $(command_for "$mode") --spring.profiles.active="$PROFILE" --server.port="$PORT" > "$log" 2>&1 &
+  pid=$!
+
+  for _ in $(seq 1 600); do
+    if curl -fs "http://localhost:$PORT/api/v1/actuator/health/readiness" > /dev/null; then
+      echo $(( $(now_ms) - started ))
+      kill "$pid" && wait "$pid" 2> /dev/null || true
+      return 0
+    fi
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Backend exited during startup, see $log" >&2
+      return 1
+    fi
+    sleep 0.1
+  done
+
+  kill "$pid" && wait "$pid" 2> /dev/null || true
+  echo "Backend did not become ready, see $log" >&2
+  return 1
+}
+
+echo "| mode | run | ready (ms) | context started (s) |" > "$RESULTS_DIR/summary.md"
+echo "|------|-----|------------|---------------------|" >> "$RESULTS_DIR/summary.md"
+
+for mode in $MODES; do
+  [[ "$mode" == "cds" ]] && prepare_cds
+  for run in $(seq 1 "$RUNS"); do
+    log="$RESULTS_DIR/$mode-$run.log"
+    ready=$(measure "$mode" "$log")
+    started=$(grep -o 'Started TravelokaApplication in [0-9.]*' "$log" | awk '{ print $4 }')
+    echo "| $mode | $run | $ready | ${started:-?} |" >> "$RESULTS_DIR/summary.md"
+  done
+
+  log="$RESULTS_DIR/$mode-timeline.log"
+  measure "$mode" "$log" "APP_STARTUP_TIMELINE=true" > /dev/null
+  {
+    echo
+    echo "Slowest beans ($mode):"
+    sed -n '/Slowest beans by self time/,/^[^ ]/p' "$log" | grep '^ ' || true
+  } > "$RESULTS_DIR/$mode-beans.txt"
+done
+
+cat "$RESULTS_DIR/summary.md"
+cat "$RESULTS_DIR"/*-beans.txt
+echo "Logs written to $RESULTS_DIR"
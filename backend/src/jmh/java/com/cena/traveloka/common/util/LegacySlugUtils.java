@@ -0,0 +1,72 @@
+package com.cena.traveloka.common.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The regex implementation {@link SlugUtils} used before {@link TextNormalizer}, kept as the
+ * benchmark baseline.
+ */
+final class LegacySlugUtils {
+
+    private static final String DEFAULT_SEPARATOR = "-";
+
+    private static final Pattern NON_ALPHANUMERIC_PATTERN = Pattern.compile("[^a-z0-9-]+");
+
+    private LegacySlugUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static String generateSlug(String input, String separator) {
+        if (input == null || input.trim().isEmpty()) {
+            return "";
+        }
+
+        String slug = input.toLowerCase(Locale.ROOT);
+
+        slug = removeDiacritics(slug);
+
+        slug = slug.replaceAll("\\s+", separator);
+        slug = slug.replaceAll("_+", separator);
+
+        if (!separator.equals(DEFAULT_SEPARATOR)) {
+            slug = slug.replaceAll("[^a-z0-9" + Pattern.quote(separator) + "]+", "");
+        } else {
+            slug = NON_ALPHANUMERIC_PATTERN.matcher(slug).replaceAll("");
+        }
+
+        slug = slug.replaceAll(Pattern.quote(separator) + "{2,}", separator);
+
+        slug = slug.replaceAll("^" + Pattern.quote(separator) + "|" + Pattern.quote(separator) + "$", "");
+
+        return slug;
+    }
+
+    static String removeDiacritics(String input) {
+        if (input == null || input.isEmpty()) {
+            return input;
+        }
+
+        String result = input;
+
+        result = result.replaceAll("[àáạảãâầấậẩẫăằắặẳẵ]", "a");
+        result = result.replaceAll("[èéẹẻẽêềếệểễ]", "e");
+        result = result.replaceAll("[ìíịỉĩ]", "i");
+        result = result.replaceAll("[òóọỏõôồốộổỗơờớợởỡ]", "o");
+        result = result.replaceAll("[ùúụủũưừứựửữ]", "u");
+        result = result.replaceAll("[ỳýỵỷỹ]", "y");
+        result = result.replaceAll("đ", "d");
+
+        result = result.replaceAll("[ÀÁẠẢÃÂẦẤẬẨẪĂẰẮẶẲẴ]", "A");
+        result = result.replaceAll("[ÈÉẸẺẼÊỀẾỆỂỄ]", "E");
+        result = result.replaceAll("[ÌÍỊỈĨ]", "I");
+        result = result.replaceAll("[ÒÓỌỎÕÔỒỐỘỔỖƠỜỚỢỞỠ]", "O");
+        result = result.replaceAll("[ÙÚỤỦŨƯỪỨỰỬỮ]", "U");
+        result = result.replaceAll("[ỲÝỴỶỸ]", "Y");
+        result = result.replaceAll("Đ", "D");
+
+        String normalized = Normalizer.normalize(result, Normalizer.Form.NFD);
+        return normalized.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+    }
+}
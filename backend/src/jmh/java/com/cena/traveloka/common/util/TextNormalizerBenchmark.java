@@ -0,0 +1,151 @@
+package com.cena.traveloka.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slug, accent stripping and search key throughput of {@link TextNormalizer} against the
+ * former regex implementation, over property-like names. Each invocation processes the whole
+ * batch, so scores are per name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@OperationsPerInvocation(TextNormalizerBenchmark.BATCH)
+public class TextNormalizerBenchmark {
+
+    static final int BATCH = 1024;
+
+    private static final String[] PREFIXES = {
+        "Khách sạn", "Nhà nghỉ", "Homestay", "Resort", "Hotel", "Căn hộ", "Biệt thự", "Villa"
+    };
+    private static final String[] NAMES = {
+        "Mường Thanh", "Sài Gòn Xanh", "Hồ Gươm", "Đà Lạt Palace", "Phố Cổ", "Biển Xanh", "Hương Giang",
+        "Sunrise", "Golden Lotus", "Crème de la Mer", "Ánh Dương", "Hạ Long Pearl", "Lotte", "Thảo Điền"
+    };
+    private static final String[] SUFFIXES = {
+        "", " Luxury", " & Spa", " - Quận 1", " (Phường Bến Nghé)", " 4*", " Beach_Front", " / Airport"
+    };
+
+    @Param({"mixed", "ascii"})
+    public String corpus;
+
+    private String[] inputs;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        inputs = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            String name = PREFIXES[random.nextInt(PREFIXES.length)] + " " + NAMES[random.nextInt(NAMES.length)]
+                + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            inputs[i] = corpus.equals("ascii") ? TextNormalizer.stripAccents(name) : name;
+        }
+        buffer = new StringBuilder(128);
+    }
+
+    @Benchmark
+    public void slugLegacy(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(LegacySlugUtils.generateSlug(input, "-"));
+        }
+    }
+
+    @Benchmark
+    public void slug(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(SlugUtils.generateSlug(input));
+        }
+    }
+
+    /**
+     * The shape of a bulk regeneration job, which can reuse one buffer for every row.
+     */
+    @Benchmark
+    public void slugReusedBuffer(Blackhole blackhole) {
+        for (String input : inputs) {
+            buffer.setLength(0);
+            TextNormalizer.appendSlug(input, "-", buffer);
+            blackhole.consume(buffer.length());
+        }
+    }
+
+    @Benchmark
+    public void slugCustomSeparatorLegacy(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(LegacySlugUtils.generateSlug(input, "_"));
+        }
+    }
+
+    @Benchmark
+    public void slugCustomSeparator(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(SlugUtils.generateSlug(input, "_"));
+        }
+    }
+
+    @Benchmark
+    public void stripAccentsLegacy(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(LegacySlugUtils.removeDiacritics(input));
+        }
+    }
+
+    @Benchmark
+    public void stripAccents(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(TextNormalizer.stripAccents(input));
+        }
+    }
+
+    /**
+     * Search keys as the autocomplete index built them before: strip, lower-case, then filter.
+     */
+    @Benchmark
+    public void searchKeyLegacy(Blackhole blackhole) {
+        for (String input : inputs) {
+            String folded = LegacySlugUtils.removeDiacritics(input).toLowerCase(Locale.ROOT);
+            StringBuilder key = new StringBuilder(folded.length());
+            boolean pendingSpace = false;
+            for (int i = 0; i < folded.length(); i++) {
+                char c = folded.charAt(i);
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    if (pendingSpace && !key.isEmpty()) {
+                        key.append(' ');
+                    }
+                    key.append(c);
+                    pendingSpace = false;
+                } else {
+                    pendingSpace = true;
+                }
+            }
+            blackhole.consume(key.toString());
+        }
+    }
+
+    @Benchmark
+    public void searchKey(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(TextNormalizer.foldForSearch(input));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.cena.traveloka;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -51,6 +52,11 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableTransactionManagement
 public class TravelokaApplication {
     public static void main(String[] args) {
-        SpringApplication.run(TravelokaApplication.class, args);
+        SpringApplication application = new SpringApplication(TravelokaApplication.class);
+        // Per-bean startup timing, reported at startup and served by /actuator/startup
+        if (Boolean.parseBoolean(System.getProperty("app.startup.timeline", System.getenv("APP_STARTUP_TIMELINE")))) {
+            application.setApplicationStartup(new BufferingApplicationStartup(10_000));
+        }
+        application.run(args);
     }
 }
@@ -0,0 +1,156 @@
+package com.cena.traveloka.common.concurrency;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking calls to one external dependency in isolation from everything else, either on
+ * a dedicated {@link ThreadPoolBulkhead} or on virtual threads behind a semaphore
+ * {@link Bulkhead}, and bounds every call with a {@link TimeLimiter}. A saturated dependency
+ * fails fast with {@link BulkheadFullException} instead of borrowing shared threads.
+ */
+@Slf4j
+public class AsyncBulkhead implements AutoCloseable {
+
+    public enum Isolation {
+        THREAD_POOL,
+        SEMAPHORE
+    }
+
+    private final String name;
+    private final ThreadPoolBulkhead threadPoolBulkhead;
+    private final Bulkhead semaphoreBulkhead;
+    private final ExecutorService semaphoreExecutor;
+    private final TimeLimiter timeLimiter;
+    private final Duration hedgeDelay;
+    private final ScheduledExecutorService scheduler;
+    private final LongAdder hedgedCalls = new LongAdder();
+
+    private AsyncBulkhead(String name, ThreadPoolBulkhead threadPoolBulkhead, Bulkhead semaphoreBulkhead,
+                          TimeLimiter timeLimiter, Duration hedgeDelay) {
+        this.name = name;
+        this.threadPoolBulkhead = threadPoolBulkhead;
+        this.semaphoreBulkhead = semaphoreBulkhead;
+        this.semaphoreExecutor = semaphoreBulkhead != null
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-bulkhead-", 0).factory())
+            : null;
+        this.timeLimiter = timeLimiter;
+        this.hedgeDelay = hedgeDelay;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static AsyncBulkhead threadPool(ThreadPoolBulkhead bulkhead, TimeLimiter timeLimiter, Duration hedgeDelay) {
+        return new AsyncBulkhead(bulkhead.getName(), bulkhead, null, timeLimiter, hedgeDelay);
+    }
+
+    public static AsyncBulkhead semaphore(Bulkhead bulkhead, TimeLimiter timeLimiter, Duration hedgeDelay) {
+        return new AsyncBulkhead(bulkhead.getName(), null, bulkhead, timeLimiter, hedgeDelay);
+    }
+
+    /**
+     * Runs the call inside the bulkhead; the returned stage fails with {@link BulkheadFullException}
+     * when no permit is free and with {@link java.util.concurrent.TimeoutException} past the time limit.
+     */
+    public <T> CompletionStage<T> submit(Supplier<T> supplier) {
+        return timeLimiter.executeCompletionStage(scheduler, () -> attempt(supplier));
+    }
+
+    /**
+     * Like {@link #submit} but fires a second attempt if the first has not answered within the
+     * hedge delay, and completes with whichever succeeds first. Only for idempotent reads.
+     */
+    public <T> CompletionStage<T> submitHedged(Supplier<T> supplier) {
+        return timeLimiter.executeCompletionStage(scheduler, () -> hedge(supplier));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHedgedCalls() {
+        return hedgedCalls.sum();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (semaphoreExecutor != null) {
+            semaphoreExecutor.shutdown();
+        }
+        if (threadPoolBulkhead != null) {
+            try {
+                threadPoolBulkhead.close();
+            } catch (Exception e) {
+                log.warn("Failed to close bulkhead {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> attempt(Supplier<T> supplier) {
+        if (threadPoolBulkhead != null) {
+            try {
+                return threadPoolBulkhead.executeSupplier(supplier).toCompletableFuture();
+            } catch (BulkheadFullException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        if (!semaphoreBulkhead.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(semaphoreBulkhead));
+        }
+        try {
+            return CompletableFuture.supplyAsync(supplier, semaphoreExecutor)
+                .whenComplete((result, error) -> semaphoreBulkhead.onComplete());
+        } catch (RuntimeException e) {
+            semaphoreBulkhead.onComplete();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> hedge(Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        BiConsumer<T, Throwable> firstSuccessWins = (value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+
+        attempt(supplier).whenComplete(firstSuccessWins);
+
+        ScheduledFuture<?> hedgeTask = scheduler.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            hedgedCalls.increment();
+            log.debug("{} call slower than {}ms, sending hedged request", name, hedgeDelay.toMillis());
+            attempt(supplier).whenComplete(firstSuccessWins);
+        }, hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> hedgeTask.cancel(false));
+
+        return result;
+    }
+}
@@ -0,0 +1,246 @@
+package com.cena.traveloka.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.MDC;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Tracks saturation of the named async executors. The decorator returned by
+ * {@link #instrument} times queue wait and execution and carries MDC and the security context
+ * over to the worker; {@link #countRejections} counts rejections and tasks pushed back onto the
+ * submitting thread by {@code CallerRunsPolicy}. Meters are registered once the {@link MeterRegistry} binds this instance.
+ */
+public class ExecutorTelemetry implements MeterBinder {
+
+    private final Map<String, ExecutorStats> executors = new ConcurrentHashMap<>();
+
+    public TaskDecorator instrument(String name, ThreadPoolTaskExecutor executor) {
+        ExecutorStats stats = executors.computeIfAbsent(name, key -> new ExecutorStats(key, "platform",
+            executor::getMaxPoolSize, executor::getQueueCapacity));
+        stats.queueDepth = executor::getQueueSize;
+        return decorator(stats);
+    }
+
+    public TaskDecorator instrument(String name, SimpleAsyncTaskExecutor executor) {
+        ExecutorStats stats = executors.computeIfAbsent(name, key -> new ExecutorStats(key, "virtual",
+            executor::getConcurrencyLimit, () -> -1));
+        // Tasks waiting on the concurrency limit have been decorated but not started
+        stats.queueDepth = () -> (int) Math.max(0, stats.submitted.sum() - stats.started.sum());
+        return decorator(stats);
+    }
+
+    public RejectedExecutionHandler countRejections(String name, RejectedExecutionHandler delegate) {
+        return (runnable, executor) -> {
+            ExecutorStats stats = executors.get(name);
+            if (stats != null) {
+                stats.rejected.increment();
+                if (delegate instanceof ThreadPoolExecutor.CallerRunsPolicy && !executor.isShutdown()) {
+                    stats.callerRunsTriggered();
+                }
+            }
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+
+    public Collection<ExecutorStats> getExecutors() {
+        return executors.values();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        executors.values().forEach(stats -> stats.bindTo(registry));
+    }
+
+    private TaskDecorator decorator(ExecutorStats stats) {
+        return runnable -> {
+            long submittedAt = System.nanoTime();
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            stats.submitted.increment();
+
+            return () -> {
+                Thread current = Thread.currentThread();
+                String originalThreadName = current.getName();
+                Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+                SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+
+                stats.taskStarted(System.nanoTime() - submittedAt);
+                setMdc(mdc);
+                SecurityContextHolder.setContext(securityContext);
+                long startedAt = System.nanoTime();
+                try {
+                    runnable.run();
+                } finally {
+                    stats.taskFinished(System.nanoTime() - startedAt);
+                    setMdc(previousMdc);
+                    SecurityContextHolder.setContext(previousSecurityContext);
+                    current.setName(originalThreadName);
+                }
+            };
+        };
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    public static final class ExecutorStats {
+
+        private final String name;
+        private final String mode;
+        private final IntSupplier maxConcurrency;
+        private final IntSupplier queueCapacity;
+        private volatile IntSupplier queueDepth = () -> 0;
+
+        private final AtomicInteger active = new AtomicInteger();
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder started = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder callerRuns = new LongAdder();
+
+        private volatile Timer queueWait;
+        private volatile Timer execution;
+        private volatile Counter callerRunsCounter;
+
+        private ExecutorStats(String name, String mode, IntSupplier maxConcurrency, IntSupplier queueCapacity) {
+            this.name = name;
+            this.mode = mode;
+            this.maxConcurrency = maxConcurrency;
+            this.queueCapacity = queueCapacity;
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            Gauge.builder("async.executor.active", active, AtomicInteger::get)
+                .description("Tasks currently running")
+                .tag("name", name)
+                .register(registry);
+            Gauge.builder("async.executor.queued", this, ExecutorStats::getQueueDepth)
+                .description("Tasks submitted but not yet started")
+                .tag("name", name)
+                .register(registry);
+            Gauge.builder("async.executor.max.concurrency", this, ExecutorStats::getMaxConcurrency)
+                .description("Maximum pool size or concurrency limit")
+                .tag("name", name)
+                .register(registry);
+            FunctionCounter.builder("async.executor.completed", completed, LongAdder::sum)
+                .description("Tasks finished, successfully or not")
+                .tag("name", name)
+                .register(registry);
+            FunctionCounter.builder("async.executor.rejected", rejected, LongAdder::sum)
+                .description("Tasks refused by the pool and handed to the rejection policy")
+                .tag("name", name)
+                .register(registry);
+            callerRunsCounter = Counter.builder("async.executor.caller.runs")
+                .description("Tasks that ran on the submitting thread instead of the pool")
+                .tag("name", name)
+                .register(registry);
+            queueWait = Timer.builder("async.executor.queue.wait")
+                .description("Time between submission and start of a task")
+                .tag("name", name)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+            execution = Timer.builder("async.executor.execution")
+                .description("Task execution time")
+                .tag("name", name)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+
+        private void callerRunsTriggered() {
+            callerRuns.increment();
+            Counter counter = callerRunsCounter;
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+
+        private void taskStarted(long waitNanos) {
+            started.increment();
+            active.incrementAndGet();
+            Timer timer = queueWait;
+            if (timer != null) {
+                timer.record(waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void taskFinished(long executionNanos) {
+            active.decrementAndGet();
+            completed.increment();
+            Timer timer = execution;
+            if (timer != null) {
+                timer.record(executionNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public int getActive() {
+            return active.get();
+        }
+
+        public int getQueueDepth() {
+            return queueDepth.getAsInt();
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency.getAsInt();
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity.getAsInt();
+        }
+
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        public long getCallerRuns() {
+            return callerRuns.sum();
+        }
+
+        public Timer getQueueWait() {
+            return queueWait;
+        }
+
+        public Timer getExecution() {
+            return execution;
+        }
+    }
+}
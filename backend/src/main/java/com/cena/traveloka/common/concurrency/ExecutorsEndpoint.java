@@ -0,0 +1,98 @@
+package com.cena.traveloka.common.concurrency;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/executors}: one snapshot per named async executor, flagging those that are
+ * at their concurrency limit with a full queue or have pushed work back onto callers.
+ */
+@Component
+@Endpoint(id = "executors")
+@ConditionalOnBean(ExecutorTelemetry.class)
+@RequiredArgsConstructor
+public class ExecutorsEndpoint {
+
+    private final ExecutorTelemetry executorTelemetry;
+
+    @ReadOperation
+    public Map<String, ExecutorSnapshot> executors() {
+        Map<String, ExecutorSnapshot> snapshots = new LinkedHashMap<>();
+        executorTelemetry.getExecutors().stream()
+            .sorted(Comparator.comparing(ExecutorTelemetry.ExecutorStats::getName))
+            .forEach(stats -> snapshots.put(stats.getName(), ExecutorSnapshot.of(stats)));
+        return snapshots;
+    }
+
+    public record ExecutorSnapshot(
+        String mode,
+        int active,
+        int maxConcurrency,
+        int queued,
+        int queueCapacity,
+        long completed,
+        long rejected,
+        long callerRuns,
+        Double queueWaitP50Ms,
+        Double queueWaitP99Ms,
+        Double executionP50Ms,
+        Double executionP99Ms,
+        boolean saturated
+    ) {
+
+        static ExecutorSnapshot of(ExecutorTelemetry.ExecutorStats stats) {
+            int active = stats.getActive();
+            int maxConcurrency = stats.getMaxConcurrency();
+            int queued = stats.getQueueDepth();
+            int queueCapacity = stats.getQueueCapacity();
+            boolean atLimit = active >= maxConcurrency;
+            boolean queueFull = queueCapacity < 0 ? queued > 0 : queued >= queueCapacity;
+
+            HistogramSnapshot queueWait = snapshot(stats.getQueueWait());
+            HistogramSnapshot execution = snapshot(stats.getExecution());
+
+            return new ExecutorSnapshot(
+                stats.getMode(),
+                active,
+                maxConcurrency,
+                queued,
+                queueCapacity,
+                stats.getCompleted(),
+                stats.getRejected(),
+                stats.getCallerRuns(),
+                percentile(queueWait, 0.5),
+                percentile(queueWait, 0.99),
+                percentile(execution, 0.5),
+                percentile(execution, 0.99),
+                atLimit && queueFull
+            );
+        }
+
+        private static HistogramSnapshot snapshot(Timer timer) {
+            return timer != null ? timer.takeSnapshot() : null;
+        }
+
+        private static Double percentile(HistogramSnapshot snapshot, double percentile) {
+            if (snapshot == null) {
+                return null;
+            }
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                if (value.percentile() == percentile) {
+                    return value.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            return null;
+        }
+    }
+}
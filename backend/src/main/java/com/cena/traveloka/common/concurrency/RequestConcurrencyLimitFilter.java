@@ -0,0 +1,98 @@
+package com.cena.traveloka.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps in-flight requests when Tomcat runs on virtual threads. Its worker pool size no longer
+ * bounds concurrency, so without this every request would pile up on the Hikari and Redis pools.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+
+    public RequestConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                         @Value("${app.web.virtual.max-concurrent-requests:400}") int maxConcurrentRequests,
+                                         @Value("${app.web.virtual.acquire-timeout:2s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMs = acquireTimeout.toMillis();
+
+        Gauge.builder("http.server.requests.permits.available", permits, Semaphore::availablePermits)
+            .description("Request permits left before callers start waiting")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.requests.permits.rejected")
+            .description("Requests turned away after waiting for a permit")
+            .register(meterRegistry);
+
+        log.info("Request concurrency limit enabled: max={}, acquireTimeout={}ms",
+            maxConcurrentRequests, acquireTimeoutMs);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Request concurrency limit reached, rejecting {} {}",
+                request.getMethod(), request.getRequestURI());
+
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setContentType("application/json");
+            response.setHeader("Retry-After", "1");
+            response.getWriter().write(String.format(
+                "{\"status\":\"ERROR\",\"code\":\"SERVER_BUSY\"," +
+                    "\"message\":\"Server is busy. Please try again later.\"," +
+                    "\"timestamp\":\"%s\"}",
+                OffsetDateTime.now()));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Probes must keep answering while the application is saturated
+        return request.getRequestURI().contains("/actuator/");
+    }
+}
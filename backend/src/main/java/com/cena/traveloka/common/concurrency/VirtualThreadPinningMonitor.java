@@ -0,0 +1,101 @@
+package com.cena.traveloka.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events and reports the application or library
+ * frame that held the carrier thread, typically a {@code synchronized} block in a JDBC driver
+ * or in Jedis. Each pinning site is logged once at WARN; the counter keeps the totals.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.async.virtual.pinning-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started with threshold {}ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedFrame culprit = findCulpritFrame(event.getStackTrace());
+        String site = culprit != null
+            ? culprit.getMethod().getType().getName() + "." + culprit.getMethod().getName()
+            : "unknown";
+        String owner = culprit != null ? culprit.getMethod().getType().getName() : "unknown";
+
+        Counter.builder("jvm.threads.virtual.pinned")
+            .description("Virtual threads pinned to their carrier longer than the threshold")
+            .tag("class", owner)
+            .register(meterRegistry)
+            .increment();
+        Timer.builder("jvm.threads.virtual.pinned.duration")
+            .description("Time virtual threads spent pinned to their carrier")
+            .register(meterRegistry)
+            .record(event.getDuration());
+
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {}ms at {} (line {}); further pinning at this site is only counted",
+                event.getDuration().toMillis(), site, culprit != null ? culprit.getLineNumber() : -1);
+        }
+    }
+
+    private RecordedFrame findCulpritFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && !isJdkFrame(frame.getMethod().getType().getName())) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    private boolean isJdkFrame(String className) {
+        return JDK_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+}
@@ -1,5 +1,6 @@
 package com.cena.traveloka.common.config;
 
+import com.cena.traveloka.common.concurrency.ExecutorTelemetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -8,6 +9,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -51,9 +53,39 @@ public class AsyncConfig implements AsyncConfigurer {
     @Value("${app.async.rejected-execution-policy:CALLER_RUNS}")
     private String rejectedExecutionPolicy;
 
+    // Same switch Spring Boot uses for Tomcat, @Scheduled and applicationTaskExecutor
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    // In virtual-thread mode pool sizes and queues are replaced by a concurrency limit;
+    // submitters block once it is reached, like CALLER_RUNS applies back-pressure today
+    @Value("${app.async.virtual.task-concurrency-limit:200}")
+    private int taskConcurrencyLimit;
+
+    @Value("${app.async.virtual.email-concurrency-limit:10}")
+    private int emailConcurrencyLimit;
+
+    @Value("${app.async.virtual.notification-concurrency-limit:50}")
+    private int notificationConcurrencyLimit;
+
+    @Value("${app.async.virtual.search-concurrency-limit:100}")
+    private int searchConcurrencyLimit;
+
+    @Value("${app.async.virtual.file-concurrency-limit:8}")
+    private int fileConcurrencyLimit;
+
+    @Bean
+    public ExecutorTelemetry executorTelemetry() {
+        return new ExecutorTelemetry();
+    }
+
     @Bean(name = "taskExecutor")
     @Override
     public Executor getAsyncExecutor() {
+        if (virtualThreadsEnabled) {
+            return virtualThreadExecutor("taskExecutor", threadNamePrefix, taskConcurrencyLimit);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         executor.setCorePoolSize(corePoolSize);
@@ -67,16 +99,10 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setWaitForTasksToCompleteOnShutdown(waitForTasksToCompleteOnShutdown);
         executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
 
-        executor.setRejectedExecutionHandler(getRejectedExecutionHandler());
+        executor.setRejectedExecutionHandler(
+            executorTelemetry().countRejections("taskExecutor", getRejectedExecutionHandler()));
 
-        executor.setTaskDecorator(runnable -> () -> {
-            String originalThreadName = Thread.currentThread().getName();
-            try {
-                runnable.run();
-            } finally {
-                Thread.currentThread().setName(originalThreadName);
-            }
-        });
+        executor.setTaskDecorator(executorTelemetry().instrument("taskExecutor", executor));
 
         executor.initialize();
 
@@ -93,13 +119,19 @@ public class AsyncConfig implements AsyncConfigurer {
 
     @Bean(name = "emailTaskExecutor")
     public AsyncTaskExecutor emailTaskExecutor() {
+        if (virtualThreadsEnabled) {
+            return virtualThreadExecutor("emailTaskExecutor", "EmailExecutor-", emailConcurrencyLimit);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("EmailExecutor-");
         executor.setKeepAliveSeconds(60);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(
+            executorTelemetry().countRejections("emailTaskExecutor", new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setTaskDecorator(executorTelemetry().instrument("emailTaskExecutor", executor));
         executor.initialize();
 
         logger.info("Email task executor configured with core=2, max=10, queue=100");
@@ -108,13 +140,19 @@ public class AsyncConfig implements AsyncConfigurer {
 
     @Bean(name = "notificationTaskExecutor")
     public AsyncTaskExecutor notificationTaskExecutor() {
+        if (virtualThreadsEnabled) {
+            return virtualThreadExecutor("notificationTaskExecutor", "NotificationExecutor-", notificationConcurrencyLimit);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(3);
         executor.setMaxPoolSize(15);
         executor.setQueueCapacity(200);
         executor.setThreadNamePrefix("NotificationExecutor-");
         executor.setKeepAliveSeconds(60);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(
+            executorTelemetry().countRejections("notificationTaskExecutor", new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setTaskDecorator(executorTelemetry().instrument("notificationTaskExecutor", executor));
         executor.initialize();
 
         logger.info("Notification task executor configured with core=3, max=15, queue=200");
@@ -123,13 +161,19 @@ public class AsyncConfig implements AsyncConfigurer {
 
     @Bean(name = "searchTaskExecutor")
     public AsyncTaskExecutor searchTaskExecutor() {
+        if (virtualThreadsEnabled) {
+            return virtualThreadExecutor("searchTaskExecutor", "SearchExecutor-", searchConcurrencyLimit);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(20);
         executor.setQueueCapacity(500);
         executor.setThreadNamePrefix("SearchExecutor-");
         executor.setKeepAliveSeconds(120);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(
+            executorTelemetry().countRejections("searchTaskExecutor", new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setTaskDecorator(executorTelemetry().instrument("searchTaskExecutor", executor));
         executor.initialize();
 
         logger.info("Search task executor configured with core=5, max=20, queue=500");
@@ -138,19 +182,37 @@ public class AsyncConfig implements AsyncConfigurer {
 
     @Bean(name = "fileTaskExecutor")
     public AsyncTaskExecutor fileTaskExecutor() {
+        if (virtualThreadsEnabled) {
+            return virtualThreadExecutor("fileTaskExecutor", "FileExecutor-", fileConcurrencyLimit);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(8);
         executor.setQueueCapacity(50);
         executor.setThreadNamePrefix("FileExecutor-");
         executor.setKeepAliveSeconds(300);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(
+            executorTelemetry().countRejections("fileTaskExecutor", new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setTaskDecorator(executorTelemetry().instrument("fileTaskExecutor", executor));
         executor.initialize();
 
         logger.info("File task executor configured with core=2, max=8, queue=50");
         return executor;
     }
 
+    private AsyncTaskExecutor virtualThreadExecutor(String name, String prefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskDecorator(executorTelemetry().instrument(name, executor));
+        executor.setTaskTerminationTimeout(awaitTerminationSeconds * 1000L);
+
+        logger.info("Virtual-thread task executor configured: prefix={}, concurrencyLimit={}",
+            prefix, concurrencyLimit);
+        return executor;
+    }
+
     private RejectedExecutionHandler getRejectedExecutionHandler() {
         return switch (rejectedExecutionPolicy.toUpperCase()) {
             case "ABORT" -> new ThreadPoolExecutor.AbortPolicy();
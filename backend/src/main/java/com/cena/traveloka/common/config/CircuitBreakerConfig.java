@@ -1,9 +1,19 @@
 package com.cena.traveloka.common.config;
 
+import com.cena.traveloka.common.concurrency.AsyncBulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +23,9 @@ import java.time.Duration;
 @Slf4j
 public class CircuitBreakerConfig {
 
+    @Value("${app.resilience.bulkhead.isolation:THREAD_POOL}")
+    private AsyncBulkhead.Isolation bulkheadIsolation;
+
     @Bean
     public CircuitBreakerRegistry circuitBreakerRegistry() {
         io.github.resilience4j.circuitbreaker.CircuitBreakerConfig defaultConfig =
@@ -85,6 +98,8 @@ public class CircuitBreakerConfig {
                 .waitDurationInOpenState(Duration.ofSeconds(60))
                 .permittedNumberOfCallsInHalfOpenState(5)
                 .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A full bulkhead means we shed load locally, not that the dependency failed
+                .ignoreExceptions(BulkheadFullException.class)
                 .build();
 
         CircuitBreaker circuitBreaker = registry.circuitBreaker("elasticsearch", config);
@@ -111,6 +126,8 @@ public class CircuitBreakerConfig {
                 .waitDurationInOpenState(Duration.ofSeconds(90))
                 .permittedNumberOfCallsInHalfOpenState(5)
                 .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A full bulkhead means we shed load locally, not that the dependency failed
+                .ignoreExceptions(BulkheadFullException.class)
                 .build();
 
         CircuitBreaker circuitBreaker = registry.circuitBreaker("minio", config);
@@ -123,4 +140,61 @@ public class CircuitBreakerConfig {
 
         return circuitBreaker;
     }
+
+    @Bean
+    public AsyncBulkhead elasticsearchBulkhead(
+            ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            @Value("${app.resilience.elasticsearch.max-concurrent-calls:10}") int maxConcurrentCalls,
+            @Value("${app.resilience.elasticsearch.queue-capacity:20}") int queueCapacity,
+            @Value("${app.resilience.elasticsearch.timeout:5s}") Duration timeout,
+            @Value("${app.resilience.elasticsearch.hedge-delay:300ms}") Duration hedgeDelay) {
+        return asyncBulkhead("elasticsearch", threadPoolBulkheadRegistry, bulkheadRegistry, timeLimiterRegistry,
+            maxConcurrentCalls, queueCapacity, timeout, hedgeDelay);
+    }
+
+    @Bean
+    public AsyncBulkhead minioBulkhead(
+            ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            @Value("${app.resilience.minio.max-concurrent-calls:8}") int maxConcurrentCalls,
+            @Value("${app.resilience.minio.queue-capacity:16}") int queueCapacity,
+            @Value("${app.resilience.minio.timeout:30s}") Duration timeout,
+            @Value("${app.resilience.minio.hedge-delay:500ms}") Duration hedgeDelay) {
+        return asyncBulkhead("minio", threadPoolBulkheadRegistry, bulkheadRegistry, timeLimiterRegistry,
+            maxConcurrentCalls, queueCapacity, timeout, hedgeDelay);
+    }
+
+    private AsyncBulkhead asyncBulkhead(String name,
+                                        ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+                                        BulkheadRegistry bulkheadRegistry,
+                                        TimeLimiterRegistry timeLimiterRegistry,
+                                        int maxConcurrentCalls,
+                                        int queueCapacity,
+                                        Duration timeout,
+                                        Duration hedgeDelay) {
+        // Timeout stays above the breaker's slow-call threshold so slow calls are still recorded as slow
+        TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(name, TimeLimiterConfig.custom()
+            .timeoutDuration(timeout)
+            .cancelRunningFuture(true)
+            .build());
+
+        log.info("{} bulkhead configured: isolation={}, maxConcurrentCalls={}, timeout={}ms, hedgeDelay={}ms",
+            name, bulkheadIsolation, maxConcurrentCalls, timeout.toMillis(), hedgeDelay.toMillis());
+
+        if (bulkheadIsolation == AsyncBulkhead.Isolation.SEMAPHORE) {
+            return AsyncBulkhead.semaphore(bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build()), timeLimiter, hedgeDelay);
+        }
+
+        return AsyncBulkhead.threadPool(threadPoolBulkheadRegistry.bulkhead(name, ThreadPoolBulkheadConfig.custom()
+            .maxThreadPoolSize(maxConcurrentCalls)
+            .coreThreadPoolSize(maxConcurrentCalls)
+            .queueCapacity(queueCapacity)
+            .build()), timeLimiter, hedgeDelay);
+    }
 }
@@ -1,9 +1,18 @@
 package com.cena.traveloka.common.config;
 
+import com.cena.traveloka.common.datasource.QueryInstrumentation;
+import com.cena.traveloka.common.datasource.ReadYourWritesTracker;
+import com.cena.traveloka.common.datasource.ReplicaLagMonitor;
+import com.cena.traveloka.common.datasource.ReplicaRoutingDataSource;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -12,7 +21,12 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
+@Slf4j
 @Configuration
 @EnableJpaRepositories(basePackages = "com.cena.traveloka")
 @EnableJpaAuditing
@@ -61,22 +75,99 @@ public class DatabaseConfig {
     @Value("${app.datasource.pool.connection-test-query:SELECT 1}")
     private String connectionTestQuery;
 
+    @Value("${app.datasource.pool.initialization-fail-timeout:1}")
+    private long initializationFailTimeout;
+
     @Value("${app.datasource.pool.pool-name:TravelokaHikariPool}")
     private String poolName;
 
+    @Value("${app.datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:${app.datasource.pool.maximum-pool-size:20}}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${app.datasource.replicas.max-lag:2s}")
+    private Duration replicaMaxLag;
+
+    @Value("${app.datasource.replicas.lag-check-interval:1s}")
+    private Duration replicaLagCheckInterval;
+
+    /**
+     * The primary pool, or a router over primary and replica pools when
+     * {@code app.datasource.replicas.urls} is set, wrapped for statement-level metrics unless
+     * {@code app.jdbc.instrumentation.enabled} is false.
+     */
     @Bean
     @Primary
     @ConditionalOnProperty(name = "app.datasource.enabled", havingValue = "true", matchIfMissing = true)
-    public DataSource dataSource() {
+    public DataSource dataSource(MeterRegistry meterRegistry,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ObjectProvider<QueryInstrumentation> queryInstrumentation) {
+        DataSource dataSource = routingDataSource(meterRegistry, readYourWritesTracker);
+        QueryInstrumentation instrumentation = queryInstrumentation.getIfAvailable();
+        return instrumentation != null ? instrumentation.instrument(dataSource) : dataSource;
+    }
+
+    /**
+     * Migrates on startup unless {@code app.flyway.migrate-on-startup} is false. Unlike
+     * {@code spring.flyway.enabled}, this is read at runtime, so it also applies to AOT-processed builds.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.flyway.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping Flyway migration on startup");
+            }
+        };
+    }
+
+    private DataSource routingDataSource(MeterRegistry meterRegistry, ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = createPool(jdbcUrl, username, password, poolName, maximumPoolSize, readOnly);
+
+        List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (urls.isEmpty()) {
+            return primary;
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = createPool(urls.get(i), replicaUsername, replicaPassword,
+                poolName + "-replica-" + i, replicaMaximumPoolSize, true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+
+        ReplicaLagMonitor lagMonitor =
+            new ReplicaLagMonitor(List.copyOf(replicas), replicaMaxLag, replicaLagCheckInterval, meterRegistry);
+        ReplicaRoutingDataSource routingDataSource =
+            new ReplicaRoutingDataSource(primary, replicas, lagMonitor, readYourWritesTracker, meterRegistry);
+        // Known up front, so the proxy never opens a connection just to find them out
+        routingDataSource.setDefaultAutoCommit(autoCommit);
+        routingDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return routingDataSource;
+    }
+
+    private HikariDataSource createPool(String url, String user, String secret, String name,
+                                        int maxPoolSize, boolean readOnlyPool) {
         HikariConfig config = new HikariConfig();
 
-        config.setJdbcUrl(jdbcUrl);
-        config.setUsername(username);
-        config.setPassword(password);
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(secret);
         config.setDriverClassName(driverClassName);
 
-        config.setMinimumIdle(minimumIdle);
-        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(Math.min(minimumIdle, maxPoolSize));
+        config.setMaximumPoolSize(maxPoolSize);
 
         config.setConnectionTimeout(connectionTimeout);
         config.setIdleTimeout(idleTimeout);
@@ -84,21 +175,19 @@ public class DatabaseConfig {
         config.setValidationTimeout(validationTimeout);
 
         config.setAutoCommit(autoCommit);
-        config.setReadOnly(readOnly);
+        config.setReadOnly(readOnlyPool);
         config.setConnectionTestQuery(connectionTestQuery);
-        config.setPoolName(poolName);
+        config.setPoolName(name);
+        // Negative: start without a connection and fill the pool in the background
+        config.setInitializationFailTimeout(initializationFailTimeout);
 
         config.setLeakDetectionThreshold(leakDetectionThreshold);
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-        config.addDataSourceProperty("useServerPrepStmts", "true");
-        config.addDataSourceProperty("useLocalSessionState", "true");
-        config.addDataSourceProperty("rewriteBatchedStatements", "true");
-        config.addDataSourceProperty("cacheResultSetMetadata", "true");
-        config.addDataSourceProperty("cacheServerConfiguration", "true");
-        config.addDataSourceProperty("elideSetAutoCommits", "true");
-        config.addDataSourceProperty("maintainTimeStats", "false");
+        // PostgreSQL driver options: server-side prepare after 5 executions, multi-row batch inserts
+        config.addDataSourceProperty("prepareThreshold", "5");
+        config.addDataSourceProperty("preparedStatementCacheQueries", "512");
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", "10");
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        config.addDataSourceProperty("ApplicationName", name);
 
         return new HikariDataSource(config);
     }
@@ -4,6 +4,7 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.cena.traveloka.common.startup.WarmupTask;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -15,7 +16,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -25,7 +25,6 @@ import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
-@EnableElasticsearchRepositories(basePackages = "com.cena.traveloka")
 @ConditionalOnProperty(name = "app.elasticsearch.enabled", havingValue = "true", matchIfMissing = true)
 public class ElasticsearchConfig {
 
@@ -133,4 +132,17 @@ public class ElasticsearchConfig {
     public ElasticsearchClient elasticsearchClient(ElasticsearchTransport transport) {
         return new ElasticsearchClient(transport);
     }
-}
\ No newline at end of file
+
+    /**
+     * Opens the first pooled connection before traffic arrives. Search degrades through its
+     * circuit breaker, so an unreachable cluster does not hold back readiness.
+     */
+    @Bean
+    public WarmupTask elasticsearchWarmup(ElasticsearchClient elasticsearchClient) {
+        return WarmupTask.optional("elasticsearch", () -> {
+            if (!elasticsearchClient.ping().value()) {
+                throw new IllegalStateException("Elasticsearch ping returned false");
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.cena.traveloka.common.config;
 
+import com.cena.traveloka.common.startup.WarmupTask;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
@@ -11,9 +12,11 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import jakarta.annotation.PostConstruct;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @ConditionalOnProperty(name = "app.minio.enabled", havingValue = "true", matchIfMissing = true)
@@ -83,7 +86,15 @@ public class MinIOConfig {
         }
     }
 
-    @PostConstruct
+    /**
+     * Bucket setup runs as a startup warm-up task instead of during context refresh;
+     * readiness stays down until it has succeeded.
+     */
+    @Bean
+    public WarmupTask minioBucketWarmup() {
+        return WarmupTask.required("minio-buckets", this::initializeBuckets);
+    }
+
     public void initializeBuckets() {
         if (!autoCreateBuckets) {
             logger.info("Auto-creation of buckets is disabled");
@@ -95,11 +106,14 @@ public class MinIOConfig {
             return;
         }
 
-        try {
-            for (String bucketName : bucketNames) {
-                createBucketIfNotExists(bucketName);
-                configureBucketPolicy(bucketName);
-            }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture.allOf(bucketNames.stream()
+                .map(bucketName -> CompletableFuture.runAsync(() -> {
+                    createBucketIfNotExists(bucketName);
+                    configureBucketPolicy(bucketName);
+                }, executor))
+                .toArray(CompletableFuture[]::new)
+            ).join();
             logger.info("MinIO bucket initialization completed successfully");
         } catch (Exception e) {
             logger.error("Failed to initialize MinIO buckets", e);
@@ -1,5 +1,6 @@
 package com.cena.traveloka.common.config;
 
+import com.cena.traveloka.common.startup.WarmupTask;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +10,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
@@ -27,6 +29,10 @@ import java.util.List;
 @ConditionalOnProperty(name = "app.security.enabled", havingValue = "true", matchIfMissing = true)
 public class SecurityConfig {
 
+    // RS256 token signed with an unknown key id; verifying it forces a JWK set download
+    private static final String JWKS_WARMUP_TOKEN =
+        "eyJhbGciOiJSUzI1NiIsImtpZCI6Indhcm11cCJ9.eyJzdWIiOiJ3YXJtdXAifQ.AA";
+
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuerUri;
 
@@ -110,6 +116,21 @@ public class SecurityConfig {
         }
     }
 
+    /**
+     * Resolves the issuer and fetches the JWK set before the first authenticated request.
+     * The decoder rejects the token either way; only a failed key fetch counts as an error.
+     */
+    @Bean
+    public WarmupTask jwksWarmup(JwtDecoder jwtDecoder) {
+        return WarmupTask.optional("jwks", () -> {
+            try {
+                jwtDecoder.decode(JWKS_WARMUP_TOKEN);
+            } catch (BadJwtException expected) {
+                // Keys were fetched, the token was rejected as intended
+            }
+        });
+    }
+
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
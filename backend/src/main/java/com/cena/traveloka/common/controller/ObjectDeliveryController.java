@@ -0,0 +1,191 @@
+package com.cena.traveloka.common.controller;
+
+import com.cena.traveloka.common.config.MinIOConfig;
+import com.cena.traveloka.common.dto.ApiResponse;
+import com.cena.traveloka.common.dto.PresignedUrlResponse;
+import com.cena.traveloka.common.exception.EntityNotFoundException;
+import com.cena.traveloka.common.service.ObjectDeliveryService;
+import com.cena.traveloka.common.service.ObjectDeliveryService.ObjectMetadata;
+import com.cena.traveloka.common.service.ObjectDeliveryService.PresignedUrl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Object downloads with conditional GET and single byte-range support. Public buckets are served
+ * under {@code /api/public/objects}, everything else under {@code /api/v1/objects} where callers
+ * can only read keys below {@code users/{their id}/} unless they are administrators.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.minio.enabled", havingValue = "true", matchIfMissing = true)
+public class ObjectDeliveryController {
+
+    private static final Set<String> ADMIN_AUTHORITIES = Set.of("ROLE_ADMIN", "ROLE_SUPER_ADMIN");
+    private static final String USER_PREFIX = "users/";
+
+    private final ObjectDeliveryService deliveryService;
+    private final MinIOConfig minIOConfig;
+
+    @Value("${app.storage.delivery.public-max-age:7d}")
+    private Duration publicMaxAge;
+
+    @Value("${app.storage.delivery.private-max-age:5m}")
+    private Duration privateMaxAge;
+
+    @GetMapping("/api/public/objects/{bucket}/{*key}")
+    public void getPublicObject(@PathVariable String bucket,
+                                @PathVariable String key,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        if (!minIOConfig.isPublicBucket(bucket)) {
+            throw new EntityNotFoundException("Object", bucket + "/" + key);
+        }
+        serve(bucket, stripLeadingSlash(key), CacheControl.maxAge(publicMaxAge).cachePublic(), request, response);
+    }
+
+    @GetMapping("/api/v1/objects/{bucket}/{*key}")
+    public void getObject(@PathVariable String bucket,
+                          @PathVariable String key,
+                          Authentication authentication,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        String objectKey = stripLeadingSlash(key);
+        checkReadable(bucket, objectKey, authentication);
+        serve(bucket, objectKey, CacheControl.maxAge(privateMaxAge).cachePrivate(), request, response);
+    }
+
+    @GetMapping("/api/v1/objects/presigned-url")
+    public ApiResponse<PresignedUrlResponse> getPresignedUrl(@RequestParam String bucket,
+                                                             @RequestParam String key,
+                                                             Authentication authentication) {
+        checkReadable(bucket, key, authentication);
+        // Make sure we do not hand out URLs for objects that do not exist
+        deliveryService.stat(bucket, key);
+
+        PresignedUrl presigned = deliveryService.presignedUrl(bucket, key);
+        return ApiResponse.success(
+                "Presigned URL generated",
+                PresignedUrlResponse.builder()
+                        .url(presigned.url())
+                        .expiresAt(presigned.expiresAt())
+                        .build()
+        );
+    }
+
+    private void serve(String bucket, String key, CacheControl cacheControl,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ObjectMetadata metadata = deliveryService.stat(bucket, key);
+        String etag = "\"" + metadata.etag() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (metadata.lastModified() != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, metadata.lastModified().toEpochMilli());
+        }
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(metadata.contentType() != null
+                ? metadata.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        long size = metadata.size();
+        long start = 0;
+        long end = size - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                // Malformed ranges are ignored and the full object is served
+                ranges = List.of();
+            }
+            // Multipart byteranges are not supported; anything but one range gets the full object
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(size);
+                    end = range.getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = size == 0 ? 0 : end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        deliveryService.write(bucket, key, metadata, start, length, response.getOutputStream());
+    }
+
+    private void checkReadable(String bucket, String key, Authentication authentication) {
+        if (!minIOConfig.getBucketNames().contains(bucket) || key.contains("..")) {
+            throw new EntityNotFoundException("Object", bucket + "/" + key);
+        }
+        if (minIOConfig.isPublicBucket(bucket) || isAdmin(authentication)) {
+            return;
+        }
+        // Report foreign objects as missing rather than forbidden so keys cannot be probed
+        if (!key.startsWith(USER_PREFIX + authentication.getName() + "/")) {
+            throw new EntityNotFoundException("Object", bucket + "/" + key);
+        }
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(ADMIN_AUTHORITIES::contains);
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripLeadingSlash(String key) {
+        return key.startsWith("/") ? key.substring(1) : key;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cena.traveloka.common.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code /actuator/queries}: the statements with the most total execution time, plus the
+ * most recent slow queries and statements repeated within one request or transaction.
+ */
+@Component
+@Endpoint(id = "queries")
+@ConditionalOnBean(QueryInstrumentation.class)
+@RequiredArgsConstructor
+public class QueriesEndpoint {
+
+    private static final int TOP_STATEMENTS = 50;
+
+    private final QueryInstrumentation queryInstrumentation;
+
+    @ReadOperation
+    public QueriesReport queries() {
+        List<StatementSnapshot> statements = queryInstrumentation.getStatements().stream()
+            .sorted(Comparator.comparingDouble(QueryInstrumentation.StatementStats::getTotalMs).reversed())
+            .limit(TOP_STATEMENTS)
+            .map(StatementSnapshot::of)
+            .toList();
+        return new QueriesReport(statements,
+            queryInstrumentation.getSlowQueries(),
+            queryInstrumentation.getRepeatedStatements());
+    }
+
+    public record QueriesReport(
+        List<StatementSnapshot> statements,
+        List<QueryInstrumentation.SlowQuery> slowQueries,
+        List<QueryInstrumentation.RepeatedStatement> repeatedStatements
+    ) {
+    }
+
+    public record StatementSnapshot(
+        String id,
+        String type,
+        String sql,
+        long executions,
+        double totalMs,
+        double meanMs,
+        double maxMs
+    ) {
+
+        static StatementSnapshot of(QueryInstrumentation.StatementStats stats) {
+            long executions = stats.getExecutions();
+            double totalMs = stats.getTotalMs();
+            return new StatementSnapshot(
+                stats.getId(),
+                stats.getType(),
+                stats.getSql(),
+                executions,
+                totalMs,
+                executions > 0 ? totalMs / executions : 0,
+                stats.getMaxMs()
+            );
+        }
+    }
+}
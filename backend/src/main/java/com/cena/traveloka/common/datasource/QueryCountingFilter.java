@@ -0,0 +1,43 @@
+package com.cena.traveloka.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements each request executes, so {@link QueryInstrumentation} can record
+ * them per endpoint and flag statements repeated within the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "app.jdbc.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class QueryCountingFilter extends OncePerRequestFilter {
+
+    private final QueryInstrumentation queryInstrumentation;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        QueryInstrumentation.QueryScope scope = queryInstrumentation.openRequestScope();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = pattern != null ? request.getMethod() + " " + pattern : "UNKNOWN";
+            queryInstrumentation.closeRequestScope(scope, endpoint);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.cena.traveloka.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Statement-level view of the JDBC traffic: a latency histogram per normalized statement,
+ * statement counts per HTTP request and per transaction, a slow query log with bind value
+ * shapes, and detection of statements repeated within one request, the usual sign of N+1
+ * loading. Recent findings are kept for {@code /actuator/queries}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jdbc.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentation {
+
+    static final String OTHER_STATEMENTS = "<other>";
+
+    private static final int RECENT_EVENTS = 50;
+    private static final int STACK_DEPTH = 12;
+    private static final String APP_PACKAGE = "com.cena.traveloka.";
+    private static final String OWN_PACKAGE = QueryInstrumentation.class.getPackageName() + ".";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final int repeatThreshold;
+    private final int maxStatements;
+
+    private final Cache<String, String> normalizedSql = Caffeine.newBuilder().maximumSize(2_000).build();
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final ThreadLocal<QueryScope> requestScope = new ThreadLocal<>();
+    private final Object transactionScopeKey = new Object();
+
+    private final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final ArrayDeque<RepeatedStatement> repeatedStatements = new ArrayDeque<>();
+    private final Counter slowQueryCounter;
+
+    public QueryInstrumentation(MeterRegistry meterRegistry,
+                                @Value("${app.jdbc.instrumentation.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+                                @Value("${app.jdbc.instrumentation.repeat-threshold:10}") int repeatThreshold,
+                                @Value("${app.jdbc.instrumentation.max-statements:500}") int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.repeatThreshold = repeatThreshold;
+        this.maxStatements = maxStatements;
+        this.slowQueryCounter = Counter.builder("db.query.slow")
+            .description("Statements slower than the slow query threshold")
+            .register(meterRegistry);
+    }
+
+    public DataSource instrument(DataSource dataSource) {
+        return new InstrumentedDataSource(dataSource, this);
+    }
+
+    void record(String sql, long elapsedNanos, int executions, Object[] boundValues) {
+        String normalized = sql == null ? OTHER_STATEMENTS : normalizedSql.get(sql, SqlShapes::normalize);
+        StatementStats stats = statsFor(normalized);
+        stats.record(elapsedNanos, executions);
+
+        if (elapsedNanos >= slowQueryNanos) {
+            recordSlowQuery(stats, elapsedNanos, boundValues);
+        }
+
+        QueryScope request = requestScope.get();
+        QueryScope transaction = transactionScope();
+        if (request != null) {
+            request.count(normalized, executions);
+        }
+        if (transaction != null) {
+            transaction.count(normalized, executions);
+        }
+    }
+
+    QueryScope openRequestScope() {
+        QueryScope scope = new QueryScope("request", true);
+        requestScope.set(scope);
+        return scope;
+    }
+
+    void closeRequestScope(QueryScope scope, String endpoint) {
+        requestScope.remove();
+        DistributionSummary.builder("db.statements.per.request")
+            .description("JDBC statements executed while serving one HTTP request")
+            .tag("uri", endpoint)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry)
+            .record(scope.getTotal());
+        reportRepeats(scope, endpoint);
+    }
+
+    /**
+     * Runs {@code action} on the calling thread in a scope of its own and returns how often it
+     * executed each normalized statement. Statements run on other threads are not counted.
+     */
+    public Map<String, Integer> countStatements(Runnable action) {
+        QueryScope previous = requestScope.get();
+        QueryScope scope = new QueryScope("capture", true);
+        requestScope.set(scope);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                requestScope.set(previous);
+            } else {
+                requestScope.remove();
+            }
+        }
+        return scope.statementCounts();
+    }
+
+    public Collection<StatementStats> getStatements() {
+        return statements.values();
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public List<RepeatedStatement> getRepeatedStatements() {
+        synchronized (repeatedStatements) {
+            return new ArrayList<>(repeatedStatements);
+        }
+    }
+
+    private StatementStats statsFor(String normalized) {
+        StatementStats stats = statements.get(normalized);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statements.size() < maxStatements ? normalized : OTHER_STATEMENTS;
+        return statements.computeIfAbsent(key, sql -> new StatementStats(sql, meterRegistry));
+    }
+
+    private QueryScope transactionScope() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        QueryScope scope = (QueryScope) TransactionSynchronizationManager.getResource(transactionScopeKey);
+        if (scope != null) {
+            return scope;
+        }
+
+        // Outside a request, for scheduled jobs and listeners, the transaction is the unit to check for repeats
+        QueryScope created = new QueryScope("transaction", requestScope.get() == null);
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        TransactionSynchronizationManager.bindResource(transactionScopeKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionScopeKey);
+                DistributionSummary.builder("db.statements.per.transaction")
+                    .description("JDBC statements executed inside one transaction")
+                    .tag("read.only", String.valueOf(readOnly))
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(created.getTotal());
+                reportRepeats(created, name != null ? name : "transaction");
+            }
+        });
+        return created;
+    }
+
+    private void recordSlowQuery(StatementStats stats, long elapsedNanos, Object[] boundValues) {
+        slowQueryCounter.increment();
+        String parameters = Arrays.stream(boundValues)
+            .map(SqlShapes::parameterShape)
+            .collect(Collectors.joining(", ", "[", "]"));
+        double elapsedMs = elapsedNanos / 1_000_000.0;
+        log.warn("Slow query ({} ms, statement {}): {} params={}",
+            String.format("%.1f", elapsedMs), stats.getId(), stats.getSql(), parameters);
+        append(slowQueries, new SlowQuery(Instant.now(), stats.getId(), stats.getSql(), elapsedMs, parameters));
+    }
+
+    private void reportRepeats(QueryScope scope, String where) {
+        for (QueryScope.Repeat repeat : scope.repeats()) {
+            String id = StatementStats.idOf(repeat.sql);
+            log.warn("Possible N+1 in {}: statement {} executed {} times: {}\n\tat {}",
+                where, id, repeat.count, repeat.sql, String.join("\n\tat ", repeat.callers));
+            Counter.builder("db.query.repeated")
+                .description("Statements executed more often than the repeat threshold in one request or transaction")
+                .tag("scope", scope.kind)
+                .register(meterRegistry)
+                .increment();
+            append(repeatedStatements, new RepeatedStatement(Instant.now(), where, id, repeat.sql, repeat.count, repeat.callers));
+        }
+    }
+
+    private static <T> void append(ArrayDeque<T> events, T event) {
+        synchronized (events) {
+            if (events.size() == RECENT_EVENTS) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    static List<String> applicationCallers() {
+        return StackWalker.getInstance().walk(frames -> {
+            List<StackWalker.StackFrame> own = new ArrayList<>();
+            List<String> callers = frames
+                .filter(frame -> !frame.getClassName().startsWith(OWN_PACKAGE))
+                .peek(frame -> {
+                    if (own.size() < STACK_DEPTH) {
+                        own.add(frame);
+                    }
+                })
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE) && !frame.getClassName().contains("$$"))
+                .limit(STACK_DEPTH)
+                .map(StackWalker.StackFrame::toString)
+                .toList();
+            // Lazy loading triggered from framework code, e.g. during serialization, has no application frame
+            return callers.isEmpty() ? own.stream().map(StackWalker.StackFrame::toString).toList() : callers;
+        });
+    }
+
+    /**
+     * Statement counts for one request or transaction. Usually touched by one thread only,
+     * but a request may hand work to another thread that still has the scope.
+     */
+    final class QueryScope {
+
+        private final String kind;
+        private final boolean detectRepeats;
+        private final Map<String, Repeat> counts = new LinkedHashMap<>();
+        private int total;
+
+        private QueryScope(String kind, boolean detectRepeats) {
+            this.kind = kind;
+            this.detectRepeats = detectRepeats;
+        }
+
+        synchronized void count(String sql, int executions) {
+            total += executions;
+            if (!detectRepeats) {
+                return;
+            }
+            Repeat repeat = counts.computeIfAbsent(sql, Repeat::new);
+            repeat.count++;
+            if (repeat.count == repeatThreshold + 1) {
+                repeat.callers = applicationCallers();
+            }
+        }
+
+        synchronized int getTotal() {
+            return total;
+        }
+
+        synchronized Map<String, Integer> statementCounts() {
+            Map<String, Integer> statementCounts = new LinkedHashMap<>();
+            counts.forEach((sql, repeat) -> statementCounts.put(sql, repeat.count));
+            return statementCounts;
+        }
+
+        synchronized List<Repeat> repeats() {
+            return counts.values().stream().filter(repeat -> repeat.callers != null).toList();
+        }
+
+        static final class Repeat {
+
+            private final String sql;
+            private int count;
+            private List<String> callers;
+
+            private Repeat(String sql) {
+                this.sql = sql;
+            }
+        }
+    }
+
+    public static final class StatementStats {
+
+        private final String id;
+        private final String sql;
+        private final String type;
+        private final Timer timer;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private StatementStats(String sql, MeterRegistry meterRegistry) {
+            this.id = idOf(sql);
+            this.sql = sql;
+            this.type = SqlShapes.statementType(sql);
+            this.timer = Timer.builder("db.query")
+                .description("JDBC statement execution time by normalized statement")
+                .tag("statement", id)
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+        }
+
+        static String idOf(String sql) {
+            return String.format("%08x", sql.hashCode());
+        }
+
+        private void record(long elapsedNanos, int count) {
+            executions.add(count);
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public double getTotalMs() {
+            return totalNanos.sum() / 1_000_000.0;
+        }
+
+        public double getMaxMs() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+    }
+
+    public record SlowQuery(Instant at, String statement, String sql, double elapsedMs, String parameters) {
+    }
+
+    public record RepeatedStatement(Instant at, String where, String statement, String sql, int count,
+                                    List<String> callers) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.cena.traveloka.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write in the last few seconds so their reads go to the
+ * primary until the replicas have caught up. Marks are kept locally and in Redis, because the
+ * user's next request may land on another node.
+ */
+@Slf4j
+@Component
+public class ReadYourWritesTracker {
+
+    private static final String KEY_PREFIX = "db:ryw:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration window;
+    private final Map<String, Long> localMarks = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(ObjectProvider<RedisTemplate<String, String>> redisTemplate,
+                                 @Value("${app.datasource.replicas.sticky-window:5s}") Duration window) {
+        this.redisTemplate = redisTemplate.getIfAvailable();
+        this.window = window;
+    }
+
+    public void recordWrite(String user) {
+        if (user == null) {
+            return;
+        }
+        localMarks.put(user, System.nanoTime() + window.toNanos());
+        if (localMarks.size() > 10_000) {
+            long now = System.nanoTime();
+            localMarks.values().removeIf(expiresAt -> expiresAt - now <= 0);
+        }
+
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + user, "1", window);
+            } catch (Exception e) {
+                log.debug("Failed to record write for {} in Redis: {}", user, e.getMessage());
+            }
+        }
+    }
+
+    public boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+
+        Long expiresAt = localMarks.get(user);
+        if (expiresAt != null) {
+            if (expiresAt - System.nanoTime() > 0) {
+                return true;
+            }
+            localMarks.remove(user, expiresAt);
+        }
+
+        if (redisTemplate == null) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + user));
+        } catch (Exception e) {
+            // Cannot tell whether the user just wrote; the primary is always consistent
+            return true;
+        }
+    }
+}
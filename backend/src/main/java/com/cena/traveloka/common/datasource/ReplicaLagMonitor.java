@@ -0,0 +1,109 @@
+package com.cena.traveloka.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Polls every replica for its replay lag. A replica that has replayed everything it received
+ * reports zero even if the primary has been idle, otherwise the lag is the age of the last
+ * replayed transaction. Replicas that cannot be queried count as infinitely behind.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    static final String LAG_QUERY = """
+        SELECT CASE
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+               END
+        """;
+
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final List<DataSource> replicas;
+    private final AtomicLongArray lagMs;
+    private final long maxLagMs;
+    private final int queryTimeoutSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(List<DataSource> replicas, Duration maxLag, Duration interval, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.lagMs = new AtomicLongArray(replicas.size());
+        this.maxLagMs = maxLag.toMillis();
+        this.queryTimeoutSeconds = (int) Math.max(1, interval.toSeconds());
+
+        for (int i = 0; i < replicas.size(); i++) {
+            lagMs.set(i, UNKNOWN);
+            int index = i;
+            Gauge.builder("db.replica.lag", () -> {
+                    long lag = lagMs.get(index);
+                    return lag == UNKNOWN ? Double.NaN : lag;
+                })
+                .tag("replica", String.valueOf(index))
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ReplicaLagMonitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probeAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isWithinLag(int replica) {
+        return lagMs.get(replica) <= maxLagMs;
+    }
+
+    public long getLagMs(int replica) {
+        return lagMs.get(replica);
+    }
+
+    void probeAll() {
+        for (int i = 0; i < replicas.size(); i++) {
+            long previous = lagMs.get(i);
+            long lag = probe(replicas.get(i));
+            lagMs.set(i, lag);
+
+            boolean wasHealthy = previous <= maxLagMs;
+            boolean healthy = lag <= maxLagMs;
+            if (wasHealthy && !healthy) {
+                log.warn("Replica {} is {} behind, routing its reads to the primary",
+                    i, lag == UNKNOWN ? "unreachable or unknown" : lag + " ms");
+            } else if (!wasHealthy && healthy && previous != UNKNOWN) {
+                log.info("Replica {} caught up ({} ms), routing reads to it again", i, lag);
+            }
+        }
+    }
+
+    private long probe(DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                return resultSet.next() ? Math.round(resultSet.getDouble(1)) : UNKNOWN;
+            }
+        } catch (Exception e) {
+            log.debug("Replica lag probe failed: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
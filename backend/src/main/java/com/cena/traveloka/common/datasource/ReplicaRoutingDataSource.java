@@ -0,0 +1,189 @@
+package com.cena.traveloka.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a replica and everything else to the
+ * primary. The physical connection is fetched lazily, after the transaction manager has marked
+ * it read-only, so the choice follows the transaction definition.
+ * <p>
+ * A read stays on the primary when no replica is within the allowed lag, or when the current
+ * user committed a write inside the read-your-writes window.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Object WRITE_MARKER = new Object();
+
+    private final DataSource primary;
+    private final List<? extends DataSource> replicas;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter primaryWrites;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter lagFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<? extends DataSource> replicas,
+                                    ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesTracker writesTracker,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.lagMonitor = lagMonitor;
+        this.writesTracker = writesTracker;
+
+        this.primaryWrites = routingCounter(meterRegistry, "primary", "read-write");
+        this.replicaReads = routingCounter(meterRegistry, "replica", "read-only");
+        this.stickyReads = routingCounter(meterRegistry, "primary", "read-your-writes");
+        this.lagFallbacks = routingCounter(meterRegistry, "primary", "replica-lag");
+
+        setTargetDataSource(new PrimaryDataSource(primary));
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+    }
+
+    /**
+     * Picks the replica for a read-only connection, or -1 when the read must go to the primary.
+     */
+    int selectReplica() {
+        if (writesTracker.isSticky(currentUser())) {
+            stickyReads.increment();
+            return -1;
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            if (lagMonitor.isWithinLag(candidate)) {
+                replicaReads.increment();
+                return candidate;
+            }
+        }
+
+        lagFallbacks.increment();
+        return -1;
+    }
+
+    void registerWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writesTracker.recordWrite(user);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+            }
+        });
+    }
+
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+            || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.close();
+        for (DataSource replica : replicas) {
+            closeQuietly(replica);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close data source: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.replica.routing")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    private final class PrimaryDataSource extends DelegatingDataSource {
+
+        private PrimaryDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            countWrite();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            countWrite();
+            return super.getConnection(username, password);
+        }
+
+        private void countWrite() {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                primaryWrites.increment();
+                registerWrite();
+            }
+        }
+    }
+
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            int replica = selectReplica();
+            return replica < 0 ? primary.getConnection() : replicas.get(replica).getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            int replica = selectReplica();
+            return replica < 0
+                ? primary.getConnection(username, password)
+                : replicas.get(replica).getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.cena.traveloka.common.datasource;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL and bind values to their shape, so executions of the same statement group
+ * together and nothing user-supplied ends up in logs or metric tags.
+ */
+final class SqlShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Set<String> STATEMENT_TYPES = Set.of("select", "insert", "update", "delete", "with", "call");
+
+    private SqlShapes() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        // IN lists of different lengths are still the same statement
+        return PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+
+    static String statementType(String normalizedSql) {
+        int end = normalizedSql.indexOf(' ');
+        String keyword = (end < 0 ? normalizedSql : normalizedSql.substring(0, end)).toLowerCase(Locale.ROOT);
+        if (!STATEMENT_TYPES.contains(keyword)) {
+            return "other";
+        }
+        return keyword.equals("with") ? "select" : keyword;
+    }
+
+    static String parameterShape(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (value instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        if (value instanceof Collection<?> collection) {
+            return "Collection(" + collection.size() + ")";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
@@ -2,31 +2,118 @@ package com.cena.traveloka.common.health;
 
 import com.cena.traveloka.common.service.ExternalServiceCircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Probes Redis, Elasticsearch and MinIO on a background thread and answers {@link #health()}
+ * from the latest snapshot, so orchestrator probes never reach the dependencies themselves.
+ * A snapshot older than the staleness bound is reported as DOWN.
+ */
 @Component("commonHealth")
-@RequiredArgsConstructor
 @Slf4j
 public class CommonHealthIndicator implements HealthIndicator {
 
     private final ExternalServiceCircuitBreaker circuitBreakerService;
     private final RedisConnectionFactory redisConnectionFactory;
+    private final MeterRegistry meterRegistry;
+    private final Duration probeInterval;
+    private final Duration maxStaleness;
+
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HealthProbe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot;
+
+    public CommonHealthIndicator(ExternalServiceCircuitBreaker circuitBreakerService,
+                                 RedisConnectionFactory redisConnectionFactory,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.health.probe-interval:5s}") Duration probeInterval,
+                                 @Value("${app.health.max-staleness:30s}") Duration maxStaleness) {
+        this.circuitBreakerService = circuitBreakerService;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.meterRegistry = meterRegistry;
+        this.probeInterval = probeInterval;
+        this.maxStaleness = maxStaleness;
+    }
+
+    @PostConstruct
+    void start() {
+        prober.scheduleWithFixedDelay(this::refreshSafely, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        prober.shutdownNow();
+    }
 
     @Override
     public Health health() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Health.unknown()
+                .withDetail("message", "Health probes have not completed yet")
+                .build();
+        }
+
+        long ageMs = Duration.between(current.checkedAt(), Instant.now()).toMillis();
+        if (ageMs > maxStaleness.toMillis()) {
+            return Health.down()
+                .withDetails(current.health().getDetails())
+                .withDetail("checkedAt", current.checkedAt().toString())
+                .withDetail("ageMs", ageMs)
+                .withDetail("message", "Health probes have not completed for " + ageMs + "ms")
+                .build();
+        }
+
+        return Health.status(current.health().getStatus())
+            .withDetails(current.health().getDetails())
+            .withDetail("checkedAt", current.checkedAt().toString())
+            .withDetail("ageMs", ageMs)
+            .build();
+    }
+
+    void refresh() {
+        snapshot = new Snapshot(probe(), Instant.now());
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep the previous snapshot; it turns DOWN once it exceeds the staleness bound
+            log.error("Health probe failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Health probe() {
         Map<String, Object> details = new HashMap<>();
         boolean allServicesUp = true;
         boolean criticalServicesUp = true;
 
-        RedisHealthStatus redisHealth = checkRedisHealth();
+        RedisHealthStatus redisHealth = timed("redis", this::checkRedisHealth, RedisHealthStatus::isHealthy);
         details.put("redis", redisHealth.toMap());
 
         if (!redisHealth.isHealthy()) {
@@ -34,7 +121,8 @@ public class CommonHealthIndicator implements HealthIndicator {
             allServicesUp = false;
         }
 
-        ElasticsearchHealthStatus esHealth = checkElasticsearchHealth();
+        ElasticsearchHealthStatus esHealth =
+            timed("elasticsearch", this::checkElasticsearchHealth, ElasticsearchHealthStatus::isHealthy);
         details.put("elasticsearch", esHealth.toMap());
 
         if (!esHealth.isHealthy()) {
@@ -42,7 +130,7 @@ public class CommonHealthIndicator implements HealthIndicator {
             allServicesUp = false;
         }
 
-        MinioHealthStatus minioHealth = checkMinioHealth();
+        MinioHealthStatus minioHealth = timed("minio", this::checkMinioHealth, MinioHealthStatus::isHealthy);
         details.put("minio", minioHealth.toMap());
 
         if (!minioHealth.isHealthy()) {
@@ -67,6 +155,19 @@ public class CommonHealthIndicator implements HealthIndicator {
         }
     }
 
+    private <T> T timed(String dependency, Supplier<T> check, Predicate<T> healthy) {
+        long start = System.nanoTime();
+        T status = check.get();
+        Timer.builder("health.probe.latency")
+            .description("Latency of background dependency health probes")
+            .tag("dependency", dependency)
+            .tag("status", healthy.test(status) ? "UP" : "DOWN")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return status;
+    }
+
     private RedisHealthStatus checkRedisHealth() {
         CircuitBreaker.State circuitState = circuitBreakerService.getRedisCircuitState();
 
@@ -80,7 +181,9 @@ public class CommonHealthIndicator implements HealthIndicator {
 
         try {
             String pong = circuitBreakerService.executeRedis(() -> {
-                return redisConnectionFactory.getConnection().ping();
+                try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+                    return connection.ping();
+                }
             }, null);
 
             if ("PONG".equals(pong)) {
@@ -241,4 +344,7 @@ public class CommonHealthIndicator implements HealthIndicator {
             return map;
         }
     }
+
+    private record Snapshot(Health health, Instant checkedAt) {
+    }
 }
@@ -0,0 +1,123 @@
+package com.cena.traveloka.common.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.time.Duration;
+
+/**
+ * Lets exactly one node run a {@code @Scheduled} job, using a row in {@code common.scheduled_job_locks}.
+ * Expiry uses the database clock; {@code lockAtLeastFor} stops a fast job from re-running on a
+ * node whose schedule fires a little later.
+ */
+@Slf4j
+@Component
+public class ClusterJobLock {
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO common.scheduled_job_locks (job_name, locked_until, locked_at, locked_by)
+            VALUES (?, now() + (? * INTERVAL '1 millisecond'), now(), ?)
+            ON CONFLICT (job_name) DO UPDATE
+            SET locked_until = EXCLUDED.locked_until,
+                locked_at = EXCLUDED.locked_at,
+                locked_by = EXCLUDED.locked_by
+            WHERE common.scheduled_job_locks.locked_until <= now()
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE common.scheduled_job_locks
+            SET locked_until = GREATEST(now(), locked_at + (? * INTERVAL '1 millisecond'))
+            WHERE job_name = ? AND locked_by = ?
+            """;
+
+    private static final String EXTEND_SQL = """
+            UPDATE common.scheduled_job_locks
+            SET locked_until = now() + (? * INTERVAL '1 millisecond')
+            WHERE job_name = ? AND locked_by = ? AND locked_until > now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+
+    public ClusterJobLock(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.scheduling.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : resolveNodeId();
+    }
+
+    public boolean executeExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        if (!tryAcquire(jobName, lockAtMostFor)) {
+            log.debug("Skipping scheduled job {}: lock is held by another node", jobName);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            release(jobName, lockAtLeastFor);
+        }
+    }
+
+    /**
+     * Pushes the expiry of a lock this node holds to {@code lockAtMostFor} from now, for a job that
+     * works in steps and may outlast its first estimate. Returns false if the lock has already
+     * expired, in which case another node may be running the job and this one should stop.
+     */
+    public boolean extend(String jobName, Duration lockAtMostFor) {
+        try {
+            Integer updated = transactionTemplate.execute(status ->
+                jdbcTemplate.update(EXTEND_SQL, lockAtMostFor.toMillis(), jobName, nodeId));
+            return updated != null && updated > 0;
+        } catch (Exception e) {
+            log.error("Failed to extend lock for scheduled job {}: {}", jobName, e.getMessage());
+            return false;
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private boolean tryAcquire(String jobName, Duration lockAtMostFor) {
+        try {
+            Integer updated = transactionTemplate.execute(status ->
+                jdbcTemplate.update(ACQUIRE_SQL, jobName, lockAtMostFor.toMillis(), nodeId));
+            return updated != null && updated > 0;
+        } catch (Exception e) {
+            log.error("Failed to acquire lock for scheduled job {}: {}", jobName, e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String jobName, Duration lockAtLeastFor) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update(RELEASE_SQL, lockAtLeastFor.toMillis(), jobName, nodeId));
+        } catch (Exception e) {
+            log.warn("Failed to release lock for scheduled job {}, it will expire on its own: {}",
+                jobName, e.getMessage());
+        }
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+}
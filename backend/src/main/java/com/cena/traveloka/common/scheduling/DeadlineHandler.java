@@ -0,0 +1,24 @@
+package com.cena.traveloka.common.scheduling;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A subsystem whose rows expire at a known instant (lockouts, sessions, inventory holds).
+ * Implementations are picked up by {@link DeadlineScheduler} automatically.
+ */
+public interface DeadlineHandler {
+
+    String getName();
+
+    /**
+     * Pending deadlines up to {@code horizon}, keyed by the id later passed to {@link #onDeadline}.
+     * Called once at startup and expected to be a single indexed range query.
+     */
+    Map<String, Instant> loadPendingDeadlines(Instant horizon);
+
+    /**
+     * Expires the row identified by {@code key}. Must be idempotent: every node fires its own timers.
+     */
+    void onDeadline(String key);
+}
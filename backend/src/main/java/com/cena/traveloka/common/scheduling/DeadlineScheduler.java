@@ -0,0 +1,175 @@
+package com.cena.traveloka.common.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fires {@link DeadlineHandler} callbacks from an in-memory {@link HierarchicalTimingWheel}
+ * instead of polling tables for rows whose time has passed. Pending deadlines are re-hydrated
+ * from each handler when the application is ready.
+ */
+@Slf4j
+@Component
+public class DeadlineScheduler {
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private final Map<String, DeadlineHandler> handlers;
+    private final Executor callbackExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long tickMs;
+    private final Duration rehydrateHorizon;
+
+    private final HierarchicalTimingWheel<String> wheel;
+    private final Map<String, HierarchicalTimingWheel.Timeout<String>> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> pendingByHandler = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DeadlineScheduler-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Timer fireLag;
+
+    public DeadlineScheduler(List<DeadlineHandler> handlers,
+                             @Qualifier("taskExecutor") Executor callbackExecutor,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.scheduling.deadlines.tick:1s}") Duration tick,
+                             @Value("${app.scheduling.deadlines.wheel-size:512}") int wheelSize,
+                             @Value("${app.scheduling.deadlines.rehydrate-horizon:7d}") Duration rehydrateHorizon) {
+        this.handlers = handlers.stream()
+            .collect(Collectors.toMap(DeadlineHandler::getName, Function.identity()));
+        this.callbackExecutor = callbackExecutor;
+        this.meterRegistry = meterRegistry;
+        this.tickMs = tick.toMillis();
+        this.rehydrateHorizon = rehydrateHorizon;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("scheduler.deadlines.pending", wheel, HierarchicalTimingWheel::size)
+            .description("Deadlines waiting in the timing wheel")
+            .register(meterRegistry);
+
+        handlers.keySet().forEach(name -> {
+            AtomicLong pending = pendingByHandler.computeIfAbsent(name, key -> new AtomicLong());
+            Gauge.builder("scheduler.deadlines.pending.by-handler", pending, AtomicLong::get)
+                .tag("handler", name)
+                .register(meterRegistry);
+        });
+
+        fireLag = Timer.builder("scheduler.deadlines.fire.lag")
+            .description("Delay between a deadline and its callback starting")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Deadline scheduler started: tick={}ms, handlers={}", tickMs, handlers.keySet());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        Instant horizon = Instant.now().plus(rehydrateHorizon);
+
+        handlers.values().forEach(handler -> {
+            try {
+                Map<String, Instant> pending = handler.loadPendingDeadlines(horizon);
+                pending.forEach((key, deadline) -> schedule(handler.getName(), key, deadline));
+                log.info("Re-hydrated {} pending deadline(s) for {}", pending.size(), handler.getName());
+            } catch (Exception e) {
+                log.error("Failed to re-hydrate deadlines for {}", handler.getName(), e);
+            }
+        });
+    }
+
+    public void schedule(String handlerName, String key, Instant deadline) {
+        if (!handlers.containsKey(handlerName)) {
+            throw new IllegalArgumentException("Unknown deadline handler: " + handlerName);
+        }
+
+        String timerKey = handlerName + KEY_SEPARATOR + key;
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule(deadline.toEpochMilli(), timerKey);
+        HierarchicalTimingWheel.Timeout<String> previous = timers.put(timerKey, timeout);
+
+        if (previous != null) {
+            previous.cancel();
+        } else {
+            pendingByHandler.get(handlerName).incrementAndGet();
+        }
+    }
+
+    public void cancel(String handlerName, String key) {
+        HierarchicalTimingWheel.Timeout<String> timeout = timers.remove(handlerName + KEY_SEPARATOR + key);
+        if (timeout != null) {
+            timeout.cancel();
+            pendingByHandler.get(handlerName).decrementAndGet();
+        }
+    }
+
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            for (HierarchicalTimingWheel.Timeout<String> timeout : wheel.advance(System.currentTimeMillis())) {
+                callbackExecutor.execute(() -> fire(timeout));
+            }
+        } catch (Exception e) {
+            log.error("Deadline scheduler tick failed", e);
+        }
+    }
+
+    private void fire(HierarchicalTimingWheel.Timeout<String> timeout) {
+        String timerKey = timeout.getPayload();
+        if (!timers.remove(timerKey, timeout)) {
+            return;
+        }
+
+        int separator = timerKey.indexOf(KEY_SEPARATOR);
+        String handlerName = timerKey.substring(0, separator);
+        String key = timerKey.substring(separator + 1);
+        pendingByHandler.get(handlerName).decrementAndGet();
+
+        fireLag.record(Math.max(0, System.currentTimeMillis() - timeout.getDeadlineMs()), TimeUnit.MILLISECONDS);
+
+        try {
+            handlers.get(handlerName).onDeadline(key);
+            Counter.builder("scheduler.deadlines.fired")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .increment();
+        } catch (Exception e) {
+            log.error("Deadline callback failed for {} {}", handlerName, key, e);
+        }
+    }
+}
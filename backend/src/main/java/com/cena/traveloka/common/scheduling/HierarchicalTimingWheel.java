@@ -0,0 +1,230 @@
+package com.cena.traveloka.common.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Hashed hierarchical timing wheel. Insert and cancel are O(1); each level covers
+ * {@code wheelSize} times the span of the level below and is created on demand.
+ * Only non-empty buckets are queued for expiry, so idle ticks cost nothing.
+ * A timeout never fires before its deadline and at most one tick after it.
+ * All methods are synchronized on the wheel.
+ *
+ * @param <T> payload carried by each timeout
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Level root;
+    private final PriorityQueue<Bucket<T>> queuedBuckets =
+        new PriorityQueue<>(Comparator.comparingLong((Bucket<T> bucket) -> bucket.expiration));
+    private final Deque<Timeout<T>> overdue = new ArrayDeque<>();
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("Wheel size must be at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs);
+    }
+
+    public synchronized Timeout<T> schedule(long deadlineMs, T payload) {
+        Timeout<T> timeout = new Timeout<>(this, deadlineMs, payload);
+        // Bucket on the end of the deadline's tick, otherwise it would fire at the start of it
+        timeout.bucketMs = deadlineMs + tickMs;
+        if (!root.add(timeout)) {
+            overdue.add(timeout);
+        }
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the clock to {@code nowMs} and returns every timeout whose deadline has passed.
+     */
+    public synchronized List<Timeout<T>> advance(long nowMs) {
+        List<Timeout<T>> expired = new ArrayList<>();
+
+        Timeout<T> late;
+        while ((late = overdue.poll()) != null) {
+            if (!late.cancelled) {
+                expire(late, expired);
+            }
+        }
+
+        Bucket<T> bucket;
+        while ((bucket = queuedBuckets.peek()) != null && bucket.expiration <= nowMs) {
+            queuedBuckets.poll();
+            root.advanceClock(bucket.expiration);
+            for (Timeout<T> timeout : bucket.drain()) {
+                if (!root.add(timeout)) {
+                    expire(timeout, expired);
+                }
+            }
+        }
+
+        root.advanceClock(nowMs);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.cancelled || timeout.expired) {
+            return false;
+        }
+        timeout.cancelled = true;
+        if (timeout.bucket != null) {
+            timeout.bucket.remove(timeout);
+        }
+        size--;
+        return true;
+    }
+
+    private void expire(Timeout<T> timeout, List<Timeout<T>> expired) {
+        timeout.expired = true;
+        size--;
+        expired.add(timeout);
+    }
+
+    private final class Level {
+
+        private final long tickMs;
+        private final long interval;
+        private final List<Bucket<T>> buckets;
+        private long currentTime;
+        private Level overflow;
+
+        private Level(long tickMs, long startMs) {
+            this.tickMs = tickMs;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket<>());
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        private boolean add(Timeout<T> timeout) {
+            long deadline = timeout.bucketMs;
+
+            if (deadline < currentTime + tickMs) {
+                return false;
+            }
+
+            if (deadline < currentTime + interval) {
+                long virtualId = deadline / tickMs;
+                Bucket<T> bucket = buckets.get((int) (virtualId % wheelSize));
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    queuedBuckets.offer(bucket);
+                }
+                return true;
+            }
+
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private final Timeout<T> head = new Timeout<>(null, -1, null);
+        private long expiration = -1;
+
+        private Bucket() {
+            head.next = head;
+            head.prev = head;
+        }
+
+        private boolean setExpiration(long expirationMs) {
+            long previous = expiration;
+            expiration = expirationMs;
+            return previous != expirationMs;
+        }
+
+        private void add(Timeout<T> timeout) {
+            Timeout<T> tail = head.prev;
+            timeout.next = head;
+            timeout.prev = tail;
+            timeout.bucket = this;
+            tail.next = timeout;
+            head.prev = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            timeout.next.prev = timeout.prev;
+            timeout.prev.next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+        }
+
+        private List<Timeout<T>> drain() {
+            List<Timeout<T>> drained = new ArrayList<>();
+            Timeout<T> current = head.next;
+            while (current != head) {
+                Timeout<T> next = current.next;
+                remove(current);
+                drained.add(current);
+                current = next;
+            }
+            expiration = -1;
+            return drained;
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final long deadlineMs;
+        private final T payload;
+        private long bucketMs;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, long deadlineMs, T payload) {
+            this.wheel = wheel;
+            this.deadlineMs = deadlineMs;
+            this.payload = payload;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.cena.traveloka.common.service;
 
+import com.cena.traveloka.common.concurrency.AsyncBulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +9,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 @Service
@@ -17,6 +22,8 @@ public class ExternalServiceCircuitBreaker {
     private final CircuitBreaker redisCircuitBreaker;
     private final CircuitBreaker elasticsearchCircuitBreaker;
     private final CircuitBreaker minioCircuitBreaker;
+    private final AsyncBulkhead elasticsearchBulkhead;
+    private final AsyncBulkhead minioBulkhead;
 
     public <T> T executeRedis(Supplier<T> supplier, T fallback) {
         try {
@@ -62,7 +69,16 @@ public class ExternalServiceCircuitBreaker {
     }
 
     public <T> CompletableFuture<T> executeElasticsearchAsync(Supplier<T> supplier, T fallback) {
-        return CompletableFuture.supplyAsync(() -> executeElasticsearch(supplier, fallback));
+        return executeAsync("Elasticsearch", elasticsearchCircuitBreaker,
+            () -> elasticsearchBulkhead.submit(supplier), fallback);
+    }
+
+    /**
+     * Hedged variant for idempotent reads: a second request is sent if the first is slow.
+     */
+    public <T> CompletableFuture<T> executeElasticsearchHedgedAsync(Supplier<T> supplier, T fallback) {
+        return executeAsync("Elasticsearch", elasticsearchCircuitBreaker,
+            () -> elasticsearchBulkhead.submitHedged(supplier), fallback);
     }
 
     public <T> T executeMinio(Supplier<T> supplier, T fallback) {
@@ -95,7 +111,37 @@ public class ExternalServiceCircuitBreaker {
     }
 
     public <T> CompletableFuture<T> executeMinioAsync(Supplier<T> supplier, T fallback) {
-        return CompletableFuture.supplyAsync(() -> executeMinio(supplier, fallback));
+        return executeAsync("MinIO", minioCircuitBreaker, () -> minioBulkhead.submit(supplier), fallback);
+    }
+
+    /**
+     * Hedged variant for idempotent reads: a second request is sent if the first is slow.
+     */
+    public <T> CompletableFuture<T> executeMinioHedgedAsync(Supplier<T> supplier, T fallback) {
+        return executeAsync("MinIO", minioCircuitBreaker, () -> minioBulkhead.submitHedged(supplier), fallback);
+    }
+
+    private <T> CompletableFuture<T> executeAsync(String dependency,
+                                                  CircuitBreaker circuitBreaker,
+                                                  Supplier<CompletionStage<T>> call,
+                                                  T fallback) {
+        return CircuitBreaker.decorateCompletionStage(circuitBreaker, call).get()
+            .toCompletableFuture()
+            .exceptionally(throwable -> {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+                if (cause instanceof CallNotPermittedException) {
+                    log.warn("{} circuit breaker is OPEN, using fallback", dependency);
+                } else if (cause instanceof BulkheadFullException) {
+                    log.warn("{} bulkhead is full, using fallback", dependency);
+                } else if (cause instanceof TimeoutException) {
+                    log.warn("{} operation timed out, using fallback", dependency);
+                } else {
+                    log.error("{} operation failed: {}", dependency, cause.getMessage(), cause);
+                }
+                return fallback;
+            });
     }
 
     public boolean isRedisCircuitOpen() {
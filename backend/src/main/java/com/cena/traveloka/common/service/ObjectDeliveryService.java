@@ -0,0 +1,212 @@
+package com.cena.traveloka.common.service;
+
+import com.cena.traveloka.common.exception.BusinessException;
+import com.cena.traveloka.common.exception.EntityNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Serves MinIO objects to HTTP clients. Object metadata and presigned URLs are cached briefly;
+ * small objects such as thumbnails are kept in a size-bounded in-process cache whose
+ * frequency-based admission (W-TinyLFU) keeps one-off objects from evicting the hot ones.
+ * Everything else is streamed from MinIO straight into the response without buffering.
+ * The bytes served are always those of the version the cached metadata describes: reads are
+ * conditional on its ETag, and a changed object fails the request instead of being spliced in.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.minio.enabled", havingValue = "true", matchIfMissing = true)
+public class ObjectDeliveryService {
+
+    private static final String NO_SUCH_KEY = "NoSuchKey";
+    private static final String PRECONDITION_FAILED = "PreconditionFailed";
+
+    private final MinioClient minioClient;
+    private final long hotObjectMaxBytes;
+    private final Duration presignedUrlTtl;
+
+    private final Cache<ObjectRef, ObjectMetadata> metadataCache;
+    private final Cache<ObjectRef, HotObject> hotObjects;
+    private final Cache<ObjectRef, PresignedUrl> presignedUrls;
+
+    public ObjectDeliveryService(MinioClient minioClient,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.storage.delivery.metadata-ttl:30s}") Duration metadataTtl,
+                                 @Value("${app.storage.delivery.metadata-max-entries:50000}") long metadataMaxEntries,
+                                 @Value("${app.storage.delivery.hot-cache-max-bytes:67108864}") long hotCacheMaxBytes,
+                                 @Value("${app.storage.delivery.hot-object-max-bytes:262144}") long hotObjectMaxBytes,
+                                 @Value("${app.storage.delivery.hot-object-ttl:10m}") Duration hotObjectTtl,
+                                 @Value("${app.storage.delivery.presigned-url-ttl:10m}") Duration presignedUrlTtl) {
+        this.minioClient = minioClient;
+        this.hotObjectMaxBytes = hotObjectMaxBytes;
+        this.presignedUrlTtl = presignedUrlTtl;
+
+        this.metadataCache = Caffeine.newBuilder()
+            .maximumSize(metadataMaxEntries)
+            .expireAfterWrite(metadataTtl)
+            .recordStats()
+            .build();
+        this.hotObjects = Caffeine.newBuilder()
+            .maximumWeight(hotCacheMaxBytes)
+            .weigher((ObjectRef ref, HotObject object) -> object.content().length)
+            .expireAfterWrite(hotObjectTtl)
+            .recordStats()
+            .build();
+        // Hand out a cached URL only while it still has at least half of its lifetime left
+        this.presignedUrls = Caffeine.newBuilder()
+            .maximumSize(metadataMaxEntries)
+            .expireAfterWrite(presignedUrlTtl.dividedBy(2))
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, metadataCache, "storage.object-metadata");
+        CaffeineCacheMetrics.monitor(meterRegistry, hotObjects, "storage.hot-objects");
+    }
+
+    public record ObjectRef(String bucket, String key) {
+    }
+
+    public record ObjectMetadata(String etag, long size, String contentType, Instant lastModified) {
+    }
+
+    public record PresignedUrl(String url, Instant expiresAt) {
+    }
+
+    private record HotObject(String etag, byte[] content) {
+    }
+
+    public ObjectMetadata stat(String bucket, String key) {
+        return metadataCache.get(new ObjectRef(bucket, key), this::loadMetadata);
+    }
+
+    /**
+     * Writes {@code length} bytes starting at {@code offset} of the object to {@code output}.
+     */
+    public void write(String bucket, String key, ObjectMetadata metadata, long offset, long length,
+                      OutputStream output) throws IOException {
+        ObjectRef ref = new ObjectRef(bucket, key);
+
+        if (metadata.size() <= hotObjectMaxBytes) {
+            HotObject hot = hotObjects.getIfPresent(ref);
+            if (hot == null || !hot.etag().equals(metadata.etag())) {
+                hot = readFully(ref);
+                hotObjects.put(ref, hot);
+                if (!hot.etag().equals(metadata.etag())) {
+                    throw objectChanged(ref);
+                }
+            }
+            output.write(hot.content(), (int) offset, (int) length);
+            return;
+        }
+
+        try (InputStream input = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(key)
+                .offset(offset)
+                .length(length)
+                .matchETag(metadata.etag())
+                .build())) {
+            input.transferTo(output);
+        } catch (IOException e) {
+            // Most likely the client went away mid-download
+            throw e;
+        } catch (ErrorResponseException e) {
+            if (PRECONDITION_FAILED.equals(e.errorResponse().code())) {
+                throw objectChanged(ref);
+            }
+            throw new BusinessException("OBJECT_READ_FAILED", "Failed to read object " + key, e);
+        } catch (Exception e) {
+            throw new BusinessException("OBJECT_READ_FAILED", "Failed to read object " + key, e);
+        }
+    }
+
+    public PresignedUrl presignedUrl(String bucket, String key) {
+        return presignedUrls.get(new ObjectRef(bucket, key), this::presign);
+    }
+
+    private ObjectMetadata loadMetadata(ObjectRef ref) {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                .bucket(ref.bucket())
+                .object(ref.key())
+                .build());
+            return new ObjectMetadata(
+                stat.etag(),
+                stat.size(),
+                stat.contentType(),
+                stat.lastModified() != null ? stat.lastModified().toInstant() : null
+            );
+        } catch (ErrorResponseException e) {
+            if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+                throw new EntityNotFoundException("Object", ref.bucket() + "/" + ref.key());
+            }
+            throw new BusinessException("OBJECT_READ_FAILED", "Failed to stat object " + ref.key(), e);
+        } catch (Exception e) {
+            throw new BusinessException("OBJECT_READ_FAILED", "Failed to stat object " + ref.key(), e);
+        }
+    }
+
+    /**
+     * Reads a small object whole, taking its ETag and length from the GET that returns the bytes
+     * rather than from cached metadata, so the content is never cached under another version's ETag.
+     */
+    private HotObject readFully(ObjectRef ref) {
+        try (GetObjectResponse response = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(ref.bucket())
+                .object(ref.key())
+                .build())) {
+            String etag = response.headers().get(HttpHeaders.ETAG).replace("\"", "");
+            long size = Long.parseLong(response.headers().get(HttpHeaders.CONTENT_LENGTH));
+            if (size > hotObjectMaxBytes) {
+                // Grew past the hot size limit since it was stat'ed
+                throw objectChanged(ref);
+            }
+            return new HotObject(etag, response.readNBytes((int) size));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException("OBJECT_READ_FAILED", "Failed to read object " + ref.key(), e);
+        }
+    }
+
+    private BusinessException objectChanged(ObjectRef ref) {
+        // The response headers already describe the old version; drop it so a retry sees the new one
+        metadataCache.invalidate(ref);
+        return new BusinessException("OBJECT_CHANGED", "Object " + ref.key() + " changed while being served");
+    }
+
+    private PresignedUrl presign(ObjectRef ref) {
+        try {
+            Instant expiresAt = Instant.now().plus(presignedUrlTtl);
+            String url = minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .method(Method.GET)
+                .bucket(ref.bucket())
+                .object(ref.key())
+                .expiry((int) presignedUrlTtl.toSeconds())
+                .build());
+            return new PresignedUrl(url, expiresAt);
+        } catch (Exception e) {
+            throw new BusinessException("OBJECT_PRESIGN_FAILED", "Failed to presign object " + ref.key(), e);
+        }
+    }
+}
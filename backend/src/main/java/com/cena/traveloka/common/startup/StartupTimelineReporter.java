@@ -0,0 +1,77 @@
+package com.cena.traveloka.common.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs the beans that took longest to create when the application was started with
+ * {@code -Dapp.startup.timeline=true}. Times are self times: the time spent creating a
+ * bean's own dependencies is subtracted, so the list points at the bean doing the work.
+ */
+@Slf4j
+@Component
+public class StartupTimelineReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    @Value("${app.startup.timeline.top-beans:25}")
+    private int topBeans;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+
+        List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+        Map<Long, Long> selfNanos = new HashMap<>();
+        Map<Long, String> beanNames = new HashMap<>();
+
+        for (StartupTimeline.TimelineEvent timelineEvent : events) {
+            StartupStep step = timelineEvent.getStartupStep();
+            if (!BEAN_INSTANTIATE.equals(step.getName())) {
+                continue;
+            }
+            beanNames.put(step.getId(), beanName(step));
+            selfNanos.merge(step.getId(), timelineEvent.getDuration().toNanos(), Long::sum);
+            if (step.getParentId() != null) {
+                selfNanos.merge(step.getParentId(), -timelineEvent.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        StringBuilder report = new StringBuilder("Slowest beans by self time:");
+        selfNanos.entrySet().stream()
+            .filter(entry -> beanNames.containsKey(entry.getKey()))
+            .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(topBeans)
+            .forEach(entry -> report.append(String.format("%n  %8d ms  %s",
+                Duration.ofNanos(entry.getValue()).toMillis(), beanNames.get(entry.getKey()))));
+
+        log.info("Startup timeline: {} bean(s) instantiated, ready in {} ms",
+            beanNames.size(), event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1);
+        log.info(report.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "<unnamed>";
+    }
+}
@@ -0,0 +1,155 @@
+package com.cena.traveloka.common.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every {@link WarmupTask} in parallel once the context has started, so slow
+ * infrastructure calls (bucket setup, JWKS fetch, cache preload) stay off the refresh path.
+ * Registered as the {@code startupWarmup} health contributor and included in the readiness
+ * group: the pod reports OUT_OF_SERVICE until warm-up finishes and DOWN if a required task
+ * kept failing until the warm-up timeout.
+ */
+@Slf4j
+@Component("startupWarmup")
+public class StartupWarmupCoordinator implements ApplicationListener<ApplicationStartedEvent>, HealthIndicator {
+
+    private final List<WarmupTask> tasks;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final Duration retryInterval;
+
+    private final Map<String, TaskState> states = new ConcurrentHashMap<>();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public StartupWarmupCoordinator(List<WarmupTask> tasks,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.startup.warmup.enabled:true}") boolean enabled,
+                                    @Value("${app.startup.warmup.timeout:2m}") Duration timeout,
+                                    @Value("${app.startup.warmup.retry-interval:5s}") Duration retryInterval) {
+        this.tasks = tasks;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.retryInterval = retryInterval;
+    }
+
+    enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+
+    record TaskState(Status status, boolean required, int attempts, long durationMs, String error) {
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        startedAt = Instant.now();
+        if (!enabled || tasks.isEmpty()) {
+            finishedAt = startedAt;
+            return;
+        }
+
+        tasks.forEach(task -> states.put(task.getName(), new TaskState(Status.PENDING, task.isRequired(), 0, 0, null)));
+        Instant deadline = startedAt.plus(timeout);
+
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("warmup-", 0).factory());
+        CompletableFuture<?>[] futures = tasks.stream()
+            .map(task -> CompletableFuture.runAsync(() -> runUntilDeadline(task, deadline), executor))
+            .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(futures).whenComplete((ignored, error) -> {
+            finishedAt = Instant.now();
+            executor.shutdown();
+            long failed = states.values().stream().filter(state -> state.status() == Status.FAILED).count();
+            log.info("Startup warm-up finished in {} ms: {} task(s), {} failed",
+                Duration.between(startedAt, finishedAt).toMillis(), tasks.size(), failed);
+        });
+    }
+
+    private void runUntilDeadline(WarmupTask task, Instant deadline) {
+        int attempts = 0;
+        long started = System.nanoTime();
+
+        while (true) {
+            attempts++;
+            states.put(task.getName(), new TaskState(Status.RUNNING, task.isRequired(), attempts, 0, null));
+            try {
+                task.run();
+                record(task, Status.SUCCEEDED, attempts, started, null);
+                return;
+            } catch (Exception e) {
+                if (Instant.now().plus(retryInterval).isAfter(deadline)) {
+                    log.error("Warm-up task {} failed after {} attempt(s)", task.getName(), attempts, e);
+                    record(task, Status.FAILED, attempts, started, e.getMessage());
+                    return;
+                }
+                log.warn("Warm-up task {} failed (attempt {}), retrying in {}: {}",
+                    task.getName(), attempts, retryInterval, e.getMessage());
+            }
+
+            try {
+                Thread.sleep(retryInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                record(task, Status.FAILED, attempts, started, "interrupted");
+                return;
+            }
+        }
+    }
+
+    private void record(WarmupTask task, Status status, int attempts, long startedNanos, String error) {
+        long elapsedNanos = System.nanoTime() - startedNanos;
+        states.put(task.getName(), new TaskState(status, task.isRequired(), attempts,
+            Duration.ofNanos(elapsedNanos).toMillis(), error));
+        Timer.builder("startup.warmup")
+            .tag("task", task.getName())
+            .tag("outcome", status.name().toLowerCase())
+            .register(meterRegistry)
+            .record(Duration.ofNanos(elapsedNanos));
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder;
+        if (finishedAt == null) {
+            builder = Health.outOfService();
+        } else if (states.values().stream().anyMatch(state -> state.required() && state.status() == Status.FAILED)) {
+            builder = Health.down();
+        } else {
+            builder = Health.up();
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        states.forEach((name, state) -> details.put(name, state));
+        if (startedAt != null) {
+            builder.withDetail("startedAt", startedAt.toString());
+        }
+        if (finishedAt != null) {
+            builder.withDetail("durationMs", Duration.between(startedAt, finishedAt).toMillis());
+        }
+        return builder.withDetail("tasks", details).build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.cena.traveloka.common.startup;
+
+/**
+ * A unit of infrastructure preparation run in parallel after the context has started.
+ * Readiness is reported only once every required task has succeeded; optional tasks
+ * are attempted but never hold back traffic.
+ */
+public interface WarmupTask {
+
+    String getName();
+
+    void run() throws Exception;
+
+    default boolean isRequired() {
+        return true;
+    }
+
+    static WarmupTask required(String name, Action action) {
+        return of(name, true, action);
+    }
+
+    static WarmupTask optional(String name, Action action) {
+        return of(name, false, action);
+    }
+
+    private static WarmupTask of(String name, boolean required, Action action) {
+        return new WarmupTask() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void run() throws Exception {
+                action.run();
+            }
+
+            @Override
+            public boolean isRequired() {
+                return required;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Action {
+        void run() throws Exception;
+    }
+}
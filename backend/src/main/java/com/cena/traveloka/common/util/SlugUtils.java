@@ -1,7 +1,5 @@
 package com.cena.traveloka.common.util;
 
-import java.text.Normalizer;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
@@ -9,12 +7,10 @@ public final class SlugUtils {
 
     private static final String DEFAULT_SEPARATOR = "-";
 
-    private static final Pattern NON_ALPHANUMERIC_PATTERN = Pattern.compile("[^a-z0-9-]+");
-
-    private static final Pattern CONSECUTIVE_SEPARATOR_PATTERN = Pattern.compile("-{2,}");
-
     private static final Pattern EDGE_SEPARATOR_PATTERN = Pattern.compile("^-|-$");
 
+    private static final Pattern VALID_SLUG_PATTERN = Pattern.compile("^[a-z0-9]+(-[a-z0-9]+)*$");
+
     private SlugUtils() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
@@ -33,24 +29,7 @@ public final class SlugUtils {
             return "";
         }
 
-        String slug = input.toLowerCase(Locale.ROOT);
-
-        slug = removeDiacritics(slug);
-
-        slug = slug.replaceAll("\\s+", separator);
-        slug = slug.replaceAll("_+", separator);
-
-        if (!separator.equals(DEFAULT_SEPARATOR)) {
-            slug = slug.replaceAll("[^a-z0-9" + Pattern.quote(separator) + "]+", "");
-        } else {
-            slug = NON_ALPHANUMERIC_PATTERN.matcher(slug).replaceAll("");
-        }
-
-        slug = slug.replaceAll(Pattern.quote(separator) + "{2,}", separator);
-
-        slug = slug.replaceAll("^" + Pattern.quote(separator) + "|" + Pattern.quote(separator) + "$", "");
-
-        return slug;
+        return TextNormalizer.slugify(input, separator);
     }
 
     public static String removeDiacritics(String input) {
@@ -58,26 +37,7 @@ public final class SlugUtils {
             return input;
         }
 
-        String result = input;
-
-        result = result.replaceAll("[àáạảãâầấậẩẫăằắặẳẵ]", "a");
-        result = result.replaceAll("[èéẹẻẽêềếệểễ]", "e");
-        result = result.replaceAll("[ìíịỉĩ]", "i");
-        result = result.replaceAll("[òóọỏõôồốộổỗơờớợởỡ]", "o");
-        result = result.replaceAll("[ùúụủũưừứựửữ]", "u");
-        result = result.replaceAll("[ỳýỵỷỹ]", "y");
-        result = result.replaceAll("đ", "d");
-
-        result = result.replaceAll("[ÀÁẠẢÃÂẦẤẬẨẪĂẰẮẶẲẴ]", "A");
-        result = result.replaceAll("[ÈÉẸẺẼÊỀẾỆỂỄ]", "E");
-        result = result.replaceAll("[ÌÍỊỈĨ]", "I");
-        result = result.replaceAll("[ÒÓỌỎÕÔỒỐỘỔỖƠỜỚỢỞỠ]", "O");
-        result = result.replaceAll("[ÙÚỤỦŨƯỪỨỰỬỮ]", "U");
-        result = result.replaceAll("[ỲÝỴỶỸ]", "Y");
-        result = result.replaceAll("Đ", "D");
-
-        String normalized = Normalizer.normalize(result, Normalizer.Form.NFD);
-        return normalized.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+        return TextNormalizer.stripAccents(input);
     }
 
     public static String generateUniqueSlug(String baseSlug, String... existingSlugs) {
@@ -138,7 +98,7 @@ public final class SlugUtils {
             return false;
         }
 
-        return slug.matches("^[a-z0-9]+(-[a-z0-9]+)*$");
+        return VALID_SLUG_PATTERN.matcher(slug).matches();
     }
 
     public static String normalizeSlug(String slug) {
@@ -0,0 +1,282 @@
+package com.cena.traveloka.common.util;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single-pass text folding for slugs, search keys and autocomplete. Two lookup tables over
+ * the whole BMP, built once at class load, give every char its accent-stripped form, with
+ * and without lower-casing. A char that folds to more than one char (a Hangul syllable
+ * decomposes into jamo) is marked in the table and looked up in a small side map.
+ *
+ * <p>The tables reproduce the former regex pipeline: Vietnamese letters, then canonical
+ * decomposition with the combining diacritical marks (U+0300-U+036F) removed. Thai and Lao
+ * tone marks are removed as well, since they are usually left out when typing a query.
+ *
+ * <p>The {@code append*} methods write into a caller-supplied builder, so bulk jobs can
+ * reuse one buffer and allocate nothing but the final strings.
+ */
+public final class TextNormalizer {
+
+    private static final char DROP = '\uFFFF';
+    private static final char EXPAND = '\uFFFE';
+
+    private static final String[][] VIETNAMESE = {
+        {"àáạảãâầấậẩẫăằắặẳẵ", "a"},
+        {"èéẹẻẽêềếệểễ", "e"},
+        {"ìíịỉĩ", "i"},
+        {"òóọỏõôồốộổỗơờớợởỡ", "o"},
+        {"ùúụủũưừứựửữ", "u"},
+        {"ỳýỵỷỹ", "y"},
+        {"đ", "d"},
+        {"ÀÁẠẢÃÂẦẤẬẨẪĂẰẮẶẲẴ", "A"},
+        {"ÈÉẸẺẼÊỀẾỆỂỄ", "E"},
+        {"ÌÍỊỈĨ", "I"},
+        {"ÒÓỌỎÕÔỒỐỘỔỖƠỜỚỢỞỠ", "O"},
+        {"ÙÚỤỦŨƯỪỨỰỬỮ", "U"},
+        {"ỲÝỴỶỸ", "Y"},
+        {"Đ", "D"}
+    };
+
+    /** Thai mai ek to mai chattawa, then the Lao tone marks. */
+    private static final String TONE_MARKS = "\u0E48\u0E49\u0E4A\u0E4B\u0EC8\u0EC9\u0ECA\u0ECB";
+
+    private static final char[] STRIP = new char[Character.MAX_VALUE + 1];
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+    private static final Map<Character, String> STRIP_EXPANSIONS = new HashMap<>();
+    private static final Map<Character, String> FOLD_EXPANSIONS = new HashMap<>();
+
+    static {
+        Map<Character, Character> vietnamese = new HashMap<>();
+        for (String[] letters : VIETNAMESE) {
+            for (char letter : letters[0].toCharArray()) {
+                vietnamese.put(letter, letters[1].charAt(0));
+            }
+        }
+
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char ch = (char) c;
+            if (c < 0x80 || Character.isSurrogate(ch)) {
+                STRIP[c] = ch;
+                FOLD[c] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : ch;
+                continue;
+            }
+            if (ch == DROP || ch == EXPAND) {
+                // Noncharacters; they also serve as the table markers
+                STRIP[c] = DROP;
+                FOLD[c] = DROP;
+                continue;
+            }
+            String single = String.valueOf(ch);
+            STRIP[c] = keepsItself(ch, single, vietnamese) ? ch
+                : encode(ch, stripAccentsSlow(single, vietnamese), STRIP_EXPANSIONS);
+            String lower = single.toLowerCase(Locale.ROOT);
+            FOLD[c] = lower.length() == 1 && keepsItself(lower.charAt(0), lower, vietnamese) ? lower.charAt(0)
+                : encode(ch, stripAccentsSlow(lower, vietnamese), FOLD_EXPANSIONS);
+        }
+    }
+
+    private TextNormalizer() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Removes diacritics and keeps case, e.g. "Hồ Chí Minh" becomes "Ho Chi Minh". Returns the
+     * input itself when there is nothing to remove.
+     */
+    public static String stripAccents(String input) {
+        if (input == null || input.isEmpty()) {
+            return input;
+        }
+        int length = input.length();
+        int first = 0;
+        while (first < length && STRIP[input.charAt(first)] == input.charAt(first)) {
+            first++;
+        }
+        if (first == length) {
+            return input;
+        }
+        StringBuilder out = new StringBuilder(length);
+        out.append(input, 0, first);
+        for (int i = first; i < length; i++) {
+            i = appendFolded(input, i, STRIP, STRIP_EXPANSIONS, false, out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Search key form: lower-cased, accents removed, letters, digits and in-word vowel signs of
+     * any script kept and every other run of characters turned into one space, with no leading
+     * or trailing space.
+     */
+    public static String foldForSearch(CharSequence input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(input.length());
+        appendSearchKey(input, out);
+        return out.toString();
+    }
+
+    /**
+     * Slug form with the given separator: lower-cased, accents removed, whitespace,
+     * underscores and the separator's own characters as word breaks, anything else that is
+     * not {@code a-z} or {@code 0-9} dropped, and no doubled or edge separators.
+     */
+    public static String slugify(CharSequence input, String separator) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(input.length());
+        appendSlug(input, separator, out);
+        return out.toString();
+    }
+
+    public static void appendSearchKey(CharSequence input, StringBuilder out) {
+        int start = out.length();
+        boolean pendingSpace = false;
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            char folded = FOLD[c];
+            if (folded != EXPAND && folded != DROP && !Character.isSurrogate(c)) {
+                // Common case, one char in and at most one out
+                if (isAsciiAlphanumeric(folded) || (folded >= 0x80 && isWordPart(folded))) {
+                    if (pendingSpace && out.length() > start) {
+                        out.append(' ');
+                    }
+                    out.append(folded);
+                    pendingSpace = false;
+                } else {
+                    pendingSpace = true;
+                }
+                continue;
+            }
+            if (folded == DROP) {
+                continue;
+            }
+            int mark = out.length();
+            i = appendFolded(input, i, FOLD, FOLD_EXPANSIONS, true, out);
+            String expanded = out.substring(mark);
+            out.setLength(mark);
+            for (int j = 0; j < expanded.length(); ) {
+                int codePoint = expanded.codePointAt(j);
+                j += Character.charCount(codePoint);
+                if (isWordPart(codePoint)) {
+                    if (pendingSpace && out.length() > start) {
+                        out.append(' ');
+                    }
+                    out.appendCodePoint(codePoint);
+                    pendingSpace = false;
+                } else {
+                    pendingSpace = true;
+                }
+            }
+        }
+    }
+
+    public static void appendSlug(CharSequence input, String separator, StringBuilder out) {
+        int start = out.length();
+        boolean pendingSeparator = false;
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            char folded = FOLD[c];
+            if (folded == EXPAND || Character.isSurrogate(c)) {
+                // Expansions and supplementary chars never fold to a-z or 0-9
+                continue;
+            }
+            if (isAsciiAlphanumeric(folded)) {
+                if (pendingSeparator && out.length() > start) {
+                    out.append(separator);
+                }
+                out.append(folded);
+                pendingSeparator = false;
+            } else if (isSlugBreak(folded, separator)) {
+                pendingSeparator = true;
+            }
+        }
+    }
+
+    /**
+     * Appends the folded form of the char or surrogate pair at {@code index} and returns the
+     * index of its last char.
+     */
+    private static int appendFolded(CharSequence input, int index, char[] table, Map<Character, String> expansions,
+                                    boolean lowerCase, StringBuilder out) {
+        char c = input.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < input.length() && Character.isLowSurrogate(input.charAt(index + 1))) {
+            String pair = input.subSequence(index, index + 2).toString();
+            out.append(stripAccentsSlow(lowerCase ? pair.toLowerCase(Locale.ROOT) : pair, Map.of()));
+            return index + 1;
+        }
+        char folded = table[c];
+        if (folded == EXPAND) {
+            out.append(expansions.get(c));
+        } else if (folded != DROP) {
+            out.append(folded);
+        }
+        return index;
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Letters and digits, plus the combining vowels and signs that Thai, Lao, Khmer and
+     * other abugidas write inside a word.
+     */
+    private static boolean isWordPart(int codePoint) {
+        if (Character.isLetterOrDigit(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    // Whitespace as matched by \s, which is what the regex implementation split on
+    private static boolean isSlugBreak(char c, String separator) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r'
+            || c == '_' || separator.indexOf(c) >= 0;
+    }
+
+    private static char encode(char c, String folded, Map<Character, String> expansions) {
+        if (folded.isEmpty()) {
+            return DROP;
+        }
+        if (folded.length() == 1 && folded.charAt(0) != DROP && folded.charAt(0) != EXPAND) {
+            return folded.charAt(0);
+        }
+        expansions.put(c, folded);
+        return EXPAND;
+    }
+
+    /**
+     * Most of the BMP has no decomposition and nothing to strip; skipping the slow path for
+     * those keeps class loading short.
+     */
+    private static boolean keepsItself(char c, String single, Map<Character, Character> vietnamese) {
+        return !vietnamese.containsKey(c) && (c < '\u0300' || c > '\u036F') && TONE_MARKS.indexOf(c) < 0
+            && Normalizer.isNormalized(single, Normalizer.Form.NFD);
+    }
+
+    private static String stripAccentsSlow(String text, Map<Character, Character> vietnamese) {
+        StringBuilder mapped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            mapped.append(vietnamese.getOrDefault(c, c));
+        }
+        String decomposed = Normalizer.normalize(mapped, Normalizer.Form.NFD);
+        StringBuilder stripped = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if ((c < '\u0300' || c > '\u036F') && TONE_MARKS.indexOf(c) < 0) {
+                stripped.append(c);
+            }
+        }
+        return stripped.toString();
+    }
+}
@@ -0,0 +1,168 @@
+package com.cena.traveloka.common.warmup;
+
+import com.cena.traveloka.common.startup.WarmupTask;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Replays recorded request shapes through the {@link WarmupScenario}s until the JIT has compiled
+ * the hot paths, so a new pod joins at steady-state latency instead of serving its first minutes
+ * from interpreted and C1 code. Runs as a required startup warm-up task: readiness waits until
+ * compilation activity has settled after {@code min-iterations}, or until the budget runs out.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warmup.jit.enabled", havingValue = "true", matchIfMissing = true)
+public class JitWarmupTask implements WarmupTask {
+
+    private static final int SYNTHETIC_USERS = 64;
+
+    private final Map<String, WarmupScenario> scenarios;
+    private final TrafficSampleStore sampleStore;
+    private final ObjectMapper objectMapper;
+    private final Duration budget;
+    private final long minIterations;
+    private final int threads;
+    private final Duration settleWindow;
+    private final Duration settleThreshold;
+
+    public JitWarmupTask(List<WarmupScenario> scenarios,
+                         TrafficSampleStore sampleStore,
+                         ObjectMapper objectMapper,
+                         @Value("${app.warmup.jit.budget:45s}") Duration budget,
+                         @Value("${app.warmup.jit.min-iterations:5000}") long minIterations,
+                         @Value("${app.warmup.jit.threads:2}") int threads,
+                         @Value("${app.warmup.jit.settle-window:2s}") Duration settleWindow,
+                         @Value("${app.warmup.jit.settle-threshold:20ms}") Duration settleThreshold) {
+        this.scenarios = scenarios.stream()
+            .collect(Collectors.toMap(WarmupScenario::getEndpoint, Function.identity(), (first, second) -> first));
+        this.sampleStore = sampleStore;
+        this.objectMapper = objectMapper;
+        this.budget = budget;
+        this.minIterations = minIterations;
+        this.threads = threads;
+        this.settleWindow = settleWindow;
+        this.settleThreshold = settleThreshold;
+    }
+
+    private record Replay(WarmupScenario scenario, JsonNode template) {
+    }
+
+    @Override
+    public String getName() {
+        return "jit";
+    }
+
+    @Override
+    public void run() throws Exception {
+        List<Replay> replays = loadReplays();
+        if (replays.isEmpty()) {
+            return;
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong iterations = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        Map<String, String> firstErrors = new HashMap<>();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().name("jit-warmup-" + i).daemon().start(() -> {
+                while (!stop.get()) {
+                    long iteration = iterations.getAndIncrement();
+                    Replay replay = replays.get((int) (iteration % replays.size()));
+                    SyntheticIdentity identity = SyntheticIdentity.of((int) (iteration % SYNTHETIC_USERS));
+                    try {
+                        replay.scenario().replay(TrafficTemplates.materialize(replay.template(), identity), identity);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                        synchronized (firstErrors) {
+                            firstErrors.putIfAbsent(replay.scenario().getEndpoint(), e.toString());
+                        }
+                    }
+                }
+            }));
+        }
+
+        String reason = awaitSteadyState(iterations);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        log.info("JIT warm-up finished ({}): {} replay(s) of {} shape(s), {} failed",
+            reason, iterations.get(), replays.size(), failures.get());
+        firstErrors.forEach((endpoint, error) -> log.warn("JIT warm-up replay of {} failed: {}", endpoint, error));
+    }
+
+    private String awaitSteadyState(AtomicLong iterations) throws InterruptedException {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean compileTimeSupported = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long deadline = System.nanoTime() + budget.toNanos();
+        long lastCompileMs = compileTimeSupported ? compiler.getTotalCompilationTime() : 0;
+        int quietWindows = 0;
+
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(Math.min(settleWindow.toMillis(), Math.max(1, (deadline - System.nanoTime()) / 1_000_000)));
+            if (!compileTimeSupported) {
+                continue;
+            }
+
+            long compileMs = compiler.getTotalCompilationTime();
+            quietWindows = compileMs - lastCompileMs <= settleThreshold.toMillis() ? quietWindows + 1 : 0;
+            lastCompileMs = compileMs;
+
+            // Two quiet windows in a row: the replayed paths are compiled as far as they will get
+            if (quietWindows >= 2 && iterations.get() >= minIterations) {
+                return "compilation settled";
+            }
+        }
+        return "budget exhausted";
+    }
+
+    private List<Replay> loadReplays() throws IOException {
+        List<Replay> replays = new ArrayList<>();
+        for (TrafficSample sample : sampleStore.load()) {
+            WarmupScenario scenario = scenarios.get(sample.endpoint());
+            if (scenario == null) {
+                continue;
+            }
+            try {
+                replays.add(new Replay(scenario, parse(sample.payloadTemplate())));
+            } catch (IOException e) {
+                log.debug("Skipping malformed template for {}", sample.endpoint());
+            }
+        }
+
+        // Endpoints nobody has recorded yet still get their default shape
+        Set<String> recorded = replays.stream().map(replay -> replay.scenario().getEndpoint()).collect(Collectors.toSet());
+        for (WarmupScenario scenario : scenarios.values()) {
+            if (!recorded.contains(scenario.getEndpoint())) {
+                replays.add(new Replay(scenario, parse(scenario.getDefaultTemplate())));
+            }
+        }
+        return replays;
+    }
+
+    private JsonNode parse(String template) throws IOException {
+        return template != null ? objectMapper.readTree(template) : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cena.traveloka.common.warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Fake user a warm-up replay acts as. The {@code .invalid} domain can never receive mail.
+ */
+public record SyntheticIdentity(UUID userId, String username, String email) {
+
+    public static SyntheticIdentity of(int index) {
+        String username = "warmup-" + index;
+        return new SyntheticIdentity(
+            UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)),
+            username,
+            username + "@warmup.invalid"
+        );
+    }
+}
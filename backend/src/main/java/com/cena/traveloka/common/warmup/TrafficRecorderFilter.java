@@ -0,0 +1,83 @@
+package com.cena.traveloka.common.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Records an anonymized sample of successful requests to endpoints that have a
+ * {@link WarmupScenario}, for new pods to replay during warm-up.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warmup.recording.enabled", havingValue = "true", matchIfMissing = true)
+public class TrafficRecorderFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final TrafficSampleStore sampleStore;
+    private final ObjectMapper objectMapper;
+    private final Set<String> endpoints;
+    private final double sampleRate;
+
+    public TrafficRecorderFilter(TrafficSampleStore sampleStore,
+                                 ObjectMapper objectMapper,
+                                 List<WarmupScenario> scenarios,
+                                 @Value("${app.warmup.recording.sample-rate:0.01}") double sampleRate) {
+        this.sampleStore = sampleStore;
+        this.objectMapper = objectMapper;
+        this.endpoints = scenarios.stream().map(WarmupScenario::getEndpoint).collect(Collectors.toUnmodifiableSet());
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (endpoints.isEmpty() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, MAX_BODY_BYTES);
+        filterChain.doFilter(wrapper, response);
+
+        Object pattern = wrapper.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null || response.getStatus() >= 400) {
+            return;
+        }
+        String endpoint = wrapper.getMethod() + " " + pattern;
+        if (!endpoints.contains(endpoint)) {
+            return;
+        }
+
+        try {
+            byte[] body = wrapper.getContentAsByteArray();
+            String template = null;
+            if (body.length > 0) {
+                JsonNode payload = objectMapper.readTree(body);
+                template = objectMapper.writeValueAsString(TrafficTemplates.anonymize(payload));
+            }
+            sampleStore.record(new TrafficSample(endpoint, template));
+        } catch (IOException e) {
+            log.debug("Not recording {}: body is not JSON", endpoint);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.cena.traveloka.common.warmup;
+
+/**
+ * One recorded request shape. {@code payloadTemplate} is an anonymized JSON body
+ * (see {@link TrafficTemplates}) or {@code null} for requests without a body.
+ */
+public record TrafficSample(String endpoint, String payloadTemplate) {
+}
@@ -0,0 +1,63 @@
+package com.cena.traveloka.common.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Capped Redis list of recorded request shapes, shared by all pods so a new pod
+ * replays what the fleet has recently been serving.
+ */
+@Slf4j
+@Component
+public class TrafficSampleStore {
+
+    private static final String SAMPLES_KEY = "warmup:traffic-samples";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxSamples;
+
+    public TrafficSampleStore(RedisTemplate<String, String> redisTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${app.warmup.recording.max-samples:1000}") int maxSamples) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.maxSamples = maxSamples;
+    }
+
+    public void record(TrafficSample sample) {
+        try {
+            redisTemplate.opsForList().leftPush(SAMPLES_KEY, objectMapper.writeValueAsString(sample));
+            redisTemplate.opsForList().trim(SAMPLES_KEY, 0, maxSamples - 1);
+        } catch (Exception e) {
+            log.debug("Failed to record traffic sample for {}: {}", sample.endpoint(), e.getMessage());
+        }
+    }
+
+    public List<TrafficSample> load() {
+        List<TrafficSample> samples = new ArrayList<>();
+        try {
+            List<String> values = redisTemplate.opsForList().range(SAMPLES_KEY, 0, maxSamples - 1);
+            if (values == null) {
+                return samples;
+            }
+            for (String value : values) {
+                try {
+                    samples.add(objectMapper.readValue(value, TrafficSample.class));
+                } catch (JsonProcessingException e) {
+                    log.debug("Skipping unreadable traffic sample: {}", e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load recorded traffic samples, using defaults: {}", e.getMessage());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,160 @@
+package com.cena.traveloka.common.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns request bodies into anonymized templates and back. Templates keep the JSON structure,
+ * field names, booleans, and the values of an allowlist of fields that only ever hold system
+ * codes (languages, currencies, device types, sort options); every other string becomes a typed
+ * placeholder and numbers become zero, so no personal data is ever stored. Personal fields that
+ * must hold a valid code, such as gender or nationality, are replayed with a fixed synthetic one.
+ */
+public final class TrafficTemplates {
+
+    static final String PASSWORD = "Warmup-Passw0rd";
+    private static final int MAX_ARRAY_ELEMENTS = 3;
+    private static final int MAX_TEXT_LENGTH = 64;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    private static final Pattern DATE = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}.*");
+    private static final Pattern CODE = Pattern.compile("^([A-Za-z]{1,3}|[a-z_]{1,16}|[A-Z_]{1,32})$");
+    // Lower-cased field names; a value is kept only if the field is listed and the value looks like a code
+    private static final Set<String> CODE_FIELDS = Set.of(
+        "devicetype", "language", "preferredlanguage", "currency", "preferredcurrency",
+        "sortby", "sortdirection", "direction");
+    private static final Pattern DIGITS = Pattern.compile("^\\d+$");
+    private static final Pattern TEXT = Pattern.compile("^\\{\\{(text|digits):(\\d+)}}$");
+
+    private TrafficTemplates() {
+    }
+
+    public static JsonNode anonymize(JsonNode node) {
+        return anonymize(null, node);
+    }
+
+    public static JsonNode materialize(JsonNode template, SyntheticIdentity identity) {
+        if (template == null) {
+            return null;
+        }
+        if (template.isObject()) {
+            ObjectNode result = JsonNodeFactory.instance.objectNode();
+            template.fields().forEachRemaining(field ->
+                result.set(field.getKey(), materialize(field.getValue(), identity)));
+            return result;
+        }
+        if (template.isArray()) {
+            ArrayNode result = JsonNodeFactory.instance.arrayNode();
+            template.forEach(element -> result.add(materialize(element, identity)));
+            return result;
+        }
+        if (template.isTextual()) {
+            return JsonNodeFactory.instance.textNode(fill(template.asText(), identity));
+        }
+        return template;
+    }
+
+    private static JsonNode anonymize(String fieldName, JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode result = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                result.set(field.getKey(), anonymize(field.getKey(), field.getValue()));
+            }
+            return result;
+        }
+        if (node.isArray()) {
+            ArrayNode result = JsonNodeFactory.instance.arrayNode();
+            for (int i = 0; i < Math.min(node.size(), MAX_ARRAY_ELEMENTS); i++) {
+                result.add(anonymize(fieldName, node.get(i)));
+            }
+            return result;
+        }
+        if (node.isTextual()) {
+            return JsonNodeFactory.instance.textNode(placeholder(fieldName, node.asText()));
+        }
+        if (node.isIntegralNumber()) {
+            return JsonNodeFactory.instance.numberNode(0);
+        }
+        if (node.isNumber()) {
+            return JsonNodeFactory.instance.numberNode(0.0);
+        }
+        return node;
+    }
+
+    private static String placeholder(String fieldName, String value) {
+        String field = fieldName != null ? fieldName.toLowerCase(Locale.ROOT) : "";
+
+        if (field.contains("password")) {
+            return "{{password}}";
+        }
+        if (field.contains("token") || field.contains("secret")) {
+            return "{{token}}";
+        }
+        if (DIGITS.matcher(value).matches()) {
+            return "{{digits:" + Math.min(value.length(), MAX_TEXT_LENGTH) + "}}";
+        }
+        if (field.contains("email") || EMAIL.matcher(value).matches()) {
+            return "{{email}}";
+        }
+        if (field.equals("username")) {
+            return "{{username}}";
+        }
+        if (field.contains("phone")) {
+            return "{{phone}}";
+        }
+        if (DATE.matcher(value).matches()) {
+            return "{{date}}";
+        }
+        if (field.equals("gender")) {
+            return "{{gender}}";
+        }
+        if (field.equals("nationality")) {
+            return "{{country}}";
+        }
+        if (field.equals("timezone")) {
+            return "{{timezone}}";
+        }
+        if (CODE_FIELDS.contains(field) && CODE.matcher(value).matches()) {
+            return value;
+        }
+        return "{{text:" + Math.min(value.length(), MAX_TEXT_LENGTH) + "}}";
+    }
+
+    private static String fill(String value, SyntheticIdentity identity) {
+        switch (value) {
+            case "{{password}}":
+                return PASSWORD;
+            case "{{token}}":
+                return "warmup-token";
+            case "{{email}}":
+                return identity.email();
+            case "{{username}}":
+                return identity.username();
+            case "{{phone}}":
+                return "+84900000000";
+            case "{{date}}":
+                return "1990-01-01";
+            case "{{gender}}":
+                return "prefer_not_to_say";
+            case "{{country}}":
+                return "VN";
+            case "{{timezone}}":
+                return "Asia/Ho_Chi_Minh";
+            default:
+                var text = TEXT.matcher(value);
+                if (!text.matches()) {
+                    return value;
+                }
+                return (text.group(1).equals("text") ? "w" : "0").repeat(Integer.parseInt(text.group(2)));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.cena.traveloka.common.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * In-process stand-in for one endpoint, used to replay recorded request shapes before the pod
+ * takes traffic. Implementations run the same parsing, validation, token and mapping code as the
+ * real handler but must not touch the database, Redis or any external service.
+ */
+public interface WarmupScenario {
+
+    /**
+     * Endpoint as {@code "METHOD /path/pattern"}, the same key the traffic recorder stores.
+     */
+    String getEndpoint();
+
+    /**
+     * Payload template replayed until real traffic has been recorded, or {@code null} if the
+     * endpoint takes no body.
+     */
+    String getDefaultTemplate();
+
+    void replay(JsonNode payload, SyntheticIdentity identity) throws Exception;
+
+    static WarmupScenario of(String endpoint, String defaultTemplate, Replayer replayer) {
+        return new WarmupScenario() {
+            @Override
+            public String getEndpoint() {
+                return endpoint;
+            }
+
+            @Override
+            public String getDefaultTemplate() {
+                return defaultTemplate;
+            }
+
+            @Override
+            public void replay(JsonNode payload, SyntheticIdentity identity) throws Exception {
+                replayer.replay(payload, identity);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Replayer {
+        void replay(JsonNode payload, SyntheticIdentity identity) throws Exception;
+    }
+}
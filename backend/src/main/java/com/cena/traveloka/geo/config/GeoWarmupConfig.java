@@ -0,0 +1,45 @@
+package com.cena.traveloka.geo.config;
+
+import com.cena.traveloka.common.startup.WarmupTask;
+import com.cena.traveloka.geo.service.DestinationAutocompleteService;
+import com.cena.traveloka.geo.service.DistanceMatrixService;
+import com.cena.traveloka.geo.service.NearbyPlaceService;
+import com.cena.traveloka.geo.service.ReverseGeocodingService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GeoWarmupConfig {
+
+    /**
+     * Hotel and flight pages need nearby places, so the pod is not ready until they are indexed.
+     */
+    @Bean
+    public WarmupTask geoPlacesWarmup(NearbyPlaceService nearbyPlaceService) {
+        return WarmupTask.required("geo-places", nearbyPlaceService::reload);
+    }
+
+    /**
+     * Destination typeahead is the busiest call the frontend makes and has no fallback.
+     */
+    @Bean
+    public WarmupTask geoAutocompleteWarmup(DestinationAutocompleteService destinationAutocompleteService) {
+        return WarmupTask.required("geo-autocomplete", destinationAutocompleteService::rebuild);
+    }
+
+    /**
+     * Property, session and search tagging resolve coordinates without a database fallback.
+     */
+    @Bean
+    public WarmupTask geoBoundariesWarmup(ReverseGeocodingService reverseGeocodingService) {
+        return WarmupTask.required("geo-boundaries", reverseGeocodingService::reload);
+    }
+
+    /**
+     * Without the table, property pages only lose their "km from" lines, so it does not gate readiness.
+     */
+    @Bean
+    public WarmupTask geoDistancesWarmup(DistanceMatrixService distanceMatrixService) {
+        return WarmupTask.optional("geo-distances", distanceMatrixService::reload);
+    }
+}
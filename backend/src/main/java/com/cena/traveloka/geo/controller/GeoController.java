@@ -0,0 +1,110 @@
+package com.cena.traveloka.geo.controller;
+
+import com.cena.traveloka.common.dto.ApiResponse;
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.geo.dto.request.CoordinateRequest;
+import com.cena.traveloka.geo.dto.request.ReverseGeocodeBatchRequest;
+import com.cena.traveloka.geo.dto.response.DestinationSuggestionResponse;
+import com.cena.traveloka.geo.dto.response.DistanceResponse;
+import com.cena.traveloka.geo.dto.response.NearbyPlaceResponse;
+import com.cena.traveloka.geo.dto.response.ReverseGeocodeResponse;
+import com.cena.traveloka.geo.model.PlaceType;
+import com.cena.traveloka.geo.service.DestinationAutocompleteService;
+import com.cena.traveloka.geo.service.DistanceMatrixService;
+import com.cena.traveloka.geo.service.NearbyPlaceService;
+import com.cena.traveloka.geo.service.ReverseGeocodingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/public/geo")
+@RequiredArgsConstructor
+public class GeoController {
+
+    private final NearbyPlaceService nearbyPlaceService;
+    private final ReverseGeocodingService reverseGeocodingService;
+    private final DistanceMatrixService distanceMatrixService;
+    private final DestinationAutocompleteService destinationAutocompleteService;
+
+    @GetMapping("/autocomplete")
+    public ApiResponse<List<DestinationSuggestionResponse>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<DestinationSuggestionResponse> suggestions = destinationAutocompleteService.suggest(q, limit);
+        return ApiResponse.success("Suggestions retrieved successfully", suggestions);
+    }
+
+    @GetMapping("/nearby")
+    public ApiResponse<List<NearbyPlaceResponse>> nearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<NearbyPlaceResponse> places = nearbyPlaceService.findWithin(lat, lon, radiusKm, parseTypes(types), limit);
+        return ApiResponse.success("Nearby places retrieved successfully", places);
+    }
+
+    @GetMapping("/nearest")
+    public ApiResponse<List<NearbyPlaceResponse>> nearest(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) List<String> types
+    ) {
+        List<NearbyPlaceResponse> places = nearbyPlaceService.findNearest(lat, lon, k, parseTypes(types));
+        return ApiResponse.success("Nearest places retrieved successfully", places);
+    }
+
+    @GetMapping("/reverse")
+    public ApiResponse<ReverseGeocodeResponse> reverse(@RequestParam double lat, @RequestParam double lon) {
+        ReverseGeocodeResponse location = reverseGeocodingService.resolve(lat, lon);
+        return ApiResponse.success("Location resolved successfully", location);
+    }
+
+    @PostMapping("/reverse/batch")
+    public ApiResponse<List<ReverseGeocodeResponse>> reverseBatch(@Valid @RequestBody ReverseGeocodeBatchRequest request) {
+        List<CoordinateRequest> points = request.getPoints();
+        double[] latitudes = new double[points.size()];
+        double[] longitudes = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            latitudes[i] = points.get(i).getLatitude();
+            longitudes[i] = points.get(i).getLongitude();
+        }
+        List<ReverseGeocodeResponse> locations = reverseGeocodingService.resolveAll(latitudes, longitudes);
+        return ApiResponse.success("Locations resolved successfully", locations);
+    }
+
+    @GetMapping("/distances")
+    public ApiResponse<List<DistanceResponse>> distances(
+            @RequestParam UUID from,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        PlaceType toType = type != null ? parseTypes(List.of(type)).get(0) : null;
+        List<DistanceResponse> distances = distanceMatrixService.distancesFrom(from, toType, limit);
+        return ApiResponse.success("Distances retrieved successfully", distances);
+    }
+
+    private static List<PlaceType> parseTypes(List<String> types) {
+        if (types == null) {
+            return List.of();
+        }
+        try {
+            return types.stream().map(PlaceType::fromCode).toList();
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("types", "Types must be any of city, airport, poi");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cena.traveloka.geo.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReverseGeocodeBatchRequest {
+
+    @NotEmpty(message = "At least one point is required")
+    private List<@Valid CoordinateRequest> points;
+}
@@ -0,0 +1,26 @@
+package com.cena.traveloka.geo.dto.response;
+
+import com.cena.traveloka.geo.model.DestinationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationSuggestionResponse {
+
+    private UUID id;
+
+    private DestinationType type;
+
+    private String name;
+
+    private String code;
+
+    private String subtitle;
+}
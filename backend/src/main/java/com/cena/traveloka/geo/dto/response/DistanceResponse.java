@@ -0,0 +1,21 @@
+package com.cena.traveloka.geo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistanceResponse {
+
+    private String toType;
+
+    private UUID toId;
+
+    private double distanceKm;
+}
@@ -0,0 +1,30 @@
+package com.cena.traveloka.geo.dto.response;
+
+import com.cena.traveloka.geo.model.PlaceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyPlaceResponse {
+
+    private UUID id;
+
+    private PlaceType type;
+
+    private String name;
+
+    private String code;
+
+    private double latitude;
+
+    private double longitude;
+
+    private double distanceKm;
+}
@@ -0,0 +1,31 @@
+package com.cena.traveloka.geo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReverseGeocodeResponse {
+
+    private double latitude;
+
+    private double longitude;
+
+    private UUID countryId;
+
+    private String countryCode;
+
+    private String countryName;
+
+    private UUID regionId;
+
+    private String regionSlug;
+
+    private String regionName;
+}
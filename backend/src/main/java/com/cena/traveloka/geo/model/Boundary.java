@@ -0,0 +1,12 @@
+package com.cena.traveloka.geo.model;
+
+import org.locationtech.jts.geom.Geometry;
+
+import java.util.UUID;
+
+/**
+ * A country or region outline from {@code geo.countries} or {@code geo.regions}, in SRID 4326
+ * with x as longitude. {@code code} is the ISO country code or the region slug.
+ */
+public record Boundary(UUID id, String code, String name, Geometry geometry) {
+}
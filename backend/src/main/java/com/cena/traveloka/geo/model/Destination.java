@@ -0,0 +1,13 @@
+package com.cena.traveloka.geo.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A typeahead candidate. {@code popularity} is population for cities, passenger capacity for
+ * airports, review count for properties and the popularity score for points of interest;
+ * {@code rating} is on the 1-5 scale, 0 when unrated.
+ */
+public record Destination(UUID id, DestinationType type, String name, String code, String subtitle,
+                          List<String> alternateNames, long popularity, double rating) {
+}
@@ -0,0 +1,22 @@
+package com.cena.traveloka.geo.model;
+
+/**
+ * Kinds of destination offered by the typeahead, with a small ranking boost so a city
+ * outranks a hotel of similar popularity.
+ */
+public enum DestinationType {
+    CITY(0.10f),
+    AIRPORT(0.08f),
+    PROPERTY(0.0f),
+    POI(0.02f);
+
+    private final float boost;
+
+    DestinationType(float boost) {
+        this.boost = boost;
+    }
+
+    public float boost() {
+        return boost;
+    }
+}
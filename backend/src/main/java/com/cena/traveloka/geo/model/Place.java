@@ -0,0 +1,10 @@
+package com.cena.traveloka.geo.model;
+
+import java.util.UUID;
+
+/**
+ * A point location from {@code geo.cities}, {@code geo.airports} or {@code geo.points_of_interest}.
+ * {@code code} is the IATA code where the table has one.
+ */
+public record Place(UUID id, PlaceType type, String name, String code, double latitude, double longitude) {
+}
@@ -0,0 +1,29 @@
+package com.cena.traveloka.geo.model;
+
+import java.util.Locale;
+
+public enum PlaceType {
+    CITY,
+    AIRPORT,
+    POI;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static int maskOf(Iterable<PlaceType> types) {
+        int mask = 0;
+        for (PlaceType type : types) {
+            mask |= type.mask();
+        }
+        return mask;
+    }
+
+    public static int allMask() {
+        return (1 << values().length) - 1;
+    }
+
+    public static PlaceType fromCode(String code) {
+        return valueOf(code.trim().toUpperCase(Locale.ROOT));
+    }
+}
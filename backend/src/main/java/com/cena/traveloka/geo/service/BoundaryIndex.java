@@ -0,0 +1,143 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.geo.model.Boundary;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Immutable point-in-polygon index over country or region outlines. Every polygon of a
+ * multipolygon is prepared and indexed under its own envelope, so a country with far-flung
+ * islands or parts on both sides of the antimeridian is not a candidate for every point in
+ * between. Where outlines overlap, the one with the smallest area wins, which resolves a
+ * point to the most specific region. Instances are safe to query from many threads.
+ */
+public final class BoundaryIndex {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    /** Points per fork/join leaf; below this, splitting costs more than the lookups. */
+    private static final int BATCH_THRESHOLD = 256;
+
+    private final Boundary[] boundaries;
+    private final double[] areas;
+    private final STRtree tree;
+
+    private BoundaryIndex(Collection<Boundary> source) {
+        this.boundaries = source.toArray(new Boundary[0]);
+        this.areas = new double[boundaries.length];
+        this.tree = new STRtree();
+
+        for (int i = 0; i < boundaries.length; i++) {
+            Geometry geometry = boundaries[i].geometry();
+            // Square degrees; only compared between outlines that contain the same point
+            areas[i] = geometry.getArea();
+            for (int part = 0; part < geometry.getNumGeometries(); part++) {
+                Geometry polygon = geometry.getGeometryN(part);
+                if (!polygon.isEmpty()) {
+                    tree.insert(polygon.getEnvelopeInternal(), new Part(i, PreparedGeometryFactory.prepare(polygon)));
+                }
+            }
+        }
+        tree.build();
+    }
+
+    public static BoundaryIndex of(Collection<Boundary> boundaries) {
+        return new BoundaryIndex(boundaries);
+    }
+
+    public static BoundaryIndex empty() {
+        return new BoundaryIndex(List.of());
+    }
+
+    public int size() {
+        return boundaries.length;
+    }
+
+    /**
+     * The smallest outline covering the point, or {@code null} if there is none.
+     */
+    public Boundary locate(double latitude, double longitude) {
+        int found = locateIndex(latitude, longitude);
+        return found >= 0 ? boundaries[found] : null;
+    }
+
+    /**
+     * {@link #locate} for every point, split across {@code pool} when the batch is large
+     * enough. Element {@code i} of the result belongs to the {@code i}th coordinate pair.
+     */
+    public Boundary[] locateAll(double[] latitudes, double[] longitudes, ForkJoinPool pool) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitudes and longitudes differ in length");
+        }
+        Boundary[] result = new Boundary[latitudes.length];
+        LocateTask task = new LocateTask(latitudes, longitudes, result, 0, latitudes.length);
+        if (latitudes.length <= BATCH_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return result;
+    }
+
+    private int locateIndex(double latitude, double longitude) {
+        Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+        int[] best = {-1};
+        tree.query(new Envelope(longitude, longitude, latitude, latitude), item -> {
+            Part part = (Part) item;
+            int candidate = part.boundary();
+            if (best[0] >= 0 && (candidate == best[0] || areas[candidate] >= areas[best[0]])) {
+                return;
+            }
+            // covers, unlike contains, keeps points on a border line
+            if (part.geometry().covers(point)) {
+                best[0] = candidate;
+            }
+        });
+        return best[0];
+    }
+
+    private record Part(int boundary, PreparedGeometry geometry) {
+    }
+
+    private final class LocateTask extends RecursiveAction {
+
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final Boundary[] result;
+        private final int from;
+        private final int to;
+
+        private LocateTask(double[] latitudes, double[] longitudes, Boundary[] result, int from, int to) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    result[i] = locate(latitudes[i], longitudes[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LocateTask(latitudes, longitudes, result, from, middle),
+                new LocateTask(latitudes, longitudes, result, middle, to));
+        }
+    }
+}
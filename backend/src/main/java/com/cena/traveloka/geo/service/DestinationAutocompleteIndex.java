@@ -0,0 +1,284 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.common.util.TextNormalizer;
+import com.cena.traveloka.geo.dto.response.DestinationSuggestionResponse;
+import com.cena.traveloka.geo.model.Destination;
+import com.cena.traveloka.geo.model.DestinationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable typeahead index. Every destination is indexed under its folded name, its
+ * alternate names and each word-start suffix of them ("ho chi minh", "chi minh", "minh").
+ * The terms are sorted and packed into one char array, so a prefix is a contiguous range
+ * found by two binary searches, like walking an FST but without building one. A max-score
+ * segment tree over the range yields the best destinations in score order without scanning
+ * it. An exact IATA code always comes first.
+ */
+public final class DestinationAutocompleteIndex {
+
+    private static final float POPULARITY_WEIGHT = 0.6f;
+    private static final float RATING_WEIGHT = 0.3f;
+    /** Matching a later word ranks below matching the start of the name. */
+    private static final float WORD_MATCH_PENALTY = 0.05f;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private final Destination[] destinations;
+    private final char[] termChars;
+    private final int[] termOffsets;
+    private final int[] termEntries;
+    private final float[] termScores;
+    private final int[] tree;
+    private final Map<String, int[]> codes;
+
+    private DestinationAutocompleteIndex(Collection<Destination> source) {
+        this.destinations = source.toArray(new Destination[0]);
+        float[] scores = scores(destinations);
+
+        List<Term> terms = new ArrayList<>();
+        Map<String, List<Integer>> codeEntries = new HashMap<>();
+        for (int entry = 0; entry < destinations.length; entry++) {
+            Destination destination = destinations[entry];
+            float score = scores[entry];
+            Map<String, Float> keys = new HashMap<>();
+            addKeys(keys, destination.name(), score);
+            if (destination.alternateNames() != null) {
+                destination.alternateNames().forEach(name -> addKeys(keys, name, score));
+            }
+            int current = entry;
+            keys.forEach((key, termScore) -> terms.add(new Term(key, current, termScore)));
+
+            String code = normalize(destination.code());
+            if (!code.isEmpty()) {
+                codeEntries.computeIfAbsent(code, key -> new ArrayList<>()).add(entry);
+            }
+        }
+        terms.sort(Comparator.comparing(Term::key));
+
+        int size = terms.size();
+        int totalChars = 0;
+        for (Term term : terms) {
+            totalChars += term.key().length();
+        }
+        this.termChars = new char[totalChars];
+        this.termOffsets = new int[size + 1];
+        this.termEntries = new int[size];
+        this.termScores = new float[size];
+        for (int i = 0; i < size; i++) {
+            Term term = terms.get(i);
+            term.key().getChars(0, term.key().length(), termChars, termOffsets[i]);
+            termOffsets[i + 1] = termOffsets[i] + term.key().length();
+            termEntries[i] = term.entry();
+            termScores[i] = term.score();
+        }
+
+        // Iterative segment tree: leaves at [size, 2 * size), each node holds its best term
+        this.tree = new int[Math.max(2 * size, 1)];
+        for (int i = 0; i < size; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+
+        this.codes = new HashMap<>();
+        codeEntries.forEach((code, entries) -> codes.put(code, entries.stream()
+            .sorted(Comparator.comparingDouble(entry -> -scores[entry]))
+            .mapToInt(Integer::intValue)
+            .toArray()));
+    }
+
+    public static DestinationAutocompleteIndex of(Collection<Destination> destinations) {
+        return new DestinationAutocompleteIndex(destinations);
+    }
+
+    public static DestinationAutocompleteIndex empty() {
+        return new DestinationAutocompleteIndex(List.of());
+    }
+
+    public int size() {
+        return destinations.length;
+    }
+
+    /**
+     * Folds Vietnamese and other diacritics, lower-cases, and turns anything but letters and
+     * digits into single spaces.
+     */
+    public static String normalize(String text) {
+        return TextNormalizer.foldForSearch(text);
+    }
+
+    /**
+     * Up to {@code limit} destinations whose name or a word in it starts with the query,
+     * best first, after any destination whose IATA code is exactly the query.
+     */
+    public List<DestinationSuggestionResponse> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<DestinationSuggestionResponse> result = new ArrayList<>(limit);
+        int[] seen = new int[limit];
+        int[] exact = prefix.length() == 3 ? codes.get(prefix) : null;
+        if (exact != null) {
+            for (int i = 0; i < exact.length && result.size() < limit; i++) {
+                seen[result.size()] = exact[i];
+                result.add(toResponse(destinations[exact[i]]));
+            }
+        }
+
+        int from = lowerBound(prefix, false);
+        int to = lowerBound(prefix, true);
+        if (from >= to) {
+            return result;
+        }
+
+        PriorityQueue<Range> ranges = new PriorityQueue<>();
+        ranges.add(range(from, to));
+        while (!ranges.isEmpty() && result.size() < limit) {
+            Range range = ranges.poll();
+            int entry = termEntries[range.best()];
+            if (!contains(seen, result.size(), entry)) {
+                seen[result.size()] = entry;
+                result.add(toResponse(destinations[entry]));
+            }
+            if (range.from() < range.best()) {
+                ranges.add(range(range.from(), range.best()));
+            }
+            if (range.best() + 1 < range.to()) {
+                ranges.add(range(range.best() + 1, range.to()));
+            }
+        }
+        return result;
+    }
+
+    private Range range(int from, int to) {
+        int best = -1;
+        int size = termEntries.length;
+        for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                best = better(best, tree[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = better(best, tree[--right]);
+            }
+        }
+        return new Range(from, to, best, termScores[best]);
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        // Ties go to the earlier, i.e. shorter or alphabetically first, term
+        return termScores[b] > termScores[a] || (termScores[b] == termScores[a] && b < a) ? b : a;
+    }
+
+    /**
+     * First term that is not below {@code prefix}, or with {@code past} set, the first term
+     * after every term starting with it.
+     */
+    private int lowerBound(String prefix, boolean past) {
+        int low = 0;
+        int high = termEntries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int compared = comparePrefix(middle, prefix);
+            if (compared < 0 || (past && compared == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares the first {@code prefix.length()} characters of a term with the prefix.
+     */
+    private int comparePrefix(int term, String prefix) {
+        int start = termOffsets[term];
+        int length = termOffsets[term + 1] - start;
+        int common = Math.min(length, prefix.length());
+        for (int i = 0; i < common; i++) {
+            int difference = termChars[start + i] - prefix.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length >= prefix.length() ? 0 : -1;
+    }
+
+    private static void addKeys(Map<String, Float> keys, String name, float score) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        int start = 0;
+        while (start >= 0) {
+            String key = normalized.substring(start, Math.min(normalized.length(), start + MAX_TERM_LENGTH));
+            keys.merge(key, start == 0 ? score : score - WORD_MATCH_PENALTY, Math::max);
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+    }
+
+    private static float[] scores(Destination[] destinations) {
+        Map<DestinationType, Double> maxPopularity = new EnumMap<>(DestinationType.class);
+        for (Destination destination : destinations) {
+            maxPopularity.merge(destination.type(), Math.log1p(Math.max(0, destination.popularity())), Math::max);
+        }
+
+        float[] scores = new float[destinations.length];
+        for (int i = 0; i < destinations.length; i++) {
+            Destination destination = destinations[i];
+            double max = maxPopularity.get(destination.type());
+            // Normalized per type, so a hotel's review count competes with a city's population
+            double popularity = max > 0 ? Math.log1p(Math.max(0, destination.popularity())) / max : 0;
+            scores[i] = (float) (destination.type().boost()
+                + POPULARITY_WEIGHT * popularity
+                + RATING_WEIGHT * Math.max(0, destination.rating()) / 5);
+        }
+        return scores;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static DestinationSuggestionResponse toResponse(Destination destination) {
+        return DestinationSuggestionResponse.builder()
+            .id(destination.id())
+            .type(destination.type())
+            .name(destination.name())
+            .code(destination.code())
+            .subtitle(destination.subtitle())
+            .build();
+    }
+
+    private record Term(String key, int entry, float score) {
+    }
+
+    private record Range(int from, int to, int best, float score) implements Comparable<Range> {
+
+        @Override
+        public int compareTo(Range other) {
+            int byScore = Float.compare(other.score, score);
+            return byScore != 0 ? byScore : Integer.compare(best, other.best);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.geo.dto.response.DestinationSuggestionResponse;
+import com.cena.traveloka.geo.model.Destination;
+import com.cena.traveloka.geo.model.DestinationType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Destination typeahead over cities, airports, properties and points of interest, answered
+ * from an in-memory {@link DestinationAutocompleteIndex} without touching the database or
+ * Elasticsearch. The index is rebuilt in the background and swapped in as a whole.
+ */
+@Slf4j
+@Service
+public class DestinationAutocompleteService {
+
+    private static final String DESTINATIONS_SQL = """
+            SELECT 'CITY' AS type, c.id, c.name, c.iata_code AS code, co.name AS subtitle,
+                   array_append(c.alternate_names, c.ascii_name) AS alternate_names,
+                   coalesce(c.population, 0) AS popularity, coalesce(c.tourist_rating, 0) AS rating
+            FROM geo.cities c
+            JOIN geo.countries co ON co.id = c.country_id
+            WHERE c.is_active
+            UNION ALL
+            SELECT 'AIRPORT', a.id, a.name, a.iata_code, ci.name,
+                   ARRAY[a.full_name]::TEXT[],
+                   coalesce(a.passenger_capacity, 0), 0
+            FROM geo.airports a
+            LEFT JOIN geo.cities ci ON ci.id = a.city_id
+            WHERE a.is_active
+            UNION ALL
+            SELECT 'PROPERTY', p.id, p.name, NULL, ci.name,
+                   NULL::TEXT[],
+                   coalesce(p.total_reviews, 0), coalesce(p.overall_rating, 0)
+            FROM inventory.properties p
+            JOIN geo.cities ci ON ci.id = p.city_id
+            WHERE p.is_active AND NOT p.is_deleted AND p.status = 'active'
+            UNION ALL
+            SELECT 'POI', poi.id, poi.name, NULL, ci.name,
+                   NULL::TEXT[],
+                   coalesce(poi.popularity_score, 0), coalesce(poi.tourist_rating, 0)
+            FROM geo.points_of_interest poi
+            JOIN geo.cities ci ON ci.id = poi.city_id
+            WHERE poi.is_active
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer rebuildTimer;
+    private final int maxResults;
+
+    private volatile DestinationAutocompleteIndex index = DestinationAutocompleteIndex.empty();
+
+    public DestinationAutocompleteService(JdbcTemplate jdbcTemplate,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.geo.autocomplete.max-results:20}") int maxResults) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxResults = maxResults;
+        this.rebuildTimer = Timer.builder("geo.autocomplete.index.rebuild")
+            .description("Time to load and rebuild the destination typeahead index")
+            .register(meterRegistry);
+        Gauge.builder("geo.autocomplete.indexed", this, service -> service.index.size())
+            .description("Destinations in the typeahead index")
+            .register(meterRegistry);
+    }
+
+    public List<DestinationSuggestionResponse> suggest(String query, int limit) {
+        if (limit <= 0) {
+            throw new ValidationException("limit", "Limit must be positive");
+        }
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return index.suggest(query, Math.min(limit, maxResults));
+    }
+
+    @Scheduled(fixedDelayString = "${app.geo.autocomplete.rebuild-interval-ms:300000}",
+        initialDelayString = "${app.geo.autocomplete.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        DestinationAutocompleteIndex rebuilt = rebuildTimer.record(() ->
+            DestinationAutocompleteIndex.of(jdbcTemplate.query(DESTINATIONS_SQL, (row, rowNum) -> toDestination(row))));
+        // Queries keep using the old index until this single write
+        index = rebuilt;
+        log.info("Rebuilt destination typeahead index with {} destinations", rebuilt.size());
+    }
+
+    private static Destination toDestination(ResultSet row) throws SQLException {
+        String code = row.getString("code");
+        return new Destination(
+            row.getObject("id", UUID.class),
+            DestinationType.valueOf(row.getString("type")),
+            row.getString("name"),
+            code != null ? code.trim() : null,
+            row.getString("subtitle"),
+            alternateNames(row.getArray("alternate_names")),
+            row.getLong("popularity"),
+            row.getDouble("rating"));
+    }
+
+    private static List<String> alternateNames(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        Arrays.stream((Object[]) array.getArray())
+            .filter(Objects::nonNull)
+            .forEach(name -> names.add(name.toString()));
+        return names;
+    }
+}
@@ -0,0 +1,171 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.geo.model.Place;
+import com.cena.traveloka.geo.util.GeoDistance;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Great-circle distances from many origins to one fixed set of targets. Targets are sorted by
+ * latitude into parallel primitive arrays, so the candidates for an origin are one contiguous
+ * latitude band that {@link GeoDistance#haversineKm(double, double, double[], double[], double[], int, int, float[])}
+ * runs over in a single pass. Origins are split across a fork/join pool.
+ */
+public final class DistanceMatrixCalculator {
+
+    private static final double KM_PER_DEGREE = Math.toRadians(GeoDistance.EARTH_RADIUS_KM);
+
+    /** Origins per fork/join leaf. */
+    private static final int ORIGINS_PER_TASK = 64;
+
+    private static final Neighbours NONE = new Neighbours(new int[0], new float[0]);
+
+    private final int[] order;
+    private final double[] latitudes;
+    private final double[] latRadians;
+    private final double[] lonRadians;
+    private final double[] cosLatitudes;
+
+    /**
+     * Neighbours of one origin, closest first. {@code targets} are positions in the list the
+     * calculator was built from.
+     */
+    public record Neighbours(int[] targets, float[] distancesKm) {
+
+        public int size() {
+            return targets.length;
+        }
+    }
+
+    public DistanceMatrixCalculator(List<Place> targets) {
+        int size = targets.size();
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, Comparator.comparingDouble(i -> targets.get(i).latitude()));
+
+        this.order = new int[size];
+        this.latitudes = new double[size];
+        this.latRadians = new double[size];
+        this.lonRadians = new double[size];
+        this.cosLatitudes = new double[size];
+        for (int position = 0; position < size; position++) {
+            Place target = targets.get(sorted[position]);
+            order[position] = sorted[position];
+            latitudes[position] = target.latitude();
+            latRadians[position] = Math.toRadians(target.latitude());
+            lonRadians[position] = Math.toRadians(target.longitude());
+            cosLatitudes[position] = Math.cos(latRadians[position]);
+        }
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * At most {@code limit} targets within {@code radiusKm} of the point, closest first.
+     */
+    public Neighbours compute(double latitude, double longitude, double radiusKm, int limit) {
+        double deltaLat = radiusKm / KM_PER_DEGREE;
+        int from = lowerBound(latitude - deltaLat);
+        int to = lowerBound(Math.nextUp(latitude + deltaLat));
+        if (from >= to || limit <= 0) {
+            return NONE;
+        }
+
+        float[] distances = new float[to - from];
+        GeoDistance.haversineKm(Math.toRadians(latitude), Math.toRadians(longitude),
+            latRadians, lonRadians, cosLatitudes, from, to, distances);
+
+        // Distance bits above the position, so sorting the longs sorts by distance
+        long[] packed = new long[Math.min(distances.length, 16)];
+        int count = 0;
+        for (int i = 0; i < distances.length; i++) {
+            if (distances[i] <= radiusKm) {
+                if (count == packed.length) {
+                    packed = Arrays.copyOf(packed, Math.min(distances.length, count * 2));
+                }
+                packed[count++] = ((long) Float.floatToIntBits(distances[i]) << 32) | (from + i);
+            }
+        }
+        if (count == 0) {
+            return NONE;
+        }
+        Arrays.sort(packed, 0, count);
+
+        int size = Math.min(count, limit);
+        int[] targets = new int[size];
+        float[] distancesKm = new float[size];
+        for (int i = 0; i < size; i++) {
+            targets[i] = order[(int) packed[i]];
+            distancesKm[i] = Float.intBitsToFloat((int) (packed[i] >>> 32));
+        }
+        return new Neighbours(targets, distancesKm);
+    }
+
+    /**
+     * {@link #compute} for every origin; element {@code i} belongs to the {@code i}th origin.
+     */
+    public Neighbours[] computeAll(double[] originLatitudes, double[] originLongitudes,
+                                   double radiusKm, int limit, ForkJoinPool pool) {
+        Neighbours[] result = new Neighbours[originLatitudes.length];
+        pool.invoke(new ComputeTask(originLatitudes, originLongitudes, radiusKm, limit, result,
+            0, originLatitudes.length));
+        return result;
+    }
+
+    private int lowerBound(double latitude) {
+        int low = 0;
+        int high = latitudes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (latitudes[middle] < latitude) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private final class ComputeTask extends RecursiveAction {
+
+        private final double[] originLatitudes;
+        private final double[] originLongitudes;
+        private final double radiusKm;
+        private final int limit;
+        private final Neighbours[] result;
+        private final int from;
+        private final int to;
+
+        private ComputeTask(double[] originLatitudes, double[] originLongitudes, double radiusKm, int limit,
+                            Neighbours[] result, int from, int to) {
+            this.originLatitudes = originLatitudes;
+            this.originLongitudes = originLongitudes;
+            this.radiusKm = radiusKm;
+            this.limit = limit;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ORIGINS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    result[i] = DistanceMatrixCalculator.this.compute(originLatitudes[i], originLongitudes[i], radiusKm, limit);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ComputeTask(originLatitudes, originLongitudes, radiusKm, limit, result, from, middle),
+                new ComputeTask(originLatitudes, originLongitudes, radiusKm, limit, result, middle, to));
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.geo.dto.response.DistanceResponse;
+import com.cena.traveloka.geo.model.Place;
+import com.cena.traveloka.geo.model.PlaceType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fills {@code geo.distance_matrix} with great-circle distances from every property to its
+ * nearest airports and to the points of interest around it, and answers lookups from an
+ * in-memory {@link DistanceTable}, so property pages never compute a distance. One node
+ * recomputes the matrix nightly; every node reloads its copy when the table changes.
+ */
+@Slf4j
+@Service
+public class DistanceMatrixService {
+
+    static final String PROPERTY = "property";
+    static final String AIRPORT = "airport";
+    static final String POI = "poi";
+    static final String DATA_SOURCE = "haversine";
+
+    private static final String PRECOMPUTE_JOB_NAME = "geo-distance-matrix";
+    private static final Duration PRECOMPUTE_LOCK_AT_MOST_FOR = Duration.ofHours(3);
+    private static final Duration PRECOMPUTE_LOCK_AT_LEAST_FOR = Duration.ofMinutes(10);
+    private static final double KM_PER_MILE = 1.609344;
+
+    private static final String AIRPORTS_SQL = """
+            SELECT id, name, iata_code, latitude, longitude
+            FROM geo.airports
+            WHERE is_active
+            """;
+
+    private static final String POIS_SQL = """
+            SELECT id, name, latitude, longitude
+            FROM geo.points_of_interest
+            WHERE is_active
+            """;
+
+    private static final String PROPERTIES_SQL = """
+            SELECT id, latitude, longitude
+            FROM inventory.properties
+            WHERE id > ? AND is_active AND NOT is_deleted
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE distance_matrix_staging (
+                from_location_type VARCHAR(50),
+                from_location_id UUID,
+                to_location_type VARCHAR(50),
+                to_location_id UUID,
+                distance_km DECIMAL(10,2),
+                distance_miles DECIMAL(10,2)
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING_SQL = """
+            COPY distance_matrix_staging
+                (from_location_type, from_location_id, to_location_type, to_location_id, distance_km, distance_miles)
+            FROM STDIN (FORMAT csv)
+            """;
+
+    // Rows from other sources (routing APIs, manual entries) are better than a straight line; keep them
+    private static final String UPSERT_SQL = """
+            INSERT INTO geo.distance_matrix
+                (from_location_type, from_location_id, to_location_type, to_location_id,
+                 distance_km, distance_miles, calculated_at, data_source)
+            SELECT from_location_type, from_location_id, to_location_type, to_location_id,
+                   distance_km, distance_miles, now(), '%s'
+            FROM distance_matrix_staging
+            ON CONFLICT (from_location_type, from_location_id, to_location_type, to_location_id) DO UPDATE
+            SET distance_km = EXCLUDED.distance_km,
+                distance_miles = EXCLUDED.distance_miles,
+                calculated_at = EXCLUDED.calculated_at
+            WHERE geo.distance_matrix.data_source = EXCLUDED.data_source
+              AND geo.distance_matrix.distance_km IS DISTINCT FROM EXCLUDED.distance_km
+            """.formatted(DATA_SOURCE);
+
+    // Pairs no longer among the nearest, or whose target was removed
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM geo.distance_matrix d
+            WHERE d.data_source = '%s'
+              AND d.from_location_type = '%s'
+              AND d.from_location_id = ANY (?)
+              AND NOT EXISTS (
+                  SELECT 1 FROM distance_matrix_staging s
+                  WHERE s.from_location_type = d.from_location_type
+                    AND s.from_location_id = d.from_location_id
+                    AND s.to_location_type = d.to_location_type
+                    AND s.to_location_id = d.to_location_id)
+            """.formatted(DATA_SOURCE, PROPERTY);
+
+    private static final String DELETE_REMOVED_PROPERTIES_SQL = """
+            DELETE FROM geo.distance_matrix d
+            WHERE d.data_source = '%s'
+              AND d.from_location_type = '%s'
+              AND NOT EXISTS (
+                  SELECT 1 FROM inventory.properties p
+                  WHERE p.id = d.from_location_id AND p.is_active AND NOT p.is_deleted)
+            """.formatted(DATA_SOURCE, PROPERTY);
+
+    private static final String MATRIX_SQL = """
+            SELECT from_location_type, from_location_id, to_location_type, to_location_id, distance_km
+            FROM geo.distance_matrix
+            WHERE distance_km IS NOT NULL
+            """;
+
+    private static final String VERSION_SQL = """
+            SELECT count(*) || ':' || coalesce(max(calculated_at)::text, '')
+            FROM geo.distance_matrix
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ClusterJobLock clusterJobLock;
+    private final Timer precomputeTimer;
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+    private final int airportsPerProperty;
+    private final double airportRadiusKm;
+    private final int poisPerProperty;
+    private final double poiRadiusKm;
+    private final int maxResults;
+
+    private volatile DistanceTable table = DistanceTable.empty();
+    private String version;
+
+    public DistanceMatrixService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ClusterJobLock clusterJobLock,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.geo.distances.parallelism:0}") int parallelism,
+                                 @Value("${app.geo.distances.chunk-size:2000}") int chunkSize,
+                                 @Value("${app.geo.distances.airports-per-property:3}") int airportsPerProperty,
+                                 @Value("${app.geo.distances.airport-radius-km:300}") double airportRadiusKm,
+                                 @Value("${app.geo.distances.pois-per-property:50}") int poisPerProperty,
+                                 @Value("${app.geo.distances.poi-radius-km:5}") double poiRadiusKm,
+                                 @Value("${app.geo.places.max-results:200}") int maxResults) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.clusterJobLock = clusterJobLock;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+        this.airportsPerProperty = airportsPerProperty;
+        this.airportRadiusKm = airportRadiusKm;
+        this.poisPerProperty = poisPerProperty;
+        this.poiRadiusKm = poiRadiusKm;
+        this.maxResults = maxResults;
+        this.precomputeTimer = Timer.builder("geo.distances.precompute")
+            .description("Time to recompute the property distance matrix")
+            .register(meterRegistry);
+        Gauge.builder("geo.distances.pairs", this, service -> service.table.size())
+            .description("Location pairs in the in-memory distance table")
+            .register(meterRegistry);
+    }
+
+    public OptionalDouble distanceKm(UUID from, UUID to) {
+        float distance = table.distanceKm(from, to);
+        return Float.isNaN(distance) ? OptionalDouble.empty() : OptionalDouble.of(distance);
+    }
+
+    public List<DistanceResponse> distancesFrom(UUID from, PlaceType toType, int limit) {
+        if (limit <= 0) {
+            throw new ValidationException("limit", "Limit must be positive");
+        }
+        String type = toType != null ? typeName(toType) : null;
+        return table.neighbours(from, type, Math.min(limit, maxResults)).stream()
+            .map(entry -> DistanceResponse.builder()
+                .toType(entry.type())
+                .toId(entry.id())
+                .distanceKm(entry.distanceKm())
+                .build())
+            .toList();
+    }
+
+    @Scheduled(cron = "${app.geo.distances.precompute-cron:0 30 2 * * *}")
+    public void precomputeNightly() {
+        clusterJobLock.executeExclusively(
+            PRECOMPUTE_JOB_NAME,
+            PRECOMPUTE_LOCK_AT_MOST_FOR,
+            PRECOMPUTE_LOCK_AT_LEAST_FOR,
+            () -> {
+                precompute();
+                reload();
+            }
+        );
+    }
+
+    /**
+     * Recomputes the airport and point-of-interest rows of every active property, a chunk of
+     * properties per transaction.
+     */
+    public void precompute() {
+        precomputeTimer.record(() -> {
+            List<Place> airports = jdbcTemplate.query(AIRPORTS_SQL, (row, rowNum) -> new Place(
+                row.getObject("id", UUID.class), PlaceType.AIRPORT, row.getString("name"),
+                row.getString("iata_code"), row.getDouble("latitude"), row.getDouble("longitude")));
+            List<Place> pois = jdbcTemplate.query(POIS_SQL, (row, rowNum) -> new Place(
+                row.getObject("id", UUID.class), PlaceType.POI, row.getString("name"),
+                null, row.getDouble("latitude"), row.getDouble("longitude")));
+            DistanceMatrixCalculator airportDistances = new DistanceMatrixCalculator(airports);
+            DistanceMatrixCalculator poiDistances = new DistanceMatrixCalculator(pois);
+
+            UUID after = new UUID(0, 0);
+            long properties = 0;
+            long pairs = 0;
+            while (true) {
+                List<Origin> chunk = jdbcTemplate.query(PROPERTIES_SQL, (row, rowNum) -> new Origin(
+                    row.getObject("id", UUID.class), row.getDouble("latitude"), row.getDouble("longitude")),
+                    after, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                pairs += writeChunk(chunk, airports, airportDistances, pois, poiDistances);
+                properties += chunk.size();
+                after = chunk.get(chunk.size() - 1).id();
+            }
+
+            int removed = jdbcTemplate.update(DELETE_REMOVED_PROPERTIES_SQL);
+            log.info("Computed {} distances for {} properties against {} airports and {} POIs, removed {} for inactive properties",
+                pairs, properties, airports.size(), pois.size(), removed);
+        });
+    }
+
+    public synchronized void reload() {
+        String current = jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+        DistanceTable.Builder builder = DistanceTable.builder();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MATRIX_SQL);
+            // Streams the rows through a cursor instead of buffering the whole table
+            statement.setFetchSize(10_000);
+            return statement;
+        }, (ResultSet row) -> {
+            builder.add(row.getString("from_location_type"), row.getObject("from_location_id", UUID.class),
+                row.getString("to_location_type"), row.getObject("to_location_id", UUID.class),
+                row.getFloat("distance_km"));
+        }));
+        table = builder.build();
+        version = current;
+        log.info("Loaded {} distances into memory", table.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.geo.distances.reload-interval-ms:600000}",
+        initialDelayString = "${app.geo.distances.reload-interval-ms:600000}")
+    public synchronized void refresh() {
+        if (version != null && !Objects.equals(version, jdbcTemplate.queryForObject(VERSION_SQL, String.class))) {
+            reload();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private long writeChunk(List<Origin> chunk,
+                            List<Place> airports, DistanceMatrixCalculator airportDistances,
+                            List<Place> pois, DistanceMatrixCalculator poiDistances) {
+        double[] latitudes = new double[chunk.size()];
+        double[] longitudes = new double[chunk.size()];
+        UUID[] ids = new UUID[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            latitudes[i] = chunk.get(i).latitude();
+            longitudes[i] = chunk.get(i).longitude();
+            ids[i] = chunk.get(i).id();
+        }
+        DistanceMatrixCalculator.Neighbours[] nearAirports =
+            airportDistances.computeAll(latitudes, longitudes, airportRadiusKm, airportsPerProperty, pool);
+        DistanceMatrixCalculator.Neighbours[] nearPois =
+            poiDistances.computeAll(latitudes, longitudes, poiRadiusKm, poisPerProperty, pool);
+
+        StringBuilder csv = new StringBuilder(1 << 16);
+        long rows = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            rows += appendRows(csv, ids[i], AIRPORT, airports, nearAirports[i]);
+            rows += appendRows(csv, ids[i], POI, pois, nearPois[i]);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING_SQL, new StringReader(csv.toString()));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to stream distances to the database", e);
+                }
+            });
+            jdbcTemplate.update(UPSERT_SQL);
+            jdbcTemplate.update(DELETE_STALE_SQL,
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids)));
+        });
+        return rows;
+    }
+
+    private static int appendRows(StringBuilder csv, UUID from, String toType, List<Place> targets,
+                                  DistanceMatrixCalculator.Neighbours neighbours) {
+        for (int n = 0; n < neighbours.size(); n++) {
+            double km = neighbours.distancesKm()[n];
+            csv.append(PROPERTY).append(',').append(from).append(',')
+                .append(toType).append(',').append(targets.get(neighbours.targets()[n]).id()).append(',');
+            appendDecimal(csv, km);
+            csv.append(',');
+            appendDecimal(csv, km / KM_PER_MILE);
+            csv.append('\n');
+        }
+        return neighbours.size();
+    }
+
+    private static void appendDecimal(StringBuilder csv, double value) {
+        long hundredths = Math.round(value * 100);
+        long fraction = hundredths % 100;
+        csv.append(hundredths / 100).append('.');
+        if (fraction < 10) {
+            csv.append('0');
+        }
+        csv.append(fraction);
+    }
+
+    private static String typeName(PlaceType type) {
+        return switch (type) {
+            case CITY -> "city";
+            case AIRPORT -> AIRPORT;
+            case POI -> POI;
+        };
+    }
+
+    private record Origin(UUID id, double latitude, double longitude) {
+    }
+}
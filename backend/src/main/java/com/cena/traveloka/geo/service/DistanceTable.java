@@ -0,0 +1,186 @@
+package com.cena.traveloka.geo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable in-memory copy of {@code geo.distance_matrix}. Location ids are interned to ints;
+ * a pair lookup probes an open-addressing table of {@code from << 32 | to} keys with the
+ * distances in a parallel float array, and each origin's rows sit contiguously, closest
+ * first, for listing its neighbours. No boxing anywhere after the build.
+ */
+public final class DistanceTable {
+
+    private static final long EMPTY = -1L;
+
+    private final UUID[] locations;
+    private final String[] types;
+    private final Map<UUID, Integer> ids;
+
+    private final long[] keys;
+    private final float[] values;
+    private final int mask;
+
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final float[] neighbourDistances;
+
+    public record Entry(String type, UUID id, float distanceKm) {
+    }
+
+    private DistanceTable(Builder builder) {
+        int locationCount = builder.locations.size();
+        int rows = builder.size;
+        this.locations = builder.locations.toArray(new UUID[0]);
+        this.types = builder.types.toArray(new String[0]);
+        this.ids = builder.ids;
+
+        // At most half full, so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(rows, 1) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new float[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+
+        // Counting sort of the rows by origin, then by distance within each origin
+        this.offsets = new int[locationCount + 1];
+        for (int row = 0; row < rows; row++) {
+            offsets[builder.from[row] + 1]++;
+        }
+        for (int location = 0; location < locationCount; location++) {
+            offsets[location + 1] += offsets[location];
+        }
+        long[] packed = new long[rows];
+        int[] fill = Arrays.copyOf(offsets, locationCount);
+        for (int row = 0; row < rows; row++) {
+            packed[fill[builder.from[row]]++] = ((long) Float.floatToIntBits(builder.distances[row]) << 32) | builder.to[row];
+            put(((long) builder.from[row] << 32) | builder.to[row], builder.distances[row]);
+        }
+        this.neighbours = new int[rows];
+        this.neighbourDistances = new float[rows];
+        for (int location = 0; location < locationCount; location++) {
+            Arrays.sort(packed, offsets[location], offsets[location + 1]);
+        }
+        for (int i = 0; i < rows; i++) {
+            neighbours[i] = (int) packed[i];
+            neighbourDistances[i] = Float.intBitsToFloat((int) (packed[i] >>> 32));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static DistanceTable empty() {
+        return new Builder().build();
+    }
+
+    public int size() {
+        return neighbours.length;
+    }
+
+    /**
+     * Stored distance between two locations, or {@code NaN} if the pair is not in the table.
+     */
+    public float distanceKm(UUID from, UUID to) {
+        Integer fromId = ids.get(from);
+        Integer toId = ids.get(to);
+        if (fromId == null || toId == null) {
+            return Float.NaN;
+        }
+        long key = ((long) fromId << 32) | toId;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            if (keys[slot] == EMPTY) {
+                return Float.NaN;
+            }
+        }
+    }
+
+    /**
+     * Locations of {@code toType} (any type if {@code null}) stored for {@code from}, closest first.
+     */
+    public List<Entry> neighbours(UUID from, String toType, int limit) {
+        Integer fromId = ids.get(from);
+        if (fromId == null) {
+            return List.of();
+        }
+        List<Entry> result = new ArrayList<>(Math.min(limit, offsets[fromId + 1] - offsets[fromId]));
+        for (int i = offsets[fromId]; i < offsets[fromId + 1] && result.size() < limit; i++) {
+            int to = neighbours[i];
+            if (toType == null || toType.equals(types[to])) {
+                result.add(new Entry(types[to], locations[to], neighbourDistances[i]));
+            }
+        }
+        return result;
+    }
+
+    private void put(long key, float value) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private int slot(long key) {
+        // Murmur3 finalizer; consecutive interned ids would otherwise cluster
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    public static final class Builder {
+
+        private final List<UUID> locations = new ArrayList<>();
+        private final List<String> types = new ArrayList<>();
+        private final Map<UUID, Integer> ids = new HashMap<>();
+        private final Map<String, String> typeNames = new HashMap<>();
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private float[] distances = new float[1024];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(String fromType, UUID fromId, String toType, UUID toId, float distanceKm) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            from[size] = intern(fromType, fromId);
+            to[size] = intern(toType, toId);
+            distances[size] = distanceKm;
+            size++;
+            return this;
+        }
+
+        public DistanceTable build() {
+            return new DistanceTable(this);
+        }
+
+        private int intern(String type, UUID id) {
+            Integer existing = ids.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            int next = locations.size();
+            locations.add(id);
+            types.add(typeNames.computeIfAbsent(type, name -> name));
+            ids.put(id, next);
+            return next;
+        }
+    }
+}
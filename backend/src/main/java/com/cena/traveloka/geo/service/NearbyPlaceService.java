@@ -0,0 +1,171 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.geo.dto.response.NearbyPlaceResponse;
+import com.cena.traveloka.geo.model.Place;
+import com.cena.traveloka.geo.model.PlaceType;
+import com.cena.traveloka.geo.util.Coordinates;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Nearby cities, airports and points of interest, answered from an in-memory {@link PlaceIndex}
+ * instead of {@code geo.find_nearby_locations}, whose geography casts keep it off the GIST
+ * indexes. The index is loaded during warm-up and refreshed from rows whose
+ * {@code updated_at} moved since the last load.
+ */
+@Slf4j
+@Service
+public class NearbyPlaceService {
+
+    private static final String PLACES_SQL = """
+            SELECT 'CITY' AS type, id, name, iata_code AS code, latitude, longitude, is_active, updated_at
+            FROM geo.cities WHERE %1$s
+            UNION ALL
+            SELECT 'AIRPORT', id, name, iata_code, latitude, longitude, is_active, updated_at
+            FROM geo.airports WHERE %1$s
+            UNION ALL
+            SELECT 'POI', id, name, NULL, latitude, longitude, is_active, updated_at
+            FROM geo.points_of_interest WHERE %1$s
+            """;
+
+    private static final String ACTIVE_COUNT_SQL = """
+            SELECT (SELECT count(*) FROM geo.cities WHERE is_active)
+                 + (SELECT count(*) FROM geo.airports WHERE is_active)
+                 + (SELECT count(*) FROM geo.points_of_interest WHERE is_active)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer rebuildTimer;
+    private final Duration refreshOverlap;
+    private final int maxResults;
+    private final double maxRadiusKm;
+
+    private final Map<UUID, Place> places = new HashMap<>();
+    private volatile PlaceIndex index = PlaceIndex.empty();
+    private Instant watermark;
+
+    public NearbyPlaceService(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.geo.places.refresh-overlap:5m}") Duration refreshOverlap,
+                              @Value("${app.geo.places.max-results:200}") int maxResults,
+                              @Value("${app.geo.places.max-radius-km:100}") double maxRadiusKm) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshOverlap = refreshOverlap;
+        this.maxResults = maxResults;
+        this.maxRadiusKm = maxRadiusKm;
+        this.rebuildTimer = Timer.builder("geo.places.index.rebuild")
+            .description("Time to rebuild the in-memory place index")
+            .register(meterRegistry);
+        Gauge.builder("geo.places.indexed", this, service -> service.index.size())
+            .description("Places in the in-memory index")
+            .register(meterRegistry);
+    }
+
+    public List<NearbyPlaceResponse> findWithin(double latitude, double longitude, double radiusKm,
+                                                Collection<PlaceType> types, int limit) {
+        Coordinates.validate(latitude, longitude);
+        return index.within(latitude, longitude, clampRadius(radiusKm), typeMask(types), clampLimit(limit));
+    }
+
+    public List<NearbyPlaceResponse> findNearest(double latitude, double longitude, int k, Collection<PlaceType> types) {
+        Coordinates.validate(latitude, longitude);
+        return index.nearest(latitude, longitude, clampLimit(k), typeMask(types));
+    }
+
+    public synchronized void reload() {
+        Instant startedAt = Instant.now();
+        places.clear();
+        jdbcTemplate.query(PLACES_SQL.formatted("TRUE"), (ResultSet row) -> {
+            if (row.getBoolean("is_active")) {
+                Place place = toPlace(row);
+                places.put(place.id(), place);
+            }
+        });
+        // Rows updated while the load ran are picked up again by the next refresh
+        watermark = startedAt;
+        rebuild();
+        log.info("Loaded {} places into the geo index", places.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.geo.places.refresh-interval-ms:60000}", initialDelay = 60000)
+    public synchronized void refresh() {
+        if (watermark == null) {
+            return;
+        }
+
+        Instant startedAt = Instant.now();
+        Timestamp since = Timestamp.from(watermark.minus(refreshOverlap));
+        int[] changed = new int[1];
+        jdbcTemplate.query(PLACES_SQL.formatted("updated_at > ?"), (ResultSet row) -> {
+            Place place = toPlace(row);
+            boolean updated = row.getBoolean("is_active")
+                ? !place.equals(places.put(place.id(), place))
+                : places.remove(place.id()) != null;
+            if (updated) {
+                changed[0]++;
+            }
+        }, since, since, since);
+        watermark = startedAt;
+
+        Long active = jdbcTemplate.queryForObject(ACTIVE_COUNT_SQL, Long.class);
+        if (active != null && active != places.size()) {
+            // Deleted rows leave no updated_at behind
+            log.info("Geo index has {} places but {} are active, reloading", places.size(), active);
+            reload();
+        } else if (changed[0] > 0) {
+            rebuild();
+            log.info("Refreshed geo index with {} changed places", changed[0]);
+        }
+    }
+
+    private void rebuild() {
+        index = rebuildTimer.record(() -> PlaceIndex.of(List.copyOf(places.values())));
+    }
+
+    private static Place toPlace(ResultSet row) throws SQLException {
+        return new Place(
+            row.getObject("id", UUID.class),
+            PlaceType.valueOf(row.getString("type")),
+            row.getString("name"),
+            row.getString("code") != null ? row.getString("code").trim() : null,
+            row.getDouble("latitude"),
+            row.getDouble("longitude"));
+    }
+
+    // A radius spanning the whole index would scan and sort every place on each call
+    private double clampRadius(double radiusKm) {
+        if (!(radiusKm > 0)) {
+            throw new ValidationException("radiusKm", "Radius must be positive");
+        }
+        return Math.min(radiusKm, maxRadiusKm);
+    }
+
+    private int clampLimit(int limit) {
+        if (limit <= 0) {
+            throw new ValidationException("limit", "Limit must be positive");
+        }
+        return Math.min(limit, maxResults);
+    }
+
+    private static int typeMask(Collection<PlaceType> types) {
+        return types == null || types.isEmpty() ? PlaceType.allMask() : PlaceType.maskOf(types);
+    }
+}
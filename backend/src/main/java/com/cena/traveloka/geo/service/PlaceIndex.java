@@ -0,0 +1,178 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.geo.dto.response.NearbyPlaceResponse;
+import com.cena.traveloka.geo.model.Place;
+import com.cena.traveloka.geo.model.PlaceType;
+import com.cena.traveloka.geo.util.GeoDistance;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.ItemVisitor;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable snapshot of point places in an STR-packed R-tree. The tree holds only array
+ * indexes; coordinates and attributes live in parallel arrays. A query searches the
+ * lat/lon box around the search circle, split at the antimeridian and widened at the poles,
+ * then keeps the candidates within the haversine radius.
+ */
+public final class PlaceIndex {
+
+    private static final PlaceType[] TYPES = PlaceType.values();
+    private static final double NEAREST_START_RADIUS_KM = 5;
+
+    private final Place[] places;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final byte[] types;
+    private final STRtree tree;
+
+    private PlaceIndex(Collection<Place> source) {
+        int size = source.size();
+        this.places = source.toArray(new Place[0]);
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.types = new byte[size];
+        this.tree = new STRtree();
+
+        for (int i = 0; i < size; i++) {
+            Place place = places[i];
+            latitudes[i] = place.latitude();
+            longitudes[i] = place.longitude();
+            types[i] = (byte) place.type().ordinal();
+            tree.insert(new Envelope(place.longitude(), place.longitude(), place.latitude(), place.latitude()), i);
+        }
+        // Packs the tree now, so the first query does not pay for it
+        tree.build();
+    }
+
+    public static PlaceIndex of(Collection<Place> places) {
+        return new PlaceIndex(places);
+    }
+
+    public static PlaceIndex empty() {
+        return new PlaceIndex(List.of());
+    }
+
+    public int size() {
+        return places.length;
+    }
+
+    /**
+     * Places of the given types within {@code radiusKm}, closest first, at most {@code limit}.
+     */
+    public List<NearbyPlaceResponse> within(double latitude, double longitude, double radiusKm, int typeMask, int limit) {
+        Hits hits = search(latitude, longitude, radiusKm, typeMask);
+        return hits.closest(limit);
+    }
+
+    /**
+     * The {@code k} places of the given types closest to the point. The search radius grows
+     * until it holds {@code k} places; anything outside it is farther than all of them.
+     */
+    public List<NearbyPlaceResponse> nearest(double latitude, double longitude, int k, int typeMask) {
+        double radiusKm = NEAREST_START_RADIUS_KM;
+        while (true) {
+            Hits hits = search(latitude, longitude, radiusKm, typeMask);
+            if (hits.size >= k || radiusKm >= GeoDistance.MAX_DISTANCE_KM) {
+                return hits.closest(k);
+            }
+            radiusKm = Math.min(radiusKm * 4, GeoDistance.MAX_DISTANCE_KM);
+        }
+    }
+
+    private Hits search(double latitude, double longitude, double radiusKm, int typeMask) {
+        Hits hits = new Hits(latitude, longitude, radiusKm, typeMask);
+        if (places.length == 0) {
+            return hits;
+        }
+
+        double angularRadius = radiusKm / GeoDistance.EARTH_RADIUS_KM;
+        double deltaLat = Math.toDegrees(angularRadius);
+        double minLat = latitude - deltaLat;
+        double maxLat = latitude + deltaLat;
+
+        double sinRadius = Math.sin(Math.min(angularRadius, Math.PI / 2));
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        if (minLat <= -90 || maxLat >= 90 || angularRadius >= Math.PI / 2 || sinRadius >= cosLat) {
+            // The circle reaches a pole, so it spans every longitude
+            tree.query(new Envelope(-180, 180, Math.max(minLat, -90), Math.min(maxLat, 90)), hits);
+            return hits;
+        }
+
+        double deltaLon = Math.toDegrees(Math.asin(sinRadius / cosLat));
+        double minLon = longitude - deltaLon;
+        double maxLon = longitude + deltaLon;
+        if (minLon < -180) {
+            tree.query(new Envelope(minLon + 360, 180, minLat, maxLat), hits);
+            tree.query(new Envelope(-180, maxLon, minLat, maxLat), hits);
+        } else if (maxLon > 180) {
+            tree.query(new Envelope(minLon, 180, minLat, maxLat), hits);
+            tree.query(new Envelope(-180, maxLon - 360, minLat, maxLat), hits);
+        } else {
+            tree.query(new Envelope(minLon, maxLon, minLat, maxLat), hits);
+        }
+        return hits;
+    }
+
+    /**
+     * Candidates within the radius, each packed into one long: the distance as float bits
+     * (which order like the floats for non-negative values) above the array index, so sorting
+     * the longs sorts by distance without boxing.
+     */
+    private final class Hits implements ItemVisitor {
+
+        private final double latitude;
+        private final double longitude;
+        private final double radiusKm;
+        private final int typeMask;
+        private long[] packed = new long[16];
+        private int size;
+
+        private Hits(double latitude, double longitude, double radiusKm, int typeMask) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.typeMask = typeMask;
+        }
+
+        @Override
+        public void visitItem(Object item) {
+            int index = (Integer) item;
+            if ((typeMask & (1 << types[index])) == 0) {
+                return;
+            }
+            double distance = GeoDistance.haversineKm(latitude, longitude, latitudes[index], longitudes[index]);
+            if (distance > radiusKm) {
+                return;
+            }
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            packed[size++] = ((long) Float.floatToIntBits((float) distance) << 32) | index;
+        }
+
+        private List<NearbyPlaceResponse> closest(int limit) {
+            Arrays.sort(packed, 0, size);
+            int count = Math.min(size, limit);
+            List<NearbyPlaceResponse> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = (int) packed[i];
+                Place place = places[index];
+                result.add(NearbyPlaceResponse.builder()
+                    .id(place.id())
+                    .type(TYPES[types[index]])
+                    .name(place.name())
+                    .code(place.code())
+                    .latitude(place.latitude())
+                    .longitude(place.longitude())
+                    .distanceKm(GeoDistance.haversineKm(latitude, longitude, place.latitude(), place.longitude()))
+                    .build());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.geo.dto.response.ReverseGeocodeResponse;
+import com.cena.traveloka.geo.model.Boundary;
+import com.cena.traveloka.geo.util.Coordinates;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Resolves coordinates to a country and region from outlines held in memory, in place of
+ * {@code geo.get_country_by_coords}, so tagging properties, sessions and searches costs no
+ * database round trip per point. Outlines are loaded during warm-up and reloaded when
+ * either table changes.
+ */
+@Slf4j
+@Service
+public class ReverseGeocodingService {
+
+    private static final String COUNTRIES_SQL = """
+            SELECT id, code, name, ST_AsBinary(boundaries) AS boundaries
+            FROM geo.countries
+            WHERE is_active AND boundaries IS NOT NULL
+            """;
+
+    private static final String REGIONS_SQL = """
+            SELECT id, slug AS code, name, ST_AsBinary(boundaries) AS boundaries
+            FROM geo.regions
+            WHERE is_active AND boundaries IS NOT NULL
+            """;
+
+    // Changes with any insert, update or soft delete of an outline; hard deletes change the count
+    private static final String VERSION_SQL = """
+            SELECT concat_ws('/',
+                (SELECT count(*) || ':' || coalesce(max(updated_at)::text, '')
+                 FROM geo.countries WHERE is_active AND boundaries IS NOT NULL),
+                (SELECT count(*) || ':' || coalesce(max(updated_at)::text, '')
+                 FROM geo.regions WHERE is_active AND boundaries IS NOT NULL))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer reloadTimer;
+    private final ForkJoinPool pool;
+    private final int maxBatchSize;
+
+    private volatile BoundaryIndex countries = BoundaryIndex.empty();
+    private volatile BoundaryIndex regions = BoundaryIndex.empty();
+    private String version;
+
+    public ReverseGeocodingService(JdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.geo.boundaries.parallelism:0}") int parallelism,
+                                   @Value("${app.geo.boundaries.max-batch-size:10000}") int maxBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.reloadTimer = Timer.builder("geo.boundaries.reload")
+            .description("Time to load and index country and region outlines")
+            .register(meterRegistry);
+        Gauge.builder("geo.boundaries.indexed", this, service -> service.countries.size())
+            .description("Outlines in the in-memory boundary index")
+            .tag("level", "country")
+            .register(meterRegistry);
+        Gauge.builder("geo.boundaries.indexed", this, service -> service.regions.size())
+            .description("Outlines in the in-memory boundary index")
+            .tag("level", "region")
+            .register(meterRegistry);
+    }
+
+    public ReverseGeocodeResponse resolve(double latitude, double longitude) {
+        Coordinates.validate(latitude, longitude);
+        return toResponse(latitude, longitude,
+            countries.locate(latitude, longitude), regions.locate(latitude, longitude));
+    }
+
+    /**
+     * Resolves a batch in parallel; element {@code i} of the result belongs to the {@code i}th
+     * coordinate pair.
+     */
+    public List<ReverseGeocodeResponse> resolveAll(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new ValidationException("points", "Every point needs a latitude and a longitude");
+        }
+        if (latitudes.length > maxBatchSize) {
+            throw new ValidationException("points", "At most " + maxBatchSize + " points per batch");
+        }
+        for (int i = 0; i < latitudes.length; i++) {
+            Coordinates.validate(latitudes[i], longitudes[i]);
+        }
+
+        Boundary[] countryHits = countries.locateAll(latitudes, longitudes, pool);
+        Boundary[] regionHits = regions.locateAll(latitudes, longitudes, pool);
+        List<ReverseGeocodeResponse> resolved = new ArrayList<>(latitudes.length);
+        for (int i = 0; i < latitudes.length; i++) {
+            resolved.add(toResponse(latitudes[i], longitudes[i], countryHits[i], regionHits[i]));
+        }
+        return resolved;
+    }
+
+    public synchronized void reload() {
+        String current = jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+        reloadTimer.record(() -> {
+            countries = BoundaryIndex.of(load(COUNTRIES_SQL));
+            regions = BoundaryIndex.of(load(REGIONS_SQL));
+        });
+        version = current;
+        log.info("Loaded {} country and {} region outlines", countries.size(), regions.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.geo.boundaries.refresh-interval-ms:3600000}",
+        initialDelayString = "${app.geo.boundaries.refresh-interval-ms:3600000}")
+    public synchronized void refresh() {
+        if (version == null) {
+            return;
+        }
+        if (!Objects.equals(version, jdbcTemplate.queryForObject(VERSION_SQL, String.class))) {
+            reload();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private List<Boundary> load(String sql) {
+        // WKBReader keeps parse state, so each load gets its own
+        WKBReader reader = new WKBReader();
+        return jdbcTemplate.query(sql, (ResultSet row, int rowNum) -> toBoundary(row, reader));
+    }
+
+    private static Boundary toBoundary(ResultSet row, WKBReader reader) throws SQLException {
+        UUID id = row.getObject("id", UUID.class);
+        Geometry geometry;
+        try {
+            geometry = reader.read(row.getBytes("boundaries"));
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid boundary geometry for " + id, e);
+        }
+        return new Boundary(id, row.getString("code").trim(), row.getString("name"), geometry);
+    }
+
+    private static ReverseGeocodeResponse toResponse(double latitude, double longitude,
+                                                     Boundary country, Boundary region) {
+        return ReverseGeocodeResponse.builder()
+            .latitude(latitude)
+            .longitude(longitude)
+            .countryId(country != null ? country.id() : null)
+            .countryCode(country != null ? country.code() : null)
+            .countryName(country != null ? country.name() : null)
+            .regionId(region != null ? region.id() : null)
+            .regionSlug(region != null ? region.code() : null)
+            .regionName(region != null ? region.name() : null)
+            .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.cena.traveloka.geo.util;
+
+import com.cena.traveloka.common.exception.ValidationException;
+
+public final class Coordinates {
+
+    private Coordinates() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static void validate(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new ValidationException("latitude", "Latitude must be between -90 and 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new ValidationException("longitude", "Longitude must be between -180 and 180");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cena.traveloka.geo.util;
+
+public final class GeoDistance {
+
+    /** Mean earth radius (IUGG), the same sphere PostGIS geography distances approximate. */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public static final double MAX_DISTANCE_KM = Math.PI * EARTH_RADIUS_KM;
+
+    private GeoDistance() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat * 0.5);
+        double sinLon = Math.sin(dLon * 0.5);
+        double a = sinLat * sinLat
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Distances from one origin to targets {@code from} (inclusive) to {@code to} (exclusive),
+     * written to {@code out} starting at 0. Targets come in radians with the cosine of their
+     * latitude precomputed. The loop body has no branches and no calls besides the math
+     * intrinsics, so the JIT keeps it tight.
+     */
+    public static void haversineKm(double latRadians, double lonRadians,
+                                   double[] targetLatRadians, double[] targetLonRadians, double[] targetCosLat,
+                                   int from, int to, float[] out) {
+        double cosLat = Math.cos(latRadians);
+        double diameter = 2 * EARTH_RADIUS_KM;
+        for (int i = from; i < to; i++) {
+            double sinLat = Math.sin((targetLatRadians[i] - latRadians) * 0.5);
+            double sinLon = Math.sin((targetLonRadians[i] - lonRadians) * 0.5);
+            double a = sinLat * sinLat + cosLat * targetCosLat[i] * sinLon * sinLon;
+            out[i - from] = (float) (diameter * Math.asin(Math.min(1.0, Math.sqrt(a))));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cena.traveloka.iam.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.cache.l2.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class IamCacheSyncConfig {
+
+    @Bean
+    public RedisMessageListenerContainer iamCacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                               IamSecondLevelCacheSync cacheSync) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheSync, new ChannelTopic(cacheSync.getChannel()));
+        return container;
+    }
+}
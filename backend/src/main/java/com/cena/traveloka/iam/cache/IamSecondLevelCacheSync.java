@@ -0,0 +1,205 @@
+package com.cena.traveloka.iam.cache;
+
+import com.cena.traveloka.iam.entity.Permission;
+import com.cena.traveloka.iam.entity.Role;
+import com.cena.traveloka.iam.entity.RolePermission;
+import com.cena.traveloka.iam.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps the IAM second-level cache regions coherent across nodes. Every node caches roles and
+ * permissions locally; when one node changes them it evicts its own entries (Hibernate does this
+ * for entities and for {@code Role.permissions}, this class adds the eviction Hibernate misses when
+ * grants change through {@link RolePermission}) and, after commit, publishes the change on a Redis
+ * channel so the other nodes evict the same entries. Bulk JPQL or SQL updates bypass these events.
+ * On the node that runs one, Hibernate empties every region mapped to the tables it touches, and
+ * every region of the node when a native statement declares no query spaces, so native updates
+ * must declare them ({@code HibernateHints.HINT_NATIVE_SPACES}). Other nodes are not told; the
+ * region TTLs in {@code hibernate-jcache.conf} bound how long such a change stays invisible there.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache.l2.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class IamSecondLevelCacheSync implements MessageListener,
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    static final String ROLE_PERMISSIONS = Role.class.getName() + ".permissions";
+
+    enum Kind {
+        ROLE, PERMISSION, ROLE_PERMISSION, ROLE_PERMISSIONS
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private CacheImplementor cache;
+
+    public IamSecondLevelCacheSync(EntityManagerFactory entityManagerFactory,
+                                   RedisTemplate<String, String> redisTemplate,
+                                   @Value("${app.cache.l2.invalidation.channel:iam:l2-invalidation}") String channel) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        cache = sessionFactory.getCache();
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void entityChanged(Object entity) {
+        if (entity instanceof Role role) {
+            afterCommit(Kind.ROLE, role.getId());
+        } else if (entity instanceof Permission permission) {
+            afterCommit(Kind.PERMISSION, permission.getId());
+        } else if (entity instanceof RolePermission grant && grant.getId() != null) {
+            UUID roleId = grant.getId().getRoleId();
+            // Role.permissions maps the same table but Hibernate does not link the two
+            afterCommit(() -> evict(Kind.ROLE_PERMISSION, roleId));
+            afterCommit(Kind.ROLE_PERMISSION, roleId);
+        }
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        if (ROLE_PERMISSIONS.equals(event.getCollection().getRole()) && event.getAffectedOwnerIdOrNull() != null) {
+            afterCommit(Kind.ROLE_PERMISSIONS, (UUID) event.getAffectedOwnerIdOrNull());
+        }
+    }
+
+    private void afterCommit(Kind kind, UUID id) {
+        afterCommit(() -> publish(kind, id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void publish(Kind kind, UUID id) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + kind + "|" + id);
+        } catch (Exception e) {
+            log.warn("Failed to publish L2 cache invalidation {} {}: {}", kind, id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            evict(Kind.valueOf(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed L2 cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    void evict(Kind kind, UUID id) {
+        switch (kind) {
+            case ROLE -> {
+                cache.evictEntityData(Role.class, id);
+                cache.evictCollectionData(ROLE_PERMISSIONS, id);
+                cache.evictQueryRegion(RoleRepository.FIND_BY_NAME_QUERY_REGION);
+            }
+            case PERMISSION -> cache.evictEntityData(Permission.class, id);
+            case ROLE_PERMISSION -> {
+                cache.evictEntityData(RolePermission.class);
+                cache.evictCollectionData(ROLE_PERMISSIONS, id);
+            }
+            case ROLE_PERMISSIONS -> cache.evictCollectionData(ROLE_PERMISSIONS, id);
+        }
+        log.debug("Evicted L2 cache entries for {} {}", kind, id);
+    }
+}
@@ -0,0 +1,35 @@
+package com.cena.traveloka.iam.config;
+
+import com.cena.traveloka.common.startup.WarmupTask;
+import com.cena.traveloka.iam.entity.Role;
+import com.cena.traveloka.iam.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Configuration
+public class IamWarmupConfig {
+
+    /**
+     * Loads every role with its permissions once so the connection pool, Hibernate's
+     * query plans and entity caches are populated before the first login.
+     */
+    @Bean
+    public WarmupTask iamRoleWarmup(RoleRepository roleRepository, PlatformTransactionManager transactionManager) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        return WarmupTask.optional("iam-roles", () -> {
+            int permissions = transaction.execute(status -> {
+                List<Role> roles = roleRepository.findAll();
+                return roles.stream().mapToInt(role -> role.getPermissions().size()).sum();
+            });
+            log.debug("Preloaded roles with {} permission grant(s)", permissions);
+        });
+    }
+}
@@ -37,6 +37,9 @@ public class KeycloakConfig {
     @Value("${traveloka.iam.keycloak.connection-pool-size:10}")
     private int poolSize;
 
+    @Value("${traveloka.iam.keycloak.verify-on-startup:true}")
+    private boolean verifyOnStartup;
+
     @Value("${traveloka.iam.keycloak.connection-timeout:5000ms}")
     @DurationUnit(ChronoUnit.MILLIS)
     private Duration connectionTimeout;
@@ -65,7 +68,9 @@ public class KeycloakConfig {
 
             Keycloak keycloak = builder.build();
 
-            keycloak.serverInfo().getInfo();
+            if (verifyOnStartup) {
+                keycloak.serverInfo().getInfo();
+            }
             log.info("Keycloak admin client initialized successfully");
 
             return keycloak;
@@ -1,8 +1,12 @@
 package com.cena.traveloka.iam.config;
 
+import com.cena.traveloka.iam.security.TotpVerificationCache;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 @Configuration
 public class TwoFactorAuthConfig {
@@ -11,4 +15,13 @@ public class TwoFactorAuthConfig {
     public GoogleAuthenticator googleAuthenticator() {
         return new GoogleAuthenticator();
     }
+
+    @Bean
+    public RedisMessageListenerContainer totpInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           TotpVerificationCache totpVerificationCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(totpVerificationCache, new ChannelTopic(totpVerificationCache.getChannel()));
+        return container;
+    }
 }
@@ -3,8 +3,10 @@ package com.cena.traveloka.iam.controller;
 import com.cena.traveloka.common.dto.ApiResponse;
 import com.cena.traveloka.common.dto.PageResponse;
 import com.cena.traveloka.iam.dto.request.UpdateProfileRequest;
+import com.cena.traveloka.iam.dto.response.ProfileStatsDto;
 import com.cena.traveloka.iam.dto.response.UserDetailDto;
 import com.cena.traveloka.iam.dto.response.UserDto;
+import com.cena.traveloka.iam.service.ProfileService;
 import com.cena.traveloka.iam.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final ProfileService profileService;
 
     @GetMapping("/me")
     public ApiResponse<UserDetailDto> getCurrentUser(
@@ -90,6 +93,21 @@ public class UserController {
         );
     }
 
+    @GetMapping("/{id}/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ApiResponse<ProfileStatsDto> getUserStats(
+            @PathVariable UUID id
+    ) {
+        log.info("Get user stats request: {}", id);
+
+        ProfileStatsDto stats = profileService.getProfileStats(id);
+
+        return ApiResponse.success(
+                "User stats retrieved successfully",
+                stats
+        );
+    }
+
     @PostMapping("/{id}/lock")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public ApiResponse<Void> lockUser(
@@ -0,0 +1,23 @@
+package com.cena.traveloka.iam.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileStatsDto {
+
+    private Integer loyaltyPoints;
+
+    private String loyaltyTier;
+
+    private Integer totalBookings;
+
+    private BigDecimal totalSpent;
+}
@@ -4,6 +4,8 @@ import com.cena.traveloka.common.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -24,6 +26,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "iam-role")
 public class Role {
     @Id
     @GeneratedValue
@@ -56,6 +59,7 @@ public class Role {
     OffsetDateTime updatedAt;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "iam-role-permissions")
     @JoinTable(
             name = "role_permissions", schema = "iam",
             joinColumns = @JoinColumn(name = "role_id"),
@@ -5,6 +5,7 @@ import com.cena.traveloka.common.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -27,6 +28,7 @@ import java.util.*;
 @Builder @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
+@DynamicUpdate // login counters are folded in by LoginStatsFoldScheduler; don't overwrite them on unrelated saves
 public class User {
     @Id
     @GeneratedValue
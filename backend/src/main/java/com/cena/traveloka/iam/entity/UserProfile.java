@@ -73,10 +73,15 @@ public class UserProfile {
     @Column(columnDefinition = "jsonb")
     JsonNode hotelLoyaltyPrograms;
 
+    // Stats columns are only changed by UserStatsAggregator, so saving a profile never overwrites folded deltas
+    @Column(updatable = false)
     Integer totalBookings = 0;
+    @Column(updatable = false)
     java.math.BigDecimal totalSpent; // common.price -> BigDecimal
     java.time.LocalDate memberSince;
+    @Column(updatable = false)
     Integer loyaltyPoints = 0;
+    @Column(updatable = false)
     String loyaltyTier = "bronze";
 
     Integer profileCompletionPercentage = 0;
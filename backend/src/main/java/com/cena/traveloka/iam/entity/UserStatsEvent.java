@@ -0,0 +1,41 @@
+package com.cena.traveloka.iam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_stats_events", schema = "iam")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserStatsEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    UUID userId;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    Integer pointsDelta = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    Integer bookingsDelta = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    BigDecimal spentDelta = BigDecimal.ZERO;
+
+    @Column(nullable = false, updatable = false)
+    OffsetDateTime createdAt;
+}
@@ -2,7 +2,11 @@ package com.cena.traveloka.iam.repository;
 
 import com.cena.traveloka.iam.entity.Session;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -22,6 +26,33 @@ public interface IamSessionRepository extends JpaRepository<Session, UUID> {
 
     List<Session> findByIsActiveTrueAndExpiresAtBefore(OffsetDateTime now);
 
+    List<SessionExpiry> findExpiriesByIsActiveTrueAndExpiresAtBefore(OffsetDateTime horizon);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Session s
+            SET s.isActive = false,
+                s.terminatedAt = :now,
+                s.terminationReason = 'Session expired'
+            WHERE s.id = :id
+              AND s.isActive = true
+              AND s.expiresAt <= :now
+            """)
+    int expireIfDue(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Session s
+            SET s.isActive = false,
+                s.terminatedAt = :now,
+                s.terminationReason = 'Session expired'
+            WHERE s.isActive = true
+              AND s.expiresAt <= :now
+            """)
+    int expireDueSessions(@Param("now") OffsetDateTime now);
+
     List<Session> findByIsSuspiciousTrue();
 
     List<Session> findByRequires2faTrueAndTwoFaCompletedFalse();
@@ -31,4 +62,10 @@ public interface IamSessionRepository extends JpaRepository<Session, UUID> {
     void deleteByUserId(UUID userId);
 
     List<Session> findByDeviceId(String deviceId);
+
+    interface SessionExpiry {
+        UUID getId();
+
+        OffsetDateTime getExpiresAt();
+    }
 }
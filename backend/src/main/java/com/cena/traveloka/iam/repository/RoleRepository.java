@@ -2,7 +2,10 @@ package com.cena.traveloka.iam.repository;
 
 import com.cena.traveloka.common.enums.Status;
 import com.cena.traveloka.iam.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +15,12 @@ import java.util.UUID;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, UUID> {
 
+    String FIND_BY_NAME_QUERY_REGION = "iam-role-by-name";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = FIND_BY_NAME_QUERY_REGION)
+    })
     Optional<Role> findByName(String name);
 
     Optional<Role> findByKeycloakRoleId(UUID keycloakRoleId);
@@ -2,9 +2,17 @@ package com.cena.traveloka.iam.repository;
 
 import com.cena.traveloka.common.enums.Status;
 import com.cena.traveloka.iam.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +20,12 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    /**
+     * Query space of the native statements below. Without it Hibernate assumes a native update
+     * may have touched any table and empties every second-level cache region.
+     */
+    String USERS_TABLE = "iam.users";
+
     Optional<User> findByEmail(String email);
 
     Optional<User> findByUsername(String username);
@@ -26,9 +40,48 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     List<User> findByAccountLockedTrue();
 
+    long countByAccountLockedTrue();
+
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USERS_TABLE))
+    @Query(value = """
+            UPDATE iam.users
+            SET account_locked = FALSE,
+                locked_until = NULL,
+                lock_reason = NULL,
+                failed_login_attempts = 0
+            WHERE account_locked = TRUE
+              AND locked_until < now()
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> unlockExpiredAccounts();
+
+    List<LockExpiry> findByAccountLockedTrueAndLockedUntilBefore(OffsetDateTime horizon);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = USERS_TABLE))
+    @Query(value = """
+            UPDATE iam.users
+            SET account_locked = FALSE,
+                locked_until = NULL,
+                lock_reason = NULL,
+                failed_login_attempts = 0
+            WHERE id = :id
+              AND account_locked = TRUE
+              AND locked_until <= now()
+            """, nativeQuery = true)
+    int unlockIfExpired(@Param("id") UUID id);
+
     List<User> findByFailedLoginAttemptsGreaterThanEqual(int threshold);
 
-    List<User> findByStatusAndLockedUntilBefore(Status status, java.time.OffsetDateTime lockedUntil);
+    List<User> findByStatusAndLockedUntilBefore(Status status, OffsetDateTime lockedUntil);
 
     long countByStatus(Status status);
+
+    interface LockExpiry {
+        UUID getId();
+
+        OffsetDateTime getLockedUntil();
+    }
 }
@@ -0,0 +1,97 @@
+package com.cena.traveloka.iam.repository;
+
+import com.cena.traveloka.iam.entity.UserStatsEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserStatsEventRepository extends JpaRepository<UserStatsEvent, Long> {
+
+    /**
+     * Folded totals plus the user's unfolded events, in one statement so both come from the same
+     * snapshot: a fold committing in between can neither count an event twice nor miss it.
+     */
+    @Query(value = """
+            SELECT COALESCE(p.loyalty_points, 0) + COALESCE(e.points, 0) AS "loyaltyPoints",
+                   COALESCE(p.total_bookings, 0) + COALESCE(e.bookings, 0) AS "totalBookings",
+                   COALESCE(p.total_spent, 0) + COALESCE(e.spent, 0) AS "totalSpent"
+            FROM iam.user_profiles p
+                     CROSS JOIN LATERAL (
+                         SELECT SUM(points_delta) AS points,
+                                SUM(bookings_delta) AS bookings,
+                                SUM(spent_delta) AS spent
+                         FROM iam.user_stats_events
+                         WHERE user_id = p.user_id
+                     ) e
+            WHERE p.user_id = :userId
+            """, nativeQuery = true)
+    Optional<ProfileStats> findProfileStats(@Param("userId") UUID userId);
+
+    /**
+     * Folds up to {@code batchSize} of the oldest events into iam.user_profiles, deleting them and
+     * recalculating the loyalty tier in the same statement, so the ledger only ever holds the
+     * unfolded tail. Concurrent callers skip each other's events;
+     * UserStatsAggregator still runs it on one node at a time so profile row locks never cross.
+     * Tier thresholds mirror ProfileService#calculateLoyaltyTier. The query spaces keep the bulk
+     * update from emptying unrelated second-level cache regions.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "iam.user_stats_events"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "iam.user_profiles")
+    })
+    @Query(value = """
+            WITH batch AS (
+                SELECT id
+                FROM iam.user_stats_events
+                ORDER BY id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            ), folded AS (
+                DELETE FROM iam.user_stats_events e
+                USING batch
+                WHERE e.id = batch.id
+                RETURNING e.user_id, e.points_delta, e.bookings_delta, e.spent_delta
+            ), totals AS (
+                SELECT user_id,
+                       SUM(points_delta) AS points,
+                       SUM(bookings_delta) AS bookings,
+                       SUM(spent_delta) AS spent
+                FROM folded
+                GROUP BY user_id
+            )
+            UPDATE iam.user_profiles p
+            SET loyalty_points = COALESCE(p.loyalty_points, 0) + t.points,
+                total_bookings = COALESCE(p.total_bookings, 0) + t.bookings,
+                total_spent = COALESCE(p.total_spent, 0) + t.spent,
+                loyalty_tier = CASE
+                    WHEN COALESCE(p.loyalty_points, 0) + t.points >= 10000 THEN 'platinum'
+                    WHEN COALESCE(p.loyalty_points, 0) + t.points >= 5000 THEN 'gold'
+                    WHEN COALESCE(p.loyalty_points, 0) + t.points >= 1000 THEN 'silver'
+                    ELSE 'bronze'
+                END
+            FROM totals t
+            WHERE p.user_id = t.user_id
+            """, nativeQuery = true)
+    int foldPendingEvents(@Param("batchSize") int batchSize);
+
+    interface ProfileStats {
+        Long getLoyaltyPoints();
+
+        Long getTotalBookings();
+
+        BigDecimal getTotalSpent();
+    }
+}
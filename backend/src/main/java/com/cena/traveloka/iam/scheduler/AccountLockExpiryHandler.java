@@ -0,0 +1,46 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.DeadlineHandler;
+import com.cena.traveloka.iam.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountLockExpiryHandler implements DeadlineHandler {
+
+    public static final String NAME = "iam.account-lock";
+
+    private final UserRepository userRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Map<String, Instant> loadPendingDeadlines(Instant horizon) {
+        return userRepository.findByAccountLockedTrueAndLockedUntilBefore(OffsetDateTime.ofInstant(horizon, ZoneOffset.UTC))
+            .stream()
+            .collect(Collectors.toMap(
+                expiry -> expiry.getId().toString(),
+                expiry -> expiry.getLockedUntil().toInstant()
+            ));
+    }
+
+    @Override
+    public void onDeadline(String key) {
+        if (userRepository.unlockIfExpired(UUID.fromString(key)) > 0) {
+            log.info("Account lockout expired for user: {}", key);
+        }
+    }
+}
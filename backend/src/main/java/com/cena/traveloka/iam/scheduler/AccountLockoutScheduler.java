@@ -1,71 +1,83 @@
 package com.cena.traveloka.iam.scheduler;
 
-import com.cena.traveloka.common.enums.Status;
-import com.cena.traveloka.iam.entity.User;
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
 import com.cena.traveloka.iam.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
+import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AccountLockoutScheduler {
 
+    static final String UNLOCK_JOB_NAME = "iam.unlock-expired-accounts";
+
+    private static final Duration UNLOCK_LOCK_AT_MOST_FOR = Duration.ofMinutes(4);
+    private static final Duration UNLOCK_LOCK_AT_LEAST_FOR = Duration.ofSeconds(30);
+
     private final UserRepository userRepository;
+    private final ClusterJobLock clusterJobLock;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lockedAccounts = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("iam.accounts.locked", lockedAccounts, AtomicLong::get)
+            .description("Number of accounts currently locked out")
+            .register(meterRegistry);
+    }
 
-    @Scheduled(fixedRate = 300000, initialDelay = 60000)
-    @Transactional
+    // Lockouts are normally released by AccountLockExpiryHandler; this sweep only catches missed deadlines
+    @Scheduled(fixedRateString = "${app.iam.lockout.sweep-interval-ms:3600000}", initialDelay = 60000)
     public void unlockExpiredAccounts() {
+        clusterJobLock.executeExclusively(
+            UNLOCK_JOB_NAME,
+            UNLOCK_LOCK_AT_MOST_FOR,
+            UNLOCK_LOCK_AT_LEAST_FOR,
+            this::unlockExpiredAccountsOnThisNode
+        );
+    }
+
+    private void unlockExpiredAccountsOnThisNode() {
         log.debug("Starting automatic account lockout expiration check");
 
         try {
-            OffsetDateTime now = OffsetDateTime.now();
-
-            List<User> expiredLockouts = userRepository.findByAccountLockedTrue().stream()
-                .filter(user -> user.getLockedUntil() != null && user.getLockedUntil().isBefore(now))
-                .toList();
+            List<UUID> unlockedIds = userRepository.unlockExpiredAccounts();
 
-            if (expiredLockouts.isEmpty()) {
+            if (unlockedIds.isEmpty()) {
                 log.debug("No expired account lockouts found");
                 return;
             }
 
-            log.info("Found {} account(s) with expired lockout period", expiredLockouts.size());
-
-            for (User user : expiredLockouts) {
-                log.info("Unlocking account for user: {} (ID: {}), locked until: {}",
-                    user.getEmail(),
-                    user.getId(),
-                    user.getLockedUntil()
-                );
-
-                user.setAccountLocked(false);
-                user.setLockedUntil(null);
-                user.setFailedLoginAttempts(0);
-                user.setLockReason(null);
-            }
-
-            userRepository.saveAll(expiredLockouts);
-
-            log.info("Successfully unlocked {} account(s)", expiredLockouts.size());
+            log.info("Successfully unlocked {} account(s) with expired lockout period", unlockedIds.size());
+            log.debug("Unlocked account ids: {}", unlockedIds);
 
         } catch (Exception e) {
             log.error("Error occurred during automatic account unlock process", e);
-            throw e; // Re-throw to trigger transaction rollback
+            throw e;
         }
     }
 
+    // Runs on every node so each instance reports the gauge; the COUNT uses idx_users_locked_until
+    @Scheduled(fixedRate = 60000, initialDelay = 30000)
+    public void refreshLockedAccountsGauge() {
+        lockedAccounts.set(userRepository.countByAccountLockedTrue());
+    }
+
     @Scheduled(cron = "0 0 * * * *") // Every hour on the hour
     public void logSchedulerStatus() {
         log.info("AccountLockoutScheduler is active and running");
-
-        long lockedCount = userRepository.findByAccountLockedTrue().size();
-        log.info("Current locked accounts: {}", lockedCount);
+        log.info("Current locked accounts: {}", lockedAccounts.get());
     }
 }
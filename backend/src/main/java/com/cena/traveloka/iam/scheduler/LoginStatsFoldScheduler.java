@@ -0,0 +1,109 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.iam.service.LoginStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the Redis login counters kept by LoginStatsService back to iam.users in one JDBC batch.
+ */
+@Slf4j
+@Component
+public class LoginStatsFoldScheduler {
+
+    static final String FOLD_JOB_NAME = "iam.fold-login-stats";
+
+    private static final Duration FOLD_LOCK_AT_MOST_FOR = Duration.ofMinutes(5);
+    private static final Duration FOLD_LOCK_AT_LEAST_FOR = Duration.ofSeconds(10);
+
+    private static final String FOLD_SQL = """
+            UPDATE iam.users
+            SET login_count = COALESCE(login_count, 0) + ?,
+                last_login_at = GREATEST(last_login_at, ?),
+                last_login_ip = COALESCE(CAST(? AS inet), last_login_ip),
+                failed_login_attempts = COALESCE(?, failed_login_attempts)
+            WHERE id = ?
+            """;
+
+    private final LoginStatsService loginStatsService;
+    private final ClusterJobLock clusterJobLock;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public LoginStatsFoldScheduler(LoginStatsService loginStatsService,
+                                   ClusterJobLock clusterJobLock,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${app.iam.login-stats.fold-batch-size:500}") int batchSize) {
+        this.loginStatsService = loginStatsService;
+        this.clusterJobLock = clusterJobLock;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.iam.login-stats.fold-interval-ms:60000}", initialDelay = 30000)
+    public void foldLoginStats() {
+        clusterJobLock.executeExclusively(
+            FOLD_JOB_NAME,
+            FOLD_LOCK_AT_MOST_FOR,
+            FOLD_LOCK_AT_LEAST_FOR,
+            this::foldAll
+        );
+    }
+
+    private void foldAll() {
+        int folded = 0;
+        List<String> userIds;
+
+        while (!(userIds = loginStatsService.popDirtyUsers(batchSize)).isEmpty()) {
+            folded += foldBatch(userIds);
+            if (userIds.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (folded > 0) {
+            log.debug("Folded login stats for {} user(s)", folded);
+        }
+    }
+
+    private int foldBatch(List<String> userIds) {
+        List<String> foldedIds = new ArrayList<>(userIds.size());
+        List<LoginStatsService.PendingLoginStats> foldedStats = new ArrayList<>(userIds.size());
+        List<Object[]> batch = new ArrayList<>(userIds.size());
+
+        for (String userId : userIds) {
+            LoginStatsService.PendingLoginStats stats = loginStatsService.readPending(userId);
+            foldedIds.add(userId);
+            foldedStats.add(stats);
+            batch.add(new Object[]{
+                stats.loginCount(),
+                stats.lastLoginAt(),
+                stats.lastLoginIp(),
+                stats.failedAttempts(),
+                UUID.fromString(userId)
+            });
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FOLD_SQL, batch);
+        } catch (Exception e) {
+            log.error("Failed to fold login stats for {} user(s), will retry", userIds.size(), e);
+            loginStatsService.markDirty(userIds);
+            return 0;
+        }
+
+        for (int i = 0; i < foldedIds.size(); i++) {
+            loginStatsService.acknowledgeFolded(foldedIds.get(i), foldedStats.get(i).loginCount());
+        }
+        return foldedIds.size();
+    }
+}
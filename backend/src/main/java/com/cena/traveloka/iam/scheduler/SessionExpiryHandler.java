@@ -0,0 +1,46 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.DeadlineHandler;
+import com.cena.traveloka.iam.repository.IamSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionExpiryHandler implements DeadlineHandler {
+
+    public static final String NAME = "iam.session";
+
+    private final IamSessionRepository sessionRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Map<String, Instant> loadPendingDeadlines(Instant horizon) {
+        return sessionRepository.findExpiriesByIsActiveTrueAndExpiresAtBefore(OffsetDateTime.ofInstant(horizon, ZoneOffset.UTC))
+            .stream()
+            .collect(Collectors.toMap(
+                expiry -> expiry.getId().toString(),
+                expiry -> expiry.getExpiresAt().toInstant()
+            ));
+    }
+
+    @Override
+    public void onDeadline(String key) {
+        if (sessionRepository.expireIfDue(UUID.fromString(key), OffsetDateTime.now()) > 0) {
+            log.debug("Session expired: {}", key);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.iam.repository.IamSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionExpiryScheduler {
+
+    static final String EXPIRE_JOB_NAME = "iam.expire-sessions";
+
+    private static final Duration EXPIRE_LOCK_AT_MOST_FOR = Duration.ofMinutes(4);
+    private static final Duration EXPIRE_LOCK_AT_LEAST_FOR = Duration.ofSeconds(30);
+
+    private final IamSessionRepository sessionRepository;
+    private final ClusterJobLock clusterJobLock;
+
+    // Sessions are normally expired by SessionExpiryHandler; this sweep only catches deadlines the
+    // in-memory wheel lost, e.g. sessions created on a node that went down before they were due
+    @Scheduled(fixedRateString = "${app.iam.session.sweep-interval-ms:3600000}", initialDelay = 90000)
+    public void expireDueSessions() {
+        clusterJobLock.executeExclusively(
+            EXPIRE_JOB_NAME,
+            EXPIRE_LOCK_AT_MOST_FOR,
+            EXPIRE_LOCK_AT_LEAST_FOR,
+            this::expireDueSessionsOnThisNode
+        );
+    }
+
+    private void expireDueSessionsOnThisNode() {
+        int expired = sessionRepository.expireDueSessions(OffsetDateTime.now());
+
+        if (expired > 0) {
+            log.info("Expired {} session(s) missed by the deadline scheduler", expired);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.cena.traveloka.iam.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces two_factor_auth.last_used_at updates and writes them in one JDBC batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TwoFactorLastUsedWriter {
+
+    private static final String UPDATE_LAST_USED_SQL = """
+            UPDATE iam.two_factor_auth
+            SET last_used_at = ?, updated_at = ?
+            WHERE id = ?
+              AND (last_used_at IS NULL OR last_used_at < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<UUID, OffsetDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(UUID twoFactorId) {
+        pending.put(twoFactorId, OffsetDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.iam.totp.last-used-flush-ms:30000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<UUID> ids = new ArrayList<>(pending.keySet());
+        List<Object[]> batch = new ArrayList<>(ids.size());
+        ids.forEach(id -> {
+            OffsetDateTime usedAt = pending.remove(id);
+            if (usedAt != null) {
+                batch.add(new Object[]{usedAt, usedAt, id, usedAt});
+            }
+        });
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_USED_SQL, batch);
+            log.debug("Flushed last_used_at for {} 2FA method(s)", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush 2FA last_used_at, will retry", e);
+            batch.forEach(row -> pending.merge((UUID) row[2], (OffsetDateTime) row[0],
+                (current, failed) -> current.isAfter(failed) ? current : failed));
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,63 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.iam.repository.UserStatsEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Folds iam.user_stats_events into iam.user_profiles. Runs on one node at a time, so two folds
+ * never update the same profiles in different orders and deadlock each other.
+ */
+@Slf4j
+@Component
+public class UserStatsAggregator {
+
+    static final String FOLD_JOB_NAME = "iam.fold-user-stats";
+
+    private static final Duration FOLD_LOCK_AT_MOST_FOR = Duration.ofMinutes(5);
+
+    private final UserStatsEventRepository statsEventRepository;
+    private final ClusterJobLock clusterJobLock;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public UserStatsAggregator(UserStatsEventRepository statsEventRepository,
+                               ClusterJobLock clusterJobLock,
+                               @Value("${app.iam.stats.fold-batch-size:1000}") int batchSize,
+                               @Value("${app.iam.stats.fold-max-batches:20}") int maxBatchesPerRun) {
+        this.statsEventRepository = statsEventRepository;
+        this.clusterJobLock = clusterJobLock;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.iam.stats.fold-interval-ms:5000}", initialDelay = 10000)
+    public void foldPendingEvents() {
+        clusterJobLock.executeExclusively(FOLD_JOB_NAME, FOLD_LOCK_AT_MOST_FOR, Duration.ZERO, this::fold);
+    }
+
+    private void fold() {
+        int profilesUpdated = 0;
+
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int updated = statsEventRepository.foldPendingEvents(batchSize);
+                if (updated == 0) {
+                    break;
+                }
+                profilesUpdated += updated;
+            }
+        } catch (Exception e) {
+            log.error("Failed to fold user stats events", e);
+        }
+
+        if (profilesUpdated > 0) {
+            log.debug("Folded stats events into {} profile update(s)", profilesUpdated);
+        }
+    }
+}
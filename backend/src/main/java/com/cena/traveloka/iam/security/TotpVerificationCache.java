@@ -0,0 +1,241 @@
+package com.cena.traveloka.iam.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-node state for TOTP verification: a short-lived, size-bounded cache of active secrets,
+ * the last accepted time step per user for replay rejection, and failed-attempt counters.
+ * Redis shares the last accepted step and failure counts across nodes, and carries secret
+ * evictions so that a disabled or replaced secret stops verifying on every node at once.
+ */
+@Slf4j
+@Component
+public class TotpVerificationCache implements MessageListener {
+
+    // GoogleAuthenticator default time step
+    public static final long TIME_STEP_MILLIS = 30_000;
+
+    private static final String LAST_STEP_KEY_PREFIX = "totp_last_step:";
+    private static final String FAILURE_KEY_PREFIX = "totp_failures:";
+
+    // Accepts a step only if it is later than every step accepted before it, on any node
+    private static final RedisScript<Long> CLAIM_STEP_SCRIPT = RedisScript.of("""
+            local last = tonumber(redis.call('GET', KEYS[1]))
+            if last and last >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long secretTtlMs;
+    private final int maxSecrets;
+    private final int maxFailures;
+    private final Duration failureWindow;
+    private final Duration usedStepRetention;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<UUID, CachedSecret> secrets = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> lastAcceptedSteps = new ConcurrentHashMap<>();
+    private final Map<UUID, FailureWindow> failures = new ConcurrentHashMap<>();
+
+    public TotpVerificationCache(RedisTemplate<String, String> redisTemplate,
+                                 @Value("${app.iam.totp.secret-cache-ttl:2m}") Duration secretTtl,
+                                 @Value("${app.iam.totp.secret-cache-max-size:10000}") int maxSecrets,
+                                 @Value("${app.iam.totp.max-failed-attempts:5}") int maxFailures,
+                                 @Value("${app.iam.totp.failure-window:15m}") Duration failureWindow,
+                                 @Value("${app.iam.totp.used-step-retention:2m}") Duration usedStepRetention,
+                                 @Value("${app.iam.totp.invalidation-channel:iam:totp-invalidation}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.secretTtlMs = secretTtl.toMillis();
+        this.maxSecrets = maxSecrets;
+        this.maxFailures = maxFailures;
+        this.failureWindow = failureWindow;
+        this.usedStepRetention = usedStepRetention;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public Optional<CachedSecret> getSecret(UUID userId) {
+        CachedSecret cached = secrets.get(userId);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (cached.expiresAtMs() <= System.currentTimeMillis()) {
+            secrets.remove(userId, cached);
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    public CachedSecret putSecret(UUID userId, UUID twoFactorId, String secret) {
+        if (secrets.size() >= maxSecrets) {
+            evictSecrets();
+        }
+        CachedSecret cached = new CachedSecret(twoFactorId, secret, System.currentTimeMillis() + secretTtlMs);
+        secrets.put(userId, cached);
+        return cached;
+    }
+
+    /**
+     * Drops the user's secret here now, and here and on every other node once the surrounding
+     * transaction commits, so a verification racing the commit cannot re-cache the old secret.
+     */
+    public void evictSecret(UUID userId) {
+        secrets.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    secrets.remove(userId);
+                    publishEviction(userId);
+                }
+            });
+        } else {
+            publishEviction(userId);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            secrets.remove(UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed TOTP secret eviction: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims a time step for the user. Returns false if that step, or a later one, was already accepted.
+     */
+    public boolean markStepUsed(UUID userId, long timeStep) {
+        boolean[] claimed = new boolean[1];
+        lastAcceptedSteps.compute(userId, (id, previous) -> {
+            if (previous != null && previous >= timeStep) {
+                return previous;
+            }
+            claimed[0] = true;
+            return timeStep;
+        });
+
+        if (!claimed[0]) {
+            return false;
+        }
+
+        try {
+            Long claimedShared = redisTemplate.execute(CLAIM_STEP_SCRIPT, List.of(LAST_STEP_KEY_PREFIX + userId),
+                String.valueOf(timeStep), String.valueOf(usedStepRetention.toMillis()));
+            return !Long.valueOf(0).equals(claimedShared);
+        } catch (Exception e) {
+            log.warn("Could not record TOTP step in Redis, relying on local replay check: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    public boolean isThrottled(UUID userId) {
+        FailureWindow window = failures.get(userId);
+        return window != null
+            && window.resetAtMs() > System.currentTimeMillis()
+            && window.count() >= maxFailures;
+    }
+
+    /**
+     * Counts a failed attempt locally and in Redis. A node that has not seen the user's earlier
+     * failures picks up the shared count on the first failure it handles.
+     */
+    public void recordFailure(UUID userId) {
+        long now = System.currentTimeMillis();
+        FailureWindow local = failures.merge(userId, new FailureWindow(1, now + failureWindow.toMillis()),
+            (current, added) -> current.resetAtMs() > now
+                ? new FailureWindow(current.count() + 1, current.resetAtMs())
+                : added);
+
+        try {
+            String key = FAILURE_KEY_PREFIX + userId;
+            Long shared = redisTemplate.opsForValue().increment(key);
+            if (shared != null && shared == 1) {
+                redisTemplate.expire(key, failureWindow.toSeconds(), TimeUnit.SECONDS);
+            }
+            if (shared != null && shared > local.count()) {
+                failures.put(userId, new FailureWindow(shared.intValue(), local.resetAtMs()));
+            }
+        } catch (Exception e) {
+            log.warn("Could not record TOTP failure in Redis, throttling on local count only: {}", e.getMessage());
+        }
+    }
+
+    public void resetFailures(UUID userId) {
+        if (failures.remove(userId) == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(FAILURE_KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("Could not reset TOTP failures in Redis: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long oldestUsefulStep = (now - usedStepRetention.toMillis()) / TIME_STEP_MILLIS;
+
+        secrets.values().removeIf(cached -> cached.expiresAtMs() <= now);
+        failures.values().removeIf(window -> window.resetAtMs() <= now);
+        lastAcceptedSteps.values().removeIf(step -> step < oldestUsefulStep);
+    }
+
+    private void publishEviction(UUID userId) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish TOTP secret eviction for {}, other nodes keep it until it expires: {}",
+                userId, e.getMessage());
+        }
+    }
+
+    private void evictSecrets() {
+        long now = System.currentTimeMillis();
+        secrets.values().removeIf(cached -> cached.expiresAtMs() <= now);
+
+        Iterator<UUID> iterator = secrets.keySet().iterator();
+        while (secrets.size() >= maxSecrets && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public record CachedSecret(UUID twoFactorId, String secret, long expiresAtMs) {
+    }
+
+    private record FailureWindow(int count, long resetAtMs) {
+    }
+}
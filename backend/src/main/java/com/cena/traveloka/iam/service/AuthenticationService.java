@@ -1,6 +1,7 @@
 package com.cena.traveloka.iam.service;
 
 import com.cena.traveloka.common.enums.Status;
+import com.cena.traveloka.common.scheduling.DeadlineScheduler;
 import com.cena.traveloka.iam.dto.request.LoginRequest;
 import com.cena.traveloka.iam.dto.request.RegisterRequest;
 import com.cena.traveloka.iam.dto.response.AuthResponse;
@@ -10,6 +11,7 @@ import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.mapper.UserMapper;
 import com.cena.traveloka.iam.repository.LoginHistoryRepository;
 import com.cena.traveloka.iam.repository.UserRepository;
+import com.cena.traveloka.iam.scheduler.AccountLockExpiryHandler;
 import com.cena.traveloka.iam.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +39,8 @@ public class AuthenticationService {
     private final JwtTokenProvider jwtTokenProvider;
     private final SessionService sessionService;
     private final UserMapper userMapper;
+    private final DeadlineScheduler deadlineScheduler;
+    private final LoginStatsService loginStatsService;
 
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCKOUT_DURATION_MINUTES = 30;
@@ -145,11 +149,14 @@ public class AuthenticationService {
     }
 
     private void handleSuccessfulLogin(User user, String ipAddress, String userAgent) {
-        user.setFailedLoginAttempts(0);
-        user.setLastLoginAt(OffsetDateTime.now());
-        user.setLastLoginIp(ipAddress);
-        user.setLoginCount(user.getLoginCount() + 1);
-        userRepository.save(user);
+        // Counters live in Redis and are folded into iam.users in bulk; write through only if Redis is down
+        if (!loginStatsService.recordSuccessfulLogin(user.getId(), ipAddress)) {
+            user.setFailedLoginAttempts(0);
+            user.setLastLoginAt(OffsetDateTime.now());
+            user.setLastLoginIp(ipAddress);
+            user.setLoginCount(user.getLoginCount() + 1);
+            userRepository.save(user);
+        }
 
         LoginHistory history = LoginHistory.builder()
                 .user(user)
@@ -164,17 +171,24 @@ public class AuthenticationService {
     }
 
     private void handleFailedLogin(User user, String email, String ipAddress, String userAgent) {
-        int failedAttempts = user.getFailedLoginAttempts() + 1;
-        user.setFailedLoginAttempts(failedAttempts);
+        int persistedAttempts = user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0;
+        Integer countedAttempts = loginStatsService.recordFailedLogin(user.getId(), persistedAttempts);
+        int failedAttempts = countedAttempts != null ? countedAttempts : persistedAttempts + 1;
 
         if (failedAttempts >= MAX_FAILED_ATTEMPTS) {
+            user.setFailedLoginAttempts(failedAttempts);
             user.setAccountLocked(true);
             user.setLockedUntil(OffsetDateTime.now().plusMinutes(LOCKOUT_DURATION_MINUTES));
             user.setLockReason("Account locked due to 5 failed login attempts");
+            userRepository.save(user);
+            deadlineScheduler.schedule(AccountLockExpiryHandler.NAME, user.getId().toString(), user.getLockedUntil().toInstant());
+            loginStatsService.clearFailedAttempts(user.getId());
             log.warn("Account locked for user: {} - Too many failed attempts", email);
+        } else if (countedAttempts == null) {
+            user.setFailedLoginAttempts(failedAttempts);
+            userRepository.save(user);
         }
 
-        userRepository.save(user);
         recordFailedLogin(user, email, "Invalid password", ipAddress, userAgent);
     }
 
@@ -197,6 +211,9 @@ public class AuthenticationService {
         user.setLockReason(null);
         user.setFailedLoginAttempts(0);
         userRepository.save(user);
+        // Otherwise the next fold or failed attempt brings the old count back
+        loginStatsService.clearFailedAttempts(user.getId());
+        deadlineScheduler.cancel(AccountLockExpiryHandler.NAME, user.getId().toString());
         log.info("Account unlocked for user: {}", user.getEmail());
     }
 
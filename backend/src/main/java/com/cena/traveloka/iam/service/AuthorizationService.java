@@ -1,6 +1,5 @@
 package com.cena.traveloka.iam.service;
 
-import com.cena.traveloka.iam.entity.Permission;
 import com.cena.traveloka.iam.entity.Role;
 import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.repository.PermissionRepository;
@@ -86,13 +85,11 @@ public class AuthorizationService {
 
     @Cacheable(value = "userAllPermissions", key = "#userId")
     public Set<String> getUserPermissions(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
-
-        return user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(Permission::getName)
-                .collect(Collectors.toSet());
+        Set<String> permissions = permissionRepository.findNamesByUserId(userId);
+        if (permissions.isEmpty() && !userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with ID: " + userId);
+        }
+        return permissions;
     }
 
     @Cacheable(value = "userAllRoles", key = "#userId")
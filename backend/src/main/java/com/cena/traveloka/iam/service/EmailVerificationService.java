@@ -4,13 +4,17 @@ import com.cena.traveloka.iam.entity.EmailVerificationToken;
 import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.repository.EmailVerificationTokenRepository;
 import com.cena.traveloka.iam.repository.UserRepository;
+import com.cena.traveloka.notify.service.EmailOutboxService;
+import com.cena.traveloka.notify.service.EmailTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -21,6 +25,10 @@ public class EmailVerificationService {
 
     private final EmailVerificationTokenRepository tokenRepository;
     private final UserRepository userRepository;
+    private final EmailOutboxService emailOutboxService;
+
+    @Value("${app.notify.email.link-base-url:http://localhost:3000}")
+    private String linkBaseUrl;
 
     private static final int TOKEN_EXPIRY_HOURS = 24;
 
@@ -41,6 +49,11 @@ public class EmailVerificationService {
                 .build();
 
         EmailVerificationToken saved = tokenRepository.save(token);
+        emailOutboxService.enqueue(EmailTemplate.VERIFICATION, user.getEmail(), Map.of(
+                "userName", user.getFirstName() != null ? user.getFirstName() : user.getEmail(),
+                "verificationUrl", linkBaseUrl + "/verify-email?token=" + saved.getToken(),
+                "expiryHours", TOKEN_EXPIRY_HOURS
+        ));
 
         log.info("Email verification token created for user: {}", userId);
         return saved;
@@ -0,0 +1,144 @@
+package com.cena.traveloka.iam.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Login and failure counters kept in one Redis hash per user instead of on iam.users.
+ * Changed users are tracked in a set and folded back by LoginStatsFoldScheduler.
+ * Write methods return null/false when Redis is unavailable so callers can fall back to the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoginStatsService {
+
+    static final String STATS_KEY_PREFIX = "login_stats:";
+    static final String DIRTY_USERS_KEY = "login_stats:dirty";
+
+    static final String LOGIN_COUNT = "login_count";
+    static final String LAST_LOGIN_AT = "last_login_at";
+    static final String LAST_LOGIN_IP = "last_login_ip";
+    static final String FAILED_ATTEMPTS = "failed_attempts";
+
+    private static final Duration STATS_TTL = Duration.ofDays(7);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public boolean recordSuccessfulLogin(UUID userId, String ipAddress) {
+        String key = STATS_KEY_PREFIX + userId;
+        Map<String, String> fields = ipAddress != null
+                ? Map.of(LAST_LOGIN_AT, String.valueOf(System.currentTimeMillis()),
+                        LAST_LOGIN_IP, ipAddress,
+                        FAILED_ATTEMPTS, "0")
+                : Map.of(LAST_LOGIN_AT, String.valueOf(System.currentTimeMillis()),
+                        FAILED_ATTEMPTS, "0");
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.opsForHash().increment(key, LOGIN_COUNT, 1);
+                    ops.opsForHash().putAll(key, fields);
+                    ops.expire(key, STATS_TTL);
+                    ops.opsForSet().add(DIRTY_USERS_KEY, userId.toString());
+                    return null;
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not record login stats in Redis for user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Increments the failure counter, seeding it from the persisted value the first time.
+     * Returns the new count, or null if Redis is unavailable.
+     */
+    public Integer recordFailedLogin(UUID userId, int persistedAttempts) {
+        String key = STATS_KEY_PREFIX + userId;
+
+        try {
+            HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+            hash.putIfAbsent(key, FAILED_ATTEMPTS, String.valueOf(persistedAttempts));
+            Long attempts = hash.increment(key, FAILED_ATTEMPTS, 1);
+            redisTemplate.expire(key, STATS_TTL);
+            redisTemplate.opsForSet().add(DIRTY_USERS_KEY, userId.toString());
+            return attempts != null ? attempts.intValue() : null;
+        } catch (Exception e) {
+            log.warn("Could not record failed login in Redis for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Drops the failure counter once the account is locked, so the next count after unlock
+     * is seeded from the database again.
+     */
+    public void clearFailedAttempts(UUID userId) {
+        try {
+            redisTemplate.opsForHash().delete(STATS_KEY_PREFIX + userId, FAILED_ATTEMPTS);
+        } catch (Exception e) {
+            log.warn("Could not clear failed login counter in Redis for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    public List<String> popDirtyUsers(int max) {
+        List<String> userIds = redisTemplate.opsForSet().pop(DIRTY_USERS_KEY, max);
+        return userIds != null ? userIds : List.of();
+    }
+
+    public void markDirty(Collection<String> userIds) {
+        if (!userIds.isEmpty()) {
+            redisTemplate.opsForSet().add(DIRTY_USERS_KEY, userIds.toArray(String[]::new));
+        }
+    }
+
+    public PendingLoginStats readPending(String userId) {
+        HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+        Map<String, String> fields = hash.entries(STATS_KEY_PREFIX + userId);
+
+        String lastLoginAt = fields.get(LAST_LOGIN_AT);
+        String failedAttempts = fields.get(FAILED_ATTEMPTS);
+
+        return new PendingLoginStats(
+                Long.parseLong(fields.getOrDefault(LOGIN_COUNT, "0")),
+                lastLoginAt != null
+                        ? OffsetDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lastLoginAt)), ZoneOffset.UTC)
+                        : null,
+                fields.get(LAST_LOGIN_IP),
+                failedAttempts != null ? Integer.valueOf(failedAttempts) : null
+        );
+    }
+
+    /**
+     * Subtracts the folded login count, keeping any logins recorded while the fold was running.
+     */
+    public void acknowledgeFolded(String userId, long foldedLoginCount) {
+        if (foldedLoginCount > 0) {
+            redisTemplate.opsForHash().increment(STATS_KEY_PREFIX + userId, LOGIN_COUNT, -foldedLoginCount);
+        }
+    }
+
+    public record PendingLoginStats(long loginCount, OffsetDateTime lastLoginAt, String lastLoginIp,
+                                    Integer failedAttempts) {
+    }
+}
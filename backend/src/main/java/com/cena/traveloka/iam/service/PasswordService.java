@@ -4,13 +4,17 @@ import com.cena.traveloka.iam.entity.PasswordResetToken;
 import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.repository.PasswordResetTokenRepository;
 import com.cena.traveloka.iam.repository.UserRepository;
+import com.cena.traveloka.notify.service.EmailOutboxService;
+import com.cena.traveloka.notify.service.EmailTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.regex.Pattern;
@@ -25,6 +29,10 @@ public class PasswordService {
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
     private final KeycloakSyncService keycloakSyncService;
+    private final EmailOutboxService emailOutboxService;
+
+    @Value("${app.notify.email.link-base-url:http://localhost:3000}")
+    private String linkBaseUrl;
 
     private static final Pattern PASSWORD_PATTERN = Pattern.compile(
             "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&#])[A-Za-z\\d@$!%*?&#]{8,}$"
@@ -61,6 +69,12 @@ public class PasswordService {
                 .build();
 
         PasswordResetToken saved = tokenRepository.save(token);
+        emailOutboxService.enqueue(EmailTemplate.PASSWORD_RESET, user.getEmail(), Map.of(
+                "userName", user.getFirstName() != null ? user.getFirstName() : user.getEmail(),
+                "resetUrl", linkBaseUrl + "/reset-password?token=" + saved.getToken(),
+                "expiryMinutes", 60,
+                "requestTime", System.currentTimeMillis()
+        ));
         log.info("Created password reset token for user: {}", userId);
 
         return saved;
@@ -1,9 +1,12 @@
 package com.cena.traveloka.iam.service;
 
+import com.cena.traveloka.iam.dto.response.ProfileStatsDto;
 import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.entity.UserProfile;
+import com.cena.traveloka.iam.entity.UserStatsEvent;
 import com.cena.traveloka.iam.repository.UserProfileRepository;
 import com.cena.traveloka.iam.repository.UserRepository;
+import com.cena.traveloka.iam.repository.UserStatsEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +26,7 @@ public class ProfileService {
 
     private final UserProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final UserStatsEventRepository statsEventRepository;
 
     public UserProfile createProfile(UUID userId) {
         User user = userRepository.findById(userId)
@@ -124,31 +128,44 @@ public class ProfileService {
     }
 
     public void addLoyaltyPoints(UUID userId, int points) {
-        UserProfile profile = getProfile(userId);
-        profile.setLoyaltyPoints(profile.getLoyaltyPoints() + points);
-
-        String newTier = calculateLoyaltyTier(profile.getLoyaltyPoints());
-        if (!newTier.equals(profile.getLoyaltyTier())) {
-            profile.setLoyaltyTier(newTier);
-            log.info("User {} promoted to {} tier", userId, newTier);
-        }
-
-        profile.setUpdatedAt(OffsetDateTime.now());
-        profileRepository.save(profile);
+        statsEventRepository.save(UserStatsEvent.builder()
+                .userId(userId)
+                .pointsDelta(points)
+                .createdAt(OffsetDateTime.now())
+                .build());
 
         log.info("Added {} loyalty points to user: {}", points, userId);
     }
 
     public void updateBookingStats(UUID userId, BigDecimal bookingAmount) {
-        UserProfile profile = getProfile(userId);
-        profile.setTotalBookings(profile.getTotalBookings() + 1);
-        profile.setTotalSpent(profile.getTotalSpent().add(bookingAmount));
-        profile.setUpdatedAt(OffsetDateTime.now());
-        profileRepository.save(profile);
+        statsEventRepository.save(UserStatsEvent.builder()
+                .userId(userId)
+                .bookingsDelta(1)
+                .spentDelta(bookingAmount)
+                .createdAt(OffsetDateTime.now())
+                .build());
 
         log.info("Updated booking stats for user: {}", userId);
     }
 
+    /**
+     * Folded totals from the profile plus any events the aggregator has not applied yet.
+     */
+    @Transactional(readOnly = true)
+    public ProfileStatsDto getProfileStats(UUID userId) {
+        UserStatsEventRepository.ProfileStats stats = statsEventRepository.findProfileStats(userId)
+                .orElseThrow(() -> new RuntimeException("Profile not found for user: " + userId));
+
+        int loyaltyPoints = stats.getLoyaltyPoints().intValue();
+
+        return ProfileStatsDto.builder()
+                .loyaltyPoints(loyaltyPoints)
+                .loyaltyTier(calculateLoyaltyTier(loyaltyPoints))
+                .totalBookings(stats.getTotalBookings().intValue())
+                .totalSpent(stats.getTotalSpent())
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public boolean profileExists(UUID userId) {
         return profileRepository.existsByUserId(userId);
@@ -186,6 +203,7 @@ public class ProfileService {
         return (int) ((completedFields / (double) totalFields) * 100);
     }
 
+    // Keep in sync with the tier CASE in UserStatsEventRepository#foldPendingEvents
     private String calculateLoyaltyTier(int points) {
         if (points >= 10000) return "platinum";
         if (points >= 5000) return "gold";
@@ -1,10 +1,12 @@
 package com.cena.traveloka.iam.service;
 
+import com.cena.traveloka.common.scheduling.DeadlineScheduler;
 import com.cena.traveloka.iam.dto.response.SessionDto;
 import com.cena.traveloka.iam.entity.Session;
 import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.mapper.SessionMapper;
 import com.cena.traveloka.iam.repository.IamSessionRepository;
+import com.cena.traveloka.iam.scheduler.SessionExpiryHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ public class SessionService {
 
     private final IamSessionRepository sessionRepository;
     private final SessionMapper sessionMapper;
+    private final DeadlineScheduler deadlineScheduler;
 
     private static final int MAX_SESSIONS_PER_USER = 5;
     private static final int SESSION_EXPIRY_HOURS = 24;
@@ -55,6 +58,9 @@ public class SessionService {
                 .build();
 
         Session saved = sessionRepository.save(session);
+        if (saved != null && saved.getId() != null) {
+            deadlineScheduler.schedule(SessionExpiryHandler.NAME, saved.getId().toString(), saved.getExpiresAt().toInstant());
+        }
 
         enforceSessionLimit(user.getId());
 
@@ -88,6 +94,7 @@ public class SessionService {
                 session.setTerminatedAt(OffsetDateTime.now());
                 session.setTerminationReason("Session limit exceeded (max 5 concurrent sessions)");
                 sessionRepository.save(session);
+                cancelExpiry(session);
 
                 log.info("Terminated oldest session for user: {} due to session limit", userId);
             }
@@ -102,6 +109,7 @@ public class SessionService {
         session.setTerminatedAt(OffsetDateTime.now());
         session.setTerminationReason(reason);
         sessionRepository.save(session);
+        cancelExpiry(session);
 
         log.info("Session terminated: {} - Reason: {}", sessionId, reason);
     }
@@ -114,6 +122,7 @@ public class SessionService {
         session.setTerminatedAt(OffsetDateTime.now());
         session.setTerminationReason("User logout");
         sessionRepository.save(session);
+        cancelExpiry(session);
 
         log.info("Session terminated by token");
     }
@@ -126,6 +135,7 @@ public class SessionService {
             session.setTerminatedAt(OffsetDateTime.now());
             session.setTerminationReason("All sessions terminated by user");
             sessionRepository.save(session);
+            cancelExpiry(session);
         });
 
         log.info("All sessions terminated for user: {}", userId);
@@ -203,6 +213,12 @@ public class SessionService {
     }
 
 
+    private void cancelExpiry(Session session) {
+        if (session.getId() != null) {
+            deadlineScheduler.cancel(SessionExpiryHandler.NAME, session.getId().toString());
+        }
+    }
+
     private String parseDeviceType(String userAgent) {
         if (userAgent == null) return "unknown";
         userAgent = userAgent.toLowerCase();
@@ -5,11 +5,14 @@ import com.cena.traveloka.iam.entity.TwoFactorAuth;
 import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.repository.TwoFactorAuthRepository;
 import com.cena.traveloka.iam.repository.UserRepository;
+import com.cena.traveloka.iam.scheduler.TwoFactorLastUsedWriter;
+import com.cena.traveloka.iam.security.TotpVerificationCache;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
 import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
@@ -28,9 +31,12 @@ public class TwoFactorAuthService {
     private final TwoFactorAuthRepository twoFactorRepository;
     private final UserRepository userRepository;
     private final GoogleAuthenticator googleAuthenticator;
+    private final TotpVerificationCache totpVerificationCache;
+    private final TwoFactorLastUsedWriter lastUsedWriter;
 
     private static final int BACKUP_CODES_COUNT = 10;
     private static final int BACKUP_CODE_LENGTH = 8;
+    private static final int TOTP_WINDOW_STEPS = 1; // GoogleAuthenticator default window of 3 codes
 
     public TwoFactorSetupDto setupTotpAuth(UUID userId) {
         User user = userRepository.findById(userId)
@@ -88,6 +94,7 @@ public class TwoFactorAuthService {
         twoFactorAuth.setIsPrimary(true);
         twoFactorAuth.setUpdatedAt(OffsetDateTime.now());
         twoFactorRepository.save(twoFactorAuth);
+        totpVerificationCache.evictSecret(userId);
 
         User user = twoFactorAuth.getUser();
         user.setTwoFactorEnabled(true);
@@ -98,22 +105,32 @@ public class TwoFactorAuthService {
         return true;
     }
 
-    @Transactional(readOnly = true)
+    // No surrounding transaction: a cache hit verifies the code without touching the database
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean verifyTotpCode(UUID userId, String code) {
-        TwoFactorAuth twoFactorAuth = twoFactorRepository.findByUserIdAndMethod(userId, "totp")
-                .orElseThrow(() -> new RuntimeException("TOTP 2FA not enabled for user"));
-
-        if (!twoFactorAuth.getIsActive() || !twoFactorAuth.getVerified()) {
-            throw new RuntimeException("TOTP 2FA not active for user");
+        if (totpVerificationCache.isThrottled(userId)) {
+            throw new RuntimeException("Too many failed 2FA attempts, please try again later");
         }
 
-        boolean isValid = googleAuthenticator.authorize(twoFactorAuth.getSecret(), Integer.parseInt(code));
+        TotpVerificationCache.CachedSecret cached = totpVerificationCache.getSecret(userId)
+                .orElseGet(() -> loadTotpSecret(userId));
 
-        if (isValid) {
-            updateLastUsed(twoFactorAuth.getId());
+        long timeStep = matchTotpTimeStep(cached.secret(), code);
+
+        if (timeStep < 0) {
+            totpVerificationCache.recordFailure(userId);
+            return false;
         }
 
-        return isValid;
+        if (!totpVerificationCache.markStepUsed(userId, timeStep)) {
+            log.warn("Replayed TOTP code rejected for user: {}", userId);
+            totpVerificationCache.recordFailure(userId);
+            return false;
+        }
+
+        totpVerificationCache.resetFailures(userId);
+        lastUsedWriter.record(cached.twoFactorId());
+        return true;
     }
 
     public void setupSmsAuth(UUID userId, String phoneNumber) {
@@ -199,6 +216,7 @@ public class TwoFactorAuthService {
             auth.setUpdatedAt(OffsetDateTime.now());
             twoFactorRepository.save(auth);
         });
+        totpVerificationCache.evictSecret(userId);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
@@ -238,6 +256,34 @@ public class TwoFactorAuthService {
     }
 
 
+    private TotpVerificationCache.CachedSecret loadTotpSecret(UUID userId) {
+        TwoFactorAuth twoFactorAuth = twoFactorRepository.findByUserIdAndMethod(userId, "totp")
+                .orElseThrow(() -> new RuntimeException("TOTP 2FA not enabled for user"));
+
+        if (!twoFactorAuth.getIsActive() || !twoFactorAuth.getVerified()) {
+            throw new RuntimeException("TOTP 2FA not active for user");
+        }
+
+        return totpVerificationCache.putSecret(userId, twoFactorAuth.getId(), twoFactorAuth.getSecret());
+    }
+
+    private long matchTotpTimeStep(String secret, String code) {
+        int submitted;
+        try {
+            submitted = Integer.parseInt(code);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+
+        long currentStep = System.currentTimeMillis() / TotpVerificationCache.TIME_STEP_MILLIS;
+        for (long step = currentStep - TOTP_WINDOW_STEPS; step <= currentStep + TOTP_WINDOW_STEPS; step++) {
+            if (googleAuthenticator.getTotpPassword(secret, step * TotpVerificationCache.TIME_STEP_MILLIS) == submitted) {
+                return step;
+            }
+        }
+        return -1;
+    }
+
     private List<String> generateBackupCodes() {
         SecureRandom random = new SecureRandom();
         List<String> codes = new ArrayList<>();
@@ -264,15 +310,6 @@ public class TwoFactorAuthService {
         );
     }
 
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
-    public void updateLastUsed(UUID twoFactorId) {
-        twoFactorRepository.findById(twoFactorId).ifPresent(auth -> {
-            auth.setLastUsedAt(OffsetDateTime.now());
-            auth.setUpdatedAt(OffsetDateTime.now());
-            twoFactorRepository.save(auth);
-        });
-    }
-
     public TwoFactorSetupDto setupTwoFactorAuth(String token) {
         throw new UnsupportedOperationException("setupTwoFactorAuth not yet implemented - requires JWT integration");
     }
@@ -30,6 +30,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserProfileRepository userProfileRepository;
     private final UserMapper userMapper;
+    private final LoginStatsService loginStatsService;
 
     private static final Pattern VIETNAMESE_PHONE_PATTERN = Pattern.compile("^\\+84[0-9]{9,10}$");
 
@@ -235,6 +236,7 @@ public class UserService {
         user.setFailedLoginAttempts(0);
         user.setUpdatedAt(java.time.OffsetDateTime.now());
         userRepository.save(user);
+        loginStatsService.clearFailedAttempts(userId);
 
         log.info("User unlocked by admin: {}", userId);
     }
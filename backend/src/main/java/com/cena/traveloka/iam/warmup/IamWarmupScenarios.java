@@ -0,0 +1,152 @@
+package com.cena.traveloka.iam.warmup;
+
+import com.cena.traveloka.common.dto.ApiResponse;
+import com.cena.traveloka.common.enums.Status;
+import com.cena.traveloka.common.warmup.SyntheticIdentity;
+import com.cena.traveloka.common.warmup.WarmupScenario;
+import com.cena.traveloka.iam.dto.request.LoginRequest;
+import com.cena.traveloka.iam.dto.request.RefreshTokenRequest;
+import com.cena.traveloka.iam.dto.request.UpdateProfileRequest;
+import com.cena.traveloka.iam.dto.response.AuthResponse;
+import com.cena.traveloka.iam.entity.Role;
+import com.cena.traveloka.iam.entity.User;
+import com.cena.traveloka.iam.entity.UserProfile;
+import com.cena.traveloka.iam.mapper.UserMapper;
+import com.cena.traveloka.iam.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JIT warm-up stand-ins for the login, token refresh and profile endpoints. Each replay runs the
+ * request body through Jackson and bean validation, issues and parses tokens the way
+ * {@code AuthenticationService} and {@code JwtAuthenticationFilter} do, maps a synthetic user
+ * and serializes the response, without reading or writing any store.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class IamWarmupScenarios {
+
+    private static final Role CUSTOMER_ROLE = Role.builder()
+            .id(UUID.nameUUIDFromBytes("warmup-role".getBytes(StandardCharsets.UTF_8)))
+            .name("customer")
+            .displayName("Customer")
+            .status(Status.active)
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserMapper userMapper;
+
+    @Bean
+    public WarmupScenario loginWarmupScenario() {
+        return WarmupScenario.of("POST /api/v1/auth/login",
+                "{\"email\":\"{{email}}\",\"password\":\"{{password}}\",\"deviceType\":\"web\"}",
+                (payload, identity) -> {
+                    LoginRequest request = objectMapper.treeToValue(payload, LoginRequest.class);
+                    validator.validate(request);
+                    objectMapper.writeValueAsBytes(ApiResponse.success("Login successful", issueTokens(identity)));
+                });
+    }
+
+    @Bean
+    public WarmupScenario refreshWarmupScenario() {
+        return WarmupScenario.of("POST /api/v1/auth/refresh",
+                "{\"refreshToken\":\"{{token}}\"}",
+                (payload, identity) -> {
+                    RefreshTokenRequest request = objectMapper.treeToValue(payload, RefreshTokenRequest.class);
+                    request.setRefreshToken(jwtTokenProvider.generateRefreshToken(identity.userId().toString()));
+                    validator.validate(request);
+                    if (jwtTokenProvider.validateToken(request.getRefreshToken())) {
+                        jwtTokenProvider.getUserIdFromToken(request.getRefreshToken());
+                    }
+                    objectMapper.writeValueAsBytes(ApiResponse.success("Token refreshed successfully", issueTokens(identity)));
+                });
+    }
+
+    @Bean
+    public WarmupScenario currentUserWarmupScenario() {
+        return WarmupScenario.of("GET /api/v1/users/me", null, (payload, identity) -> {
+            authenticate(accessToken(identity));
+            objectMapper.writeValueAsBytes(ApiResponse.success(
+                    "User profile retrieved successfully", userMapper.toDetailDto(syntheticUser(identity))));
+        });
+    }
+
+    @Bean
+    public WarmupScenario updateCurrentUserWarmupScenario() {
+        return WarmupScenario.of("PUT /api/v1/users/me",
+                "{\"firstName\":\"{{text:6}}\",\"lastName\":\"{{text:8}}\",\"phone\":\"{{phone}}\",\"preferredLanguage\":\"vi\"}",
+                (payload, identity) -> {
+                    authenticate(accessToken(identity));
+                    UpdateProfileRequest request = objectMapper.treeToValue(payload, UpdateProfileRequest.class);
+                    validator.validate(request);
+                    User user = syntheticUser(identity);
+                    userMapper.updateFromRequest(request, user);
+                    objectMapper.writeValueAsBytes(ApiResponse.success(
+                            "Profile updated successfully", userMapper.toDetailDto(user)));
+                });
+    }
+
+    private AuthResponse issueTokens(SyntheticIdentity identity) {
+        User user = syntheticUser(identity);
+        String accessToken = accessToken(identity);
+        authenticate(accessToken);
+
+        return AuthResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(jwtTokenProvider.generateRefreshToken(identity.userId().toString()))
+                .tokenType("Bearer")
+                .expiresIn(jwtTokenProvider.getAccessTokenExpirationSeconds())
+                .user(userMapper.toDto(user))
+                .build();
+    }
+
+    private String accessToken(SyntheticIdentity identity) {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                identity.username(), null, List.of(new SimpleGrantedAuthority("ROLE_" + CUSTOMER_ROLE.getName())));
+        return jwtTokenProvider.generateAccessToken(authentication, identity.userId().toString(), identity.email());
+    }
+
+    // Same calls as JwtAuthenticationFilter
+    private void authenticate(String token) {
+        if (jwtTokenProvider.validateToken(token)) {
+            jwtTokenProvider.getUserIdFromToken(token);
+            jwtTokenProvider.getUsernameFromToken(token);
+            jwtTokenProvider.getRolesFromToken(token);
+        }
+    }
+
+    private static User syntheticUser(SyntheticIdentity identity) {
+        User user = new User();
+        user.setId(identity.userId());
+        user.setUsername(identity.username());
+        user.setEmail(identity.email());
+        user.setFirstName("Warmup");
+        user.setLastName("User");
+        user.setDisplayName("Warmup User");
+        user.setStatus(Status.active);
+        user.setEmailVerified(true);
+        user.setCreatedAt(OffsetDateTime.now());
+        user.setRoles(Set.of(CUSTOMER_ROLE));
+
+        UserProfile profile = UserProfile.builder()
+                .user(user)
+                .bio("Synthetic warm-up user")
+                .build();
+        user.setProfile(profile);
+        return user;
+    }
+}
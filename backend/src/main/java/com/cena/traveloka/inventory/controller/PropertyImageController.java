@@ -0,0 +1,49 @@
+package com.cena.traveloka.inventory.controller;
+
+import com.cena.traveloka.common.dto.ApiResponse;
+import com.cena.traveloka.inventory.dto.response.ImageUploadResponse;
+import com.cena.traveloka.inventory.service.PropertyImageIngestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/inventory/properties")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.minio.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyImageController {
+
+    private final PropertyImageIngestionService ingestionService;
+
+    @PostMapping(value = "/{propertyId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    // Partner roles come back once a caller can be matched against properties.partner_id
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ApiResponse<ImageUploadResponse> uploadImages(
+            @PathVariable UUID propertyId,
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(required = false) UUID roomTypeId,
+            @RequestParam(required = false) String category,
+            Authentication authentication
+    ) {
+        log.info("Upload {} image(s) for property {}", files.size(), propertyId);
+
+        ImageUploadResponse response = ingestionService.accept(
+                propertyId, roomTypeId, category, files, authentication.getName());
+
+        return ApiResponse.success(
+                "Images accepted for processing",
+                response
+        );
+    }
+}
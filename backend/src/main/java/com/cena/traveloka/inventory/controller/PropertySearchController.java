@@ -0,0 +1,64 @@
+package com.cena.traveloka.inventory.controller;
+
+import com.cena.traveloka.common.dto.ApiResponse;
+import com.cena.traveloka.common.dto.PageResponse;
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.inventory.dto.response.PropertyListingResponse;
+import com.cena.traveloka.inventory.model.PropertySearchCriteria;
+import com.cena.traveloka.inventory.model.PropertySort;
+import com.cena.traveloka.inventory.model.PropertyType;
+import com.cena.traveloka.inventory.service.PropertySearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/public/properties")
+@RequiredArgsConstructor
+public class PropertySearchController {
+
+    private final PropertySearchService propertySearchService;
+
+    @GetMapping
+    public ApiResponse<PageResponse<PropertyListingResponse>> search(
+            @RequestParam UUID cityId,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) Integer minStars,
+            @RequestParam(required = false) Integer maxStars,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "recommended") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        PropertySearchCriteria criteria = new PropertySearchCriteria(
+            cityId, parseTypes(types), minStars, maxStars, minPrice, maxPrice, parseSort(sort));
+        PageResponse<PropertyListingResponse> properties = propertySearchService.search(criteria, page, size);
+        return ApiResponse.success("Properties retrieved successfully", properties);
+    }
+
+    private static List<PropertyType> parseTypes(List<String> types) {
+        if (types == null) {
+            return List.of();
+        }
+        try {
+            return types.stream().map(PropertyType::fromCode).toList();
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("types", "Unknown property type");
+        }
+    }
+
+    private static PropertySort parseSort(String sort) {
+        try {
+            return PropertySort.fromCode(sort);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("sort", "Sort must be any of recommended, price_asc, price_desc");
+        }
+    }
+}
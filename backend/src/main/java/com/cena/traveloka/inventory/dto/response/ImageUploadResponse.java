@@ -0,0 +1,22 @@
+package com.cena.traveloka.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadResponse {
+
+    private UUID propertyId;
+
+    private Integer accepted;
+
+    private List<String> rejected;
+}
@@ -0,0 +1,57 @@
+package com.cena.traveloka.inventory.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyListingResponse {
+
+    private UUID id;
+
+    private String code;
+
+    private String name;
+
+    private String propertyType;
+
+    private Integer starRating;
+
+    private String slug;
+
+    private String cityName;
+
+    private String countryName;
+
+    private String countryCode;
+
+    private double latitude;
+
+    private double longitude;
+
+    private String address;
+
+    private BigDecimal overallRating;
+
+    private Integer totalReviews;
+
+    private List<String> amenities;
+
+    private String primaryImageUrl;
+
+    private boolean featured;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private int roomTypeCount;
+}
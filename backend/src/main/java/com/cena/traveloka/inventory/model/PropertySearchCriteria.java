@@ -0,0 +1,20 @@
+package com.cena.traveloka.inventory.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Listing filters; every field but the city is optional. The price band applies to the
+ * cheapest active room type.
+ */
+public record PropertySearchCriteria(
+    UUID cityId,
+    List<PropertyType> types,
+    Integer minStars,
+    Integer maxStars,
+    BigDecimal minPrice,
+    BigDecimal maxPrice,
+    PropertySort sort
+) {
+}
@@ -0,0 +1,14 @@
+package com.cena.traveloka.inventory.model;
+
+import java.util.Locale;
+
+public enum PropertySort {
+    /** Featured first, then by guest rating. */
+    RECOMMENDED,
+    PRICE_ASC,
+    PRICE_DESC;
+
+    public static PropertySort fromCode(String code) {
+        return valueOf(code.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,27 @@
+package com.cena.traveloka.inventory.model;
+
+import java.util.Locale;
+
+/**
+ * Mirrors the {@code inventory.property_type} database enum.
+ */
+public enum PropertyType {
+    HOTEL,
+    RESORT,
+    APARTMENT,
+    VILLA,
+    HOSTEL,
+    GUESTHOUSE,
+    HOMESTAY,
+    MOTEL,
+    BOUTIQUE_HOTEL,
+    BED_BREAKFAST;
+
+    public String code() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static PropertyType fromCode(String code) {
+        return valueOf(code.trim().toUpperCase(Locale.ROOT));
+    }
+}
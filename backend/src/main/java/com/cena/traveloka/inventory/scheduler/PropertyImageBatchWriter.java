@@ -0,0 +1,185 @@
+package com.cena.traveloka.inventory.scheduler;
+
+import com.cena.traveloka.inventory.service.ImageObjectStore;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects processed uploads and inserts them into property_images in JDBC batches,
+ * so a bulk upload of hundreds of photos costs a handful of round trips. A row that cannot be
+ * inserted is dropped, and its stored objects with it unless another row uses the same content.
+ * Stored content is keyed by hash across all properties, so an upload claims its hash before
+ * checking whether the content exists and keeps the claim until its row is written; content is
+ * never deleted while a claim is held.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.minio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PropertyImageBatchWriter {
+
+    private static final String INSERT_IMAGE_SQL = """
+            INSERT INTO inventory.property_images
+                (property_id, room_type_id, url, thumbnail_url, title, category,
+                 display_order, uploaded_by, content_sha256)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (property_id, content_sha256) WHERE content_sha256 IS NOT NULL DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageObjectStore objectStore;
+
+    private final Queue<PendingImage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Map<String, Integer> claims = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.images.insert-batch-size:200}")
+    private int batchSize;
+
+    public record PendingImage(
+        UUID propertyId,
+        UUID roomTypeId,
+        String originalKey,
+        String url,
+        String thumbnailUrl,
+        String title,
+        String category,
+        int displayOrder,
+        String uploadedBy,
+        String contentSha256
+    ) {
+    }
+
+    /**
+     * Marks content as in use by an upload that has no row yet. Call before checking whether the
+     * content is already stored; the claim passes to the writer with {@link #enqueue}.
+     */
+    public void claim(String contentSha256) {
+        claims.merge(contentSha256, 1, Integer::sum);
+    }
+
+    /**
+     * Releases a claim whose upload failed before it was enqueued.
+     */
+    public void release(String contentSha256) {
+        claims.computeIfPresent(contentSha256, (hash, count) -> count > 1 ? count - 1 : null);
+    }
+
+    public void enqueue(PendingImage image) {
+        pending.add(image);
+        if (pendingCount.incrementAndGet() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.images.insert-flush-ms:2000}")
+    public void flush() {
+        List<PendingImage> batch = drain();
+        while (!batch.isEmpty() && write(batch)) {
+            batch = drain();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private List<PendingImage> drain() {
+        List<PendingImage> batch = new ArrayList<>(batchSize);
+        PendingImage image;
+        while (batch.size() < batchSize && (image = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(image);
+        }
+        return batch;
+    }
+
+    private boolean write(List<PendingImage> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, batch.stream().map(this::toRow).toList());
+            log.debug("Inserted {} property image(s)", batch.size());
+            batch.forEach(image -> release(image.contentSha256()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // One bad row (e.g. a property deleted mid-upload) must not sink the whole batch
+            log.warn("Batch insert of {} property image(s) failed, retrying row by row: {}",
+                batch.size(), e.getMessage());
+            List<PendingImage> dropped = batch.stream().filter(image -> !writeSingle(image)).toList();
+            batch.forEach(image -> release(image.contentSha256()));
+            dropped.forEach(this::deleteUnreferencedContent);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to insert {} property image(s), will retry", batch.size(), e);
+            batch.forEach(image -> {
+                pending.add(image);
+                pendingCount.incrementAndGet();
+            });
+            return false;
+        }
+    }
+
+    private boolean writeSingle(PendingImage image) {
+        try {
+            jdbcTemplate.update(INSERT_IMAGE_SQL, toRow(image));
+            return true;
+        } catch (Exception e) {
+            log.error("Dropping property image {} for property {}: {}",
+                image.contentSha256(), image.propertyId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void deleteUnreferencedContent(PendingImage image) {
+        // Deleting inside compute makes a concurrent claim of the same hash wait until the objects
+        // are gone, so that upload sees them missing and stores them again
+        claims.compute(image.contentSha256(), (hash, count) -> {
+            if (count == null && !isReferenced(hash)) {
+                objectStore.deleteContentQuietly(image.originalKey(), hash);
+                log.info("Deleted stored content {} of dropped property image", hash);
+            }
+            return count;
+        });
+    }
+
+    private boolean isReferenced(String contentSha256) {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM inventory.property_images WHERE content_sha256 = ?)",
+                Boolean.class, contentSha256));
+        } catch (Exception e) {
+            log.warn("Keeping stored content {}, reference check failed: {}", contentSha256, e.getMessage());
+            return true;
+        }
+    }
+
+    private Object[] toRow(PendingImage image) {
+        return new Object[]{
+            image.propertyId(),
+            image.roomTypeId(),
+            image.url(),
+            image.thumbnailUrl(),
+            image.title(),
+            image.category(),
+            image.displayOrder(),
+            image.uploadedBy(),
+            image.contentSha256()
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.cena.traveloka.inventory.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.inventory.service.PropertySearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Nightly safety net for the trigger-maintained search projection; normally finds nothing
+ * to write.
+ */
+@Component
+@RequiredArgsConstructor
+public class PropertySearchReconcileScheduler {
+
+    static final String RECONCILE_JOB_NAME = "inventory.reconcile-property-search";
+
+    private static final Duration RECONCILE_LOCK_AT_MOST_FOR = Duration.ofHours(1);
+    private static final Duration RECONCILE_LOCK_AT_LEAST_FOR = Duration.ofMinutes(5);
+
+    private final PropertySearchService propertySearchService;
+    private final ClusterJobLock clusterJobLock;
+
+    @Scheduled(cron = "${app.inventory.search.reconcile-cron:0 15 3 * * *}")
+    public void reconcileNightly() {
+        clusterJobLock.executeExclusively(
+            RECONCILE_JOB_NAME,
+            RECONCILE_LOCK_AT_MOST_FOR,
+            RECONCILE_LOCK_AT_LEAST_FOR,
+            propertySearchService::reconcile
+        );
+    }
+}
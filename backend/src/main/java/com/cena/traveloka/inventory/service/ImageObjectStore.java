@@ -0,0 +1,121 @@
+package com.cena.traveloka.inventory.service;
+
+import com.cena.traveloka.common.exception.BusinessException;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * MinIO operations for property images, keyed by content hash.
+ * Objects are streamed with a known size, so the client buffers at most one multipart part.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.minio.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageObjectStore {
+
+    private static final String NO_SUCH_KEY = "NoSuchKey";
+
+    private final MinioClient minioClient;
+    private final String bucket;
+    private final String publicBaseUrl;
+
+    public ImageObjectStore(MinioClient minioClient,
+                            @Value("${app.inventory.images.bucket:traveloka-images}") String bucket,
+                            @Value("${app.inventory.images.public-base-url:${minio.external-url:http://localhost:9000}}") String publicBaseUrl) {
+        this.minioClient = minioClient;
+        this.bucket = bucket;
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+    }
+
+    public static String originalKey(String sha256, String extension) {
+        return "originals/" + sha256.substring(0, 2) + "/" + sha256 + extension;
+    }
+
+    public static String variantKey(String sha256, ImageVariant variant) {
+        return "variants/" + sha256.substring(0, 2) + "/" + sha256 + "/" + variant.getKey() + ".jpg";
+    }
+
+    public void putStream(String key, InputStream stream, long size, String contentType) {
+        try {
+            minioClient.putObject(PutObjectArgs.builder()
+                .bucket(bucket)
+                .object(key)
+                .stream(stream, size, -1)
+                .contentType(contentType)
+                .build());
+        } catch (Exception e) {
+            throw new BusinessException("IMAGE_STORAGE_FAILED", "Failed to store object " + key, e);
+        }
+    }
+
+    public void putBytes(String key, byte[] content, String contentType) {
+        putStream(key, new ByteArrayInputStream(content), content.length, contentType);
+    }
+
+    public boolean exists(String key) {
+        try {
+            minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(key).build());
+            return true;
+        } catch (ErrorResponseException e) {
+            if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+                return false;
+            }
+            throw new BusinessException("IMAGE_STORAGE_FAILED", "Failed to stat object " + key, e);
+        } catch (Exception e) {
+            throw new BusinessException("IMAGE_STORAGE_FAILED", "Failed to stat object " + key, e);
+        }
+    }
+
+    /**
+     * Server-side copy; the object bytes never pass through this JVM.
+     */
+    public void copy(String sourceKey, String targetKey) {
+        try {
+            minioClient.copyObject(CopyObjectArgs.builder()
+                .bucket(bucket)
+                .object(targetKey)
+                .source(CopySource.builder().bucket(bucket).object(sourceKey).build())
+                .build());
+        } catch (Exception e) {
+            throw new BusinessException("IMAGE_STORAGE_FAILED", "Failed to copy object " + sourceKey, e);
+        }
+    }
+
+    public void deleteQuietly(String key) {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucket).object(key).build());
+        } catch (Exception e) {
+            log.warn("Failed to delete object {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes an original and its variants, for content that no row references.
+     */
+    public void deleteContentQuietly(String originalKey, String sha256) {
+        deleteQuietly(originalKey);
+        for (ImageVariant variant : ImageVariant.values()) {
+            deleteQuietly(variantKey(sha256, variant));
+        }
+    }
+
+    public String publicUrl(String key) {
+        return publicBaseUrl + "/" + bucket + "/" + key;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+}
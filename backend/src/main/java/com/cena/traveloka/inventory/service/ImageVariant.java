@@ -0,0 +1,32 @@
+package com.cena.traveloka.inventory.service;
+
+/**
+ * Resized renditions generated for every uploaded image, largest first.
+ * The thumbnail is written last, so its presence means the whole set exists.
+ */
+public enum ImageVariant {
+
+    LARGE("large", 1600),
+    MEDIUM("medium", 800),
+    THUMBNAIL("thumb", 320);
+
+    private final String key;
+    private final int maxDimension;
+
+    ImageVariant(String key, int maxDimension) {
+        this.key = key;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static ImageVariant largest() {
+        return LARGE;
+    }
+}
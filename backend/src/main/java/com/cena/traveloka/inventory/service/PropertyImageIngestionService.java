@@ -0,0 +1,404 @@
+package com.cena.traveloka.inventory.service;
+
+import com.cena.traveloka.common.exception.BusinessException;
+import com.cena.traveloka.common.exception.EntityNotFoundException;
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.inventory.dto.response.ImageUploadResponse;
+import com.cena.traveloka.inventory.scheduler.PropertyImageBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Ingests property photos. The request thread only moves each multipart temp file into a local
+ * spool directory; processing runs on {@code fileTaskExecutor} with a bounded number of uploads
+ * in flight, the rest waiting on disk. Each file is streamed to MinIO while its SHA-256 is
+ * computed, stored once under its hash, and gets resized variants before its row is batched
+ * into property_images. Every spooled file has a task file next to it, so uploads accepted
+ * before a restart are picked up again on startup; one that is processed twice hits the
+ * (property_id, content_sha256) conflict and is not inserted twice.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.minio.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyImageIngestionService {
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+        "image/jpeg", ".jpg",
+        "image/png", ".png"
+    );
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MAX_CATEGORY_LENGTH = 100;
+    private static final String TASK_SUFFIX = ".task";
+
+    private final ImageObjectStore objectStore;
+    private final ImageVariantGenerator variantGenerator;
+    private final PropertyImageBatchWriter batchWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final AsyncTaskExecutor fileTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Path spoolDirectory;
+    private final int maxFilesPerRequest;
+
+    private final Queue<UploadTask> backlog = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlight;
+
+    private Counter duplicates;
+
+    public PropertyImageIngestionService(ImageObjectStore objectStore,
+                                         ImageVariantGenerator variantGenerator,
+                                         PropertyImageBatchWriter batchWriter,
+                                         JdbcTemplate jdbcTemplate,
+                                         @Qualifier("fileTaskExecutor") AsyncTaskExecutor fileTaskExecutor,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.inventory.images.spool-dir:${java.io.tmpdir}/traveloka-image-spool}") Path spoolDirectory,
+                                         @Value("${app.inventory.images.max-in-flight:8}") int maxInFlight,
+                                         @Value("${app.inventory.images.max-files-per-request:100}") int maxFilesPerRequest) {
+        this.objectStore = objectStore;
+        this.variantGenerator = variantGenerator;
+        this.batchWriter = batchWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.fileTaskExecutor = fileTaskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.spoolDirectory = spoolDirectory;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxFilesPerRequest = maxFilesPerRequest;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(spoolDirectory);
+
+        Gauge.builder("inventory.images.backlog", backlog, Queue::size)
+            .description("Uploaded images spooled on disk waiting for processing")
+            .register(meterRegistry);
+        duplicates = Counter.builder("inventory.images.duplicates")
+            .description("Uploads whose content was already stored")
+            .register(meterRegistry);
+
+        recoverSpool();
+    }
+
+    public ImageUploadResponse accept(UUID propertyId, UUID roomTypeId, String category,
+                                      List<MultipartFile> files, String uploadedBy) {
+        if (files == null || files.isEmpty()) {
+            throw new ValidationException("files", "At least one image is required");
+        }
+        if (files.size() > maxFilesPerRequest) {
+            throw new ValidationException("files", "At most " + maxFilesPerRequest + " images per request");
+        }
+        if (category != null && category.length() > MAX_CATEGORY_LENGTH) {
+            throw new ValidationException("category", "At most " + MAX_CATEGORY_LENGTH + " characters");
+        }
+        if (!propertyExists(propertyId)) {
+            throw new EntityNotFoundException("Property", propertyId);
+        }
+        // Rows are written after the 202, so anything the insert would reject is checked here
+        if (roomTypeId != null && !roomTypeBelongsTo(roomTypeId, propertyId)) {
+            throw new ValidationException("roomTypeId",
+                "Room type " + roomTypeId + " does not belong to property " + propertyId);
+        }
+
+        int displayOrder = nextDisplayOrder(propertyId);
+        List<String> rejected = new ArrayList<>();
+        int accepted = 0;
+
+        for (MultipartFile file : files) {
+            String extension = EXTENSIONS.get(file.getContentType());
+            if (extension == null || file.isEmpty()) {
+                rejected.add(file.getOriginalFilename());
+                continue;
+            }
+
+            Path spooled = spoolDirectory.resolve(UUID.randomUUID() + extension);
+            UploadTask task = new UploadTask(propertyId, roomTypeId, category, titleOf(file.getOriginalFilename()),
+                displayOrder++, uploadedBy, spooled, extension, file.getContentType(), file.getSize());
+            try {
+                // Moves the container's temp file; the content never passes through the heap
+                file.transferTo(spooled);
+                writeTaskFile(task);
+            } catch (IOException e) {
+                deleteSpoolFile(spooled);
+                throw new BusinessException("IMAGE_UPLOAD_FAILED",
+                    "Failed to receive " + file.getOriginalFilename(), e);
+            }
+
+            backlog.add(task);
+            accepted++;
+        }
+
+        dispatch();
+        log.info("Accepted {} image(s) for property {}, rejected {}", accepted, propertyId, rejected.size());
+
+        return ImageUploadResponse.builder()
+            .propertyId(propertyId)
+            .accepted(accepted)
+            .rejected(rejected)
+            .build();
+    }
+
+    private void dispatch() {
+        while (!backlog.isEmpty() && inFlight.tryAcquire()) {
+            UploadTask task = backlog.poll();
+            if (task == null) {
+                inFlight.release();
+                return;
+            }
+            try {
+                fileTaskExecutor.execute(() -> {
+                    try {
+                        process(task);
+                    } finally {
+                        inFlight.release();
+                        dispatch();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                backlog.add(task);
+                log.error("Failed to schedule image processing, {} image(s) left in backlog", backlog.size(), e);
+                return;
+            }
+        }
+    }
+
+    void process(UploadTask task) {
+        String stagingKey = "staging/" + UUID.randomUUID() + task.extension();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "stored";
+
+        String claimed = null;
+
+        try {
+            String sha256 = streamAndHash(task, stagingKey);
+            // Held from before the exists checks until the row is written, see PropertyImageBatchWriter
+            batchWriter.claim(sha256);
+            claimed = sha256;
+            String originalKey = ImageObjectStore.originalKey(sha256, task.extension());
+            String thumbnailKey = ImageObjectStore.variantKey(sha256, ImageVariant.THUMBNAIL);
+
+            // Decode before publishing anything, so a file that is not really an image is never stored
+            Map<ImageVariant, byte[]> variants = objectStore.exists(thumbnailKey)
+                ? Map.of()
+                : variantGenerator.generate(task.path());
+
+            if (objectStore.exists(originalKey)) {
+                duplicates.increment();
+                outcome = "duplicate";
+            } else {
+                objectStore.copy(stagingKey, originalKey);
+            }
+            variants.forEach((variant, content) ->
+                objectStore.putBytes(ImageObjectStore.variantKey(sha256, variant), content, "image/jpeg"));
+
+            batchWriter.enqueue(new PropertyImageBatchWriter.PendingImage(
+                task.propertyId(),
+                task.roomTypeId(),
+                originalKey,
+                objectStore.publicUrl(originalKey),
+                objectStore.publicUrl(thumbnailKey),
+                task.title(),
+                task.category(),
+                task.displayOrder(),
+                task.uploadedBy(),
+                sha256
+            ));
+            claimed = null;
+        } catch (Exception e) {
+            outcome = "failed";
+            log.error("Failed to process image {} for property {}: {}",
+                task.title(), task.propertyId(), e.getMessage(), e);
+        } finally {
+            if (claimed != null) {
+                batchWriter.release(claimed);
+            }
+            objectStore.deleteQuietly(stagingKey);
+            deleteSpoolFile(taskFileOf(task.path()));
+            deleteSpoolFile(task.path());
+            sample.stop(Timer.builder("inventory.images.processing")
+                .description("Time to hash, store and resize one uploaded image")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+
+    private String streamAndHash(UploadTask task, String stagingKey) throws IOException {
+        MessageDigest digest = newSha256();
+        try (InputStream input = new DigestInputStream(
+                new BufferedInputStream(Files.newInputStream(task.path())), digest)) {
+            objectStore.putStream(stagingKey, input, task.size(), task.contentType());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private boolean propertyExists(UUID propertyId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM inventory.properties WHERE id = ?)", Boolean.class, propertyId));
+    }
+
+    private boolean roomTypeBelongsTo(UUID roomTypeId, UUID propertyId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM inventory.room_types WHERE id = ? AND property_id = ?)",
+            Boolean.class, roomTypeId, propertyId));
+    }
+
+    private int nextDisplayOrder(UUID propertyId) {
+        Integer next = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(display_order), -1) + 1 FROM inventory.property_images WHERE property_id = ?",
+            Integer.class, propertyId);
+        return next != null ? next : 0;
+    }
+
+    private void recoverSpool() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(spoolDirectory)) {
+            files = listing.toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TASK_SUFFIX)) {
+                UploadTask task = readTaskFile(file);
+                if (task != null && Files.exists(task.path())) {
+                    backlog.add(task);
+                } else {
+                    deleteSpoolFile(file);
+                }
+            } else if (!Files.exists(taskFileOf(file))) {
+                // Received but never acknowledged, or a task file that was not fully written
+                deleteSpoolFile(file);
+            }
+        }
+        if (!backlog.isEmpty()) {
+            log.info("Recovered {} spooled image(s) from a previous run", backlog.size());
+            dispatch();
+        }
+    }
+
+    private void writeTaskFile(UploadTask task) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("propertyId", task.propertyId().toString());
+        if (task.roomTypeId() != null) {
+            properties.setProperty("roomTypeId", task.roomTypeId().toString());
+        }
+        if (task.category() != null) {
+            properties.setProperty("category", task.category());
+        }
+        if (task.title() != null) {
+            properties.setProperty("title", task.title());
+        }
+        properties.setProperty("displayOrder", String.valueOf(task.displayOrder()));
+        properties.setProperty("uploadedBy", task.uploadedBy());
+        properties.setProperty("file", task.path().getFileName().toString());
+        properties.setProperty("extension", task.extension());
+        properties.setProperty("contentType", task.contentType());
+        properties.setProperty("size", String.valueOf(task.size()));
+
+        // Written aside and moved, so a crash never leaves a half-written task file behind
+        Path taskFile = taskFileOf(task.path());
+        Path partial = taskFile.resolveSibling(taskFile.getFileName() + ".part");
+        try (OutputStream output = Files.newOutputStream(partial)) {
+            properties.store(output, null);
+        }
+        Files.move(partial, taskFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private UploadTask readTaskFile(Path taskFile) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(taskFile)) {
+            properties.load(reader);
+            String roomTypeId = properties.getProperty("roomTypeId");
+            return new UploadTask(
+                UUID.fromString(properties.getProperty("propertyId")),
+                roomTypeId != null ? UUID.fromString(roomTypeId) : null,
+                properties.getProperty("category"),
+                properties.getProperty("title"),
+                Integer.parseInt(properties.getProperty("displayOrder")),
+                properties.getProperty("uploadedBy"),
+                spoolDirectory.resolve(properties.getProperty("file")),
+                properties.getProperty("extension"),
+                properties.getProperty("contentType"),
+                Long.parseLong(properties.getProperty("size")));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Discarding unreadable spool task {}: {}", taskFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Path taskFileOf(Path spooled) {
+        String name = spooled.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return spooled.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + TASK_SUFFIX);
+    }
+
+    private void deleteSpoolFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled image {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String titleOf(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return null;
+        }
+        int dot = filename.lastIndexOf('.');
+        String title = dot > 0 ? filename.substring(0, dot) : filename;
+        return title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record UploadTask(
+        UUID propertyId,
+        UUID roomTypeId,
+        String category,
+        String title,
+        int displayOrder,
+        String uploadedBy,
+        Path path,
+        String extension,
+        String contentType,
+        long size
+    ) {
+    }
+}
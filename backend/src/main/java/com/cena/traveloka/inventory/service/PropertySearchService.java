@@ -0,0 +1,197 @@
+package com.cena.traveloka.inventory.service;
+
+import com.cena.traveloka.common.dto.PageResponse;
+import com.cena.traveloka.common.exception.ValidationException;
+import com.cena.traveloka.inventory.dto.response.PropertyListingResponse;
+import com.cena.traveloka.inventory.model.PropertySearchCriteria;
+import com.cena.traveloka.inventory.model.PropertySort;
+import com.cena.traveloka.inventory.model.PropertyType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Hotel listings read from {@code inventory.property_search}, a projection that triggers keep
+ * current as properties, room types and geo names change, so a listing never groups room
+ * types. {@link #reconcile()} recomputes every row in batches and only writes the ones that
+ * drifted, e.g. after a bulk load with triggers disabled.
+ */
+@Slf4j
+@Service
+public class PropertySearchService {
+
+    private static final String SELECT_SQL = """
+            SELECT id, code, name, property_type, star_rating, slug, city_name, country_name, country_code,
+                   latitude, longitude, address, overall_rating, total_reviews, amenities, primary_image_url,
+                   is_featured, min_price, max_price, room_type_count
+            FROM inventory.property_search
+            """;
+
+    private static final String COUNT_SQL = """
+            SELECT count(*)
+            FROM inventory.property_search
+            """;
+
+    private static final String PROPERTY_IDS_SQL = """
+            SELECT id
+            FROM inventory.properties
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String REFRESH_SQL = "SELECT inventory.refresh_property_search(?)";
+
+    private static final RowMapper<PropertyListingResponse> LISTING_MAPPER = (row, rowNum) -> {
+        Array amenities = row.getArray("amenities");
+        return PropertyListingResponse.builder()
+            .id(row.getObject("id", UUID.class))
+            .code(row.getString("code"))
+            .name(row.getString("name"))
+            .propertyType(row.getString("property_type"))
+            .starRating(row.getObject("star_rating", Integer.class))
+            .slug(row.getString("slug"))
+            .cityName(row.getString("city_name"))
+            .countryName(row.getString("country_name"))
+            .countryCode(row.getString("country_code"))
+            .latitude(row.getDouble("latitude"))
+            .longitude(row.getDouble("longitude"))
+            .address(row.getString("address"))
+            .overallRating(row.getBigDecimal("overall_rating"))
+            .totalReviews(row.getObject("total_reviews", Integer.class))
+            .amenities(amenities != null ? Arrays.asList((String[]) amenities.getArray()) : List.of())
+            .primaryImageUrl(row.getString("primary_image_url"))
+            .featured(row.getBoolean("is_featured"))
+            .minPrice(row.getBigDecimal("min_price"))
+            .maxPrice(row.getBigDecimal("max_price"))
+            .roomTypeCount(row.getInt("room_type_count"))
+            .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPageSize;
+    private final int reconcileBatchSize;
+
+    public PropertySearchService(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.inventory.search.max-page-size:100}") int maxPageSize,
+                                 @Value("${app.inventory.search.reconcile-batch-size:1000}") int reconcileBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPageSize = maxPageSize;
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    public PageResponse<PropertyListingResponse> search(PropertySearchCriteria criteria, int page, int size) {
+        validate(criteria, page, size);
+
+        // Every filter is on columns of the city indexes, see V10
+        StringBuilder where = new StringBuilder("WHERE city_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(criteria.cityId());
+        if (criteria.types() != null && !criteria.types().isEmpty()) {
+            where.append(" AND property_type = ANY (CAST(string_to_array(?, ',') AS inventory.property_type[]))");
+            args.add(criteria.types().stream().map(PropertyType::code).collect(Collectors.joining(",")));
+        }
+        if (criteria.minStars() != null) {
+            where.append(" AND star_rating >= ?");
+            args.add(criteria.minStars());
+        }
+        if (criteria.maxStars() != null) {
+            where.append(" AND star_rating <= ?");
+            args.add(criteria.maxStars());
+        }
+        if (criteria.minPrice() != null) {
+            where.append(" AND min_price >= ?");
+            args.add(criteria.minPrice());
+        }
+        if (criteria.maxPrice() != null) {
+            where.append(" AND min_price <= ?");
+            args.add(criteria.maxPrice());
+        }
+
+        PropertySort sort = criteria.sort() != null ? criteria.sort() : PropertySort.RECOMMENDED;
+        String order = switch (sort) {
+            case RECOMMENDED -> " ORDER BY is_featured DESC, overall_rating DESC NULLS LAST, id";
+            // Unpriced properties cannot be booked and are left out of price ordering
+            case PRICE_ASC -> " AND min_price IS NOT NULL ORDER BY min_price, id";
+            case PRICE_DESC -> " AND min_price IS NOT NULL ORDER BY min_price DESC, id DESC";
+        };
+        String filter = where + order;
+
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL + filter.substring(0, filter.indexOf(" ORDER BY")),
+            Long.class, args.toArray());
+        long totalElements = total != null ? total : 0;
+
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(size);
+        pageArgs.add((long) page * size);
+        List<PropertyListingResponse> content = totalElements > (long) page * size
+            ? jdbcTemplate.query(SELECT_SQL + filter + " LIMIT ? OFFSET ?", LISTING_MAPPER, pageArgs.toArray())
+            : List.of();
+
+        int totalPages = (int) ((totalElements + size - 1) / size);
+        return PageResponse.<PropertyListingResponse>builder()
+            .content(content)
+            .totalElements(totalElements)
+            .totalPages(totalPages)
+            .size(size)
+            .number(page)
+            .first(page == 0)
+            .last(page >= totalPages - 1)
+            .empty(content.isEmpty())
+            .build();
+    }
+
+    /**
+     * Recomputes the projection of every property, a batch of properties per transaction.
+     * Rows whose values did not change are not written.
+     */
+    public void reconcile() {
+        long started = System.nanoTime();
+        UUID after = new UUID(0, 0);
+        long properties = 0;
+        while (true) {
+            List<UUID> ids = jdbcTemplate.queryForList(PROPERTY_IDS_SQL, UUID.class, after, reconcileBatchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            UUID[] batch = ids.toArray(new UUID[0]);
+            jdbcTemplate.query(REFRESH_SQL,
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("uuid", batch)),
+                (RowCallbackHandler) row -> {
+                });
+            properties += ids.size();
+            after = batch[batch.length - 1];
+        }
+        log.info("Reconciled the search projection of {} properties in {} ms",
+            properties, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void validate(PropertySearchCriteria criteria, int page, int size) {
+        if (criteria.cityId() == null) {
+            throw new ValidationException("cityId", "City is required");
+        }
+        if (page < 0) {
+            throw new ValidationException("page", "Page must not be negative");
+        }
+        if (size <= 0 || size > maxPageSize) {
+            throw new ValidationException("size", "Size must be between 1 and " + maxPageSize);
+        }
+        if (criteria.minStars() != null && criteria.maxStars() != null && criteria.minStars() > criteria.maxStars()) {
+            throw new ValidationException("minStars", "Minimum stars must not exceed maximum stars");
+        }
+        if (criteria.minPrice() != null && criteria.maxPrice() != null
+            && criteria.minPrice().compareTo(criteria.maxPrice()) > 0) {
+            throw new ValidationException("minPrice", "Minimum price must not exceed maximum price");
+        }
+    }
+}
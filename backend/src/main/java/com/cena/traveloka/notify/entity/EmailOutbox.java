@@ -0,0 +1,59 @@
+package com.cena.traveloka.notify.entity;
+
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Type;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Entity
+@Table(name = "email_outbox", schema = "notify")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(nullable = false, length = 100)
+    String template;
+
+    @Column(nullable = false, length = 320)
+    String recipient;
+
+    @Column(nullable = false)
+    String recipientDomain;
+
+    @Column(nullable = false, length = 500)
+    String subject;
+
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    Map<String, Object> variables;
+
+    @Builder.Default
+    @Column(nullable = false, length = 20)
+    String status = "pending"; // pending, sending, sent, failed
+
+    @Builder.Default
+    @Column(nullable = false)
+    Integer attempts = 0;
+
+    @Column(nullable = false)
+    OffsetDateTime nextAttemptAt;
+
+    @Column(columnDefinition = "text")
+    String lastError;
+
+    @Column(nullable = false)
+    OffsetDateTime createdAt;
+
+    OffsetDateTime sentAt;
+}
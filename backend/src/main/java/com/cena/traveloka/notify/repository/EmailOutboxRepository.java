@@ -0,0 +1,105 @@
+package com.cena.traveloka.notify.repository;
+
+import com.cena.traveloka.notify.entity.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    long countByStatus(String status);
+
+    /**
+     * Marks up to {@code batchSize} due emails as sending and leases them until {@code leaseUntil}.
+     * A crashed dispatcher's rows become due again when the lease runs out.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE notify.email_outbox
+            SET status = 'sending',
+                attempts = attempts + 1,
+                next_attempt_at = :leaseUntil
+            WHERE id IN (
+                SELECT id
+                FROM notify.email_outbox
+                WHERE status IN ('pending', 'sending')
+                  AND next_attempt_at <= now()
+                ORDER BY next_attempt_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<EmailOutbox> claimDueBatch(@Param("batchSize") int batchSize, @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    /**
+     * Marks emails as sent and drops their template variables, which may hold one-time tokens.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE notify.email_outbox
+            SET status = 'sent', sent_at = :sentAt, last_error = NULL, variables = '{}'::jsonb
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") OffsetDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE EmailOutbox e
+            SET e.status = 'pending', e.nextAttemptAt = :nextAttemptAt, e.lastError = :error
+            WHERE e.id = :id
+            """)
+    int scheduleRetry(@Param("id") Long id, @Param("nextAttemptAt") OffsetDateTime nextAttemptAt,
+                      @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE notify.email_outbox
+            SET status = 'failed', last_error = :error, variables = '{}'::jsonb
+            WHERE id = :id
+            """, nativeQuery = true)
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    /**
+     * Puts claimed emails back without counting the attempt, e.g. when their domain is at its concurrency limit.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE EmailOutbox e
+            SET e.status = 'pending', e.attempts = e.attempts - 1, e.nextAttemptAt = :nextAttemptAt
+            WHERE e.id IN :ids
+            """)
+    int release(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") OffsetDateTime nextAttemptAt);
+
+    /**
+     * Deletes up to {@code batchSize} sent emails created before {@code sentBefore} and failed
+     * ones created before {@code failedBefore}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM notify.email_outbox
+            WHERE id IN (
+                SELECT id
+                FROM notify.email_outbox
+                WHERE (status = 'sent' AND created_at < :sentBefore)
+                   OR (status = 'failed' AND created_at < :failedBefore)
+                LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteFinished(@Param("sentBefore") OffsetDateTime sentBefore,
+                       @Param("failedBefore") OffsetDateTime failedBefore,
+                       @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,203 @@
+package com.cena.traveloka.notify.scheduler;
+
+import com.cena.traveloka.notify.entity.EmailOutbox;
+import com.cena.traveloka.notify.repository.EmailOutboxRepository;
+import com.cena.traveloka.notify.service.EmailSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers queued emails from notify.email_outbox on emailTaskExecutor. Each recipient domain gets a
+ * bounded number of concurrent SMTP sessions, and failures are retried with exponential backoff.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.mail.host")
+public class EmailDispatcher {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailSender emailSender;
+    private final AsyncTaskExecutor emailTaskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notify.email.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.notify.email.messages-per-connection:50}")
+    private int messagesPerConnection;
+
+    @Value("${app.notify.email.per-domain-concurrency:4}")
+    private int perDomainConcurrency;
+
+    @Value("${app.notify.email.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.notify.email.retry-base-delay:30s}")
+    private Duration retryBaseDelay;
+
+    @Value("${app.notify.email.retry-max-delay:1h}")
+    private Duration retryMaxDelay;
+
+    @Value("${app.notify.email.lease:5m}")
+    private Duration lease;
+
+    private final Map<String, Semaphore> domainPermits = new ConcurrentHashMap<>();
+    private final AtomicLong pendingEmails = new AtomicLong();
+
+    private Timer sendTimer;
+    private Timer deliveryDelayTimer;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+
+    public EmailDispatcher(EmailOutboxRepository outboxRepository,
+                           EmailSender emailSender,
+                           @Qualifier("emailTaskExecutor") AsyncTaskExecutor emailTaskExecutor,
+                           MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.emailSender = emailSender;
+        this.emailTaskExecutor = emailTaskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("email.outbox.pending", pendingEmails, AtomicLong::get)
+            .description("Emails waiting in the outbox")
+            .register(meterRegistry);
+
+        sendTimer = Timer.builder("email.send.latency")
+            .description("Time to send one batch over a single SMTP connection")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+
+        deliveryDelayTimer = Timer.builder("email.delivery.delay")
+            .description("Time from enqueue to successful send")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+
+        sentCounter = Counter.builder("email.sent").register(meterRegistry);
+        retriedCounter = Counter.builder("email.retried").register(meterRegistry);
+        failedCounter = Counter.builder("email.failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notify.email.poll-interval-ms:2000}", initialDelay = 15000)
+    public void dispatch() {
+        List<EmailOutbox> claimed;
+        try {
+            claimed = outboxRepository.claimDueBatch(batchSize, OffsetDateTime.now().plus(lease));
+        } catch (Exception e) {
+            log.error("Failed to claim emails from outbox", e);
+            return;
+        }
+
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<EmailOutbox>> byDomain = new LinkedHashMap<>();
+        claimed.forEach(email -> byDomain.computeIfAbsent(email.getRecipientDomain(), domain -> new ArrayList<>()).add(email));
+
+        byDomain.forEach((domain, emails) -> {
+            for (int from = 0; from < emails.size(); from += messagesPerConnection) {
+                List<EmailOutbox> chunk = emails.subList(from, Math.min(from + messagesPerConnection, emails.size()));
+                submit(domain, List.copyOf(chunk));
+            }
+        });
+    }
+
+    // Runs on every node so each instance reports queue depth
+    @Scheduled(fixedRate = 30000, initialDelay = 15000)
+    public void refreshPendingGauge() {
+        pendingEmails.set(outboxRepository.countByStatus("pending"));
+    }
+
+    private void submit(String domain, List<EmailOutbox> chunk) {
+        Semaphore permits = domainPermits.computeIfAbsent(domain, key -> new Semaphore(perDomainConcurrency));
+
+        if (!permits.tryAcquire()) {
+            outboxRepository.release(ids(chunk), OffsetDateTime.now().plusSeconds(1));
+            return;
+        }
+
+        try {
+            emailTaskExecutor.execute(() -> {
+                try {
+                    send(chunk);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (Exception e) {
+            permits.release();
+            outboxRepository.release(ids(chunk), OffsetDateTime.now());
+        }
+    }
+
+    private void send(List<EmailOutbox> chunk) {
+        Map<Long, String> failures;
+        long start = System.nanoTime();
+        try {
+            failures = emailSender.sendBatch(chunk);
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Long> sentIds = new ArrayList<>(chunk.size());
+
+        for (EmailOutbox email : chunk) {
+            String error = failures.get(email.getId());
+            if (error == null) {
+                sentIds.add(email.getId());
+                deliveryDelayTimer.record(Duration.between(email.getCreatedAt(), now));
+            } else if (email.getAttempts() >= maxAttempts) {
+                outboxRepository.markFailed(email.getId(), error);
+                failedCounter.increment();
+                log.error("Giving up on email {} to {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), error);
+            } else {
+                outboxRepository.scheduleRetry(email.getId(), now.plus(backoff(email.getAttempts())), error);
+                retriedCounter.increment();
+                log.warn("Email {} to {} failed (attempt {}), will retry: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), error);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxRepository.markSent(sentIds, now);
+            sentCounter.increment(sentIds.size());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 20);
+        Duration delay = retryBaseDelay.multipliedBy(multiplier);
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+
+    private List<Long> ids(List<EmailOutbox> emails) {
+        return emails.stream().map(EmailOutbox::getId).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.cena.traveloka.notify.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.notify.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Deletes sent and failed emails from notify.email_outbox once they are past their retention,
+ * in batches so that a large backlog never holds one long transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxRetentionScheduler {
+
+    static final String PURGE_JOB_NAME = "notify.purge-email-outbox";
+
+    private static final Duration PURGE_LOCK_AT_MOST_FOR = Duration.ofMinutes(30);
+    private static final Duration PURGE_LOCK_AT_LEAST_FOR = Duration.ofMinutes(1);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final ClusterJobLock clusterJobLock;
+
+    @Value("${app.notify.email.sent-retention:7d}")
+    private Duration sentRetention;
+
+    @Value("${app.notify.email.failed-retention:30d}")
+    private Duration failedRetention;
+
+    @Value("${app.notify.email.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    @Scheduled(fixedRateString = "${app.notify.email.purge-interval-ms:3600000}", initialDelay = 120000)
+    public void purgeFinishedEmails() {
+        clusterJobLock.executeExclusively(
+            PURGE_JOB_NAME,
+            PURGE_LOCK_AT_MOST_FOR,
+            PURGE_LOCK_AT_LEAST_FOR,
+            this::purgeOnThisNode
+        );
+    }
+
+    private void purgeOnThisNode() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime sentBefore = now.minus(sentRetention);
+        OffsetDateTime failedBefore = now.minus(failedRetention);
+
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = outboxRepository.deleteFinished(sentBefore, failedBefore, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} finished email(s) from the outbox", purged);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cena.traveloka.notify.service;
+
+import com.cena.traveloka.notify.entity.EmailOutbox;
+import com.cena.traveloka.notify.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Queues emails in notify.email_outbox as part of the caller's transaction. Delivery happens later in
+ * EmailDispatcher, so request threads never wait on SMTP.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+
+    public EmailOutbox enqueue(EmailTemplate template, String recipient, Map<String, Object> variables) {
+        int at = recipient.lastIndexOf('@');
+        if (at < 0) {
+            throw new IllegalArgumentException("Invalid email address: " + recipient);
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        EmailOutbox email = EmailOutbox.builder()
+                .template(template.getTemplateName())
+                .recipient(recipient)
+                .recipientDomain(recipient.substring(at + 1).toLowerCase(Locale.ROOT))
+                .subject(template.getDefaultSubject())
+                .variables(variables)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        EmailOutbox saved = outboxRepository.save(email);
+        log.debug("Queued {} email {} for {}", template.getTemplateName(), saved.getId(), recipient);
+        return saved;
+    }
+}
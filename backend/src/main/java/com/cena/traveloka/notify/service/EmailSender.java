@@ -0,0 +1,88 @@
+package com.cena.traveloka.notify.service;
+
+import com.cena.traveloka.notify.entity.EmailOutbox;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends a batch of outbox emails over a single SMTP connection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.mail.host")
+public class EmailSender {
+
+    private final JavaMailSender mailSender;
+    private final EmailTemplateRenderer templateRenderer;
+
+    @Value("${app.notify.email.from:no-reply@traveloka.local}")
+    private String from;
+
+    /**
+     * Returns the error for each email that could not be sent; an empty map means all were accepted.
+     */
+    public Map<Long, String> sendBatch(List<EmailOutbox> emails) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> messageIds = new IdentityHashMap<>();
+
+        for (EmailOutbox email : emails) {
+            try {
+                messageIds.put(toMimeMessage(email), email.getId());
+            } catch (Exception e) {
+                failures.put(email.getId(), "Render failed: " + e.getMessage());
+            }
+        }
+
+        if (messageIds.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // JavaMailSenderImpl opens one connection per call and sends every message over it
+            mailSender.send(messageIds.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messageIds.values().forEach(id -> failures.put(id, e.getMessage()));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Long id = messageIds.get(message);
+                    if (id != null) {
+                        failures.put(id, cause.getMessage());
+                    }
+                });
+            }
+        } catch (Exception e) {
+            messageIds.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        EmailTemplate template = EmailTemplate.fromTemplateName(email.getTemplate());
+        String html = templateRenderer.render(template, email.getVariables());
+
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(html, true);
+        return message;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cena.traveloka.notify.service;
+
+import java.util.Set;
+
+public enum EmailTemplate {
+
+    VERIFICATION("verification-email", "Verify your Traveloka email address", Set.of()),
+    PASSWORD_RESET("password-reset-email", "Reset your Traveloka password", Set.of("requestTime"));
+
+    private final String templateName;
+    private final String defaultSubject;
+    private final Set<String> dateVariables;
+
+    EmailTemplate(String templateName, String defaultSubject, Set<String> dateVariables) {
+        this.templateName = templateName;
+        this.defaultSubject = defaultSubject;
+        this.dateVariables = dateVariables;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public String getDefaultSubject() {
+        return defaultSubject;
+    }
+
+    /**
+     * Variables stored as epoch millis in the outbox and rendered as java.util.Date for #dates.
+     */
+    public Set<String> getDateVariables() {
+        return dateVariables;
+    }
+
+    public static EmailTemplate fromTemplateName(String templateName) {
+        for (EmailTemplate template : values()) {
+            if (template.templateName.equals(templateName)) {
+                return template;
+            }
+        }
+        throw new IllegalArgumentException("Unknown email template: " + templateName);
+    }
+}
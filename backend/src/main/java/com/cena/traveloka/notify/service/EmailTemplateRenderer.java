@@ -0,0 +1,61 @@
+package com.cena.traveloka.notify.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders templates/email/*.html with a standalone Thymeleaf engine. Parsed templates are cached
+ * for the life of the application and parsed once at startup.
+ */
+@Slf4j
+@Component
+public class EmailTemplateRenderer {
+
+    private final TemplateEngine templateEngine;
+
+    public EmailTemplateRenderer() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/email/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(null);
+
+        this.templateEngine = new TemplateEngine();
+        this.templateEngine.setTemplateResolver(resolver);
+    }
+
+    @PostConstruct
+    void precompileTemplates() {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            try {
+                templateEngine.process(template.getTemplateName(), new Context(Locale.ENGLISH));
+            } catch (Exception e) {
+                log.warn("Could not precompile email template {}: {}", template.getTemplateName(), e.getMessage());
+            }
+        }
+        log.info("Precompiled {} email template(s)", EmailTemplate.values().length);
+    }
+
+    public String render(EmailTemplate template, Map<String, Object> variables) {
+        Map<String, Object> model = new HashMap<>(variables);
+        template.getDateVariables().forEach(name -> {
+            if (model.get(name) instanceof Number epochMillis) {
+                model.put(name, new Date(epochMillis.longValue()));
+            }
+        });
+        return templateEngine.process(template.getTemplateName(), new Context(Locale.ENGLISH, model));
+    }
+}
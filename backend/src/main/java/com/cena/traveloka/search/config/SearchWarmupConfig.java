@@ -0,0 +1,21 @@
+package com.cena.traveloka.search.config;
+
+import com.cena.traveloka.common.startup.WarmupTask;
+import com.cena.traveloka.search.service.PropertyIndexService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.elasticsearch.enabled", havingValue = "true", matchIfMissing = true)
+public class SearchWarmupConfig {
+
+    /**
+     * Builds the properties index on a fresh cluster; the build runs in the background and never
+     * gates readiness, since listings are served from Postgres.
+     */
+    @Bean
+    public WarmupTask propertyIndexWarmup(PropertyIndexService propertyIndexService) {
+        return WarmupTask.optional("property-index", propertyIndexService::ensureIndex);
+    }
+}
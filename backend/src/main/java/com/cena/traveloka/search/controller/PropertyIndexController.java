@@ -0,0 +1,37 @@
+package com.cena.traveloka.search.controller;
+
+import com.cena.traveloka.common.dto.ApiResponse;
+import com.cena.traveloka.common.exception.BusinessException;
+import com.cena.traveloka.search.service.PropertyIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/search/properties")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.elasticsearch.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyIndexController {
+
+    private final PropertyIndexService propertyIndexService;
+
+    @PostMapping("/reindex")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ApiResponse<Void> reindex() {
+        log.info("Property reindex requested");
+
+        if (!propertyIndexService.reindexAsync()) {
+            throw new BusinessException("REINDEX_IN_PROGRESS", "A property reindex is already running");
+        }
+
+        return ApiResponse.success("Property reindex started");
+    }
+}
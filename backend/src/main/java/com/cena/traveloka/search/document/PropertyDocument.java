@@ -0,0 +1,65 @@
+package com.cena.traveloka.search.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A property as stored in the Elasticsearch properties index, one per row of
+ * {@code inventory.property_search}. Field names match {@code elasticsearch/properties-index.json}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyDocument {
+
+    private String id;
+
+    private String code;
+
+    private String name;
+
+    private String propertyType;
+
+    private Integer starRating;
+
+    private String slug;
+
+    private String cityId;
+
+    private String cityName;
+
+    private String countryName;
+
+    private String countryCode;
+
+    private Location location;
+
+    private String address;
+
+    private BigDecimal overallRating;
+
+    private Integer totalReviews;
+
+    private List<String> amenities;
+
+    private String primaryImageUrl;
+
+    private boolean featured;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private int roomTypeCount;
+
+    private long refreshedAt;
+
+    public record Location(double lat, double lon) {
+    }
+}
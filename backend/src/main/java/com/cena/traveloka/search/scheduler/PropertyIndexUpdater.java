@@ -0,0 +1,186 @@
+package com.cena.traveloka.search.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.common.service.ExternalServiceCircuitBreaker;
+import com.cena.traveloka.search.service.PropertyIndexService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code inventory.property_index_queue}, which triggers on the search projection fill
+ * in the same transaction as the change, into the properties index. An entry is removed only
+ * if its version is unchanged, so a property edited while its batch was being indexed is
+ * picked up again by the next run. Batches that fail as a whole (Elasticsearch unreachable)
+ * stay queued; a property Elasticsearch refuses counts an attempt and moves to the back of the
+ * queue, and after {@code sync-max-attempts} it is left in the queue with its last error until
+ * the property changes again or a full reindex runs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.elasticsearch.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyIndexUpdater {
+
+    private static final String CLAIM_SQL = """
+            SELECT property_id, version
+            FROM inventory.property_index_queue
+            WHERE attempts < ?
+            ORDER BY queued_at
+            LIMIT ?
+            """;
+
+    private static final String REMOVE_SQL = """
+            DELETE FROM inventory.property_index_queue q
+            USING unnest(?::uuid[], ?::bigint[]) AS done(property_id, version)
+            WHERE q.property_id = done.property_id AND q.version = done.version
+            """;
+
+    private static final String FAILED_SQL = """
+            UPDATE inventory.property_index_queue
+            SET attempts = attempts + 1,
+                last_error = ?,
+                queued_at = CURRENT_TIMESTAMP
+            WHERE property_id = ? AND version = ?
+            """;
+
+    private static final String PENDING_SQL = """
+            SELECT count(*) FILTER (WHERE attempts < ?) AS pending,
+                   count(*) FILTER (WHERE attempts >= ?) AS failed
+            FROM inventory.property_index_queue
+            """;
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    // Renewed before every batch, and longer than one batch takes with every bulk retry at its
+    // 30 s cap; a full reindex holds the same lock for up to three hours
+    private static final Duration SYNC_LOCK_AT_MOST_FOR = Duration.ofMinutes(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PropertyIndexService propertyIndexService;
+    private final ClusterJobLock clusterJobLock;
+    private final ExternalServiceCircuitBreaker circuitBreaker;
+    private final AtomicLong pendingChanges = new AtomicLong();
+    private final AtomicLong failedChanges = new AtomicLong();
+
+    @Value("${app.search.properties.sync-batch-size:500}")
+    private int syncBatchSize;
+
+    @Value("${app.search.properties.sync-max-batches:20}")
+    private int syncMaxBatches;
+
+    @Value("${app.search.properties.sync-max-attempts:5}")
+    private int syncMaxAttempts;
+
+    public PropertyIndexUpdater(JdbcTemplate jdbcTemplate,
+                                PropertyIndexService propertyIndexService,
+                                ClusterJobLock clusterJobLock,
+                                ExternalServiceCircuitBreaker circuitBreaker,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.propertyIndexService = propertyIndexService;
+        this.clusterJobLock = clusterJobLock;
+        this.circuitBreaker = circuitBreaker;
+        Gauge.builder("search.properties.index.pending", pendingChanges, AtomicLong::get)
+            .description("Properties changed in Postgres and not yet indexed")
+            .register(meterRegistry);
+        Gauge.builder("search.properties.index.failed", failedChanges, AtomicLong::get)
+            .description("Queued properties Elasticsearch refused too often to be retried")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.properties.sync-interval-ms:2000}",
+               initialDelayString = "${app.search.properties.sync-initial-delay-ms:15000}")
+    public void sync() {
+        clusterJobLock.executeExclusively(PropertyIndexService.JOB_NAME, SYNC_LOCK_AT_MOST_FOR, Duration.ZERO,
+            this::drain);
+    }
+
+    // Runs on every node so each instance reports queue depth
+    @Scheduled(fixedRate = 30000, initialDelay = 15000)
+    public void refreshPendingGauge() {
+        jdbcTemplate.query(PENDING_SQL, (RowCallbackHandler) row -> {
+            pendingChanges.set(row.getLong("pending"));
+            failedChanges.set(row.getLong("failed"));
+        }, syncMaxAttempts, syncMaxAttempts);
+    }
+
+    private void drain() {
+        for (int batch = 0; batch < syncMaxBatches; batch++) {
+            // The first batch runs under the lock just taken
+            if (batch > 0 && !clusterJobLock.extend(PropertyIndexService.JOB_NAME, SYNC_LOCK_AT_MOST_FOR)) {
+                log.warn("Lost the {} lock while draining the index queue, stopping", PropertyIndexService.JOB_NAME);
+                return;
+            }
+
+            List<UUID> ids = new ArrayList<>(syncBatchSize);
+            List<Long> versions = new ArrayList<>(syncBatchSize);
+            jdbcTemplate.query(CLAIM_SQL, (RowCallbackHandler) row -> {
+                ids.add(row.getObject("property_id", UUID.class));
+                versions.add(row.getLong("version"));
+            }, syncMaxAttempts, syncBatchSize);
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            Map<String, String> failures = circuitBreaker.executeElasticsearch(
+                () -> propertyIndexService.applyChanges(ids), null);
+            if (failures == null) {
+                return;
+            }
+
+            List<UUID> doneIds = new ArrayList<>(ids.size());
+            List<Long> doneVersions = new ArrayList<>(ids.size());
+            List<Object[]> failed = new ArrayList<>(failures.size());
+            for (int i = 0; i < ids.size(); i++) {
+                String reason = failures.get(ids.get(i).toString());
+                if (reason == null) {
+                    doneIds.add(ids.get(i));
+                    doneVersions.add(versions.get(i));
+                } else {
+                    failed.add(new Object[]{truncate(reason), ids.get(i), versions.get(i)});
+                }
+            }
+
+            remove(doneIds, doneVersions);
+            if (!failed.isEmpty()) {
+                jdbcTemplate.batchUpdate(FAILED_SQL, failed);
+                log.warn("Elasticsearch refused {} of {} changed properties, e.g. {}",
+                    failed.size(), ids.size(), failures.entrySet().iterator().next());
+            }
+            log.debug("Indexed {} changed properties", doneIds.size());
+
+            if (ids.size() < syncBatchSize) {
+                return;
+            }
+        }
+    }
+
+    private void remove(List<UUID> ids, List<Long> versions) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        UUID[] idArray = ids.toArray(new UUID[0]);
+        Long[] versionArray = versions.toArray(new Long[0]);
+        jdbcTemplate.update(REMOVE_SQL, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("uuid", idArray));
+            statement.setArray(2, statement.getConnection().createArrayOf("bigint", versionArray));
+        });
+    }
+
+    private static String truncate(String reason) {
+        return reason.length() > MAX_ERROR_LENGTH ? reason.substring(0, MAX_ERROR_LENGTH) : reason;
+    }
+}
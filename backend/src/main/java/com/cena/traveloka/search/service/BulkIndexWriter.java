@@ -0,0 +1,232 @@
+package com.cena.traveloka.search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.cena.traveloka.search.document.PropertyDocument;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends index and delete operations to one index or alias through the bulk API, at most
+ * {@code concurrency} requests at a time. When every request is in flight, the next full batch
+ * blocks its producer, so a fast reader never buffers more than {@code concurrency + 1} batches.
+ * <p>
+ * Items rejected with 429 and requests that failed on a transient error are retried with
+ * exponential backoff; any other item error fails the writer, and the next call rethrows it,
+ * unless the writer collects item failures, in which case they are reported by {@link #itemFailures()}
+ * and the other items still count as written. Not thread-safe: one producer per writer.
+ */
+@Slf4j
+final class BulkIndexWriter implements AutoCloseable {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final ElasticsearchClient client;
+    private final String target;
+    private final boolean requireAlias;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxRetries;
+    private final Duration retryBaseDelay;
+    private final boolean collectItemFailures;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("es-bulk-", 0).factory());
+    private final Semaphore inFlight;
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final AtomicLong written = new AtomicLong();
+    private final Map<String, String> itemFailures = new ConcurrentHashMap<>();
+
+    private List<BulkOperation> buffer;
+
+    BulkIndexWriter(ElasticsearchClient client, String target, boolean requireAlias,
+                    int batchSize, int concurrency, int maxRetries, Duration retryBaseDelay,
+                    boolean collectItemFailures) {
+        this.client = client;
+        this.target = target;
+        this.requireAlias = requireAlias;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxRetries = maxRetries;
+        this.retryBaseDelay = retryBaseDelay;
+        this.collectItemFailures = collectItemFailures;
+        this.inFlight = new Semaphore(concurrency);
+        this.buffer = new ArrayList<>(batchSize);
+    }
+
+    void index(PropertyDocument document) {
+        add(BulkOperation.of(operation -> operation
+            .index(index -> index.id(document.getId()).document(document))));
+    }
+
+    void delete(String id) {
+        add(BulkOperation.of(operation -> operation
+            .delete(delete -> delete.id(id))));
+    }
+
+    /**
+     * Sends what is buffered and waits for every request; returns the number of operations applied.
+     */
+    long finish() {
+        flush();
+        inFlight.acquireUninterruptibly(concurrency);
+        inFlight.release(concurrency);
+        throwIfFailed();
+        return written.get();
+    }
+
+    /**
+     * Reason for every operation that failed, keyed by document id; only filled when the writer
+     * collects item failures. Complete once {@link #finish()} returned.
+     */
+    Map<String, String> itemFailures() {
+        return Map.copyOf(itemFailures);
+    }
+
+    /**
+     * Interrupts requests that are still running, e.g. after the producer failed.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+    }
+
+    private void add(BulkOperation operation) {
+        throwIfFailed();
+        buffer.add(operation);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<BulkOperation> batch = buffer;
+        buffer = new ArrayList<>(batchSize);
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to send a bulk request to " + target, e);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    send(batch);
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void send(List<BulkOperation> batch) throws IOException, InterruptedException {
+        List<BulkOperation> pending = batch;
+        for (int attempt = 0; ; attempt++) {
+            List<BulkOperation> operations = pending;
+            BulkResponse response;
+            try {
+                response = client.bulk(bulk -> bulk.index(target).requireAlias(requireAlias).operations(operations));
+            } catch (IOException | ElasticsearchException e) {
+                if (attempt >= maxRetries || !isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Bulk request of {} operations to {} failed (attempt {}), retrying: {}",
+                    operations.size(), target, attempt + 1, e.getMessage());
+                Thread.sleep(backoff(attempt).toMillis());
+                continue;
+            }
+
+            if (!response.errors()) {
+                written.addAndGet(operations.size());
+                return;
+            }
+
+            List<BulkOperation> rejected = new ArrayList<>();
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < items.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                if (item.error() == null) {
+                    written.incrementAndGet();
+                } else if (item.status() == TOO_MANY_REQUESTS) {
+                    rejected.add(operations.get(i));
+                } else if (collectItemFailures) {
+                    itemFailures.put(item.id(), item.status() + ": " + item.error().reason());
+                } else {
+                    throw new IllegalStateException("Bulk " + item.operationType().jsonValue() + " of "
+                        + item.id() + " in " + target + " failed: " + item.error().reason());
+                }
+            }
+            if (rejected.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxRetries && collectItemFailures) {
+                rejected.forEach(operation -> itemFailures.put(idOf(operation),
+                    "rejected after " + maxRetries + " retries"));
+                return;
+            }
+            if (attempt >= maxRetries) {
+                throw new IllegalStateException(rejected.size() + " operations to " + target
+                    + " were still rejected after " + maxRetries + " retries");
+            }
+            log.debug("{} of {} operations to {} rejected, retrying", rejected.size(), operations.size(), target);
+            Thread.sleep(backoff(attempt).toMillis());
+            pending = rejected;
+        }
+    }
+
+    private void throwIfFailed() {
+        Exception e = failure.get();
+        if (e instanceof IOException io) {
+            throw new UncheckedIOException("Bulk indexing into " + target + " failed", io);
+        }
+        if (e instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (e != null) {
+            throw new IllegalStateException("Bulk indexing into " + target + " failed", e);
+        }
+    }
+
+    private static String idOf(BulkOperation operation) {
+        return operation.isIndex() ? operation.index().id() : operation.delete().id();
+    }
+
+    private static boolean isTransient(Exception e) {
+        if (e instanceof ElasticsearchException es) {
+            int status = es.status();
+            return status == TOO_MANY_REQUESTS || status == 502 || status == 503 || status == 504;
+        }
+        return true;
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = retryBaseDelay.multipliedBy(1L << Math.min(attempt, 20));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+}
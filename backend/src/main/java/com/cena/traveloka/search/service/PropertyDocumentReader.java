@@ -0,0 +1,114 @@
+package com.cena.traveloka.search.service;
+
+import com.cena.traveloka.search.document.PropertyDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads property documents from {@code inventory.property_search}, so indexing never groups
+ * room types or joins geo tables.
+ */
+@Component
+public class PropertyDocumentReader {
+
+    private static final String SELECT_SQL = """
+            SELECT id, code, name, property_type, star_rating, slug, city_id, city_name, country_name, country_code,
+                   latitude, longitude, address, overall_rating, total_reviews, amenities, primary_image_url,
+                   is_featured, min_price, max_price, room_type_count, refreshed_at
+            FROM inventory.property_search
+            """;
+
+    private static final String SELECT_BY_IDS_SQL = SELECT_SQL + "WHERE id = ANY (?)";
+
+    private static final RowMapper<PropertyDocument> DOCUMENT_MAPPER = (row, rowNum) -> {
+        Array amenities = row.getArray("amenities");
+        return PropertyDocument.builder()
+            .id(row.getString("id"))
+            .code(row.getString("code"))
+            .name(row.getString("name"))
+            .propertyType(row.getString("property_type"))
+            .starRating(row.getObject("star_rating", Integer.class))
+            .slug(row.getString("slug"))
+            .cityId(row.getString("city_id"))
+            .cityName(row.getString("city_name"))
+            .countryName(row.getString("country_name"))
+            .countryCode(row.getString("country_code"))
+            .location(new PropertyDocument.Location(row.getDouble("latitude"), row.getDouble("longitude")))
+            .address(row.getString("address"))
+            .overallRating(row.getBigDecimal("overall_rating"))
+            .totalReviews(row.getObject("total_reviews", Integer.class))
+            .amenities(amenities != null ? Arrays.asList((String[]) amenities.getArray()) : List.of())
+            .primaryImageUrl(row.getString("primary_image_url"))
+            .featured(row.getBoolean("is_featured"))
+            .minPrice(row.getBigDecimal("min_price"))
+            .maxPrice(row.getBigDecimal("max_price"))
+            .roomTypeCount(row.getInt("room_type_count"))
+            .refreshedAt(row.getTimestamp("refreshed_at").getTime())
+            .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+
+    public PropertyDocumentReader(JdbcTemplate jdbcTemplate,
+                                  DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.search.properties.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        // PostgreSQL only streams with a fetch size inside a transaction; otherwise it buffers every row
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+
+        // Not read-only: that would route to a replica, whose snapshot can be older than the
+        // queue entries the incremental updater has already removed
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Passes every listed property to {@code consumer} from one snapshot, holding at most a
+     * fetch of rows in memory. The consumer runs inside the transaction, so a slow consumer
+     * slows the cursor instead of buffering.
+     */
+    public long streamAll(Consumer<PropertyDocument> consumer) {
+        Long rows = snapshotTransaction.execute(status -> {
+            long[] count = {0};
+            cursorJdbcTemplate.query(SELECT_SQL, (RowCallbackHandler) row -> {
+                consumer.accept(DOCUMENT_MAPPER.mapRow(row, (int) count[0]));
+                count[0]++;
+            });
+            return count[0];
+        });
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Documents of the given properties that are still listed; unlisted ids are simply absent.
+     */
+    public List<PropertyDocument> load(Collection<UUID> propertyIds) {
+        if (propertyIds.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = propertyIds.toArray(new UUID[0]);
+        return jdbcTemplate.query(SELECT_BY_IDS_SQL,
+            statement -> statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids)),
+            DOCUMENT_MAPPER);
+    }
+}
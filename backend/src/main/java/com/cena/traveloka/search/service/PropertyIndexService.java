@@ -0,0 +1,251 @@
+package com.cena.traveloka.search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.search.document.PropertyDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the Elasticsearch properties index equal to {@code inventory.property_search}.
+ * <p>
+ * Searches and incremental updates go through an alias. A full reindex streams the projection
+ * into a new {@code <alias>_v<timestamp>} index with refresh and replicas off, verifies the
+ * document count, and then moves the alias in one request, so readers never see a partial
+ * index. It holds the same cluster lock as {@link com.cena.traveloka.search.scheduler.PropertyIndexUpdater},
+ * which therefore pauses while the snapshot is read and catches up from its queue afterwards.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.elasticsearch.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyIndexService {
+
+    public static final String JOB_NAME = "search.property-index";
+
+    private static final String INDEX_DEFINITION = "elasticsearch/properties-index.json";
+    private static final Duration REINDEX_LOCK_AT_MOST_FOR = Duration.ofHours(3);
+    private static final DateTimeFormatter VERSION_FORMAT =
+        DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+    private final ElasticsearchClient client;
+    private final PropertyDocumentReader documentReader;
+    private final ClusterJobLock clusterJobLock;
+    private final Timer reindexTimer;
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+
+    @Value("${app.search.properties.alias:properties}")
+    private String alias;
+
+    @Value("${app.search.properties.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.search.properties.bulk-concurrency:4}")
+    private int bulkConcurrency;
+
+    @Value("${app.search.properties.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${app.search.properties.retry-base-delay:200ms}")
+    private Duration retryBaseDelay;
+
+    @Value("${app.search.properties.refresh-interval:1s}")
+    private String refreshInterval;
+
+    @Value("${app.search.properties.replicas:1}")
+    private int replicas;
+
+    @Value("${app.search.properties.retained-indices:1}")
+    private int retainedIndices;
+
+    public PropertyIndexService(ElasticsearchClient client,
+                                PropertyDocumentReader documentReader,
+                                ClusterJobLock clusterJobLock,
+                                MeterRegistry meterRegistry) {
+        this.client = client;
+        this.documentReader = documentReader;
+        this.clusterJobLock = clusterJobLock;
+        this.reindexTimer = Timer.builder("search.properties.reindex")
+            .description("Time to build a new properties index and move the alias to it")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts a full reindex on a virtual thread; returns false if one is already running on this node.
+     */
+    public boolean reindexAsync() {
+        if (!reindexing.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("property-reindex").start(() -> {
+            try {
+                if (!reindex()) {
+                    log.info("Skipped property reindex: another node holds {}", JOB_NAME);
+                }
+            } catch (Exception e) {
+                log.error("Property reindex failed", e);
+            } finally {
+                reindexing.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isReindexing() {
+        return reindexing.get();
+    }
+
+    /**
+     * Builds a new index and moves the alias to it; returns false if another node holds the lock.
+     */
+    public boolean reindex() {
+        return clusterJobLock.executeExclusively(JOB_NAME, REINDEX_LOCK_AT_MOST_FOR, Duration.ZERO,
+            () -> reindexTimer.record(this::rebuild));
+    }
+
+    /**
+     * Indexes the given properties through the alias and deletes those that are no longer listed.
+     * Returns the reason for every property Elasticsearch refused, keyed by id; the others were
+     * applied. Failures that are not specific to one property are thrown.
+     */
+    public Map<String, String> applyChanges(Collection<UUID> propertyIds) {
+        List<PropertyDocument> documents = documentReader.load(propertyIds);
+        Set<String> listed = documents.stream().map(PropertyDocument::getId).collect(Collectors.toSet());
+
+        // An alias that does not exist yet fails the batch instead of auto-creating an unmapped index
+        try (BulkIndexWriter writer = newWriter(alias, true, 1, true)) {
+            documents.forEach(writer::index);
+            propertyIds.stream()
+                .map(UUID::toString)
+                .filter(id -> !listed.contains(id))
+                .forEach(writer::delete);
+            writer.finish();
+            return writer.itemFailures();
+        }
+    }
+
+    /**
+     * Creates the index on an empty cluster, in the background so that startup is not held back.
+     */
+    public void ensureIndex() throws IOException {
+        if (!client.indices().existsAlias(exists -> exists.name(alias)).value()) {
+            log.info("Alias {} does not exist, building the properties index", alias);
+            reindexAsync();
+        }
+    }
+
+    private void rebuild() {
+        String index = alias + "_v" + VERSION_FORMAT.format(Instant.now());
+        long started = System.nanoTime();
+        try {
+            createIndex(index);
+
+            long indexed;
+            try (BulkIndexWriter writer = newWriter(index, false, bulkConcurrency, false)) {
+                documentReader.streamAll(writer::index);
+                indexed = writer.finish();
+            }
+
+            client.indices().putSettings(put -> put
+                .index(index)
+                .settings(settings -> settings
+                    .refreshInterval(interval -> interval.time(refreshInterval))
+                    .numberOfReplicas(String.valueOf(replicas))));
+            client.indices().refresh(refresh -> refresh.index(index));
+
+            long count = client.count(request -> request.index(index)).count();
+            if (count != indexed) {
+                throw new IllegalStateException("Index " + index + " holds " + count
+                    + " documents but " + indexed + " were written");
+            }
+
+            Set<String> previous = swapAlias(index);
+            deleteOldIndices(index);
+            log.info("Indexed {} properties into {} in {} ms and moved {} from {}",
+                indexed, index, (System.nanoTime() - started) / 1_000_000, alias, previous);
+        } catch (IOException e) {
+            deleteQuietly(index);
+            throw new UncheckedIOException("Failed to reindex properties into " + index, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(index);
+            throw e;
+        }
+    }
+
+    private void createIndex(String index) throws IOException {
+        try (InputStream definition = new ClassPathResource(INDEX_DEFINITION).getInputStream()) {
+            client.indices().create(create -> create.index(index).withJson(definition));
+        }
+        // Segments are refreshed and replicated once, after the bulk load
+        client.indices().putSettings(put -> put
+            .index(index)
+            .settings(settings -> settings
+                .refreshInterval(interval -> interval.time("-1"))
+                .numberOfReplicas("0")));
+    }
+
+    private Set<String> swapAlias(String index) throws IOException {
+        Set<String> previous = aliasedIndices();
+        client.indices().updateAliases(update -> {
+            previous.forEach(old -> update.actions(action -> action.remove(remove -> remove.index(old).alias(alias))));
+            return update.actions(action -> action.add(add -> add.index(index).alias(alias)));
+        });
+        return previous;
+    }
+
+    private Set<String> aliasedIndices() throws IOException {
+        if (!client.indices().existsAlias(exists -> exists.name(alias)).value()) {
+            return Set.of();
+        }
+        return client.indices().getAlias(get -> get.name(alias)).result().keySet();
+    }
+
+    /**
+     * Keeps the newest {@code retainedIndices} indices before the current one for a manual rollback.
+     */
+    private void deleteOldIndices(String current) throws IOException {
+        List<String> stale = client.indices().get(get -> get.index(alias + "_v*")).result().keySet().stream()
+            .filter(name -> !name.equals(current))
+            .sorted(Comparator.reverseOrder())
+            .skip(retainedIndices)
+            .toList();
+        if (!stale.isEmpty()) {
+            client.indices().delete(delete -> delete.index(stale));
+            log.info("Deleted old property indices {}", stale);
+        }
+    }
+
+    private void deleteQuietly(String index) {
+        try {
+            client.indices().delete(delete -> delete.index(index).ignoreUnavailable(true));
+        } catch (Exception e) {
+            log.warn("Failed to delete abandoned index {}: {}", index, e.getMessage());
+        }
+    }
+
+    private BulkIndexWriter newWriter(String target, boolean requireAlias, int concurrency,
+                                      boolean collectItemFailures) {
+        return new BulkIndexWriter(client, target, requireAlias, batchSize, concurrency, maxRetries, retryBaseDelay,
+            collectItemFailures);
+    }
+}
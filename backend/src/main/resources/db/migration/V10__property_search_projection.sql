@@ -0,0 +1,315 @@
+-- =====================================================
+-- V10: Property Search Projection
+-- Description: Denormalized listing rows with room type price aggregates, kept current by triggers
+-- =====================================================
+
+-- =====================================================
+-- PROPERTY SEARCH TABLE
+-- =====================================================
+
+CREATE TABLE inventory.property_search (
+                                           id UUID PRIMARY KEY REFERENCES inventory.properties(id) ON DELETE CASCADE,
+                                           code VARCHAR(50) NOT NULL,
+                                           name VARCHAR(200) NOT NULL,
+                                           property_type inventory.property_type NOT NULL,
+                                           star_rating INTEGER,
+                                           slug VARCHAR(255),
+                                           city_id UUID NOT NULL,
+                                           city_name VARCHAR(100) NOT NULL,
+                                           country_id UUID NOT NULL,
+                                           country_name VARCHAR(100) NOT NULL,
+                                           country_code common.country_code NOT NULL,
+                                           latitude DECIMAL(10,8) NOT NULL,
+                                           longitude DECIMAL(11,8) NOT NULL,
+                                           address TEXT NOT NULL,
+                                           overall_rating common.rating,
+                                           total_reviews INTEGER,
+                                           amenities TEXT[],
+                                           primary_image_url common.url,
+                                           status common.status,
+                                           is_featured BOOLEAN,
+                                           min_price common.price,
+                                           max_price common.price,
+                                           room_type_count INTEGER NOT NULL DEFAULT 0,
+                                           refreshed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE inventory.property_search IS 'One row per active, non-deleted property with its city and country names and active room type price range; maintained by statement triggers on properties, room_types, cities and countries';
+
+-- =====================================================
+-- FUNCTIONS
+-- =====================================================
+
+-- Recomputes the rows of the given properties, removing those that are no longer listed
+CREATE OR REPLACE FUNCTION inventory.refresh_property_search(p_property_ids UUID[])
+RETURNS VOID AS $$
+BEGIN
+    IF p_property_ids IS NULL OR cardinality(p_property_ids) = 0 THEN
+        RETURN;
+    END IF;
+
+    -- Two transactions changing room types of one property take turns here; the statements
+    -- below then run on a fresh snapshot that includes the other transaction's change
+    PERFORM 1
+    FROM inventory.properties
+    WHERE id = ANY (p_property_ids)
+    ORDER BY id
+    FOR NO KEY UPDATE;
+
+    DELETE FROM inventory.property_search ps
+    WHERE ps.id = ANY (p_property_ids)
+      AND NOT EXISTS (
+          SELECT 1 FROM inventory.properties p
+          WHERE p.id = ps.id AND p.is_deleted = FALSE AND p.is_active = TRUE);
+
+    INSERT INTO inventory.property_search AS ps (
+        id, code, name, property_type, star_rating, slug,
+        city_id, city_name, country_id, country_name, country_code,
+        latitude, longitude, address, overall_rating, total_reviews, amenities,
+        primary_image_url, status, is_featured, min_price, max_price, room_type_count, refreshed_at)
+    SELECT
+        p.id, p.code, p.name, p.property_type, p.star_rating, p.slug,
+        c.id, c.name, co.id, co.name, co.code,
+        p.latitude, p.longitude, p.address, p.overall_rating, p.total_reviews, p.amenities,
+        p.primary_image_url, p.status, p.is_featured, rt.min_price, rt.max_price, rt.room_type_count,
+        CURRENT_TIMESTAMP
+    FROM inventory.properties p
+    JOIN geo.cities c ON p.city_id = c.id
+    JOIN geo.countries co ON p.country_id = co.id
+    CROSS JOIN LATERAL (
+        SELECT MIN(r.base_price) AS min_price,
+               MAX(r.base_price) AS max_price,
+               COUNT(*)::INTEGER AS room_type_count
+        FROM inventory.room_types r
+        WHERE r.property_id = p.id AND r.is_active = TRUE
+    ) rt
+    WHERE p.id = ANY (p_property_ids)
+      AND p.is_deleted = FALSE
+      AND p.is_active = TRUE
+    ON CONFLICT (id) DO UPDATE
+    SET code = EXCLUDED.code,
+        name = EXCLUDED.name,
+        property_type = EXCLUDED.property_type,
+        star_rating = EXCLUDED.star_rating,
+        slug = EXCLUDED.slug,
+        city_id = EXCLUDED.city_id,
+        city_name = EXCLUDED.city_name,
+        country_id = EXCLUDED.country_id,
+        country_name = EXCLUDED.country_name,
+        country_code = EXCLUDED.country_code,
+        latitude = EXCLUDED.latitude,
+        longitude = EXCLUDED.longitude,
+        address = EXCLUDED.address,
+        overall_rating = EXCLUDED.overall_rating,
+        total_reviews = EXCLUDED.total_reviews,
+        amenities = EXCLUDED.amenities,
+        primary_image_url = EXCLUDED.primary_image_url,
+        status = EXCLUDED.status,
+        is_featured = EXCLUDED.is_featured,
+        min_price = EXCLUDED.min_price,
+        max_price = EXCLUDED.max_price,
+        room_type_count = EXCLUDED.room_type_count,
+        refreshed_at = EXCLUDED.refreshed_at
+    -- Unchanged rows are left alone, so a full reconcile writes only the drift
+    WHERE (ps.code, ps.name, ps.property_type, ps.star_rating, ps.slug,
+           ps.city_id, ps.city_name, ps.country_id, ps.country_name, ps.country_code,
+           ps.latitude, ps.longitude, ps.address, ps.overall_rating, ps.total_reviews, ps.amenities,
+           ps.primary_image_url, ps.status, ps.is_featured, ps.min_price, ps.max_price, ps.room_type_count)
+        IS DISTINCT FROM
+          (EXCLUDED.code, EXCLUDED.name, EXCLUDED.property_type, EXCLUDED.star_rating, EXCLUDED.slug,
+           EXCLUDED.city_id, EXCLUDED.city_name, EXCLUDED.country_id, EXCLUDED.country_name, EXCLUDED.country_code,
+           EXCLUDED.latitude, EXCLUDED.longitude, EXCLUDED.address, EXCLUDED.overall_rating, EXCLUDED.total_reviews, EXCLUDED.amenities,
+           EXCLUDED.primary_image_url, EXCLUDED.status, EXCLUDED.is_featured, EXCLUDED.min_price, EXCLUDED.max_price, EXCLUDED.room_type_count);
+END;
+$$ LANGUAGE plpgsql;
+
+-- =====================================================
+-- TRIGGERS
+-- =====================================================
+
+-- Statement triggers with transition tables, so a bulk import refreshes each property once
+-- per statement instead of once per row. Updates only refresh properties whose listed
+-- columns changed.
+CREATE OR REPLACE FUNCTION inventory.property_search_on_properties()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM inventory.refresh_property_search(ARRAY(SELECT n.id FROM new_rows n));
+    ELSIF TG_OP = 'DELETE' THEN
+        DELETE FROM inventory.property_search ps USING old_rows o WHERE ps.id = o.id;
+    ELSE
+        PERFORM inventory.refresh_property_search(ARRAY(
+            SELECT n.id
+            FROM new_rows n
+            JOIN old_rows o ON o.id = n.id
+            WHERE (n.code, n.name, n.property_type, n.star_rating, n.slug, n.city_id, n.country_id,
+                   n.latitude, n.longitude, n.address, n.overall_rating, n.total_reviews, n.amenities,
+                   n.primary_image_url, n.status, n.is_featured, n.is_active, n.is_deleted)
+                IS DISTINCT FROM
+                  (o.code, o.name, o.property_type, o.star_rating, o.slug, o.city_id, o.country_id,
+                   o.latitude, o.longitude, o.address, o.overall_rating, o.total_reviews, o.amenities,
+                   o.primary_image_url, o.status, o.is_featured, o.is_active, o.is_deleted)));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER property_search_properties_insert
+    AFTER INSERT ON inventory.properties
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_properties();
+
+CREATE TRIGGER property_search_properties_update
+    AFTER UPDATE ON inventory.properties
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_properties();
+
+CREATE TRIGGER property_search_properties_delete
+    AFTER DELETE ON inventory.properties
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_properties();
+
+-- Room type changes only touch the price range and count of their properties
+CREATE OR REPLACE FUNCTION inventory.property_search_on_room_types()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM inventory.refresh_property_search(ARRAY(SELECT DISTINCT n.property_id FROM new_rows n));
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM inventory.refresh_property_search(ARRAY(SELECT DISTINCT o.property_id FROM old_rows o));
+    ELSE
+        PERFORM inventory.refresh_property_search(ARRAY(
+            SELECT changed.property_id
+            FROM new_rows n
+            JOIN old_rows o ON o.id = n.id
+            CROSS JOIN LATERAL (VALUES (n.property_id), (o.property_id)) AS changed(property_id)
+            WHERE (n.property_id, n.base_price, n.is_active) IS DISTINCT FROM (o.property_id, o.base_price, o.is_active)
+            GROUP BY changed.property_id));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER property_search_room_types_insert
+    AFTER INSERT ON inventory.room_types
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_room_types();
+
+CREATE TRIGGER property_search_room_types_update
+    AFTER UPDATE ON inventory.room_types
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_room_types();
+
+CREATE TRIGGER property_search_room_types_delete
+    AFTER DELETE ON inventory.room_types
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_room_types();
+
+-- A renamed city or country is written straight into the rows that carry its name
+CREATE OR REPLACE FUNCTION inventory.property_search_on_cities()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE inventory.property_search ps
+    SET city_name = n.name,
+        refreshed_at = CURRENT_TIMESTAMP
+    FROM new_rows n
+    JOIN old_rows o ON o.id = n.id
+    WHERE ps.city_id = n.id
+      AND n.name IS DISTINCT FROM o.name;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER property_search_cities_update
+    AFTER UPDATE ON geo.cities
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_cities();
+
+CREATE OR REPLACE FUNCTION inventory.property_search_on_countries()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE inventory.property_search ps
+    SET country_name = n.name,
+        country_code = n.code,
+        refreshed_at = CURRENT_TIMESTAMP
+    FROM new_rows n
+    JOIN old_rows o ON o.id = n.id
+    WHERE ps.country_id = n.id
+      AND (n.name, n.code) IS DISTINCT FROM (o.name, o.code);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER property_search_countries_update
+    AFTER UPDATE ON geo.countries
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.property_search_on_countries();
+
+-- =====================================================
+-- BACKFILL
+-- =====================================================
+
+SELECT inventory.refresh_property_search(ARRAY(
+    SELECT id FROM inventory.properties WHERE is_deleted = FALSE AND is_active = TRUE));
+
+-- =====================================================
+-- VIEWS
+-- =====================================================
+
+-- Same columns as before, now read from the projection instead of grouping room types per query
+DROP VIEW inventory.v_property_search;
+
+CREATE VIEW inventory.v_property_search AS
+SELECT
+    ps.id,
+    ps.code,
+    ps.name,
+    ps.property_type,
+    ps.star_rating,
+    ps.slug,
+    ps.city_name,
+    ps.country_name,
+    ps.country_code,
+    ps.latitude,
+    ps.longitude,
+    ps.address,
+    ps.overall_rating,
+    ps.total_reviews,
+    ps.amenities,
+    ps.primary_image_url,
+    ps.status,
+    ps.is_featured,
+    ps.min_price,
+    ps.max_price,
+    ps.room_type_count::BIGINT AS room_type_count
+FROM inventory.property_search ps;
+
+-- =====================================================
+-- INDEXES FOR PERFORMANCE
+-- =====================================================
+
+-- Default listing order within a city; the filter columns are carried so most rows that
+-- fail a type, star or price filter are rejected without visiting the table
+CREATE INDEX idx_property_search_city_ranking
+    ON inventory.property_search(city_id, is_featured DESC, overall_rating DESC NULLS LAST, id)
+    INCLUDE (property_type, star_rating, min_price);
+
+-- Price band within a city, and price ordering in either direction
+CREATE INDEX idx_property_search_city_price
+    ON inventory.property_search(city_id, min_price, id)
+    INCLUDE (property_type, star_rating)
+    WHERE min_price IS NOT NULL;
+
+-- Property type and star rating filters within a city
+CREATE INDEX idx_property_search_city_type_stars
+    ON inventory.property_search(city_id, property_type, star_rating, min_price);
+
+-- Country renames
+CREATE INDEX idx_property_search_country ON inventory.property_search(country_id);
+
+-- =====================================================
+-- MIGRATION METADATA
+-- =====================================================
+
+INSERT INTO public.migration_metadata (version, description)
+VALUES ('V10', 'Property search projection maintained by triggers');
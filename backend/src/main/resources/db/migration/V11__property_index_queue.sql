@@ -0,0 +1,79 @@
+-- =====================================================
+-- V11: Property Index Queue
+-- Description: Properties whose search projection changed and still have to be sent to Elasticsearch
+-- =====================================================
+
+-- =====================================================
+-- PROPERTY INDEX QUEUE TABLE
+-- =====================================================
+
+CREATE TABLE inventory.property_index_queue (
+                                                property_id UUID PRIMARY KEY,
+                                                version BIGINT NOT NULL DEFAULT 1,
+                                                queued_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                                attempts INTEGER NOT NULL DEFAULT 0,
+                                                last_error TEXT
+);
+
+COMMENT ON TABLE inventory.property_index_queue IS 'One row per property with unindexed changes; version grows with every change, so the indexer only removes entries that did not change again while it was indexing them';
+COMMENT ON COLUMN inventory.property_index_queue.attempts IS 'Times Elasticsearch refused this property since its last change; the indexer skips entries past its limit';
+COMMENT ON COLUMN inventory.property_index_queue.last_error IS 'Reason Elasticsearch gave for the last refusal';
+
+-- =====================================================
+-- TRIGGERS
+-- =====================================================
+
+-- Every change that reaches inventory.property_search, whatever table it started in, queues
+-- the property once per statement; a new change gets a fresh set of attempts
+CREATE OR REPLACE FUNCTION inventory.queue_property_index()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO inventory.property_index_queue (property_id)
+        SELECT DISTINCT o.id FROM old_rows o
+        ON CONFLICT (property_id) DO UPDATE
+        SET version = inventory.property_index_queue.version + 1,
+            queued_at = CURRENT_TIMESTAMP,
+            attempts = 0,
+            last_error = NULL;
+    ELSE
+        INSERT INTO inventory.property_index_queue (property_id)
+        SELECT DISTINCT n.id FROM new_rows n
+        ON CONFLICT (property_id) DO UPDATE
+        SET version = inventory.property_index_queue.version + 1,
+            queued_at = CURRENT_TIMESTAMP,
+            attempts = 0,
+            last_error = NULL;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER queue_property_index_insert
+    AFTER INSERT ON inventory.property_search
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.queue_property_index();
+
+CREATE TRIGGER queue_property_index_update
+    AFTER UPDATE ON inventory.property_search
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.queue_property_index();
+
+CREATE TRIGGER queue_property_index_delete
+    AFTER DELETE ON inventory.property_search
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION inventory.queue_property_index();
+
+-- =====================================================
+-- INDEXES FOR PERFORMANCE
+-- =====================================================
+
+-- The indexer drains the oldest entries first
+CREATE INDEX idx_property_index_queue_queued_at ON inventory.property_index_queue(queued_at);
+
+-- =====================================================
+-- MIGRATION METADATA
+-- =====================================================
+
+INSERT INTO public.migration_metadata (version, description)
+VALUES ('V11', 'Property index queue for incremental Elasticsearch updates');
@@ -0,0 +1,32 @@
+-- =====================================================
+-- V6: Scheduled Job Locks
+-- Description: Cluster-wide lock table for @Scheduled jobs and lockout expiry index
+-- =====================================================
+
+-- =====================================================
+-- SCHEDULED JOB LOCKS TABLE
+-- =====================================================
+
+CREATE TABLE common.scheduled_job_locks (
+                                            job_name VARCHAR(100) PRIMARY KEY,
+                                            locked_until TIMESTAMP WITH TIME ZONE NOT NULL,
+                                            locked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                            locked_by VARCHAR(255) NOT NULL
+);
+
+COMMENT ON TABLE common.scheduled_job_locks IS 'One row per scheduled job; a job runs only on the node holding an unexpired lock';
+
+-- =====================================================
+-- INDEXES FOR PERFORMANCE
+-- =====================================================
+
+-- Set-based unlock of expired account lockouts
+CREATE INDEX idx_users_locked_until ON iam.users(locked_until)
+    WHERE account_locked = TRUE;
+
+-- =====================================================
+-- MIGRATION METADATA
+-- =====================================================
+
+INSERT INTO public.migration_metadata (version, description)
+VALUES ('V6', 'Scheduled job locks and lockout expiry index');
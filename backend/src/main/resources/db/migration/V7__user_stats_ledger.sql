@@ -0,0 +1,33 @@
+-- =====================================================
+-- V7: User Stats Ledger
+-- Description: Append-only loyalty and booking stats events folded into iam.user_profiles in batches
+-- =====================================================
+
+-- =====================================================
+-- USER STATS EVENTS TABLE
+-- =====================================================
+
+CREATE TABLE iam.user_stats_events (
+                                       id BIGSERIAL PRIMARY KEY,
+                                       user_id UUID NOT NULL REFERENCES iam.user_profiles(user_id) ON DELETE CASCADE,
+                                       points_delta INTEGER NOT NULL DEFAULT 0,
+                                       bookings_delta INTEGER NOT NULL DEFAULT 0,
+                                       spent_delta DECIMAL(12,2) NOT NULL DEFAULT 0,
+                                       created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE iam.user_stats_events IS 'Insert-only deltas for loyalty_points, total_bookings and total_spent not yet applied to iam.user_profiles; the fold deletes each delta in the statement that applies it';
+
+-- =====================================================
+-- INDEXES FOR PERFORMANCE
+-- =====================================================
+
+-- Reads add the unfolded tail for one user; the fold takes the oldest events by primary key
+CREATE INDEX idx_user_stats_events_user ON iam.user_stats_events(user_id);
+
+-- =====================================================
+-- MIGRATION METADATA
+-- =====================================================
+
+INSERT INTO public.migration_metadata (version, description)
+VALUES ('V7', 'User stats ledger');
@@ -0,0 +1,44 @@
+-- =====================================================
+-- V8: Email Outbox
+-- Description: Transactional outbox for emails sent asynchronously by EmailDispatcher
+-- =====================================================
+
+-- =====================================================
+-- EMAIL OUTBOX TABLE
+-- =====================================================
+
+CREATE TABLE notify.email_outbox (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     template VARCHAR(100) NOT NULL,
+                                     recipient VARCHAR(320) NOT NULL,
+                                     recipient_domain VARCHAR(255) NOT NULL,
+                                     subject VARCHAR(500) NOT NULL,
+                                     variables JSONB NOT NULL DEFAULT '{}',
+                                     status VARCHAR(20) NOT NULL DEFAULT 'pending', -- pending, sending, sent, failed
+                                     attempts INTEGER NOT NULL DEFAULT 0,
+                                     next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                     last_error TEXT,
+                                     created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                     sent_at TIMESTAMP WITH TIME ZONE
+);
+
+COMMENT ON TABLE notify.email_outbox IS 'Emails written in the business transaction and delivered in batches; a sending row whose next_attempt_at has passed was abandoned and is claimed again';
+
+-- =====================================================
+-- INDEXES FOR PERFORMANCE
+-- =====================================================
+
+-- Dispatcher claims due rows in next_attempt_at order
+CREATE INDEX idx_email_outbox_due ON notify.email_outbox(next_attempt_at)
+    WHERE status IN ('pending', 'sending');
+
+-- Retention sweep deletes finished rows by age
+CREATE INDEX idx_email_outbox_finished ON notify.email_outbox(created_at)
+    WHERE status IN ('sent', 'failed');
+
+-- =====================================================
+-- MIGRATION METADATA
+-- =====================================================
+
+INSERT INTO public.migration_metadata (version, description)
+VALUES ('V8', 'Email outbox');
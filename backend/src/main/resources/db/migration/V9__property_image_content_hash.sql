@@ -0,0 +1,29 @@
+-- =====================================================
+-- V9: Property Image Content Hash
+-- Description: SHA-256 of uploaded image content for content-addressed storage and dedup
+-- =====================================================
+
+-- =====================================================
+-- PROPERTY IMAGES CONTENT HASH
+-- =====================================================
+
+ALTER TABLE inventory.property_images
+    ADD COLUMN content_sha256 CHAR(64);
+
+COMMENT ON COLUMN inventory.property_images.content_sha256 IS 'Hex SHA-256 of the original upload; objects in MinIO are keyed by it';
+
+-- =====================================================
+-- INDEXES FOR PERFORMANCE
+-- =====================================================
+
+-- The same photo uploaded twice for a property is stored once
+CREATE UNIQUE INDEX uq_property_images_property_content
+    ON inventory.property_images(property_id, content_sha256)
+    WHERE content_sha256 IS NOT NULL;
+
+-- =====================================================
+-- MIGRATION METADATA
+-- =====================================================
+
+INSERT INTO public.migration_metadata (version, description)
+VALUES ('V9', 'Property image content hash for upload dedup');
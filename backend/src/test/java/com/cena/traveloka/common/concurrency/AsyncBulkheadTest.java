@@ -0,0 +1,107 @@
+package com.cena.traveloka.common.concurrency;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AsyncBulkhead Tests")
+class AsyncBulkheadTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncBulkhead bulkhead;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkhead.close();
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the semaphore bulkhead has no free permit")
+    void submit_SemaphoreFull_FailsFast() {
+        // Given
+        bulkhead = AsyncBulkhead.semaphore(
+            Bulkhead.of("test", BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build()),
+            timeLimiter(Duration.ofSeconds(5)), Duration.ofSeconds(1));
+        bulkhead.submit(this::blockUntilReleased);
+
+        // When
+        CompletableFuture<String> rejected = bulkhead.submit(() -> "second").toCompletableFuture();
+
+        // Then
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(BulkheadFullException.class);
+    }
+
+    @Test
+    @DisplayName("Should time out calls that exceed the time limit")
+    void submit_SlowCall_TimesOut() {
+        // Given
+        bulkhead = AsyncBulkhead.threadPool(threadPool(), timeLimiter(Duration.ofMillis(100)), Duration.ofSeconds(1));
+
+        // When
+        CompletableFuture<String> slow = bulkhead.submit(this::blockUntilReleased).toCompletableFuture();
+
+        // Then
+        assertThatThrownBy(() -> slow.get(2, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("Should answer with the hedged request when the first one is slow")
+    void submitHedged_SlowPrimary_UsesHedge() throws Exception {
+        // Given
+        bulkhead = AsyncBulkhead.threadPool(threadPool(), timeLimiter(Duration.ofSeconds(5)), Duration.ofMillis(50));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = bulkhead.submitHedged(() -> attempts.incrementAndGet() == 1 ? blockUntilReleased() : "hedged")
+            .toCompletableFuture()
+            .get(2, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isEqualTo("hedged");
+        assertThat(bulkhead.getHedgedCalls()).isEqualTo(1);
+    }
+
+    private ThreadPoolBulkhead threadPool() {
+        return ThreadPoolBulkhead.of("test", ThreadPoolBulkheadConfig.custom()
+            .maxThreadPoolSize(2)
+            .coreThreadPoolSize(2)
+            .queueCapacity(1)
+            .build());
+    }
+
+    private TimeLimiter timeLimiter(Duration timeout) {
+        return TimeLimiter.of(TimeLimiterConfig.custom().timeoutDuration(timeout).build());
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "slow";
+    }
+}
@@ -0,0 +1,125 @@
+package com.cena.traveloka.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExecutorTelemetry Tests")
+class ExecutorTelemetryTest {
+
+    private final ExecutorTelemetry telemetry = new ExecutorTelemetry();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("TestExecutor-");
+        executor.setRejectedExecutionHandler(
+            telemetry.countRejections("testExecutor", new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setTaskDecorator(telemetry.instrument("testExecutor", executor));
+        executor.initialize();
+        telemetry.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should carry MDC and security context to the worker thread")
+    void instrument_PropagatesContext() throws Exception {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user-1", null);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MDC.put("requestId", "req-42");
+        AtomicReference<String> seenRequestId = new AtomicReference<>();
+        AtomicReference<Authentication> seenAuthentication = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        executor.execute(() -> {
+            seenRequestId.set(MDC.get("requestId"));
+            seenAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            done.countDown();
+        });
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seenRequestId.get()).isEqualTo("req-42");
+        assertThat(seenAuthentication.get()).isSameAs(authentication);
+    }
+
+    @Test
+    @DisplayName("Should count rejections that fall back to the caller thread")
+    void countRejections_CountsCallerRuns() throws Exception {
+        // Given - one running task and one queued task fill the pool
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        executor.execute(() -> awaitQuietly(release, finished));
+        executor.execute(() -> awaitQuietly(release, finished));
+        AtomicReference<String> callerThread = new AtomicReference<>();
+
+        // When
+        executor.execute(() -> callerThread.set(Thread.currentThread().getName()));
+        release.countDown();
+
+        // Then
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(callerThread.get()).isEqualTo(Thread.currentThread().getName());
+        assertThat(registry.get("async.executor.rejected").tag("name", "testExecutor").functionCounter().count())
+            .isEqualTo(1.0);
+        assertThat(registry.get("async.executor.caller.runs").tag("name", "testExecutor").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should time queue wait and execution for completed tasks")
+    void instrument_RecordsTimers() throws Exception {
+        // Given
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        executor.execute(done::countDown);
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+        assertThat(registry.get("async.executor.queue.wait").tag("name", "testExecutor").timer().count())
+            .isEqualTo(1);
+        assertThat(registry.get("async.executor.execution").tag("name", "testExecutor").timer().count())
+            .isEqualTo(1);
+        assertThat(registry.get("async.executor.active").tag("name", "testExecutor").gauge().value())
+            .isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch release, CountDownLatch finished) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finished.countDown();
+    }
+}
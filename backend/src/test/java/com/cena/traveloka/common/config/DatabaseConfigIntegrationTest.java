@@ -49,14 +49,15 @@ class DatabaseConfigIntegrationTest {
     private DataSource dataSource;
 
     @Test
-    void dataSourceIsConfigured() {
+    void dataSourceIsConfigured() throws Exception {
         assertThat(dataSource).isNotNull();
-        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+        // The pool sits behind the statement instrumentation proxy
+        assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
     }
 
     @Test
-    void hikariPoolSettingsAreCorrect() {
-        HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+    void hikariPoolSettingsAreCorrect() throws Exception {
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
 
         // Verify HikariCP settings from research.md specifications
         assertThat(hikariDataSource.getMinimumIdle()).isEqualTo(5);
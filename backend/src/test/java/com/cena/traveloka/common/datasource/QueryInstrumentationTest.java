@@ -0,0 +1,160 @@
+package com.cena.traveloka.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueryInstrumentation Tests")
+class QueryInstrumentationTest {
+
+    private static final String FIND_ROLE = "select r1_0.id,r1_0.name from iam.roles r1_0 where r1_0.id=?";
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    @DisplayName("Should time executions per normalized statement")
+    void record_GroupsByNormalizedStatement() throws Exception {
+        // Given
+        QueryInstrumentation instrumentation = new QueryInstrumentation(meterRegistry, Duration.ofSeconds(5), 10, 500);
+        DataSource dataSource = instrumentation.instrument(target);
+
+        // When
+        try (Connection proxy = dataSource.getConnection()) {
+            proxy.prepareStatement(FIND_ROLE).executeQuery();
+            proxy.prepareStatement(FIND_ROLE.replace(" where", "\n    where")).executeQuery();
+        }
+
+        // Then
+        assertThat(instrumentation.getStatements()).singleElement().satisfies(stats -> {
+            assertThat(stats.getExecutions()).isEqualTo(2);
+            assertThat(stats.getType()).isEqualTo("select");
+        });
+        assertThat(meterRegistry.get("db.query").tag("type", "select").timer().count()).isEqualTo(2);
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should log slow queries with bind value shapes only")
+    void record_SlowQuery_KeepsParameterShapes() throws Exception {
+        // Given
+        QueryInstrumentation instrumentation = new QueryInstrumentation(meterRegistry, Duration.ZERO, 10, 500);
+        DataSource dataSource = instrumentation.instrument(target);
+
+        // When
+        try (Connection proxy = dataSource.getConnection()) {
+            PreparedStatement prepared = proxy.prepareStatement(FIND_ROLE);
+            prepared.setString(1, "ADMIN");
+            prepared.setNull(2, Types.VARCHAR);
+            prepared.executeQuery();
+        }
+
+        // Then
+        assertThat(instrumentation.getSlowQueries()).singleElement().satisfies(slow -> {
+            assertThat(slow.parameters()).isEqualTo("[String(5), null]");
+            assertThat(slow.sql()).doesNotContain("ADMIN");
+        });
+        verify(statement).setString(1, "ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should flag a statement repeated past the threshold in one request")
+    void closeRequestScope_RepeatedStatement_Reported() throws Exception {
+        // Given
+        QueryInstrumentation instrumentation = new QueryInstrumentation(meterRegistry, Duration.ofSeconds(5), 10, 500);
+        DataSource dataSource = instrumentation.instrument(target);
+        QueryInstrumentation.QueryScope scope = instrumentation.openRequestScope();
+
+        // When
+        try (Connection proxy = dataSource.getConnection()) {
+            for (int i = 0; i < 12; i++) {
+                PreparedStatement prepared = proxy.prepareStatement(FIND_ROLE);
+                prepared.setLong(1, i);
+                prepared.executeQuery();
+            }
+        }
+        instrumentation.closeRequestScope(scope, "GET /api/v1/users/{id}");
+
+        // Then
+        assertThat(instrumentation.getRepeatedStatements()).singleElement().satisfies(repeated -> {
+            assertThat(repeated.where()).isEqualTo("GET /api/v1/users/{id}");
+            assertThat(repeated.count()).isEqualTo(12);
+            assertThat(repeated.callers()).isNotEmpty();
+        });
+        assertThat(meterRegistry.get("db.statements.per.request").summary().totalAmount()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Should not flag statements below the threshold")
+    void closeRequestScope_BelowThreshold_NotReported() throws Exception {
+        // Given
+        QueryInstrumentation instrumentation = new QueryInstrumentation(meterRegistry, Duration.ofSeconds(5), 10, 500);
+        DataSource dataSource = instrumentation.instrument(target);
+        QueryInstrumentation.QueryScope scope = instrumentation.openRequestScope();
+
+        // When
+        try (Connection proxy = dataSource.getConnection()) {
+            for (int i = 0; i < 10; i++) {
+                proxy.prepareStatement(FIND_ROLE).executeQuery();
+            }
+        }
+        instrumentation.closeRequestScope(scope, "GET /api/v1/users/me");
+
+        // Then
+        assertThat(instrumentation.getRepeatedStatements()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count statements per normalized statement for a single call")
+    void countStatements_ReturnsPerStatementCounts() throws Exception {
+        // Given
+        QueryInstrumentation instrumentation = new QueryInstrumentation(meterRegistry, Duration.ofSeconds(5), 10, 500);
+        DataSource dataSource = instrumentation.instrument(target);
+
+        // When
+        Map<String, Integer> counts = instrumentation.countStatements(() -> {
+            try (Connection proxy = dataSource.getConnection()) {
+                proxy.prepareStatement(FIND_ROLE).executeQuery();
+                proxy.prepareStatement(FIND_ROLE).executeQuery();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then
+        assertThat(counts).containsExactly(entry(SqlShapes.normalize(FIND_ROLE), 2));
+    }
+}
@@ -0,0 +1,159 @@
+package com.cena.traveloka.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String USER_ID = "5f7c2a4e-0000-4000-8000-000000000001";
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica0;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    @Mock
+    private ReadYourWritesTracker writesTracker;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica0, replica1),
+            lagMonitor, writesTracker, meterRegistry);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(USER_ID, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread reads round-robin across healthy replicas")
+    void selectReplica_AllHealthy_RoundRobin() {
+        // Given
+        when(lagMonitor.isWithinLag(0)).thenReturn(true);
+        when(lagMonitor.isWithinLag(1)).thenReturn(true);
+
+        // When
+        int first = dataSource.selectReplica();
+        int second = dataSource.selectReplica();
+        int third = dataSource.selectReplica();
+
+        // Then
+        assertThat(List.of(first, second, third)).containsExactly(0, 1, 0);
+        assertThat(routed("replica", "read-only")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should skip a replica that is behind")
+    void selectReplica_OneLagging_SkipsIt() {
+        // Given
+        when(lagMonitor.isWithinLag(0)).thenReturn(false);
+        when(lagMonitor.isWithinLag(1)).thenReturn(true);
+
+        // When / Then
+        assertThat(dataSource.selectReplica()).isEqualTo(1);
+        assertThat(dataSource.selectReplica()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when every replica is behind")
+    void selectReplica_AllLagging_FallsBackToPrimary() {
+        // Given
+        when(lagMonitor.isWithinLag(0)).thenReturn(false);
+        when(lagMonitor.isWithinLag(1)).thenReturn(false);
+
+        // When
+        int selected = dataSource.selectReplica();
+
+        // Then
+        assertThat(selected).isEqualTo(-1);
+        assertThat(routed("primary", "replica-lag")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a user on the primary right after their own write")
+    void selectReplica_StickyUser_UsesPrimary() {
+        // Given
+        when(writesTracker.isSticky(USER_ID)).thenReturn(true);
+
+        // When
+        int selected = dataSource.selectReplica();
+
+        // Then
+        assertThat(selected).isEqualTo(-1);
+        assertThat(routed("primary", "read-your-writes")).isEqualTo(1);
+        verify(lagMonitor, never()).isWithinLag(0);
+    }
+
+    @Test
+    @DisplayName("Should record a write once per transaction and only after commit")
+    void registerWrite_RecordsAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        dataSource.registerWrite();
+        dataSource.registerWrite();
+
+        // Then
+        verify(writesTracker, never()).recordWrite(USER_ID);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        verify(writesTracker, times(1)).recordWrite(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should not record a write outside a transaction")
+    void registerWrite_NoTransaction_DoesNothing() {
+        // When
+        dataSource.registerWrite();
+
+        // Then
+        verify(writesTracker, never()).recordWrite(USER_ID);
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("db.replica.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,54 @@
+package com.cena.traveloka.common.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlShapes Tests")
+class SqlShapesTest {
+
+    @Test
+    @DisplayName("Should replace literals and collapse whitespace and IN lists")
+    void normalize_LiteralsAndInLists() {
+        // Given
+        String sql = "select u1_0.id from iam.users u1_0\n   where u1_0.id in (?, ?,?) and u1_0.status = 'it''s' limit 10";
+
+        // When
+        String normalized = SqlShapes.normalize(sql);
+
+        // Then
+        assertThat(normalized).isEqualTo("select u1_0.id from iam.users u1_0 where u1_0.id in (?...) and u1_0.status = ? limit ?");
+    }
+
+    @Test
+    @DisplayName("Should keep identifiers and positional parameters that contain digits")
+    void normalize_KeepsIdentifiers() {
+        // When / Then
+        assertThat(SqlShapes.normalize("select p1_0.id from t p1_0 where p1_0.x = $1"))
+            .isEqualTo("select p1_0.id from t p1_0 where p1_0.x = $1");
+    }
+
+    @Test
+    @DisplayName("Should classify statements by their leading keyword")
+    void statementType_LeadingKeyword() {
+        // When / Then
+        assertThat(SqlShapes.statementType("SELECT 1")).isEqualTo("select");
+        assertThat(SqlShapes.statementType("with x as (select 1) select * from x")).isEqualTo("select");
+        assertThat(SqlShapes.statementType("insert into t values (?)")).isEqualTo("insert");
+        assertThat(SqlShapes.statementType("set search_path to iam")).isEqualTo("other");
+    }
+
+    @Test
+    @DisplayName("Should describe bind values without exposing them")
+    void parameterShape_DescribesType() {
+        // When / Then
+        assertThat(SqlShapes.parameterShape(null)).isEqualTo("null");
+        assertThat(SqlShapes.parameterShape("secret")).isEqualTo("String(6)");
+        assertThat(SqlShapes.parameterShape(42L)).isEqualTo("Long");
+        assertThat(SqlShapes.parameterShape(List.of(1, 2))).isEqualTo("Collection(2)");
+        assertThat(SqlShapes.parameterShape(new byte[16])).isEqualTo("byte[16]");
+    }
+}
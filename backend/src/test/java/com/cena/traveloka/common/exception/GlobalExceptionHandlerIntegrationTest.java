@@ -142,9 +142,7 @@ class GlobalExceptionHandlerIntegrationTest {
 
         @GetMapping("/validation-error")
         public void throwValidationException() {
-            ValidationException exception = new ValidationException("Validation failed");
-            exception.setField("email");
-            throw exception;
+            throw new ValidationException("email", "Validation failed");
         }
 
         @GetMapping("/generic-error")
@@ -158,42 +156,3 @@ class GlobalExceptionHandlerIntegrationTest {
         }
     }
 }
-
-/**
- * Custom exception classes for testing
- * These mirror the actual exception classes that should be in common.exception package
- */
-class EntityNotFoundException extends RuntimeException {
-    public EntityNotFoundException(String message) {
-        super(message);
-    }
-}
-
-class BusinessException extends RuntimeException {
-    private final String code;
-
-    public BusinessException(String code, String message) {
-        super(message);
-        this.code = code;
-    }
-
-    public String getCode() {
-        return code;
-    }
-}
-
-class ValidationException extends RuntimeException {
-    private String field;
-
-    public ValidationException(String message) {
-        super(message);
-    }
-
-    public String getField() {
-        return field;
-    }
-
-    public void setField(String field) {
-        this.field = field;
-    }
-}
@@ -2,6 +2,7 @@ package com.cena.traveloka.common.health;
 
 import com.cena.traveloka.common.service.ExternalServiceCircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +13,13 @@ import org.springframework.boot.actuate.health.Status;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 
+import java.time.Duration;
+import java.util.function.Supplier;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -27,6 +33,8 @@ import static org.mockito.Mockito.when;
  * - Health indicator includes detailed status for each service
  * - Redis ping check works correctly
  * - Circuit breaker states are properly reported
+ * - Probes run in the background and health() serves the cached snapshot
+ * - Redis connections used for ping are closed
  */
 @ExtendWith(MockitoExtension.class)
 class CommonHealthIndicatorTest {
@@ -44,7 +52,15 @@ class CommonHealthIndicatorTest {
 
     @BeforeEach
     void setUp() {
-        healthIndicator = new CommonHealthIndicator(circuitBreakerService, redisConnectionFactory);
+        healthIndicator = new CommonHealthIndicator(circuitBreakerService, redisConnectionFactory,
+            new SimpleMeterRegistry(), Duration.ofSeconds(5), Duration.ofSeconds(30));
+    }
+
+    private void givenRedisResponds() {
+        when(circuitBreakerService.executeRedis(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<String>>getArgument(0).get());
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        when(redisConnection.ping()).thenReturn("PONG");
     }
 
     @Test
@@ -53,10 +69,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Overall status should be UP
@@ -70,10 +86,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.OPEN);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Overall status should be DEGRADED
@@ -95,10 +111,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.OPEN);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Overall status should be DEGRADED
@@ -119,6 +135,7 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Overall status should be DEGRADED (Redis down but system functional)
@@ -139,10 +156,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.OPEN);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.OPEN);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Overall status should be DEGRADED
@@ -164,10 +181,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Redis details should show healthy status
@@ -185,10 +202,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Elasticsearch details should show healthy status
@@ -206,10 +223,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: MinIO details should show healthy status
@@ -230,6 +247,7 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.executeRedis(any(), any())).thenReturn(null); // Simulate failure
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Should return DEGRADED status
@@ -249,10 +267,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.HALF_OPEN);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Should report HALF_OPEN state
@@ -270,10 +288,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Each service detail should have required fields
@@ -296,10 +314,10 @@ class CommonHealthIndicatorTest {
         when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
         when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.OPEN);
         when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(circuitBreakerService.executeRedis(any(), any())).thenReturn("PONG");
+        givenRedisResponds();
 
         // When: Health check is performed
+        healthIndicator.refresh();
         Health health = healthIndicator.health();
 
         // Then: Messages should be descriptive
@@ -315,4 +333,54 @@ class CommonHealthIndicatorTest {
         assertThat(esDetails.get("message").toString())
             .contains("Circuit breaker is OPEN");
     }
+
+    @Test
+    void healthServesCachedSnapshotWithoutProbing() {
+        // Given: One background probe has completed
+        when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        givenRedisResponds();
+        healthIndicator.refresh();
+
+        // When: Health is requested repeatedly
+        Health first = healthIndicator.health();
+        Health second = healthIndicator.health();
+
+        // Then: Redis was pinged only by the probe, and its connection was closed
+        assertThat(first.getStatus()).isEqualTo(Status.UP);
+        assertThat(second.getStatus()).isEqualTo(Status.UP);
+        assertThat(second.getDetails()).containsKeys("checkedAt", "ageMs");
+        verify(redisConnection, times(1)).ping();
+        verify(redisConnection).close();
+    }
+
+    @Test
+    void healthReturnsUnknownBeforeFirstProbe() {
+        // When: Health is requested before any probe has run
+        Health health = healthIndicator.health();
+
+        // Then: Status is UNKNOWN
+        assertThat(health.getStatus()).isEqualTo(Status.UNKNOWN);
+    }
+
+    @Test
+    void healthReturnsDownWhenSnapshotIsStale() throws InterruptedException {
+        // Given: A snapshot older than the staleness bound
+        healthIndicator = new CommonHealthIndicator(circuitBreakerService, redisConnectionFactory,
+            new SimpleMeterRegistry(), Duration.ofSeconds(5), Duration.ofMillis(1));
+        when(circuitBreakerService.getRedisCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(circuitBreakerService.getElasticsearchCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(circuitBreakerService.getMinioCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        givenRedisResponds();
+        healthIndicator.refresh();
+        Thread.sleep(20);
+
+        // When: Health is requested
+        Health health = healthIndicator.health();
+
+        // Then: Stale snapshot is reported as DOWN
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails().get("message").toString()).contains("Health probes have not completed");
+    }
 }
@@ -0,0 +1,125 @@
+package com.cena.traveloka.common.performance;
+
+import com.cena.traveloka.common.datasource.QueryInstrumentation;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base for tests that pin down what a call costs rather than what it returns: how many
+ * statements it executes and which plans its queries get. Runs against PostGIS on a seeded
+ * {@link PerformanceDataset}; the containers are shared by every subclass.
+ */
+@SpringBootTest
+public abstract class AbstractQueryPerformanceIntegrationTest {
+
+    protected static final long LARGE_TABLE_ROWS = 1_000;
+
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4-alpine").asCompatibleSubstituteFor("postgres"))
+            .withDatabaseName("traveloka_perf")
+            .withUsername("test")
+            .withPassword("test");
+
+    static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    static {
+        postgres.start();
+        redis.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                CapturingStatementInspector.class::getName);
+        registry.add("app.startup.warmup.enabled", () -> "false");
+        registry.add("app.warmup.recording.enabled", () -> "false");
+    }
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected QueryInstrumentation queryInstrumentation;
+
+    @BeforeEach
+    void seedDataset() {
+        PerformanceDataset.seed(jdbcTemplate);
+    }
+
+    protected UUID seededUserId(int user) {
+        return jdbcTemplate.queryForObject("SELECT id FROM iam.users WHERE email = ?",
+                UUID.class, PerformanceDataset.email(user));
+    }
+
+    /**
+     * Runs {@code action} and fails if it executes more than {@code maxStatements} statements
+     * in total, or any single statement more than {@code maxRepeats} times.
+     */
+    protected <T> T assertStatementBudget(String name, int maxStatements, int maxRepeats, Supplier<T> action) {
+        Object[] result = new Object[1];
+        Map<String, Integer> counts = queryInstrumentation.countStatements(() -> result[0] = action.get());
+
+        int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+        String breakdown = counts.entrySet().stream()
+                .map(entry -> entry.getValue() + " x " + entry.getKey())
+                .collect(Collectors.joining("\n  ", "\n  ", ""));
+
+        assertThat(total)
+                .as("%s executed %d statements, budget is %d:%s", name, total, maxStatements, breakdown)
+                .isLessThanOrEqualTo(maxStatements);
+        assertThat(counts.values())
+                .as("%s repeats a statement more than %d times, likely N+1:%s", name, maxRepeats, breakdown)
+                .allMatch(count -> count <= maxRepeats);
+
+        @SuppressWarnings("unchecked")
+        T typed = (T) result[0];
+        return typed;
+    }
+
+    /**
+     * Captures the SQL Hibernate prepares for {@code action} and fails if any of it plans a
+     * sequential scan over a large table or costs more than {@code maxCost}.
+     */
+    protected List<QueryPlan> assertPlans(String name, double maxCost, Supplier<?> action) {
+        List<String> statements = CapturingStatementInspector.capture(action);
+        assertThat(statements).as("%s prepared no statements", name).isNotEmpty();
+
+        Map<String, Long> tableRows = PerformanceDataset.tableRows(jdbcTemplate);
+        List<QueryPlan> plans = statements.stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .distinct()
+                .map(sql -> QueryPlan.explain(jdbcTemplate, sql))
+                .toList();
+
+        for (QueryPlan plan : plans) {
+            assertThat(plan.sequentialScansOverLargeTables(tableRows, LARGE_TABLE_ROWS))
+                    .as("%s: sequential scan in plan of %s%n%s", name, plan.sql(), plan.json())
+                    .isEmpty();
+            assertThat(plan.totalCost())
+                    .as("%s: plan cost of %s%n%s", name, plan.sql(), plan.json())
+                    .isLessThanOrEqualTo(maxCost);
+        }
+        return plans;
+    }
+}
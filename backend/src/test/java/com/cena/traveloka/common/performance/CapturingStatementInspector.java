@@ -0,0 +1,36 @@
+package com.cena.traveloka.common.performance;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate statement inspector that records the SQL prepared on the current thread while a
+ * capture is running, with {@code ?} placeholders as sent to the driver.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> capture(Supplier<?> action) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            action.get();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+}
@@ -0,0 +1,114 @@
+package com.cena.traveloka.common.performance;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds the IAM tables with production-like volumes so the planner picks the plans it would
+ * pick in production. Row counts are small enough to load in a few seconds.
+ */
+public final class PerformanceDataset {
+
+    public static final int USERS = 50_000;
+    public static final int SESSIONS_PER_USER = 3;
+    public static final int LOGINS_PER_USER = 8;
+    public static final String USER_PREFIX = "perf_user_";
+
+    private static final List<String> ANALYZED_TABLES = List.of(
+        "iam.users", "iam.roles", "iam.permissions", "iam.role_permissions",
+        "iam.user_roles", "iam.sessions", "iam.login_history");
+
+    private PerformanceDataset() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static void seed(JdbcTemplate jdbcTemplate) {
+        Integer seeded = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM iam.users WHERE username LIKE '" + USER_PREFIX + "%'", Integer.class);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+
+        jdbcTemplate.execute("""
+            INSERT INTO iam.users (username, email, first_name, last_name, display_name, status,
+                                   email_verified, login_count, failed_login_attempts, created_at, created_by)
+            SELECT '%1$s' || n, 'perf.user.' || n || '@example.com', 'Perf', 'User ' || n, 'Perf User ' || n,
+                   CASE WHEN n %% 20 = 0 THEN 'pending' ELSE 'active' END::common.status,
+                   n %% 20 <> 0, n %% 50, 0, now() - n * INTERVAL '1 minute', 'perf-seed'
+            FROM generate_series(1, %2$d) AS n
+            """.formatted(USER_PREFIX, USERS));
+
+        jdbcTemplate.execute("""
+            INSERT INTO iam.roles (name, display_name, role_type, status)
+            SELECT 'PERF_ROLE_' || n, 'Perf role ' || n, 'custom', 'active'
+            FROM generate_series(1, 6) AS n
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO iam.permissions (resource, action, name)
+            SELECT 'perf_resource_' || (n / 4), (ARRAY['read', 'create', 'update', 'delete'])[n % 4 + 1],
+                   'perf_resource_' || (n / 4) || ':' || (ARRAY['read', 'create', 'update', 'delete'])[n % 4 + 1]
+            FROM generate_series(0, 119) AS n
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO iam.role_permissions (role_id, permission_id)
+            SELECT r.id, p.id
+            FROM iam.roles r
+            JOIN iam.permissions p ON p.name LIKE 'perf_resource_%'
+            WHERE r.name LIKE 'PERF_ROLE_%' AND abs(hashtext(r.name || p.name)) % 3 = 0
+            """);
+        // Every user has the base role plus one of the others
+        jdbcTemplate.execute("""
+            INSERT INTO iam.user_roles (user_id, role_id, is_active)
+            SELECT u.id, r.id, TRUE
+            FROM iam.users u
+            JOIN iam.roles r ON r.name IN ('PERF_ROLE_1', 'PERF_ROLE_' || (2 + abs(hashtext(u.username)) %% 5))
+            WHERE u.username LIKE '%s%%'
+            """.formatted(USER_PREFIX));
+
+        jdbcTemplate.execute("""
+            INSERT INTO iam.sessions (user_id, session_token, refresh_token, ip_address, user_agent, device_type,
+                                      is_active, last_activity, expires_at, created_at)
+            SELECT u.id, 'perf-session-' || u.username || '-' || s, 'perf-refresh-' || u.username || '-' || s,
+                   '10.0.0.1'::inet, 'Mozilla/5.0', 'desktop', s = 1, now() - s * INTERVAL '1 hour',
+                   now() + CASE WHEN s = 1 THEN INTERVAL '1 day' ELSE -INTERVAL '1 day' END,
+                   now() - s * INTERVAL '1 day'
+            FROM iam.users u
+            CROSS JOIN generate_series(1, %d) AS s
+            WHERE u.username LIKE '%s%%'
+            """.formatted(SESSIONS_PER_USER, USER_PREFIX));
+
+        jdbcTemplate.execute("""
+            INSERT INTO iam.login_history (user_id, username, email, login_type, provider, success,
+                                           failure_reason, ip_address, user_agent, attempted_at)
+            SELECT u.id, u.username, u.email, 'password', 'local', s %% 5 <> 0,
+                   CASE WHEN s %% 5 = 0 THEN 'Invalid password' END,
+                   '10.0.0.1'::inet, 'Mozilla/5.0', now() - s * INTERVAL '6 hours'
+            FROM iam.users u
+            CROSS JOIN generate_series(1, %d) AS s
+            WHERE u.username LIKE '%s%%'
+            """.formatted(LOGINS_PER_USER, USER_PREFIX));
+
+        jdbcTemplate.execute("ANALYZE " + String.join(", ", ANALYZED_TABLES));
+    }
+
+    /**
+     * Planner row estimates for the seeded tables, keyed by {@code schema.table}.
+     */
+    public static Map<String, Long> tableRows(JdbcTemplate jdbcTemplate) {
+        Map<String, Long> rows = new LinkedHashMap<>();
+        jdbcTemplate.queryForList("""
+            SELECT n.nspname || '.' || c.relname AS relation, c.reltuples::bigint AS estimated_rows
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE c.relkind = 'r' AND n.nspname = 'iam'
+            """).forEach(row -> rows.put((String) row.get("relation"), ((Number) row.get("estimated_rows")).longValue()));
+        return rows;
+    }
+
+    public static String email(int user) {
+        return "perf.user." + user + "@example.com";
+    }
+}
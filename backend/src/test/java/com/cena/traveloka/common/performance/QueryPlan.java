@@ -0,0 +1,72 @@
+package com.cena.traveloka.common.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generic plan of one statement, from {@code EXPLAIN (GENERIC_PLAN, VERBOSE, FORMAT JSON)}. A generic
+ * plan is what a prepared statement settles on after a few executions, so it is checked
+ * without choosing bind values. Needs PostgreSQL 16.
+ */
+public record QueryPlan(String sql, double totalCost, List<String> sequentialScans, String json) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static QueryPlan explain(JdbcTemplate jdbcTemplate, String sql) {
+        String json = jdbcTemplate.queryForObject(
+            "EXPLAIN (GENERIC_PLAN, VERBOSE, FORMAT JSON) " + numberPlaceholders(sql), String.class);
+        try {
+            JsonNode plan = OBJECT_MAPPER.readTree(json).get(0).get("Plan");
+            List<String> sequentialScans = new ArrayList<>();
+            collectSequentialScans(plan, sequentialScans);
+            return new QueryPlan(sql, plan.get("Total Cost").asDouble(), sequentialScans, json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan for: " + sql, e);
+        }
+    }
+
+    /**
+     * Sequential scans over tables with more than {@code minRows} rows. Small lookup tables are
+     * cheaper to scan than to probe through an index.
+     */
+    public List<String> sequentialScansOverLargeTables(Map<String, Long> tableRows, long minRows) {
+        return sequentialScans.stream()
+            .filter(relation -> tableRows.getOrDefault(relation, 0L) > minRows)
+            .toList();
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> sequentialScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            sequentialScans.add(node.path("Schema").asText() + "." + node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, sequentialScans);
+        }
+    }
+
+    /**
+     * Rewrites JDBC {@code ?} placeholders as {@code $n}, skipping quoted literals.
+     */
+    static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.cena.traveloka.common.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QueryPlan Tests")
+class QueryPlanTest {
+
+    @Test
+    @DisplayName("Should number JDBC placeholders outside quoted literals")
+    void numberPlaceholders_SkipsLiterals() {
+        // When
+        String numbered = QueryPlan.numberPlaceholders("select * from t where a=? and b='?' and c in (?,?)");
+
+        // Then
+        assertThat(numbered).isEqualTo("select * from t where a=$1 and b='?' and c in ($2,$3)");
+    }
+}
@@ -0,0 +1,83 @@
+package com.cena.traveloka.common.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HierarchicalTimingWheel Tests")
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+
+    @Test
+    @DisplayName("Should expire a timeout once its tick has passed")
+    void advance_ExpiresWithinTick() {
+        // Given
+        wheel.schedule(START + 25, "a");
+
+        // When
+        List<HierarchicalTimingWheel.Timeout<String>> early = wheel.advance(START + 15);
+        List<HierarchicalTimingWheel.Timeout<String>> due = wheel.advance(START + 30);
+
+        // Then
+        assertThat(early).isEmpty();
+        assertThat(due).extracting(HierarchicalTimingWheel.Timeout::getPayload).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cascade timeouts from overflow levels without firing early")
+    void advance_CascadesOverflowLevels() {
+        // Given - root level spans 80ms, so these land on the second and third levels
+        wheel.schedule(START + 500, "second-level");
+        wheel.schedule(START + 5_000, "third-level");
+
+        // When / Then
+        assertThat(wheel.advance(START + 480)).isEmpty();
+        assertThat(wheel.advance(START + 510))
+            .extracting(HierarchicalTimingWheel.Timeout::getPayload)
+            .containsExactly("second-level");
+        assertThat(wheel.advance(START + 4_990)).isEmpty();
+        assertThat(wheel.advance(START + 5_010))
+            .extracting(HierarchicalTimingWheel.Timeout::getPayload)
+            .containsExactly("third-level");
+    }
+
+    @Test
+    @DisplayName("Should not return cancelled timeouts")
+    void cancel_RemovesTimeout() {
+        // Given
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule(START + 50, "cancelled");
+        wheel.schedule(START + 50, "kept");
+
+        // When
+        boolean result = cancelled.cancel();
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 100))
+            .extracting(HierarchicalTimingWheel.Timeout::getPayload)
+            .containsExactly("kept");
+    }
+
+    @Test
+    @DisplayName("Should fire deadlines already in the past on the next advance")
+    void schedule_OverdueDeadline() {
+        // Given
+        wheel.schedule(START - 1_000, "overdue");
+
+        // When
+        List<HierarchicalTimingWheel.Timeout<String>> expired = wheel.advance(START);
+
+        // Then
+        assertThat(expired).extracting(HierarchicalTimingWheel.Timeout::getPayload).containsExactly("overdue");
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,137 @@
+package com.cena.traveloka.common.service;
+
+import com.cena.traveloka.common.exception.BusinessException;
+import com.cena.traveloka.common.service.ObjectDeliveryService.ObjectMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ObjectDeliveryService Tests")
+class ObjectDeliveryServiceTest {
+
+    private static final String BUCKET = "traveloka-images";
+    private static final String KEY = "properties/thumb.jpg";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private MinioClient minioClient;
+
+    private ObjectDeliveryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ObjectDeliveryService(minioClient, new SimpleMeterRegistry(),
+                Duration.ofSeconds(30), 1000, 1024, 16, Duration.ofMinutes(10), Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Should read small objects from MinIO once and serve ranges from memory")
+    void write_SmallObject_ServedFromHotCache() throws Exception {
+        // Given
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> response("etag-1", CONTENT));
+        ObjectMetadata metadata = new ObjectMetadata("etag-1", CONTENT.length, "image/jpeg", Instant.now());
+
+        // When
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        service.write(BUCKET, KEY, metadata, 0, CONTENT.length, full);
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        service.write(BUCKET, KEY, metadata, 2, 3, range);
+
+        // Then
+        assertThat(full.toByteArray()).isEqualTo(CONTENT);
+        assertThat(range.toString(StandardCharsets.US_ASCII)).isEqualTo("234");
+        verify(minioClient, times(1)).getObject(any(GetObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("Should reload a cached object once its ETag changes")
+    void write_EtagChanged_Reloads() throws Exception {
+        // Given
+        when(minioClient.getObject(any(GetObjectArgs.class)))
+                .thenAnswer(invocation -> response("etag-1", CONTENT))
+                .thenAnswer(invocation -> response("etag-2", CONTENT));
+
+        // When
+        service.write(BUCKET, KEY, new ObjectMetadata("etag-1", CONTENT.length, null, null),
+                0, CONTENT.length, new ByteArrayOutputStream());
+        service.write(BUCKET, KEY, new ObjectMetadata("etag-2", CONTENT.length, null, null),
+                0, CONTENT.length, new ByteArrayOutputStream());
+
+        // Then
+        verify(minioClient, times(2)).getObject(any(GetObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName("Should stream large objects with a ranged GET instead of caching them")
+    void write_LargeObject_StreamsRange() throws Exception {
+        // Given
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> response("etag-1", CONTENT));
+        ObjectMetadata metadata = new ObjectMetadata("etag-1", 4096, "image/jpeg", null);
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.write(BUCKET, KEY, metadata, 100, CONTENT.length, output);
+        service.write(BUCKET, KEY, metadata, 100, CONTENT.length, new ByteArrayOutputStream());
+
+        // Then
+        ArgumentCaptor<GetObjectArgs> captor = ArgumentCaptor.forClass(GetObjectArgs.class);
+        verify(minioClient, times(2)).getObject(captor.capture());
+        assertThat(captor.getValue().offset()).isEqualTo(100L);
+        assertThat(captor.getValue().length()).isEqualTo((long) CONTENT.length);
+        assertThat(captor.getValue().matchETag()).isEqualTo("etag-1");
+        assertThat(output.toByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should not serve or cache bytes under a stale ETag when the object changed since it was stat'ed")
+    void write_ObjectChangedSinceStat_Fails() throws Exception {
+        // Given
+        byte[] replaced = "abcdefghijklmno".getBytes(StandardCharsets.US_ASCII);
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenAnswer(invocation -> response("etag-2", replaced));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When & Then
+        assertThatThrownBy(() -> service.write(BUCKET, KEY,
+                new ObjectMetadata("etag-1", CONTENT.length, null, null), 0, CONTENT.length, output))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("changed");
+        assertThat(output.size()).isZero();
+
+        // The bytes that were read are cached under their own ETag
+        ByteArrayOutputStream fresh = new ByteArrayOutputStream();
+        service.write(BUCKET, KEY, new ObjectMetadata("etag-2", replaced.length, null, null),
+                0, replaced.length, fresh);
+        assertThat(fresh.toByteArray()).isEqualTo(replaced);
+        verify(minioClient, times(1)).getObject(any(GetObjectArgs.class));
+    }
+
+    private static GetObjectResponse response(String etag, byte[] content) {
+        Headers headers = Headers.of(
+                "ETag", "\"" + etag + "\"",
+                "Content-Length", String.valueOf(content.length));
+        return new GetObjectResponse(headers, BUCKET, "", KEY, new ByteArrayInputStream(content));
+    }
+}
@@ -0,0 +1,108 @@
+package com.cena.traveloka.common.startup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StartupWarmupCoordinator Tests")
+class StartupWarmupCoordinatorTest {
+
+    @Test
+    @DisplayName("Should report out of service until every task has finished")
+    void health_TasksRunning_OutOfService() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        StartupWarmupCoordinator coordinator = coordinator(List.of(
+            WarmupTask.required("slow", () -> release.await(5, TimeUnit.SECONDS)),
+            WarmupTask.required("fast", () -> { })
+        ), Duration.ofSeconds(10));
+
+        // When
+        coordinator.onApplicationEvent(null);
+
+        // Then
+        assertThat(coordinator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        release.countDown();
+        awaitFinished(coordinator);
+        assertThat(coordinator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("Should retry a failing task until it succeeds")
+    void health_TaskFailsOnce_RetriesAndUp() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        StartupWarmupCoordinator coordinator = coordinator(List.of(
+            WarmupTask.required("flaky", () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("not yet");
+                }
+            })
+        ), Duration.ofSeconds(10));
+
+        // When
+        coordinator.onApplicationEvent(null);
+        awaitFinished(coordinator);
+
+        // Then
+        assertThat(attempts).hasValue(2);
+        assertThat(coordinator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("Should stay down when a required task keeps failing, but ignore optional failures")
+    void health_PersistentFailures_DownOnlyForRequired() throws Exception {
+        // Given
+        StartupWarmupCoordinator required = coordinator(List.of(
+            WarmupTask.required("broken", () -> { throw new IllegalStateException("unreachable"); })
+        ), Duration.ZERO);
+        StartupWarmupCoordinator optional = coordinator(List.of(
+            WarmupTask.optional("broken", () -> { throw new IllegalStateException("unreachable"); })
+        ), Duration.ZERO);
+
+        // When
+        required.onApplicationEvent(null);
+        optional.onApplicationEvent(null);
+        awaitFinished(required);
+        awaitFinished(optional);
+
+        // Then
+        assertThat(required.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(optional.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("Should be up immediately when there is nothing to warm up")
+    void health_NoTasks_Up() {
+        // Given
+        StartupWarmupCoordinator coordinator = coordinator(List.of(), Duration.ofSeconds(10));
+
+        // When
+        coordinator.onApplicationEvent(null);
+
+        // Then
+        assertThat(coordinator.isFinished()).isTrue();
+        assertThat(coordinator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private static StartupWarmupCoordinator coordinator(List<WarmupTask> tasks, Duration timeout) {
+        return new StartupWarmupCoordinator(tasks, new SimpleMeterRegistry(), true, timeout, Duration.ofMillis(10));
+    }
+
+    private static void awaitFinished(StartupWarmupCoordinator coordinator) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!coordinator.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coordinator.isFinished()).isTrue();
+    }
+}
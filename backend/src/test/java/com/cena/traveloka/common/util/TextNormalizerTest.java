@@ -0,0 +1,102 @@
+package com.cena.traveloka.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TextNormalizer Tests")
+class TextNormalizerTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "'Hồ Chí Minh', 'Ho Chi Minh'",
+        "'Đà Nẵng', 'Da Nang'",
+        "'Thừa Thiên Huế', 'Thua Thien Hue'",
+        "'Crème Brûlée', 'Creme Brulee'",
+        "'Ångström Ñandú', 'Angstrom Nandu'"
+    })
+    @DisplayName("Should strip accents and keep case")
+    void stripAccents_RemovesDiacritics(String input, String expected) {
+        // When
+        String stripped = TextNormalizer.stripAccents(input);
+
+        // Then
+        assertThat(stripped).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should return the same instance when there is nothing to strip")
+    void stripAccents_ReturnsInputWhenUnchanged() {
+        // Given
+        String input = "Plain ASCII, 123";
+
+        // When / Then
+        assertThat(TextNormalizer.stripAccents(input)).isSameAs(input);
+        assertThat(TextNormalizer.stripAccents(null)).isNull();
+        assertThat(TextNormalizer.stripAccents("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should remove Thai and Lao tone marks but keep the letters")
+    void stripAccents_RemovesToneMarks() {
+        // When / Then
+        assertThat(TextNormalizer.stripAccents("ไม้")).isEqualTo("ไม");
+        assertThat(TextNormalizer.stripAccents("ກ່າ")).isEqualTo("ກາ");
+    }
+
+    @Test
+    @DisplayName("Should decompose Hangul syllables into jamo")
+    void stripAccents_ExpandsHangul() {
+        // When / Then
+        assertThat(TextNormalizer.stripAccents("\uAC01")).isEqualTo("\u1100\u1161\u11A8");
+    }
+
+    @Test
+    @DisplayName("Should fold search keys to lower-case words of any script")
+    void foldForSearch_FoldsText() {
+        // When / Then
+        assertThat(TextNormalizer.foldForSearch("  Hồ Chí Minh, Đà Nẵng! ")).isEqualTo("ho chi minh da nang");
+        assertThat(TextNormalizer.foldForSearch("Bangkok / กรุงเทพ")).isEqualTo("bangkok กรุงเทพ");
+        assertThat(TextNormalizer.foldForSearch("北京-2024")).isEqualTo("北京 2024");
+        assertThat(TextNormalizer.foldForSearch(null)).isEmpty();
+        assertThat(TextNormalizer.foldForSearch(" ,. ")).isEmpty();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'Khách sạn Đà Lạt', '-', 'khach-san-da-lat'",
+        "'  --Hello   World--  ', '-', 'hello-world'",
+        "'snake_case__name', '-', 'snake-case-name'",
+        "'Travel & Tourism', '-', 'travel-tourism'",
+        "'Hotel/Resort Booking', '-', 'hotelresort-booking'",
+        "'Nhà Hàng Phở 24', '_', 'nha_hang_pho_24'",
+        "'a.b - c', '.', 'a.b.c'",
+        "'Mường Thanh Luxury', '::', 'muong::thanh::luxury'"
+    })
+    @DisplayName("Should produce the same slugs as the former regex pipeline")
+    void slugify_MatchesRegexPipeline(String input, String separator, String expected) {
+        // When
+        String slug = TextNormalizer.slugify(input, separator);
+
+        // Then
+        assertThat(slug).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should append to a reused buffer without touching its earlier content")
+    void appendSlug_ReusesBuffer() {
+        // Given
+        StringBuilder buffer = new StringBuilder("/hotels/");
+
+        // When
+        TextNormalizer.appendSlug("  Sài Gòn  ", "-", buffer);
+        buffer.append('/');
+        TextNormalizer.appendSearchKey("Quận 1!", buffer);
+
+        // Then
+        assertThat(buffer).hasToString("/hotels/sai-gon/quan 1");
+    }
+}
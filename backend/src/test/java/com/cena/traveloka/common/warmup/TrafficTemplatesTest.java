@@ -0,0 +1,84 @@
+package com.cena.traveloka.common.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TrafficTemplates Tests")
+class TrafficTemplatesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should replace personal data with placeholders and keep the request shape")
+    void anonymize_LoginBody_StripsPersonalData() throws Exception {
+        // Given
+        JsonNode body = objectMapper.readTree("""
+            {"email":"jane.doe@example.com","password":"S3cret!pass","deviceType":"mobile",
+             "twoFactorCode":"123456","firstName":"Jane","age":42,"rememberMe":true,
+             "tags":["a","b","c","d"]}
+            """);
+
+        // When
+        JsonNode template = TrafficTemplates.anonymize(body);
+
+        // Then
+        assertThat(template.get("email").asText()).isEqualTo("{{email}}");
+        assertThat(template.get("password").asText()).isEqualTo("{{password}}");
+        assertThat(template.get("deviceType").asText()).isEqualTo("mobile");
+        assertThat(template.get("twoFactorCode").asText()).isEqualTo("{{digits:6}}");
+        assertThat(template.get("firstName").asText()).isEqualTo("{{text:4}}");
+        assertThat(template.get("age").asInt()).isZero();
+        assertThat(template.get("rememberMe").asBoolean()).isTrue();
+        assertThat(template.get("tags")).hasSize(3);
+        assertThat(template.toString()).doesNotContain("jane", "Jane", "S3cret", "123456");
+    }
+
+    @Test
+    @DisplayName("Should keep short values only for fields known to hold codes")
+    void anonymize_ProfileBody_KeepsOnlyAllowlistedCodes() throws Exception {
+        // Given
+        JsonNode body = objectMapper.readTree("""
+            {"city":"hue","gender":"female","nationality":"VN","timezone":"Asia/Saigon",
+             "preferredLanguage":"vi","preferredCurrency":"VND","status":"single"}
+            """);
+
+        // When
+        JsonNode template = TrafficTemplates.anonymize(body);
+
+        // Then
+        assertThat(template.get("city").asText()).isEqualTo("{{text:3}}");
+        assertThat(template.get("gender").asText()).isEqualTo("{{gender}}");
+        assertThat(template.get("nationality").asText()).isEqualTo("{{country}}");
+        assertThat(template.get("timezone").asText()).isEqualTo("{{timezone}}");
+        assertThat(template.get("status").asText()).isEqualTo("{{text:6}}");
+        assertThat(template.get("preferredLanguage").asText()).isEqualTo("vi");
+        assertThat(template.get("preferredCurrency").asText()).isEqualTo("VND");
+        assertThat(template.toString()).doesNotContain("hue", "female", "Saigon", "single");
+    }
+
+    @Test
+    @DisplayName("Should fill placeholders with the synthetic identity")
+    void materialize_Template_UsesSyntheticValues() throws Exception {
+        // Given
+        SyntheticIdentity identity = SyntheticIdentity.of(7);
+        JsonNode template = objectMapper.readTree("""
+            {"email":"{{email}}","password":"{{password}}","code":"{{digits:6}}",
+             "name":"{{text:3}}","language":"vi","items":[{"username":"{{username}}"}]}
+            """);
+
+        // When
+        JsonNode payload = TrafficTemplates.materialize(template, identity);
+
+        // Then
+        assertThat(payload.get("email").asText()).isEqualTo("warmup-7@warmup.invalid");
+        assertThat(payload.get("password").asText()).isEqualTo(TrafficTemplates.PASSWORD);
+        assertThat(payload.get("code").asText()).isEqualTo("000000");
+        assertThat(payload.get("name").asText()).isEqualTo("www");
+        assertThat(payload.get("language").asText()).isEqualTo("vi");
+        assertThat(payload.get("items").get(0).get("username").asText()).isEqualTo("warmup-7");
+    }
+}
@@ -0,0 +1,124 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.geo.model.Boundary;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BoundaryIndex Tests")
+class BoundaryIndexTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static final Boundary MAINLAND = boundary("MA",
+        "MULTIPOLYGON(((100 10, 110 10, 110 20, 100 20, 100 10), (104 14, 106 14, 106 16, 104 16, 104 14)),"
+            + " ((130 10, 131 10, 131 11, 130 11, 130 10)))");
+    private static final Boundary NEIGHBOUR = boundary("NB", "MULTIPOLYGON(((110 10, 120 10, 120 20, 110 20, 110 10)))");
+    private static final Boundary COAST = boundary("coast", "MULTIPOLYGON(((100 10, 103 10, 103 20, 100 20, 100 10)))");
+    private static final Boundary ISLANDS = boundary("islands",
+        "MULTIPOLYGON(((179 -18, 180 -18, 180 -16, 179 -16, 179 -18)), ((-180 -18, -179 -18, -179 -16, -180 -16, -180 -18)))");
+
+    @AfterAll
+    static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should resolve a point to the outline containing it")
+    void locate_ContainingOutline() {
+        // Given
+        BoundaryIndex index = BoundaryIndex.of(List.of(MAINLAND, NEIGHBOUR));
+
+        // When / Then
+        assertThat(index.locate(12, 101)).isEqualTo(MAINLAND);
+        assertThat(index.locate(12, 115)).isEqualTo(NEIGHBOUR);
+        assertThat(index.locate(-12, 101)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve islands and exclude holes")
+    void locate_PartsAndHoles() {
+        // Given
+        BoundaryIndex index = BoundaryIndex.of(List.of(MAINLAND, NEIGHBOUR));
+
+        // When / Then
+        assertThat(index.locate(10.5, 130.5)).isEqualTo(MAINLAND);
+        assertThat(index.locate(15, 105)).isNull();
+        assertThat(index.locate(10.5, 125)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should prefer the smallest of overlapping outlines")
+    void locate_SmallestOutlineWins() {
+        // Given
+        BoundaryIndex index = BoundaryIndex.of(List.of(MAINLAND, COAST));
+
+        // When / Then
+        assertThat(index.locate(12, 101)).isEqualTo(COAST);
+        assertThat(index.locate(12, 108)).isEqualTo(MAINLAND);
+    }
+
+    @Test
+    @DisplayName("Should resolve outlines split at the antimeridian")
+    void locate_AcrossAntimeridian() {
+        // Given
+        BoundaryIndex index = BoundaryIndex.of(List.of(ISLANDS, MAINLAND));
+
+        // When / Then
+        assertThat(index.locate(-17, 179.5)).isEqualTo(ISLANDS);
+        assertThat(index.locate(-17, -179.5)).isEqualTo(ISLANDS);
+        assertThat(index.locate(-17, 0)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve a parallel batch exactly like single lookups")
+    void locateAll_MatchesSingleLookups() {
+        // Given
+        BoundaryIndex index = BoundaryIndex.of(List.of(MAINLAND, NEIGHBOUR, COAST, ISLANDS));
+        Random random = new Random(7);
+        int size = 20_000;
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            latitudes[i] = random.nextDouble() * 40 - 20;
+            longitudes[i] = i % 2 == 0 ? random.nextDouble() * 40 + 95 : random.nextDouble() * 360 - 180;
+        }
+
+        // When
+        Boundary[] resolved = index.locateAll(latitudes, longitudes, POOL);
+
+        // Then
+        assertThat(resolved).hasSize(size);
+        for (int i = 0; i < size; i++) {
+            assertThat(resolved[i]).isEqualTo(index.locate(latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve nothing from an empty index")
+    void locate_EmptyIndex() {
+        // Given
+        BoundaryIndex index = BoundaryIndex.empty();
+
+        // When / Then
+        assertThat(index.locate(12, 101)).isNull();
+        assertThat(index.locateAll(new double[]{12}, new double[]{101}, POOL)).containsExactly((Boundary) null);
+    }
+
+    private static Boundary boundary(String code, String wkt) {
+        try {
+            return new Boundary(UUID.randomUUID(), code, code, new WKTReader().read(wkt));
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.geo.dto.response.DestinationSuggestionResponse;
+import com.cena.traveloka.geo.model.Destination;
+import com.cena.traveloka.geo.model.DestinationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DestinationAutocompleteIndex Tests")
+class DestinationAutocompleteIndexTest {
+
+    private static final Destination HANOI = destination(DestinationType.CITY, "Hà Nội", "HAN", List.of("Hanoi"), 8_054_000, 4.5);
+    private static final Destination NOI_BAI = destination(DestinationType.AIRPORT, "Nội Bài International Airport", "HAN", List.of(), 25_000_000, 0);
+    private static final Destination SAIGON = destination(DestinationType.CITY, "Hồ Chí Minh City", "SGN", List.of("Saigon"), 8_993_000, 4.4);
+    private static final Destination HOAN_KIEM = destination(DestinationType.POI, "Hoàn Kiếm Lake", null, List.of(), 5_000, 4.7);
+    private static final Destination HAN_RIVER = destination(DestinationType.PROPERTY, "Han River Hotel", null, List.of(), 10, 3.0);
+
+    private final DestinationAutocompleteIndex index =
+        DestinationAutocompleteIndex.of(List.of(HANOI, NOI_BAI, SAIGON, HOAN_KIEM, HAN_RIVER));
+
+    @Test
+    @DisplayName("Should fold Vietnamese diacritics, case and punctuation")
+    void normalize_FoldsText() {
+        assertThat(DestinationAutocompleteIndex.normalize("  Hồ Chí Minh, Đà Nẵng! ")).isEqualTo("ho chi minh da nang");
+        assertThat(DestinationAutocompleteIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match accented names from unaccented prefixes")
+    void suggest_MatchesWithoutAccents() {
+        // When
+        List<DestinationSuggestionResponse> suggestions = index.suggest("ha n", 5);
+
+        // Then
+        assertThat(suggestions).extracting(DestinationSuggestionResponse::getName).containsExactly("Hà Nội");
+    }
+
+    @Test
+    @DisplayName("Should match later words and alternate names")
+    void suggest_MatchesWordsAndAlternateNames() {
+        assertThat(index.suggest("minh", 5)).extracting(DestinationSuggestionResponse::getName)
+            .containsExactly("Hồ Chí Minh City");
+        assertThat(index.suggest("Sài", 5)).extracting(DestinationSuggestionResponse::getName)
+            .containsExactly("Hồ Chí Minh City");
+        assertThat(index.suggest("bai", 5)).extracting(DestinationSuggestionResponse::getName)
+            .containsExactly("Nội Bài International Airport");
+    }
+
+    @Test
+    @DisplayName("Should rank exact IATA code matches first")
+    void suggest_IataCodeFirst() {
+        // When
+        List<DestinationSuggestionResponse> suggestions = index.suggest("HAN", 5);
+
+        // Then
+        assertThat(suggestions).extracting(DestinationSuggestionResponse::getName)
+            .startsWith("Hà Nội", "Nội Bài International Airport")
+            .contains("Han River Hotel")
+            .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should return the best destinations for a prefix in score order")
+    void suggest_TopByScore() {
+        // Given
+        Random random = new Random(5);
+        String[] words = {"ha", "hai", "hoi", "an", "long", "bay", "grand", "hotel", "sea", "view"};
+        List<Destination> destinations = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            destinations.add(destination(DestinationType.PROPERTY, name, null, List.of(), random.nextInt(10_000), 1 + random.nextInt(5)));
+        }
+        DestinationAutocompleteIndex large = DestinationAutocompleteIndex.of(destinations);
+
+        // When
+        List<DestinationSuggestionResponse> suggestions = large.suggest("hai", 10);
+
+        // Then
+        List<String> startingWithHai = destinations.stream()
+            .filter(destination -> destination.name().startsWith("hai "))
+            .sorted(Comparator.comparingDouble(DestinationAutocompleteIndexTest::expectedScore).reversed())
+            .map(Destination::name)
+            .limit(3)
+            .toList();
+        assertThat(suggestions).hasSize(10);
+        assertThat(suggestions).extracting(DestinationSuggestionResponse::getName)
+            .allMatch(name -> name.startsWith("hai ") || name.contains(" hai "))
+            .containsAll(startingWithHai);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for blank or unknown queries")
+    void suggest_NoMatches() {
+        assertThat(index.suggest("   ", 5)).isEmpty();
+        assertThat(index.suggest("xyz", 5)).isEmpty();
+        assertThat(DestinationAutocompleteIndex.empty().suggest("ha", 5)).isEmpty();
+    }
+
+    private static double expectedScore(Destination destination) {
+        return Math.log1p(destination.popularity()) / Math.log1p(9_999) * 0.6 + destination.rating() / 5 * 0.3;
+    }
+
+    private static Destination destination(DestinationType type, String name, String code,
+                                           List<String> alternateNames, long popularity, double rating) {
+        return new Destination(UUID.randomUUID(), type, name, code, null, alternateNames, popularity, rating);
+    }
+}
@@ -0,0 +1,100 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.geo.model.Place;
+import com.cena.traveloka.geo.model.PlaceType;
+import com.cena.traveloka.geo.util.GeoDistance;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("DistanceMatrixCalculator Tests")
+class DistanceMatrixCalculatorTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return the closest targets within the radius")
+    void compute_ClosestWithinRadius() {
+        // Given
+        Place noiBai = place(21.2187, 105.8042);
+        Place tanSonNhat = place(10.8188, 106.6519);
+        Place daNang = place(16.0439, 108.1992);
+        DistanceMatrixCalculator calculator = new DistanceMatrixCalculator(List.of(noiBai, tanSonNhat, daNang));
+
+        // When
+        DistanceMatrixCalculator.Neighbours neighbours = calculator.compute(21.0285, 105.8542, 700, 5);
+
+        // Then
+        assertThat(neighbours.targets()).containsExactly(0, 2);
+        assertThat(neighbours.distancesKm()[0]).isCloseTo(21.8f, within(0.5f));
+    }
+
+    @Test
+    @DisplayName("Should match brute force for a parallel batch")
+    void computeAll_MatchesBruteForce() {
+        // Given
+        Random random = new Random(11);
+        List<Place> targets = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            targets.add(place(random.nextDouble() * 30, 95 + random.nextDouble() * 20));
+        }
+        DistanceMatrixCalculator calculator = new DistanceMatrixCalculator(targets);
+        int origins = 1000;
+        double[] latitudes = new double[origins];
+        double[] longitudes = new double[origins];
+        for (int i = 0; i < origins; i++) {
+            latitudes[i] = random.nextDouble() * 30;
+            longitudes[i] = 95 + random.nextDouble() * 20;
+        }
+
+        // When
+        DistanceMatrixCalculator.Neighbours[] result = calculator.computeAll(latitudes, longitudes, 150, 5, POOL);
+
+        // Then
+        for (int i = 0; i < origins; i++) {
+            double latitude = latitudes[i];
+            double longitude = longitudes[i];
+            int[] expected = IntStream.range(0, targets.size()).boxed()
+                .filter(t -> distance(targets.get(t), latitude, longitude) <= 150)
+                .sorted(Comparator.comparingDouble(t -> distance(targets.get(t), latitude, longitude)))
+                .limit(5)
+                .mapToInt(Integer::intValue)
+                .toArray();
+            assertThat(result[i].targets()).containsExactly(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return nothing without targets")
+    void compute_NoTargets() {
+        // Given
+        DistanceMatrixCalculator calculator = new DistanceMatrixCalculator(List.of());
+
+        // When / Then
+        assertThat(calculator.compute(21.0, 105.0, 100, 3).size()).isZero();
+    }
+
+    private static double distance(Place target, double latitude, double longitude) {
+        return GeoDistance.haversineKm(latitude, longitude, target.latitude(), target.longitude());
+    }
+
+    private static Place place(double latitude, double longitude) {
+        return new Place(UUID.randomUUID(), PlaceType.AIRPORT, "airport", null, latitude, longitude);
+    }
+}
@@ -0,0 +1,97 @@
+package com.cena.traveloka.geo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DistanceTable Tests")
+class DistanceTableTest {
+
+    private static final UUID PROPERTY = UUID.randomUUID();
+    private static final UUID NOI_BAI = UUID.randomUUID();
+    private static final UUID CAT_BI = UUID.randomUUID();
+    private static final UUID LAKE = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should look up a stored pair")
+    void distanceKm_StoredPair() {
+        // Given
+        DistanceTable table = sampleTable();
+
+        // When / Then
+        assertThat(table.distanceKm(PROPERTY, CAT_BI)).isEqualTo(102.4f);
+        assertThat(table.distanceKm(CAT_BI, PROPERTY)).isNaN();
+        assertThat(table.distanceKm(PROPERTY, UUID.randomUUID())).isNaN();
+    }
+
+    @Test
+    @DisplayName("Should list neighbours of one type, closest first")
+    void neighbours_ClosestFirstByType() {
+        // Given
+        DistanceTable table = sampleTable();
+
+        // When
+        List<DistanceTable.Entry> airports = table.neighbours(PROPERTY, "airport", 10);
+        List<DistanceTable.Entry> all = table.neighbours(PROPERTY, null, 2);
+
+        // Then
+        assertThat(airports).extracting(DistanceTable.Entry::id).containsExactly(NOI_BAI, CAT_BI);
+        assertThat(all).extracting(DistanceTable.Entry::id).containsExactly(LAKE, NOI_BAI);
+        assertThat(table.neighbours(UUID.randomUUID(), null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find every pair of a large table")
+    void distanceKm_LargeTable() {
+        // Given
+        Random random = new Random(3);
+        List<UUID> origins = new ArrayList<>();
+        List<UUID> targets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            origins.add(UUID.randomUUID());
+            targets.add(UUID.randomUUID());
+        }
+        DistanceTable.Builder builder = DistanceTable.builder();
+        for (int i = 0; i < origins.size(); i++) {
+            for (int j = 0; j < 40; j++) {
+                builder.add("property", origins.get(i), "poi", targets.get((i + j) % targets.size()), i * 1000 + j);
+            }
+        }
+
+        // When
+        DistanceTable table = builder.build();
+
+        // Then
+        assertThat(table.size()).isEqualTo(20_000);
+        for (int n = 0; n < 2000; n++) {
+            int i = random.nextInt(origins.size());
+            int j = random.nextInt(40);
+            assertThat(table.distanceKm(origins.get(i), targets.get((i + j) % targets.size()))).isEqualTo(i * 1000 + j);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer nothing when empty")
+    void empty_AnswersNothing() {
+        // When
+        DistanceTable table = DistanceTable.empty();
+
+        // Then
+        assertThat(table.size()).isZero();
+        assertThat(table.distanceKm(PROPERTY, NOI_BAI)).isNaN();
+    }
+
+    private static DistanceTable sampleTable() {
+        return DistanceTable.builder()
+            .add("property", PROPERTY, "airport", CAT_BI, 102.4f)
+            .add("property", PROPERTY, "poi", LAKE, 1.2f)
+            .add("property", PROPERTY, "airport", NOI_BAI, 23.9f)
+            .build();
+    }
+}
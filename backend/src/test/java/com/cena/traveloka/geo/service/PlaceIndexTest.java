@@ -0,0 +1,119 @@
+package com.cena.traveloka.geo.service;
+
+import com.cena.traveloka.geo.dto.response.NearbyPlaceResponse;
+import com.cena.traveloka.geo.model.Place;
+import com.cena.traveloka.geo.model.PlaceType;
+import com.cena.traveloka.geo.util.GeoDistance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PlaceIndex Tests")
+class PlaceIndexTest {
+
+    private static final Place HANOI = place(PlaceType.CITY, "Hanoi", 21.0285, 105.8542);
+    private static final Place NOI_BAI = place(PlaceType.AIRPORT, "Noi Bai", 21.2187, 105.8042);
+    private static final Place HOAN_KIEM = place(PlaceType.POI, "Hoan Kiem Lake", 21.0288, 105.8525);
+    private static final Place SAIGON = place(PlaceType.CITY, "Ho Chi Minh City", 10.8231, 106.6297);
+
+    @Test
+    @DisplayName("Should return places within the radius, closest first")
+    void within_ClosestFirst() {
+        // Given
+        PlaceIndex index = PlaceIndex.of(List.of(HANOI, NOI_BAI, HOAN_KIEM, SAIGON));
+
+        // When
+        List<NearbyPlaceResponse> nearby = index.within(21.0285, 105.8542, 30, PlaceType.allMask(), 10);
+
+        // Then
+        assertThat(nearby).extracting(NearbyPlaceResponse::getName)
+            .containsExactly("Hanoi", "Hoan Kiem Lake", "Noi Bai");
+        assertThat(nearby.get(2).getDistanceKm()).isBetween(21.0, 23.0);
+    }
+
+    @Test
+    @DisplayName("Should filter by place type")
+    void within_FiltersByType() {
+        // Given
+        PlaceIndex index = PlaceIndex.of(List.of(HANOI, NOI_BAI, HOAN_KIEM, SAIGON));
+
+        // When
+        List<NearbyPlaceResponse> airports = index.within(21.0285, 105.8542, 50, PlaceType.AIRPORT.mask(), 10);
+
+        // Then
+        assertThat(airports).extracting(NearbyPlaceResponse::getName).containsExactly("Noi Bai");
+    }
+
+    @Test
+    @DisplayName("Should find places across the antimeridian")
+    void within_AcrossAntimeridian() {
+        // Given
+        Place east = place(PlaceType.CITY, "East", -17.0, 179.9);
+        Place west = place(PlaceType.CITY, "West", -17.0, -179.9);
+        PlaceIndex index = PlaceIndex.of(List.of(east, west));
+
+        // When
+        List<NearbyPlaceResponse> nearby = index.within(-17.0, 179.95, 50, PlaceType.allMask(), 10);
+
+        // Then
+        assertThat(nearby).extracting(NearbyPlaceResponse::getName).containsExactlyInAnyOrder("East", "West");
+    }
+
+    @Test
+    @DisplayName("Should agree with a brute-force scan for radius and nearest queries")
+    void queries_MatchBruteForce() {
+        // Given
+        Random random = new Random(42);
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            places.add(place(PlaceType.values()[i % 3], "p" + i,
+                Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)), random.nextDouble() * 360 - 180));
+        }
+        PlaceIndex index = PlaceIndex.of(places);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = random.nextDouble() * 170 - 85;
+            double longitude = random.nextDouble() * 360 - 180;
+
+            // When
+            List<NearbyPlaceResponse> within = index.within(latitude, longitude, 800, PlaceType.allMask(), 10_000);
+            List<NearbyPlaceResponse> nearest = index.nearest(latitude, longitude, 7, PlaceType.allMask());
+
+            // Then
+            List<Place> expectedWithin = places.stream()
+                .filter(place -> distance(latitude, longitude, place) <= 800)
+                .toList();
+            List<Place> expectedNearest = places.stream()
+                .sorted(Comparator.comparingDouble(place -> distance(latitude, longitude, place)))
+                .limit(7)
+                .toList();
+
+            assertThat(within).extracting(NearbyPlaceResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(expectedWithin.stream().map(Place::id).toList());
+            assertThat(nearest).extracting(NearbyPlaceResponse::getId)
+                .containsExactlyElementsOf(expectedNearest.stream().map(Place::id).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return nothing from an empty index")
+    void empty_ReturnsNothing() {
+        // When / Then
+        assertThat(PlaceIndex.empty().nearest(0, 0, 5, PlaceType.allMask())).isEmpty();
+    }
+
+    private static double distance(double latitude, double longitude, Place place) {
+        return GeoDistance.haversineKm(latitude, longitude, place.latitude(), place.longitude());
+    }
+
+    private static Place place(PlaceType type, String name, double latitude, double longitude) {
+        return new Place(UUID.randomUUID(), type, name, null, latitude, longitude);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cena.traveloka.iam.cache;
+
+import com.cena.traveloka.iam.entity.Permission;
+import com.cena.traveloka.iam.entity.Role;
+import com.cena.traveloka.iam.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IamSecondLevelCacheSync Tests")
+class IamSecondLevelCacheSyncTest {
+
+    private static final String CHANNEL = "iam:l2-invalidation";
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+
+    @Mock
+    private ServiceRegistryImplementor serviceRegistry;
+
+    @Mock
+    private EventListenerRegistry listenerRegistry;
+
+    @Mock
+    private CacheImplementor cache;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private IamSecondLevelCacheSync cacheSync;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        when(serviceRegistry.getService(EventListenerRegistry.class)).thenReturn(listenerRegistry);
+
+        cacheSync = new IamSecondLevelCacheSync(entityManagerFactory, redisTemplate, CHANNEL);
+        cacheSync.register();
+    }
+
+    @Test
+    @DisplayName("Should publish a role change so other nodes can evict it")
+    void onPostUpdate_Role_Publishes() {
+        // Given
+        UUID roleId = UUID.randomUUID();
+        Role role = Role.builder().id(roleId).name("customer").build();
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getEntity()).thenReturn(role);
+
+        // When
+        cacheSync.onPostUpdate(event);
+
+        // Then
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        assertThat(message.getValue()).endsWith("|ROLE|" + roleId);
+    }
+
+    @Test
+    @DisplayName("Should evict role, its permissions and the findByName query region on a remote role change")
+    void onMessage_RemoteRoleChange_Evicts() {
+        // Given
+        UUID roleId = UUID.randomUUID();
+
+        // When
+        cacheSync.onMessage(message("other-node|ROLE|" + roleId), null);
+
+        // Then
+        verify(cache).evictEntityData(Role.class, roleId);
+        verify(cache).evictCollectionData(IamSecondLevelCacheSync.ROLE_PERMISSIONS, roleId);
+        verify(cache).evictQueryRegion(RoleRepository.FIND_BY_NAME_QUERY_REGION);
+    }
+
+    @Test
+    @DisplayName("Should evict a permission on a remote permission change")
+    void onMessage_RemotePermissionChange_Evicts() {
+        // Given
+        UUID permissionId = UUID.randomUUID();
+
+        // When
+        cacheSync.onMessage(message("other-node|PERMISSION|" + permissionId), null);
+
+        // Then
+        verify(cache).evictEntityData(Permission.class, permissionId);
+        verify(cache, never()).evictQueryRegion(anyString());
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed messages")
+    void onMessage_Malformed_Ignored() {
+        // When
+        cacheSync.onMessage(message("other-node|UNKNOWN|not-a-uuid"), null);
+        cacheSync.onMessage(message("garbage"), null);
+
+        // Then
+        verifyNoInteractions(cache);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,6 +5,7 @@ import com.cena.traveloka.common.enums.Status;
 import com.cena.traveloka.iam.dto.request.UpdateProfileRequest;
 import com.cena.traveloka.iam.dto.response.UserDetailDto;
 import com.cena.traveloka.iam.dto.response.UserDto;
+import com.cena.traveloka.iam.service.ProfileService;
 import com.cena.traveloka.iam.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,6 +67,9 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private ProfileService profileService;
+
     private UserDto userDto;
     private UserDetailDto userDetailDto;
     private UpdateProfileRequest validUpdateRequest;
@@ -0,0 +1,69 @@
+package com.cena.traveloka.iam.performance;
+
+import com.cena.traveloka.common.performance.AbstractQueryPerformanceIntegrationTest;
+import com.cena.traveloka.common.performance.PerformanceDataset;
+import com.cena.traveloka.iam.repository.IamSessionRepository;
+import com.cena.traveloka.iam.repository.LoginHistoryRepository;
+import com.cena.traveloka.iam.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.UUID;
+
+/**
+ * Plan checks for the IAM repository queries on the login and session paths. Each must be an
+ * index lookup on the seeded dataset; a sequential scan over a large table or a cost above
+ * the ceiling fails the build with the full plan in the message.
+ */
+@DisplayName("IAM Query Plan Tests")
+class IamQueryPlanIntegrationTest extends AbstractQueryPerformanceIntegrationTest {
+
+    private static final double POINT_LOOKUP_COST = 50;
+    private static final double PER_USER_LIST_COST = 200;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IamSessionRepository sessionRepository;
+
+    @Autowired
+    private LoginHistoryRepository loginHistoryRepository;
+
+    @Test
+    @DisplayName("User lookups by email, username and id should use an index")
+    void userLookups_UseIndex() {
+        UUID userId = seededUserId(11);
+
+        assertPlans("UserRepository.findByEmail", POINT_LOOKUP_COST,
+                () -> userRepository.findByEmail(PerformanceDataset.email(11)));
+        assertPlans("UserRepository.findByUsername", POINT_LOOKUP_COST,
+                () -> userRepository.findByUsername(PerformanceDataset.USER_PREFIX + 11));
+        assertPlans("UserRepository.findById", POINT_LOOKUP_COST,
+                () -> userRepository.findById(userId));
+    }
+
+    @Test
+    @DisplayName("Session lookups should use an index")
+    void sessionLookups_UseIndex() {
+        UUID userId = seededUserId(12);
+
+        assertPlans("IamSessionRepository.findBySessionToken", POINT_LOOKUP_COST,
+                () -> sessionRepository.findBySessionToken("perf-session-" + PerformanceDataset.USER_PREFIX + "12-1"));
+        assertPlans("IamSessionRepository.findByUserIdAndIsActiveTrue", PER_USER_LIST_COST,
+                () -> sessionRepository.findByUserIdAndIsActiveTrue(userId));
+        assertPlans("IamSessionRepository.findFirstByUserIdAndIsActiveTrueOrderByCreatedAtAsc", PER_USER_LIST_COST,
+                () -> sessionRepository.findFirstByUserIdAndIsActiveTrueOrderByCreatedAtAsc(userId));
+    }
+
+    @Test
+    @DisplayName("Recent login history should use an index")
+    void loginHistory_UsesIndex() {
+        UUID userId = seededUserId(13);
+
+        assertPlans("LoginHistoryRepository.findByUserIdOrderByAttemptedAtDesc", PER_USER_LIST_COST,
+                () -> loginHistoryRepository.findByUserIdOrderByAttemptedAtDesc(userId, PageRequest.of(0, 20)));
+    }
+}
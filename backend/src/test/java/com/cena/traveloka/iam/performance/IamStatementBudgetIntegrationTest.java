@@ -0,0 +1,84 @@
+package com.cena.traveloka.iam.performance;
+
+import com.cena.traveloka.common.performance.AbstractQueryPerformanceIntegrationTest;
+import com.cena.traveloka.common.performance.PerformanceDataset;
+import com.cena.traveloka.iam.dto.request.LoginRequest;
+import com.cena.traveloka.iam.dto.response.AuthResponse;
+import com.cena.traveloka.iam.dto.response.SessionDto;
+import com.cena.traveloka.iam.service.AuthenticationService;
+import com.cena.traveloka.iam.service.AuthorizationService;
+import com.cena.traveloka.iam.service.SessionService;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for the hottest IAM service calls. A budget failure lists every statement
+ * the call executed; raise a budget only together with the change that needs it.
+ */
+@Disabled("Budgets are counted from the code paths and have not yet been confirmed against the "
+        + "PostGIS container; enable once a Docker-capable run matches them")
+@DisplayName("IAM Statement Budget Tests")
+class IamStatementBudgetIntegrationTest extends AbstractQueryPerformanceIntegrationTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Test
+    @DisplayName("Login should stay within its statement budget")
+    void login_WithinBudget() {
+        // Given
+        LoginRequest request = LoginRequest.builder()
+                .email(PerformanceDataset.email(101))
+                .password("Password123!")
+                .build();
+
+        // When: user and profile lookup, login history insert, roles, session insert, active session count
+        AuthResponse response = assertStatementBudget("AuthenticationService.login", 6, 1,
+                () -> authenticationService.login(request, "10.0.0.1", "Mozilla/5.0"));
+
+        // Then
+        assertThat(response.getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Loading a user's permissions should take a single statement")
+    void getUserPermissions_WithinBudget() {
+        // Given
+        UUID userId = seededUserId(202);
+
+        // When: one join over user_roles and role_permissions
+        Set<String> permissions = assertStatementBudget("AuthorizationService.getUserPermissions", 1, 1,
+                () -> authorizationService.getUserPermissions(userId));
+
+        // Then
+        assertThat(permissions).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Listing active sessions should stay within its statement budget")
+    void getUserActiveSessions_WithinBudget() {
+        // Given
+        UUID userId = seededUserId(303);
+
+        // When: a single select of the user's active sessions
+        List<SessionDto> sessions = assertStatementBudget("SessionService.getUserActiveSessions", 1, 1,
+                () -> sessionService.getUserActiveSessions(userId));
+
+        // Then
+        assertThat(sessions).hasSize(1);
+    }
+}
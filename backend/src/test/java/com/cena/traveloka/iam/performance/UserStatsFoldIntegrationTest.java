@@ -0,0 +1,98 @@
+package com.cena.traveloka.iam.performance;
+
+import com.cena.traveloka.common.performance.AbstractQueryPerformanceIntegrationTest;
+import com.cena.traveloka.iam.dto.response.ProfileStatsDto;
+import com.cena.traveloka.iam.repository.UserStatsEventRepository;
+import com.cena.traveloka.iam.service.ProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that folding iam.user_stats_events into iam.user_profiles applies every delta exactly
+ * once, and that profile stats read the same totals before and after a fold.
+ */
+@DisplayName("User Stats Fold Tests")
+class UserStatsFoldIntegrationTest extends AbstractQueryPerformanceIntegrationTest {
+
+    @Autowired
+    private UserStatsEventRepository statsEventRepository;
+
+    @Autowired
+    private ProfileService profileService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void seedStats() {
+        userId = seededUserId(404);
+        jdbcTemplate.update("DELETE FROM iam.user_profiles WHERE user_id = ?", userId);
+        jdbcTemplate.update("""
+            INSERT INTO iam.user_profiles (user_id, total_bookings, total_spent, loyalty_points, loyalty_tier)
+            VALUES (?, 1, 50.00, 200, 'bronze')
+            """, userId);
+        jdbcTemplate.update("""
+            INSERT INTO iam.user_stats_events (user_id, points_delta, bookings_delta, spent_delta)
+            VALUES (?, 600, 1, 100.50), (?, 300, 1, 200.25), (?, -100, 0, 0)
+            """, userId, userId, userId);
+    }
+
+    @Test
+    @DisplayName("Stats should include unfolded events before the fold runs")
+    void getProfileStats_IncludesUnfoldedEvents() {
+        // When
+        ProfileStatsDto stats = profileService.getProfileStats(userId);
+
+        // Then
+        assertThat(stats.getLoyaltyPoints()).isEqualTo(1000);
+        assertThat(stats.getLoyaltyTier()).isEqualTo("silver");
+        assertThat(stats.getTotalBookings()).isEqualTo(3);
+        assertThat(stats.getTotalSpent()).isEqualByComparingTo(new BigDecimal("350.75"));
+    }
+
+    @Test
+    @DisplayName("Folding should apply each event once and leave the stats unchanged")
+    void foldPendingEvents_IsIdempotent() {
+        // Given
+        ProfileStatsDto before = profileService.getProfileStats(userId);
+
+        // When
+        foldAll();
+        Map<String, Object> afterFirstFold = profileRow();
+        int refolded = statsEventRepository.foldPendingEvents(1000);
+
+        // Then
+        assertThat(afterFirstFold.get("loyalty_points")).isEqualTo(1000);
+        assertThat(afterFirstFold.get("total_bookings")).isEqualTo(3);
+        assertThat((BigDecimal) afterFirstFold.get("total_spent")).isEqualByComparingTo(new BigDecimal("350.75"));
+        assertThat(afterFirstFold.get("loyalty_tier")).isEqualTo("silver");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM iam.user_stats_events WHERE user_id = ?",
+                Integer.class, userId)).isZero();
+
+        assertThat(refolded).isZero();
+        assertThat(profileRow()).isEqualTo(afterFirstFold);
+        assertThat(profileService.getProfileStats(userId)).isEqualTo(before);
+    }
+
+    private void foldAll() {
+        while (statsEventRepository.foldPendingEvents(1000) > 0) {
+            // keep folding until no unfolded events are left
+        }
+    }
+
+    private Map<String, Object> profileRow() {
+        return jdbcTemplate.queryForMap("""
+            SELECT loyalty_points, total_bookings, total_spent, loyalty_tier
+            FROM iam.user_profiles
+            WHERE user_id = ?
+            """, userId);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.iam.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountLockoutScheduler Tests")
+class AccountLockoutSchedulerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AccountLockoutScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new AccountLockoutScheduler(userRepository, clusterJobLock, meterRegistry);
+        scheduler.registerMetrics();
+    }
+
+    @Test
+    @DisplayName("Should unlock expired accounts with a single bulk update when the cluster lock is acquired")
+    void shouldUnlockExpiredAccountsWhenLockAcquired() {
+        // Given
+        when(clusterJobLock.executeExclusively(eq(AccountLockoutScheduler.UNLOCK_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(3).run();
+                    return true;
+                });
+        when(userRepository.unlockExpiredAccounts()).thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        // When
+        scheduler.unlockExpiredAccounts();
+
+        // Then
+        verify(userRepository).unlockExpiredAccounts();
+        verify(userRepository, never()).findByAccountLockedTrue();
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the unlock when another node holds the cluster lock")
+    void shouldSkipUnlockWhenLockHeldElsewhere() {
+        // Given
+        when(clusterJobLock.executeExclusively(eq(AccountLockoutScheduler.UNLOCK_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // When
+        scheduler.unlockExpiredAccounts();
+
+        // Then
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should expose locked account gauge from a COUNT query")
+    void shouldExposeLockedAccountGaugeFromCount() {
+        // Given
+        when(userRepository.countByAccountLockedTrue()).thenReturn(7L);
+
+        // When
+        scheduler.refreshLockedAccountsGauge();
+
+        // Then
+        assertThat(meterRegistry.get("iam.accounts.locked").gauge().value()).isEqualTo(7.0);
+        verify(userRepository, never()).findByAccountLockedTrue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.iam.repository.IamSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionExpiryScheduler Tests")
+class SessionExpirySchedulerTest {
+
+    @Mock
+    private IamSessionRepository sessionRepository;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    private SessionExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SessionExpiryScheduler(sessionRepository, clusterJobLock);
+    }
+
+    @Test
+    @DisplayName("Should expire due sessions with a single bulk update when the cluster lock is acquired")
+    void shouldExpireDueSessionsWhenLockAcquired() {
+        // Given
+        when(clusterJobLock.executeExclusively(eq(SessionExpiryScheduler.EXPIRE_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(3).run();
+                    return true;
+                });
+        when(sessionRepository.expireDueSessions(any(OffsetDateTime.class))).thenReturn(3);
+
+        // When
+        scheduler.expireDueSessions();
+
+        // Then
+        verify(sessionRepository).expireDueSessions(any(OffsetDateTime.class));
+        verify(sessionRepository, never()).findByIsActiveTrueAndExpiresAtBefore(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the sweep when another node holds the cluster lock")
+    void shouldSkipSweepWhenLockHeldElsewhere() {
+        // Given
+        when(clusterJobLock.executeExclusively(eq(SessionExpiryScheduler.EXPIRE_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // When
+        scheduler.expireDueSessions();
+
+        // Then
+        verifyNoInteractions(sessionRepository);
+    }
+}
@@ -0,0 +1,86 @@
+package com.cena.traveloka.iam.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.iam.repository.UserStatsEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserStatsAggregator Tests")
+class UserStatsAggregatorTest {
+
+    @Mock
+    private UserStatsEventRepository statsEventRepository;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    private UserStatsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new UserStatsAggregator(statsEventRepository, clusterJobLock, 100, 3);
+    }
+
+    @Test
+    @DisplayName("Should fold batches until none are left when the cluster lock is acquired")
+    void shouldFoldUntilDrainedWhenLockAcquired() {
+        // Given
+        acquireLock();
+        when(statsEventRepository.foldPendingEvents(100)).thenReturn(100, 40, 0);
+
+        // When
+        aggregator.foldPendingEvents();
+
+        // Then
+        verify(statsEventRepository, times(3)).foldPendingEvents(100);
+    }
+
+    @Test
+    @DisplayName("Should stop after the maximum number of batches per run")
+    void shouldStopAfterMaxBatches() {
+        // Given
+        acquireLock();
+        when(statsEventRepository.foldPendingEvents(100)).thenReturn(100);
+
+        // When
+        aggregator.foldPendingEvents();
+
+        // Then
+        verify(statsEventRepository, times(3)).foldPendingEvents(100);
+    }
+
+    @Test
+    @DisplayName("Should skip the fold when another node holds the cluster lock")
+    void shouldSkipFoldWhenLockHeldElsewhere() {
+        // Given
+        when(clusterJobLock.executeExclusively(eq(UserStatsAggregator.FOLD_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // When
+        aggregator.foldPendingEvents();
+
+        // Then
+        verifyNoInteractions(statsEventRepository);
+    }
+
+    private void acquireLock() {
+        when(clusterJobLock.executeExclusively(eq(UserStatsAggregator.FOLD_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(3).run();
+                    return true;
+                });
+    }
+}
@@ -0,0 +1,154 @@
+package com.cena.traveloka.iam.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TotpVerificationCache Tests")
+class TotpVerificationCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private TotpVerificationCache cache;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TotpVerificationCache(redisTemplate, Duration.ofMinutes(2), 2, 3,
+                Duration.ofMinutes(15), Duration.ofMinutes(2), "iam:totp-invalidation");
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should reject a time step that was already accepted, and any earlier one")
+    void markStepUsed_RejectsReplay() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L);
+
+        // When
+        boolean first = cache.markStepUsed(userId, 100L);
+        boolean replay = cache.markStepUsed(userId, 100L);
+        boolean earlier = cache.markStepUsed(userId, 99L);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(replay).isFalse();
+        assertThat(earlier).isFalse();
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class),
+                eq(List.of("totp_last_step:" + userId)), eq("100"), eq("120000"));
+    }
+
+    @Test
+    @DisplayName("Should reject a time step at or before the last one accepted on another node")
+    void markStepUsed_RejectsStepClaimedElsewhere() {
+        // Given - another node accepted step 100, so Redis refuses 99 inside the drift window
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(0L);
+
+        // When / Then
+        assertThat(cache.markStepUsed(userId, 99L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accept a later time step after an earlier one")
+    void markStepUsed_AcceptsLaterStep() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L);
+
+        // When / Then
+        assertThat(cache.markStepUsed(userId, 100L)).isTrue();
+        assertThat(cache.markStepUsed(userId, 101L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should publish secret evictions to other nodes")
+    void evictSecret_PublishesEviction() {
+        // Given
+        cache.putSecret(userId, UUID.randomUUID(), "A");
+
+        // When
+        cache.evictSecret(userId);
+
+        // Then
+        assertThat(cache.getSecret(userId)).isEmpty();
+        verify(redisTemplate).convertAndSend(eq("iam:totp-invalidation"), endsWith("|" + userId));
+    }
+
+    @Test
+    @DisplayName("Should drop a secret evicted on another node")
+    void onMessage_EvictsSecretFromOtherNode() {
+        // Given
+        cache.putSecret(userId, UUID.randomUUID(), "A");
+        byte[] body = ("other-node|" + userId).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        cache.onMessage(new DefaultMessage("iam:totp-invalidation".getBytes(StandardCharsets.UTF_8), body), null);
+
+        // Then
+        assertThat(cache.getSecret(userId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should throttle after the shared failure count reaches the limit")
+    void recordFailure_ThrottlesOnSharedCount() {
+        // Given - two failures already counted by other nodes
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment("totp_failures:" + userId)).thenReturn(3L);
+
+        // When
+        cache.recordFailure(userId);
+
+        // Then
+        assertThat(cache.isThrottled(userId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep counting locally when Redis is unavailable")
+    void recordFailure_FallsBackToLocalCount() {
+        // Given
+        when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("Redis down"));
+
+        // When
+        cache.recordFailure(userId);
+        cache.recordFailure(userId);
+        boolean throttledBeforeLimit = cache.isThrottled(userId);
+        cache.recordFailure(userId);
+
+        // Then
+        assertThat(throttledBeforeLimit).isFalse();
+        assertThat(cache.isThrottled(userId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured number of cached secrets")
+    void putSecret_EvictsWhenFull() {
+        // When
+        cache.putSecret(UUID.randomUUID(), UUID.randomUUID(), "A");
+        cache.putSecret(UUID.randomUUID(), UUID.randomUUID(), "B");
+        cache.putSecret(userId, UUID.randomUUID(), "C");
+
+        // Then
+        assertThat(cache.getSecret(userId)).map(TotpVerificationCache.CachedSecret::secret).contains("C");
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -1,12 +1,15 @@
 package com.cena.traveloka.iam.service;
 
 import com.cena.traveloka.common.enums.Status;
+import com.cena.traveloka.common.scheduling.DeadlineScheduler;
 import com.cena.traveloka.iam.dto.request.LoginRequest;
 import com.cena.traveloka.iam.dto.request.RegisterRequest;
 import com.cena.traveloka.iam.dto.response.AuthResponse;
 import com.cena.traveloka.iam.dto.response.UserDto;
 import com.cena.traveloka.iam.entity.LoginHistory;
+import com.cena.traveloka.iam.entity.Role;
 import com.cena.traveloka.iam.entity.User;
+import com.cena.traveloka.iam.mapper.UserMapper;
 import com.cena.traveloka.iam.repository.LoginHistoryRepository;
 import com.cena.traveloka.iam.repository.UserRepository;
 import com.cena.traveloka.iam.security.JwtTokenProvider;
@@ -21,6 +24,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.OffsetDateTime;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -60,6 +64,15 @@ class AuthenticationServiceTest {
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private DeadlineScheduler deadlineScheduler;
+
+    @Mock
+    private LoginStatsService loginStatsService;
+
+    @Mock
+    private UserMapper userMapper;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -215,6 +228,28 @@ class AuthenticationServiceTest {
                 .hasMessageContaining("Account is locked");
     }
 
+    @Test
+    @DisplayName("Should clear the Redis failure counter when an expired lock is lifted")
+    void shouldClearFailureCounterWhenLockExpired() {
+        // Given
+        testUser.setRoles(Set.of(Role.builder().name("CUSTOMER").build()));
+        testUser.setAccountLocked(true);
+        testUser.setLockedUntil(OffsetDateTime.now().minusMinutes(1));
+        testUser.setFailedLoginAttempts(5);
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
+        when(loginStatsService.recordSuccessfulLogin(testUser.getId(), "192.168.1.1")).thenReturn(true);
+        when(jwtTokenProvider.generateAccessToken(any(), anyString(), anyString())).thenReturn("access-token");
+        when(jwtTokenProvider.generateRefreshToken(anyString())).thenReturn("refresh-token");
+
+        // When
+        authenticationService.login(loginRequest, "192.168.1.1", "Mozilla/5.0");
+
+        // Then
+        verify(loginStatsService).clearFailedAttempts(testUser.getId());
+        assertThat(testUser.getAccountLocked()).isFalse();
+        assertThat(testUser.getFailedLoginAttempts()).isZero();
+    }
+
     @Test
     @DisplayName("Should reset failed attempts on successful login")
     void shouldResetFailedAttemptsOnSuccessfulLogin() {
@@ -234,6 +269,25 @@ class AuthenticationServiceTest {
         ));
     }
 
+    @Test
+    @DisplayName("Should record login counters in Redis without rewriting the user row")
+    void shouldRecordLoginCountersOutsideUsersTable() {
+        // Given
+        testUser.setRoles(Set.of(Role.builder().name("CUSTOMER").build()));
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
+        when(loginStatsService.recordSuccessfulLogin(testUser.getId(), "192.168.1.1")).thenReturn(true);
+        when(jwtTokenProvider.generateAccessToken(any(), anyString(), anyString())).thenReturn("access-token");
+        when(jwtTokenProvider.generateRefreshToken(anyString())).thenReturn("refresh-token");
+
+        // When
+        authenticationService.login(loginRequest, "192.168.1.1", "Mozilla/5.0");
+
+        // Then
+        verify(loginStatsService).recordSuccessfulLogin(testUser.getId(), "192.168.1.1");
+        verify(userRepository, never()).save(any(User.class));
+        verify(loginHistoryRepository).save(any(LoginHistory.class));
+    }
+
     @Test
     @DisplayName("Should register new user (FR-001)")
     void shouldRegisterNewUser() {
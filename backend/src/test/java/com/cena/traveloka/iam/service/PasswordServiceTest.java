@@ -4,6 +4,7 @@ import com.cena.traveloka.iam.entity.PasswordResetToken;
 import com.cena.traveloka.iam.entity.User;
 import com.cena.traveloka.iam.repository.PasswordResetTokenRepository;
 import com.cena.traveloka.iam.repository.UserRepository;
+import com.cena.traveloka.notify.service.EmailOutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,9 @@ class PasswordServiceTest {
     @Mock
     private PasswordResetTokenRepository tokenRepository;
 
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
     @InjectMocks
     private PasswordService passwordService;
 
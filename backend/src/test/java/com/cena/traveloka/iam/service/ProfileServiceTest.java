@@ -0,0 +1,79 @@
+package com.cena.traveloka.iam.service;
+
+import com.cena.traveloka.iam.dto.response.ProfileStatsDto;
+import com.cena.traveloka.iam.repository.UserStatsEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProfileService Tests")
+class ProfileServiceTest {
+
+    @Mock
+    private UserStatsEventRepository statsEventRepository;
+
+    @InjectMocks
+    private ProfileService profileService;
+
+    @Test
+    @DisplayName("Should return folded and pending stats with the tier of their combined points")
+    void shouldGetProfileStats() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(statsEventRepository.findProfileStats(userId))
+                .thenReturn(Optional.of(stats(5200L, 4L, new BigDecimal("860.00"))));
+
+        // When
+        ProfileStatsDto result = profileService.getProfileStats(userId);
+
+        // Then
+        assertThat(result.getLoyaltyPoints()).isEqualTo(5200);
+        assertThat(result.getLoyaltyTier()).isEqualTo("gold");
+        assertThat(result.getTotalBookings()).isEqualTo(4);
+        assertThat(result.getTotalSpent()).isEqualByComparingTo("860.00");
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the user has no profile")
+    void shouldThrowExceptionForMissingProfile() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(statsEventRepository.findProfileStats(userId)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> profileService.getProfileStats(userId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Profile not found");
+    }
+
+    private static UserStatsEventRepository.ProfileStats stats(Long points, Long bookings, BigDecimal spent) {
+        return new UserStatsEventRepository.ProfileStats() {
+            @Override
+            public Long getLoyaltyPoints() {
+                return points;
+            }
+
+            @Override
+            public Long getTotalBookings() {
+                return bookings;
+            }
+
+            @Override
+            public BigDecimal getTotalSpent() {
+                return spent;
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.cena.traveloka.iam.service;
 
+import com.cena.traveloka.common.scheduling.DeadlineScheduler;
 import com.cena.traveloka.iam.dto.response.SessionDto;
 import com.cena.traveloka.iam.entity.Session;
 import com.cena.traveloka.iam.entity.User;
@@ -46,6 +47,9 @@ class SessionServiceTest {
     @Mock
     private SessionMapper sessionMapper;
 
+    @Mock
+    private DeadlineScheduler deadlineScheduler;
+
     @InjectMocks
     private SessionService sessionService;
 
@@ -59,6 +59,9 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private LoginStatsService loginStatsService;
+
     @InjectMocks
     private UserService userService;
 
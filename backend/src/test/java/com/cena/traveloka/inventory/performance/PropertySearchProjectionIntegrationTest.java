@@ -0,0 +1,224 @@
+package com.cena.traveloka.inventory.performance;
+
+import com.cena.traveloka.common.dto.PageResponse;
+import com.cena.traveloka.common.performance.AbstractQueryPerformanceIntegrationTest;
+import com.cena.traveloka.common.performance.QueryPlan;
+import com.cena.traveloka.inventory.dto.response.PropertyListingResponse;
+import com.cena.traveloka.inventory.model.PropertySearchCriteria;
+import com.cena.traveloka.inventory.model.PropertySort;
+import com.cena.traveloka.inventory.model.PropertyType;
+import com.cena.traveloka.inventory.service.PropertySearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the trigger-maintained {@code inventory.property_search} rows always equal what
+ * the former {@code v_property_search} view computed by grouping room types, across bulk
+ * inserts, updates, deletes and geo renames, and that listings read only the projection.
+ */
+@DisplayName("Property Search Projection Tests")
+class PropertySearchProjectionIntegrationTest extends AbstractQueryPerformanceIntegrationTest {
+
+    private static final int CITIES = 50;
+    private static final int PROPERTIES = 5_000;
+    private static final int ROOM_TYPES_PER_PROPERTY = 4;
+    private static final String CODE_PREFIX = "psp-";
+
+    // The former view: grouped over room types on every query
+    private static final String EXPECTED_SQL = """
+            SELECT p.id, p.name, p.property_type::text, p.star_rating, c.name AS city_name, co.name AS country_name,
+                   co.code AS country_code, p.overall_rating, p.is_featured,
+                   MIN(rt.base_price) AS min_price, MAX(rt.base_price) AS max_price,
+                   COUNT(DISTINCT rt.id) AS room_type_count
+            FROM inventory.properties p
+                     JOIN geo.cities c ON p.city_id = c.id
+                     JOIN geo.countries co ON p.country_id = co.id
+                     LEFT JOIN inventory.room_types rt ON p.id = rt.property_id AND rt.is_active = TRUE
+            WHERE p.is_deleted = FALSE AND p.is_active = TRUE AND p.code LIKE 'psp-%'
+            GROUP BY p.id, p.name, p.property_type, p.star_rating, c.name, co.name, co.code,
+                     p.overall_rating, p.is_featured
+            """;
+
+    private static final String PROJECTED_SQL = """
+            SELECT id, name, property_type::text, star_rating, city_name, country_name, country_code,
+                   overall_rating, is_featured, min_price, max_price, room_type_count::bigint AS room_type_count
+            FROM inventory.property_search
+            WHERE code LIKE 'psp-%'
+            """;
+
+    @Autowired
+    private PropertySearchService propertySearchService;
+
+    private UUID cityId;
+
+    @BeforeEach
+    void seedInventory() {
+        jdbcTemplate.update("DELETE FROM inventory.properties WHERE code LIKE 'psp-%'");
+        jdbcTemplate.update("DELETE FROM inventory.partners WHERE code = 'psp-partner'");
+        jdbcTemplate.update("DELETE FROM geo.countries WHERE code = 'QX'");
+
+        UUID countryId = jdbcTemplate.queryForObject("""
+            INSERT INTO geo.countries (code, code3, name) VALUES ('QX', 'QXA', 'Perfland') RETURNING id
+            """, UUID.class);
+        jdbcTemplate.update("""
+            INSERT INTO geo.cities (country_id, name, latitude, longitude, location, timezone)
+            SELECT ?, 'Perf City ' || n, 10 + n * 0.01, 106 + n * 0.01,
+                   ST_SetSRID(ST_MakePoint(106 + n * 0.01, 10 + n * 0.01), 4326), 'Asia/Ho_Chi_Minh'
+            FROM generate_series(1, ?) AS n
+            """, countryId, CITIES);
+        UUID partnerId = jdbcTemplate.queryForObject("""
+            INSERT INTO inventory.partners (code, name, partner_type, primary_email, primary_phone)
+            VALUES ('psp-partner', 'Perf Partner', 'hotel', 'psp@example.com', '+84900000000') RETURNING id
+            """, UUID.class);
+
+        // One statement each, as a bulk import would issue them
+        jdbcTemplate.update("""
+            INSERT INTO inventory.properties (partner_id, code, name, property_type, star_rating, address,
+                                              city_id, country_id, latitude, longitude, location, total_rooms,
+                                              overall_rating, is_featured)
+            SELECT ?, 'psp-' || n, 'Perf Hotel ' || n,
+                   (enum_range(NULL::inventory.property_type))[n % 10 + 1], n % 5 + 1, n || ' Perf Street',
+                   c.id, c.country_id, c.latitude, c.longitude, c.location, 50,
+                   (n % 50) / 10.0, n % 17 = 0
+            FROM generate_series(1, ?) AS n
+                     JOIN geo.cities c ON c.name = 'Perf City ' || (n % ? + 1)
+            """, partnerId, PROPERTIES, CITIES);
+        jdbcTemplate.update("""
+            INSERT INTO inventory.room_types (property_id, code, name, room_type, max_occupancy, adults_capacity,
+                                              base_price, total_rooms)
+            SELECT p.id, 'R' || r, 'Room ' || r, 'double', 2, 2, 300000 + (abs(hashtext(p.code)) % 40) * 50000 + r * 100000, 10
+            FROM inventory.properties p
+                     CROSS JOIN generate_series(1, ?) AS r
+            WHERE p.code LIKE 'psp-%'
+            """, ROOM_TYPES_PER_PROPERTY);
+        jdbcTemplate.execute("ANALYZE inventory.property_search");
+
+        cityId = jdbcTemplate.queryForObject("SELECT id FROM geo.cities WHERE name = 'Perf City 7'", UUID.class);
+    }
+
+    @Test
+    @DisplayName("Should match the grouped room type aggregate after bulk inserts")
+    void bulkInsert_MatchesAggregate() {
+        assertProjectionMatchesAggregate();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM inventory.property_search WHERE code LIKE 'psp-%'", Integer.class))
+            .isEqualTo(PROPERTIES);
+    }
+
+    @Test
+    @DisplayName("Should follow room type price, status, move and delete changes")
+    void roomTypeChanges_KeepProjectionInSync() {
+        jdbcTemplate.update("""
+            UPDATE inventory.room_types SET base_price = base_price * 2
+            WHERE code = 'R1' AND property_id IN (SELECT id FROM inventory.properties WHERE code LIKE 'psp-1%')
+            """);
+        jdbcTemplate.update("""
+            UPDATE inventory.room_types SET is_active = FALSE
+            WHERE code IN ('R1', 'R2') AND property_id IN (SELECT id FROM inventory.properties WHERE code LIKE 'psp-2%')
+            """);
+        jdbcTemplate.update("""
+            DELETE FROM inventory.room_types
+            WHERE property_id IN (SELECT id FROM inventory.properties WHERE code LIKE 'psp-3%')
+            """);
+        // Moves a room type to another property, which changes both
+        jdbcTemplate.update("""
+            UPDATE inventory.room_types SET property_id = (SELECT id FROM inventory.properties WHERE code = 'psp-4000'),
+                                            code = 'MOVED'
+            WHERE code = 'R4' AND property_id = (SELECT id FROM inventory.properties WHERE code = 'psp-4001')
+            """);
+        // Touches columns the projection does not carry
+        jdbcTemplate.update("""
+            UPDATE inventory.room_types SET total_rooms = total_rooms + 1
+            WHERE property_id IN (SELECT id FROM inventory.properties WHERE code LIKE 'psp-5%')
+            """);
+
+        assertProjectionMatchesAggregate();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT room_type_count FROM inventory.property_search WHERE code = 'psp-30'", Integer.class))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Should add and remove rows as properties are deactivated, deleted or changed")
+    void propertyChanges_KeepProjectionInSync() {
+        jdbcTemplate.update("UPDATE inventory.properties SET is_active = FALSE WHERE code LIKE 'psp-11%'");
+        jdbcTemplate.update("UPDATE inventory.properties SET is_deleted = TRUE WHERE code LIKE 'psp-12%'");
+        jdbcTemplate.update("DELETE FROM inventory.properties WHERE code LIKE 'psp-13%'");
+        jdbcTemplate.update("""
+            UPDATE inventory.properties
+            SET name = name || ' Renamed', star_rating = 5, overall_rating = 4.9,
+                city_id = (SELECT id FROM geo.cities WHERE name = 'Perf City 1')
+            WHERE code LIKE 'psp-14%'
+            """);
+        jdbcTemplate.update("UPDATE inventory.properties SET is_active = TRUE WHERE code LIKE 'psp-11%'");
+
+        assertProjectionMatchesAggregate();
+    }
+
+    @Test
+    @DisplayName("Should carry city and country renames into existing rows")
+    void geoRenames_KeepProjectionInSync() {
+        jdbcTemplate.update("UPDATE geo.cities SET name = 'Perf City 7 Renamed' WHERE name = 'Perf City 7'");
+        jdbcTemplate.update("UPDATE geo.countries SET name = 'Perfland Renamed' WHERE code = 'QX'");
+
+        assertProjectionMatchesAggregate();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT DISTINCT city_name FROM inventory.property_search WHERE city_id = ?", String.class, cityId))
+            .isEqualTo("Perf City 7 Renamed");
+    }
+
+    @Test
+    @DisplayName("Should repair rows that drifted while triggers were bypassed")
+    void reconcile_RepairsDrift() {
+        jdbcTemplate.update("UPDATE inventory.property_search SET min_price = 1, city_name = 'stale' WHERE code LIKE 'psp-2%'");
+        jdbcTemplate.update("DELETE FROM inventory.property_search WHERE code LIKE 'psp-3%'");
+
+        propertySearchService.reconcile();
+
+        assertProjectionMatchesAggregate();
+    }
+
+    @Test
+    @DisplayName("Listings should filter and order from the projection without touching room types")
+    void search_ReadsProjectionOnly() {
+        PropertySearchCriteria criteria = new PropertySearchCriteria(cityId,
+            List.of(PropertyType.HOTEL, PropertyType.RESORT, PropertyType.VILLA), 2, null,
+            new BigDecimal("500000"), new BigDecimal("2000000"), PropertySort.PRICE_ASC);
+
+        Map<String, Integer> statements = queryInstrumentation.countStatements(
+            () -> propertySearchService.search(criteria, 0, 10));
+        PageResponse<PropertyListingResponse> page = propertySearchService.search(criteria, 0, 10);
+
+        assertThat(statements).hasSizeLessThanOrEqualTo(2);
+        assertThat(statements.keySet()).noneMatch(sql -> sql.contains("room_types"));
+        for (String sql : statements.keySet()) {
+            QueryPlan plan = QueryPlan.explain(jdbcTemplate, sql);
+            assertThat(plan.sequentialScans())
+                .as("sequential scan in plan of %s%n%s", sql, plan.json())
+                .doesNotContain("inventory.property_search");
+        }
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(page.getContent()).allSatisfy(property -> {
+            assertThat(property.getPropertyType()).isIn("hotel", "resort", "villa");
+            assertThat(property.getStarRating()).isGreaterThanOrEqualTo(2);
+            assertThat(property.getMinPrice()).isBetween(new BigDecimal("500000"), new BigDecimal("2000000"));
+        });
+        assertThat(page.getContent()).extracting(PropertyListingResponse::getMinPrice).isSorted();
+    }
+
+    private void assertProjectionMatchesAggregate() {
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(EXPECTED_SQL + " ORDER BY id");
+        List<Map<String, Object>> projected = jdbcTemplate.queryForList(PROJECTED_SQL + " ORDER BY id");
+        assertThat(projected).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,139 @@
+package com.cena.traveloka.inventory.scheduler;
+
+import com.cena.traveloka.inventory.service.ImageObjectStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PropertyImageBatchWriter Tests")
+class PropertyImageBatchWriterTest {
+
+    private static final String SHA256 = "ab".repeat(32);
+    private static final String ORIGINAL_KEY = ImageObjectStore.originalKey(SHA256, ".jpg");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ImageObjectStore objectStore;
+
+    private PropertyImageBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new PropertyImageBatchWriter(jdbcTemplate, objectStore);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+    }
+
+    @Test
+    @DisplayName("Should delete the stored content of a row that cannot be inserted")
+    void shouldDeleteContentOfDroppedRow() {
+        // Given
+        rejectInserts();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(SHA256))).thenReturn(false);
+        writer.enqueue(image());
+
+        // When
+        writer.flush();
+
+        // Then
+        verify(objectStore).deleteContentQuietly(ORIGINAL_KEY, SHA256);
+    }
+
+    @Test
+    @DisplayName("Should keep stored content that another row still references")
+    void shouldKeepContentReferencedElsewhere() {
+        // Given
+        rejectInserts();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(SHA256))).thenReturn(true);
+        writer.enqueue(image());
+
+        // When
+        writer.flush();
+
+        // Then
+        verifyNoInteractions(objectStore);
+    }
+
+    @Test
+    @DisplayName("Should keep stored content that another upload has claimed but not yet enqueued")
+    void shouldKeepContentClaimedByInFlightUpload() {
+        // Given
+        rejectInserts();
+        writer.claim(SHA256);
+        writer.claim(SHA256);
+        writer.enqueue(image());
+
+        // When
+        writer.flush();
+
+        // Then
+        verifyNoInteractions(objectStore);
+    }
+
+    @Test
+    @DisplayName("Should delete the content once the other upload releases its claim")
+    void shouldDeleteContentAfterClaimReleased() {
+        // Given
+        rejectInserts();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(SHA256))).thenReturn(false);
+        writer.claim(SHA256);
+        writer.claim(SHA256);
+        writer.release(SHA256);
+        writer.enqueue(image());
+
+        // When
+        writer.flush();
+
+        // Then
+        verify(objectStore).deleteContentQuietly(ORIGINAL_KEY, SHA256);
+    }
+
+    @Test
+    @DisplayName("Should not touch stored content when the batch insert succeeds")
+    void shouldKeepContentOfInsertedRows() {
+        // Given
+        writer.enqueue(image());
+
+        // When
+        writer.flush();
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(objectStore);
+    }
+
+    private void rejectInserts() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataIntegrityViolationException("room_type_id violates foreign key"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+            .thenThrow(new DataIntegrityViolationException("room_type_id violates foreign key"));
+    }
+
+    private static PropertyImageBatchWriter.PendingImage image() {
+        return new PropertyImageBatchWriter.PendingImage(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            ORIGINAL_KEY,
+            "http://localhost:9000/images/" + ORIGINAL_KEY,
+            "http://localhost:9000/images/thumb.jpg",
+            "lobby",
+            "lobby",
+            0,
+            "admin",
+            SHA256
+        );
+    }
+}
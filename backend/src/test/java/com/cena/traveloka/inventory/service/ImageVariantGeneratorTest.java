@@ -0,0 +1,80 @@
+package com.cena.traveloka.inventory.service;
+
+import com.cena.traveloka.common.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ImageVariantGenerator Tests")
+class ImageVariantGeneratorTest {
+
+    private final ImageVariantGenerator generator = new ImageVariantGenerator(12000, 0.85f);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should produce every variant within its bounding box, keeping aspect ratio")
+    void generate_LargeImage_ScalesDown() throws IOException {
+        // Given
+        Path source = writePng(4000, 2000, BufferedImage.TYPE_INT_ARGB);
+
+        // When
+        Map<ImageVariant, byte[]> variants = generator.generate(source);
+
+        // Then
+        assertThat(variants).containsOnlyKeys(ImageVariant.values());
+        assertDimensions(variants.get(ImageVariant.LARGE), 1600, 800);
+        assertDimensions(variants.get(ImageVariant.MEDIUM), 800, 400);
+        assertDimensions(variants.get(ImageVariant.THUMBNAIL), 320, 160);
+    }
+
+    @Test
+    @DisplayName("Should never upscale images smaller than a variant")
+    void generate_SmallImage_KeepsSize() throws IOException {
+        // Given
+        Path source = writePng(600, 400, BufferedImage.TYPE_INT_RGB);
+
+        // When
+        Map<ImageVariant, byte[]> variants = generator.generate(source);
+
+        // Then
+        assertDimensions(variants.get(ImageVariant.LARGE), 600, 400);
+        assertDimensions(variants.get(ImageVariant.MEDIUM), 600, 400);
+        assertDimensions(variants.get(ImageVariant.THUMBNAIL), 320, 213);
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not images")
+    void generate_NotAnImage_Throws() throws IOException {
+        // Given
+        Path source = Files.writeString(tempDir.resolve("fake.jpg"), "not an image");
+
+        // When / Then
+        assertThatThrownBy(() -> generator.generate(source))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    private Path writePng(int width, int height, int type) throws IOException {
+        Path path = tempDir.resolve(width + "x" + height + ".png");
+        ImageIO.write(new BufferedImage(width, height, type), "png", path.toFile());
+        return path;
+    }
+
+    private void assertDimensions(byte[] jpeg, int width, int height) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertThat(image.getWidth()).isEqualTo(width);
+        assertThat(image.getHeight()).isEqualTo(height);
+    }
+}
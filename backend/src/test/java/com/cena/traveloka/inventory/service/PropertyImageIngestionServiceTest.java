@@ -0,0 +1,113 @@
+package com.cena.traveloka.inventory.service;
+
+import com.cena.traveloka.inventory.scheduler.PropertyImageBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PropertyImageIngestionService Tests")
+class PropertyImageIngestionServiceTest {
+
+    @Mock
+    private ImageObjectStore objectStore;
+
+    @Mock
+    private ImageVariantGenerator variantGenerator;
+
+    @Mock
+    private PropertyImageBatchWriter batchWriter;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AsyncTaskExecutor fileTaskExecutor;
+
+    @TempDir
+    Path spoolDirectory;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class)))
+            .thenReturn(true);
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class)))
+            .thenReturn(0);
+    }
+
+    @Test
+    @DisplayName("Should pick up accepted uploads that were not processed before a restart")
+    void init_AcceptedButUnprocessed_RecoversBacklog() throws IOException {
+        // Given: accepted, but the executor never ran the task before the node went down
+        PropertyImageIngestionService before = newService(mock(AsyncTaskExecutor.class));
+        before.accept(UUID.randomUUID(), null, "lobby", List.of(jpeg("lobby.jpg"), jpeg("pool.jpg")), "admin");
+
+        // When
+        newService(fileTaskExecutor);
+
+        // Then
+        verify(fileTaskExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should remove spooled files that have no task file")
+    void init_SpooledFileWithoutTask_DeletesIt() throws IOException {
+        // Given
+        Path orphan = Files.write(spoolDirectory.resolve(UUID.randomUUID() + ".jpg"), new byte[]{1, 2, 3});
+
+        // When
+        newService(fileTaskExecutor);
+
+        // Then
+        assertThat(orphan).doesNotExist();
+        verifyNoInteractions(fileTaskExecutor);
+    }
+
+    @Test
+    @DisplayName("Should delete the spooled file and its task file once processed")
+    void process_Completed_CleansUpSpool() throws IOException {
+        // Given
+        PropertyImageIngestionService service = newService(fileTaskExecutor);
+        service.accept(UUID.randomUUID(), null, null, List.of(jpeg("lobby.jpg")), "admin");
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(fileTaskExecutor).execute(task.capture());
+
+        // When
+        task.getValue().run();
+
+        // Then
+        try (var remaining = Files.list(spoolDirectory)) {
+            assertThat(remaining).isEmpty();
+        }
+    }
+
+    private PropertyImageIngestionService newService(AsyncTaskExecutor executor) throws IOException {
+        PropertyImageIngestionService service = new PropertyImageIngestionService(objectStore, variantGenerator,
+            batchWriter, jdbcTemplate, executor, new SimpleMeterRegistry(), spoolDirectory, 8, 100);
+        service.init();
+        return service;
+    }
+
+    private static MockMultipartFile jpeg(String name) {
+        return new MockMultipartFile("files", name, "image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, 1, 2});
+    }
+}
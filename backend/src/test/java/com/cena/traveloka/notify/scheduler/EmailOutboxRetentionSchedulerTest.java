@@ -0,0 +1,80 @@
+package com.cena.traveloka.notify.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.notify.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxRetentionScheduler Tests")
+class EmailOutboxRetentionSchedulerTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    private EmailOutboxRetentionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new EmailOutboxRetentionScheduler(outboxRepository, clusterJobLock);
+        ReflectionTestUtils.setField(scheduler, "sentRetention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(scheduler, "failedRetention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(scheduler, "purgeBatchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should delete finished emails in batches until a batch comes back short")
+    void shouldPurgeInBatchesWhenLockAcquired() {
+        // Given
+        when(clusterJobLock.executeExclusively(eq(EmailOutboxRetentionScheduler.PURGE_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(3).run();
+                    return true;
+                });
+        when(outboxRepository.deleteFinished(any(OffsetDateTime.class), any(OffsetDateTime.class), eq(100)))
+                .thenReturn(100, 100, 7);
+
+        // When
+        scheduler.purgeFinishedEmails();
+
+        // Then
+        ArgumentCaptor<OffsetDateTime> sentBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<OffsetDateTime> failedBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(outboxRepository, times(3)).deleteFinished(sentBefore.capture(), failedBefore.capture(), eq(100));
+        assertThat(sentBefore.getValue()).isBefore(OffsetDateTime.now().minusDays(6));
+        assertThat(failedBefore.getValue()).isBefore(sentBefore.getValue().minusDays(22));
+    }
+
+    @Test
+    @DisplayName("Should not purge when another node holds the lock")
+    void shouldSkipPurgeWhenLockHeldElsewhere() {
+        // Given
+        when(clusterJobLock.executeExclusively(eq(EmailOutboxRetentionScheduler.PURGE_JOB_NAME),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // When
+        scheduler.purgeFinishedEmails();
+
+        // Then
+        verifyNoInteractions(outboxRepository);
+    }
+}
@@ -0,0 +1,117 @@
+package com.cena.traveloka.notify.service;
+
+import com.cena.traveloka.notify.entity.EmailOutbox;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends through a real SMTP server (GreenMail) to check batching and template rendering end to end.
+ */
+@DisplayName("EmailSender Tests")
+class EmailSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailSender emailSender;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        emailSender = new EmailSender(mailSender, new EmailTemplateRenderer());
+        ReflectionTestUtils.setField(emailSender, "from", "no-reply@traveloka.local");
+    }
+
+    @Test
+    @DisplayName("Should deliver a whole batch and render the verification template")
+    void sendBatch_DeliversAllMessages() throws Exception {
+        // Given
+        List<EmailOutbox> batch = List.of(
+                verificationEmail(1L, "alice@example.com"),
+                verificationEmail(2L, "bob@example.com"),
+                verificationEmail(3L, "carol@example.com")
+        );
+
+        // When
+        Map<Long, String> failures = emailSender.sendBatch(batch);
+
+        // Then
+        assertThat(failures).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo(EmailTemplate.VERIFICATION.getDefaultSubject());
+        assertThat((String) received[0].getContent()).contains("https://traveloka.test/verify-email?token=abc");
+    }
+
+    @Test
+    @DisplayName("Should render date variables stored as epoch millis")
+    void sendBatch_RendersPasswordResetTemplate() {
+        // Given
+        EmailOutbox email = EmailOutbox.builder()
+                .id(10L)
+                .template(EmailTemplate.PASSWORD_RESET.getTemplateName())
+                .recipient("dave@example.com")
+                .recipientDomain("example.com")
+                .subject(EmailTemplate.PASSWORD_RESET.getDefaultSubject())
+                .variables(Map.of(
+                        "userName", "Dave",
+                        "resetUrl", "https://traveloka.test/reset-password?token=xyz",
+                        "expiryMinutes", 60,
+                        "requestTime", System.currentTimeMillis()))
+                .createdAt(OffsetDateTime.now())
+                .build();
+
+        // When
+        Map<Long, String> failures = emailSender.sendBatch(List.of(email));
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should report only the emails that could not be rendered")
+    void sendBatch_ReportsRenderFailures() {
+        // Given
+        EmailOutbox broken = verificationEmail(2L, "bob@example.com");
+        broken.setTemplate("missing-template");
+
+        // When
+        Map<Long, String> failures = emailSender.sendBatch(List.of(verificationEmail(1L, "alice@example.com"), broken));
+
+        // Then
+        assertThat(failures).containsOnlyKeys(2L);
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    private EmailOutbox verificationEmail(Long id, String recipient) {
+        return EmailOutbox.builder()
+                .id(id)
+                .template(EmailTemplate.VERIFICATION.getTemplateName())
+                .recipient(recipient)
+                .recipientDomain("example.com")
+                .subject(EmailTemplate.VERIFICATION.getDefaultSubject())
+                .variables(Map.of(
+                        "userName", "Alice",
+                        "verificationUrl", "https://traveloka.test/verify-email?token=abc",
+                        "expiryHours", 24))
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+}
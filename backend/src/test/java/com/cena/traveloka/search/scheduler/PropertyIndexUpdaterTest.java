@@ -0,0 +1,131 @@
+package com.cena.traveloka.search.scheduler;
+
+import com.cena.traveloka.common.scheduling.ClusterJobLock;
+import com.cena.traveloka.common.service.ExternalServiceCircuitBreaker;
+import com.cena.traveloka.search.service.PropertyIndexService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PropertyIndexUpdater Tests")
+class PropertyIndexUpdaterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PropertyIndexService propertyIndexService;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    @Mock
+    private ExternalServiceCircuitBreaker circuitBreaker;
+
+    private PropertyIndexUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        updater = new PropertyIndexUpdater(jdbcTemplate, propertyIndexService, clusterJobLock, circuitBreaker,
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(updater, "syncBatchSize", 2);
+        ReflectionTestUtils.setField(updater, "syncMaxBatches", 20);
+        ReflectionTestUtils.setField(updater, "syncMaxAttempts", 5);
+
+        when(clusterJobLock.executeExclusively(eq(PropertyIndexService.JOB_NAME), any(Duration.class),
+            any(Duration.class), any(Runnable.class)))
+            .thenAnswer(invocation -> {
+                invocation.<Runnable>getArgument(3).run();
+                return true;
+            });
+        lenient().when(circuitBreaker.executeElasticsearch(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    @Test
+    @DisplayName("Should remove indexed entries and count an attempt for the one Elasticsearch refused")
+    void sync_OneRefused_RemovesTheOthers() throws Exception {
+        // Given
+        UUID indexed = UUID.randomUUID();
+        UUID refused = UUID.randomUUID();
+        queue(List.of(indexed, refused));
+        when(propertyIndexService.applyChanges(List.of(indexed, refused)))
+            .thenReturn(Map.of(refused.toString(), "400: strict_dynamic_mapping_exception"));
+
+        // When
+        updater.sync();
+
+        // Then
+        verify(jdbcTemplate).update(contains("DELETE"), any(PreparedStatementSetter.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> failed = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("attempts = attempts + 1"), failed.capture());
+        assertThat(failed.getValue()).singleElement()
+            .satisfies(row -> assertThat(row).containsExactly("400: strict_dynamic_mapping_exception", refused, 1L));
+    }
+
+    @Test
+    @DisplayName("Should leave the whole batch queued when Elasticsearch is unavailable")
+    void sync_ElasticsearchUnavailable_KeepsBatch() {
+        // Given
+        queue(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        doReturn(null).when(circuitBreaker).executeElasticsearch(any(), any());
+
+        // When
+        updater.sync();
+
+        // Then
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop draining once the lock can no longer be extended")
+    void sync_LockLost_StopsBeforeNextBatch() {
+        // Given: a full batch, so the drain would go on to a second one
+        queue(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        when(propertyIndexService.applyChanges(anyCollection())).thenReturn(Map.of());
+        when(clusterJobLock.extend(eq(PropertyIndexService.JOB_NAME), any(Duration.class))).thenReturn(false);
+
+        // When
+        updater.sync();
+
+        // Then
+        verify(propertyIndexService, times(1)).applyChanges(anyCollection());
+    }
+
+    private void queue(List<UUID> ids) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < ids.size(); i++) {
+                ResultSet row = mock(ResultSet.class);
+                when(row.getObject("property_id", UUID.class)).thenReturn(ids.get(i));
+                when(row.getLong("version")).thenReturn(1L);
+                handler.processRow(row);
+            }
+            return null;
+        }).doNothing().when(jdbcTemplate).query(contains("WHERE attempts < ?"), any(RowCallbackHandler.class),
+            eq(5), eq(2));
+    }
+}
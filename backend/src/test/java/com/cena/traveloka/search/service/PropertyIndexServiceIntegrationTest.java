@@ -0,0 +1,177 @@
+package com.cena.traveloka.search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.cena.traveloka.common.performance.AbstractQueryPerformanceIntegrationTest;
+import com.cena.traveloka.search.document.PropertyDocument;
+import com.cena.traveloka.search.scheduler.PropertyIndexUpdater;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the properties index from {@code inventory.property_search}, moves the alias between
+ * versioned indices, and follows inserts, updates and deletes through the index queue.
+ */
+@DisplayName("Property Index Tests")
+class PropertyIndexServiceIntegrationTest extends AbstractQueryPerformanceIntegrationTest {
+
+    private static final int PROPERTIES = 3_000;
+    private static final String ALIAS = "properties";
+
+    static final ElasticsearchContainer elasticsearch = new ElasticsearchContainer(
+            DockerImageName.parse("docker.elastic.co/elasticsearch/elasticsearch:8.11.0"))
+            .withEnv("xpack.security.enabled", "false")
+            .withEnv("discovery.type", "single-node");
+
+    static {
+        elasticsearch.start();
+    }
+
+    @DynamicPropertySource
+    static void configureElasticsearch(DynamicPropertyRegistry registry) {
+        registry.add("spring.elasticsearch.uris", elasticsearch::getHttpHostAddress);
+        registry.add("app.search.properties.alias", () -> ALIAS);
+        // Several requests per reindex, so backpressure and parallel sends are exercised
+        registry.add("app.search.properties.batch-size", () -> "250");
+        registry.add("app.search.properties.replicas", () -> "0");
+        // The tests drive the updater, so a scheduled run cannot hold the lock a reindex needs
+        registry.add("app.search.properties.sync-initial-delay-ms", () -> "3600000");
+    }
+
+    @Autowired
+    private PropertyIndexService propertyIndexService;
+
+    @Autowired
+    private PropertyIndexUpdater propertyIndexUpdater;
+
+    @Autowired
+    private ElasticsearchClient client;
+
+    @BeforeEach
+    void seedInventory() {
+        // Changes left by other tests sharing the database; a reindex covers them anyway
+        jdbcTemplate.update("DELETE FROM inventory.property_index_queue");
+        jdbcTemplate.update("DELETE FROM inventory.properties WHERE code LIKE 'pix-%'");
+        jdbcTemplate.update("DELETE FROM inventory.partners WHERE code = 'pix-partner'");
+        jdbcTemplate.update("DELETE FROM geo.countries WHERE code = 'QY'");
+
+        UUID countryId = jdbcTemplate.queryForObject("""
+            INSERT INTO geo.countries (code, code3, name) VALUES ('QY', 'QYA', 'Indexland') RETURNING id
+            """, UUID.class);
+        UUID cityId = jdbcTemplate.queryForObject("""
+            INSERT INTO geo.cities (country_id, name, latitude, longitude, location, timezone)
+            VALUES (?, 'Index City', 10.5, 106.5, ST_SetSRID(ST_MakePoint(106.5, 10.5), 4326), 'Asia/Ho_Chi_Minh')
+            RETURNING id
+            """, UUID.class, countryId);
+        UUID partnerId = jdbcTemplate.queryForObject("""
+            INSERT INTO inventory.partners (code, name, partner_type, primary_email, primary_phone)
+            VALUES ('pix-partner', 'Index Partner', 'hotel', 'pix@example.com', '+84900000001') RETURNING id
+            """, UUID.class);
+
+        jdbcTemplate.update("""
+            INSERT INTO inventory.properties (partner_id, code, name, property_type, star_rating, address,
+                                              city_id, country_id, latitude, longitude, location, total_rooms,
+                                              overall_rating, amenities)
+            SELECT ?, 'pix-' || n, 'Khách sạn Index ' || n,
+                   (enum_range(NULL::inventory.property_type))[n % 10 + 1], n % 5 + 1, n || ' Index Street',
+                   ?, ?, 10.5 + n * 0.0001, 106.5, ST_SetSRID(ST_MakePoint(106.5, 10.5 + n * 0.0001), 4326), 20,
+                   (n % 50) / 10.0, CASE WHEN n % 3 = 0 THEN ARRAY['Pool', 'WiFi'] ELSE ARRAY['WiFi'] END
+            FROM generate_series(1, ?) AS n
+            """, partnerId, cityId, countryId, PROPERTIES);
+        jdbcTemplate.update("""
+            INSERT INTO inventory.room_types (property_id, code, name, room_type, max_occupancy, adults_capacity,
+                                              base_price, total_rooms)
+            SELECT p.id, 'R1', 'Room', 'double', 2, 2, 500000, 10
+            FROM inventory.properties p
+            WHERE p.code LIKE 'pix-%'
+            """);
+    }
+
+    @Test
+    @DisplayName("Should index every listed property and move the alias to a new index on each reindex")
+    void reindex_SwapsAliasToCompleteIndex() throws Exception {
+        assertThat(propertyIndexService.reindex()).isTrue();
+        Set<String> first = aliasedIndices();
+
+        assertThat(propertyIndexService.reindex()).isTrue();
+        Set<String> second = aliasedIndices();
+
+        assertThat(first).hasSize(1);
+        assertThat(second).hasSize(1).doesNotContainAnyElementsOf(first);
+        assertThat(second.iterator().next()).startsWith(ALIAS + "_v");
+        // The previous index is kept for rollback
+        assertThat(client.indices().exists(exists -> exists.index(first.iterator().next())).value()).isTrue();
+
+        long listed = jdbcTemplate.queryForObject("SELECT count(*) FROM inventory.property_search", Long.class);
+        assertThat(client.count(count -> count.index(ALIAS)).count()).isEqualTo(listed);
+
+        SearchResponse<PropertyDocument> pools = client.search(search -> search
+            .index(ALIAS)
+            .size(0)
+            .query(query -> query.bool(bool -> bool
+                .filter(filter -> filter.term(term -> term.field("countryCode").value("QY")))
+                .filter(filter -> filter.geoDistance(geo -> geo
+                    .field("location")
+                    .distance("1km")
+                    .location(location -> location.latlon(latlon -> latlon.lat(10.5).lon(106.5)))))))
+            .aggregations("amenities", aggregation -> aggregation.terms(terms -> terms.field("amenities"))),
+            PropertyDocument.class);
+        assertThat(pools.aggregations().get("amenities").sterms().buckets().array())
+            .extracting(StringTermsBucket::key)
+            .extracting(FieldValue::stringValue)
+            .containsExactlyInAnyOrder("wifi", "pool");
+    }
+
+    @Test
+    @DisplayName("Should apply queued updates and deletes to the aliased index")
+    void sync_AppliesQueuedChanges() throws Exception {
+        assertThat(propertyIndexService.reindex()).isTrue();
+
+        jdbcTemplate.update("UPDATE inventory.properties SET name = 'Renamed Index 1' WHERE code = 'pix-1'");
+        jdbcTemplate.update("UPDATE inventory.room_types SET base_price = 750000 WHERE code = 'R1' AND property_id = "
+            + "(SELECT id FROM inventory.properties WHERE code = 'pix-2')");
+        jdbcTemplate.update("UPDATE inventory.properties SET is_active = FALSE WHERE code = 'pix-3'");
+        jdbcTemplate.update("DELETE FROM inventory.properties WHERE code = 'pix-4'");
+        UUID renamed = propertyId("pix-1");
+        UUID repriced = propertyId("pix-2");
+
+        propertyIndexUpdater.sync();
+        client.indices().refresh(refresh -> refresh.index(ALIAS));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM inventory.property_index_queue", Long.class))
+            .isZero();
+        assertThat(document(renamed).getName()).isEqualTo("Renamed Index 1");
+        assertThat(document(repriced).getMinPrice()).isEqualByComparingTo("750000");
+        assertThat(client.count(count -> count.index(ALIAS)
+            .query(query -> query.terms(terms -> terms.field("code")
+                .terms(values -> values.value(List.of(FieldValue.of("pix-3"), FieldValue.of("pix-4")))))))
+            .count())
+            .isZero();
+    }
+
+    private Set<String> aliasedIndices() throws Exception {
+        return client.indices().getAlias(alias -> alias.name(ALIAS)).result().keySet();
+    }
+
+    private UUID propertyId(String code) {
+        return jdbcTemplate.queryForObject("SELECT id FROM inventory.properties WHERE code = ?", UUID.class, code);
+    }
+
+    private PropertyDocument document(UUID id) throws Exception {
+        return client.get(get -> get.index(ALIAS).id(id.toString()), PropertyDocument.class).source();
+    }
+}